@@ -0,0 +1,25 @@
+package de.seuhd.campuscoffee.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the change feeds of POS and users (prefix {@code api.change-feed}).
+ *
+ * @param historySize       number of recent events per feed that reconnecting subscribers can resume from
+ * @param bufferSize        number of events buffered per subscriber; a subscriber that falls further behind is
+ *                          disconnected and has to resume from its last event ID
+ * @param heartbeatInterval interval of the comments sent to idle subscribers to keep proxies from closing the
+ *                          connection and to detect disconnected clients
+ * @param timeout           duration after which a subscription ends; clients reconnect with their last event ID
+ */
+@ConfigurationProperties(prefix = "api.change-feed")
+public record ChangeFeedProperties(
+        @DefaultValue("1024") int historySize,
+        @DefaultValue("256") int bufferSize,
+        @DefaultValue("30s") Duration heartbeatInterval,
+        @DefaultValue("30m") Duration timeout
+) {
+}
@@ -0,0 +1,156 @@
+package de.seuhd.campuscoffee.api.config;
+
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter.Permit;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter.Priority;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+/**
+ * Adaptive concurrency limit of the API ({@code /api/**}), see {@link AdaptiveConcurrencyLimiter}.
+ * The limit follows the latency of the requests; requests beyond it are shed with HTTP 503 before they reach a
+ * controller, instead of queueing in the server. Reads have the highest priority, writes to the low-priority paths
+ * (imports) the lowest. Streaming requests (exports and bulk imports) take permits as well, but their duration is
+ * not a latency sample, so a long stream does not shrink the limit. The interceptor runs after the rate limit, so
+ * that rejected clients do not take permits.
+ * <p>
+ * The limiter is the bean {@value #LIMITER}; the application exports its metrics (tag {@code limiter=api}).
+ */
+@Configuration
+@Slf4j
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+    /**
+     * The name of the limiter bean.
+     */
+    public static final String LIMITER = "apiConcurrencyLimiter";
+
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectProvider<AdaptiveConcurrencyLimiter> limiter;
+
+    public ConcurrencyLimitConfig(ConcurrencyLimitProperties properties,
+                                  @Qualifier(LIMITER) ObjectProvider<AdaptiveConcurrencyLimiter> limiter) {
+        this.properties = properties;
+        this.limiter = limiter;
+    }
+
+    /**
+     * The limiter of the requests; static, since the configuration itself depends on it.
+     *
+     * @param properties the limit configuration
+     * @return the limiter
+     */
+    @Bean(LIMITER)
+    @ConditionalOnProperty(name = "api.concurrency-limit.enabled", matchIfMissing = true)
+    static AdaptiveConcurrencyLimiter apiConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        return new AdaptiveConcurrencyLimiter(properties.initialLimit(), properties.minLimit(), properties.maxLimit());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        AdaptiveConcurrencyLimiter apiLimiter = limiter.getIfAvailable(); // null if the limit is disabled
+        if (apiLimiter != null) {
+            registry.addInterceptor(new ConcurrencyLimitInterceptor(properties, apiLimiter))
+                    .addPathPatterns("/api/**")
+                    .order(1); // after the rate limit (order 0)
+        }
+    }
+
+    /**
+     * Admits each request with a permit of the limiter and releases it when the request completes.
+     */
+    static class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+        private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final List<PathPattern> lowPriorityPaths;
+        private final List<PathPattern> streamingPaths;
+
+        ConcurrencyLimitInterceptor(ConcurrencyLimitProperties properties, AdaptiveConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+            this.lowPriorityPaths = parse(properties.lowPriorityPaths());
+            this.streamingPaths = parse(properties.streamingPaths());
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            if (request.getDispatcherType() == DispatcherType.ASYNC) {
+                return true; // the permit was released when the asynchronous request started
+            }
+            Priority priority = priority(request);
+            Permit permit = limiter.tryAcquire(priority);
+            if (permit == null) {
+                log.debug("Shedding {} {}: {} requests in flight", request.getMethod(), request.getRequestURI(),
+                        limiter.getInFlight());
+                throw new ServiceUnavailableException("CampusCoffee API", "too many concurrent requests.");
+            }
+            request.setAttribute(PERMIT_ATTRIBUTE, permit);
+            return true;
+        }
+
+        @Override
+        public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                                   Object handler) {
+            // long-lived responses (e.g., change feeds) would distort the latency samples
+            Permit permit = removePermit(request);
+            if (permit != null) {
+                permit.releaseIgnored();
+            }
+        }
+
+        @Override
+        public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                    @Nullable Exception ex) {
+            // failed requests are samples as well; overload of the database is handled by its own limit
+            Permit permit = removePermit(request);
+            if (permit == null) {
+                return;
+            }
+            if (matches(streamingPaths, request)) {
+                permit.releaseIgnored();
+            } else {
+                permit.release();
+            }
+        }
+
+        Priority priority(HttpServletRequest request) {
+            String method = request.getMethod();
+            if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+                return Priority.HIGH;
+            }
+            return matches(lowPriorityPaths, request) ? Priority.LOW : Priority.NORMAL;
+        }
+
+        private static List<PathPattern> parse(List<String> patterns) {
+            return patterns.stream().map(PathPatternParser.defaultInstance::parse).toList();
+        }
+
+        private static boolean matches(List<PathPattern> patterns, HttpServletRequest request) {
+            PathContainer path = PathContainer.parsePath(request.getRequestURI());
+            return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+
+        private static @Nullable Permit removePermit(HttpServletRequest request) {
+            Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            return permit;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package de.seuhd.campuscoffee.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Configuration properties for the adaptive concurrency limit of the API (prefix {@code api.concurrency-limit}).
+ *
+ * @param enabled          whether requests to {@code /api/**} are subject to the limit
+ * @param initialLimit     the number of concurrent requests admitted until latencies have been observed
+ * @param minLimit         the lower bound of the limit
+ * @param maxLimit         the upper bound of the limit
+ * @param lowPriorityPaths path patterns of the writes (not {@code GET} or {@code HEAD}) that are shed first under
+ *                         overload, e.g., imports
+ * @param streamingPaths   path patterns of streaming requests (exports and bulk imports), whose permits are released
+ *                         without a latency sample: their duration follows the size of the stream, not the load
+ */
+@ConfigurationProperties(prefix = "api.concurrency-limit")
+public record ConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") int initialLimit,
+        @DefaultValue("10") int minLimit,
+        @DefaultValue("1000") int maxLimit,
+        @DefaultValue({"/api/pos/import/osm/**", "/api/users/bulk"}) List<String> lowPriorityPaths,
+        @DefaultValue({"/api/users/export", "/api/users/bulk"}) List<String> streamingPaths
+) {
+}
@@ -0,0 +1,23 @@
+package de.seuhd.campuscoffee.api.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Content negotiation between JSON and binary representations of the API.
+ * JSON stays the default; clients request a binary format via the {@code Accept} header (and send one via
+ * {@code Content-Type}): CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) are
+ * registered by Spring MVC because their Jackson modules are on the classpath, and Protobuf
+ * ({@code application/x-protobuf}) is added here for the DTOs of the POS and user APIs.
+ */
+@Configuration
+public class MessageConverterConfig implements WebMvcConfigurer {
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // appended, so that JSON is still chosen if the client accepts any format (*/*)
+        converters.add(new ProtobufHttpMessageConverter());
+    }
+}
@@ -0,0 +1,148 @@
+package de.seuhd.campuscoffee.api.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.NativeProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchemaLoader;
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.api.dtos.UserDto;
+import de.seuhd.campuscoffee.api.exceptions.ErrorResponse;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.net.URL;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reads and writes the DTOs of the POS and user APIs as Protobuf messages ({@code application/x-protobuf}).
+ * The messages are defined in {@code protobuf/campus_coffee.proto}, which clients can use to generate their
+ * parsers; on the server, Jackson maps the DTOs to the messages by field name, so no generated classes are needed.
+ * Lists of DTOs are wrapped in a list message (e.g., {@code PosList}), since the root of a payload must be a message.
+ */
+public class ProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+    static final String SCHEMA_LOCATION = "/protobuf/campus_coffee.proto";
+
+    // DTO class -> name of the message for a single object or a list
+    private static final Map<Class<?>, String> MESSAGE_TYPES = Map.of(
+            PosDto.class, "Pos",
+            UserDto.class, "User",
+            ErrorResponse.class, "Error");
+    private static final Map<Class<?>, String> LIST_MESSAGE_TYPES = Map.of(
+            PosDto.class, "PosList",
+            UserDto.class, "UserList");
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .factory(new ProtobufFactory())
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS) // timestamps as strings (ISO 8601)
+            .build();
+    private final NativeProtobufSchema schema = loadSchema();
+
+    public ProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    /**
+     * Wrapper of a list of DTOs; corresponds to the list messages of the schema.
+     */
+    record Items<T>(List<T> items) {
+    }
+
+    @Override
+    protected boolean supports(@NonNull Class<?> clazz) {
+        return MESSAGE_TYPES.containsKey(clazz);
+    }
+
+    @Override
+    public @NonNull List<MediaType> getSupportedMediaTypes(@NonNull Class<?> clazz) {
+        // Spring MVC checks lists by their generic type first (canWrite) and then asks for the raw class
+        return supports(clazz) || Collection.class.isAssignableFrom(clazz)
+                ? getSupportedMediaTypes()
+                : List.of();
+    }
+
+    @Override
+    public boolean canRead(@NonNull Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return messageType(type) != null && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, @NonNull Class<?> clazz, @Nullable MediaType mediaType) {
+        return messageType(type != null ? type : clazz) != null && canWrite(mediaType);
+    }
+
+    @Override
+    public @NonNull Object read(@NonNull Type type, @Nullable Class<?> contextClass,
+                                @NonNull HttpInputMessage inputMessage) throws IOException {
+        String messageType = messageType(type);
+        if (messageType == null) {
+            throw new HttpMessageNotReadableException("No Protobuf message for " + type, inputMessage);
+        }
+        ResolvableType resolvedType = ResolvableType.forType(type);
+        JavaType javaType = LIST_MESSAGE_TYPES.containsValue(messageType)
+                ? objectMapper.getTypeFactory().constructParametricType(Items.class,
+                        Objects.requireNonNull(resolvedType.getGeneric(0).resolve()))
+                : objectMapper.constructType(type);
+        Object value = objectMapper.readerFor(javaType)
+                .with(schema.forType(messageType))
+                .readValue(inputMessage.getBody());
+        return value instanceof Items<?> items ? items.items() : value;
+    }
+
+    @Override
+    protected @NonNull Object readInternal(@NonNull Class<?> clazz, @NonNull HttpInputMessage inputMessage)
+            throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(@NonNull Object value, @Nullable Type type, @NonNull HttpOutputMessage outputMessage)
+            throws IOException {
+        String messageType = Objects.requireNonNull(messageType(type != null ? type : value.getClass()));
+        objectMapper.writer(schema.forType(messageType))
+                .writeValue(outputMessage.getBody(), value instanceof Collection<?> list
+                        ? new Items<>(List.copyOf(list))
+                        : value);
+    }
+
+    /**
+     * @return the name of the message for a DTO type or a collection of DTOs, or null if there is none
+     */
+    private static @Nullable String messageType(Type type) {
+        ResolvableType resolvedType = ResolvableType.forType(type);
+        if (Collection.class.isAssignableFrom(resolvedType.toClass())) {
+            return messageType(LIST_MESSAGE_TYPES, resolvedType.getGeneric(0).resolve());
+        }
+        return messageType(MESSAGE_TYPES, resolvedType.resolve());
+    }
+
+    private static @Nullable String messageType(Map<Class<?>, String> messageTypes, @Nullable Class<?> clazz) {
+        // e.g., a raw collection (actuator responses); the immutable maps reject null keys
+        return clazz != null ? messageTypes.get(clazz) : null;
+    }
+
+    private static NativeProtobufSchema loadSchema() {
+        URL location = Objects.requireNonNull(ProtobufHttpMessageConverter.class.getResource(SCHEMA_LOCATION),
+                SCHEMA_LOCATION + " not found");
+        try {
+            return ProtobufSchemaLoader.std.loadNative(location);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load Protobuf schema " + SCHEMA_LOCATION, e);
+        }
+    }
+}
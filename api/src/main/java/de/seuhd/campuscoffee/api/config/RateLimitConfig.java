@@ -0,0 +1,81 @@
+package de.seuhd.campuscoffee.api.config;
+
+import de.seuhd.campuscoffee.api.exceptions.RateLimitExceededException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Rate limiting of the API ({@code /api/**}) per client, see {@link RateLimiter}.
+ * A request that exceeds the limit of its client is rejected before it reaches a controller; the
+ * {@link RateLimitExceededException} is turned into HTTP 429 with a {@code Retry-After} header by the
+ * {@link de.seuhd.campuscoffee.api.exceptions.GlobalExceptionHandler}.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class RateLimitConfig implements WebMvcConfigurer {
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (properties.enabled()) {
+            registry.addInterceptor(new RateLimitInterceptor(properties, rateLimiter))
+                    .addPathPatterns("/api/**")
+                    .order(0);
+        }
+    }
+
+    /**
+     * Checks each request against the rate limit of its client.
+     */
+    static class RateLimitInterceptor implements HandlerInterceptor {
+        private final RateLimiter rateLimiter;
+        private final String apiKeyHeader;
+        private final List<PathPattern> expensivePaths;
+
+        RateLimitInterceptor(RateLimitProperties properties, RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            this.apiKeyHeader = properties.apiKeyHeader();
+            this.expensivePaths = properties.expensivePaths().stream()
+                    .map(PathPatternParser.defaultInstance::parse)
+                    .toList();
+        }
+
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            if (request.getDispatcherType() == DispatcherType.ASYNC) {
+                return true; // already counted when the asynchronous request (e.g., a change feed) started
+            }
+            String clientId = rateLimiter.clientId(request.getHeader(apiKeyHeader), request.getRemoteAddr());
+            Duration wait = rateLimiter.tryAcquire(clientId, limitType(request));
+            if (!wait.isZero()) {
+                throw new RateLimitExceededException(wait);
+            }
+            return true;
+        }
+
+        RateLimiter.LimitType limitType(HttpServletRequest request) {
+            String method = request.getMethod();
+            if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+                return RateLimiter.LimitType.STANDARD;
+            }
+            PathContainer path = PathContainer.parsePath(request.getRequestURI());
+            return expensivePaths.stream().anyMatch(pattern -> pattern.matches(path))
+                    ? RateLimiter.LimitType.EXPENSIVE
+                    : RateLimiter.LimitType.STANDARD;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package de.seuhd.campuscoffee.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Configuration properties for the per-client rate limits of the API (prefix {@code api.rate-limit}).
+ *
+ * @param enabled        whether requests to {@code /api/**} are rate limited
+ * @param store          where the token buckets are kept
+ * @param apiKeyHeader   the request header with the API key of a client
+ * @param apiKeys        the known API keys; a client sending one of them has its own buckets, all other clients
+ *                       are identified by their IP address
+ * @param maxBuckets     maximum number of token buckets kept in memory; when exceeded, new clients share an
+ *                       overflow bucket per limit until the buckets of idle clients have been dropped
+ * @param standard       the limit of all requests that are not expensive
+ * @param expensive      the limit of the expensive requests, counted in separate buckets (by default, a burst of
+ *                       5 requests and one request every 5 seconds)
+ * @param expensivePaths path patterns of the expensive requests; only writes (not {@code GET} or {@code HEAD})
+ *                       are expensive, so that, e.g., polling an import job counts towards the standard limit.
+ *                       A batch ({@code /api/batch}) of up to 100 operations is expensive as well: by default, it
+ *                       costs the time of 100 standard requests
+ */
+@ConfigurationProperties(prefix = "api.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("memory") Store store,
+        @DefaultValue("X-API-Key") String apiKeyHeader,
+        @DefaultValue List<String> apiKeys,
+        @DefaultValue("100000") int maxBuckets,
+        @DefaultValue Limit standard,
+        Limit expensive,
+        @DefaultValue({"/api/pos/import/osm/**", "/api/users/bulk", "/api/batch"}) List<String> expensivePaths
+) {
+    public RateLimitProperties {
+        if (expensive == null) {
+            expensive = new Limit(0.2, 5);
+        }
+    }
+
+    /**
+     * Where the token buckets are kept.
+     */
+    public enum Store {
+        /**
+         * In memory; each instance enforces the limits on its own (lock-free).
+         */
+        MEMORY,
+        /**
+         * In the database; the limits are enforced across all instances at the cost of one statement per request.
+         * If the database fails, the in-memory buckets are used.
+         */
+        POSTGRES
+    }
+
+    /**
+     * A token bucket limit.
+     *
+     * @param requestsPerSecond the sustained rate
+     * @param burstCapacity     the maximum number of requests at once
+     */
+    public record Limit(
+            @DefaultValue("20.0") double requestsPerSecond,
+            @DefaultValue("50") int burstCapacity
+    ) {
+    }
+}
@@ -0,0 +1,181 @@
+package de.seuhd.campuscoffee.api.config;
+
+import de.seuhd.campuscoffee.domain.ports.RateLimitDataService;
+import de.seuhd.campuscoffee.domain.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-client token buckets of the API rate limits.
+ * <p>
+ * Each client has one bucket per {@link LimitType}, so that expensive requests (e.g., OSM imports) do not use up
+ * the limit of the other requests and vice versa. In memory, acquiring a permit is a lookup in a concurrent map and
+ * a compare-and-set on the {@link TokenBucket}; no lock is taken unless a bucket is created. Buckets that are full
+ * again are dropped when the number of buckets exceeds {@link RateLimitProperties#maxBuckets()}; a dropped bucket
+ * is recreated full, so dropping it does not change the limit.
+ * <p>
+ * Metrics: {@code api.ratelimit.requests} (tags {@code limit} and {@code outcome}: {@code allowed} or
+ * {@code rejected}), {@code api.ratelimit.buckets} (buckets in memory), and {@code api.ratelimit.store.failures}
+ * (failures of the shared store, after which the in-memory buckets are used).
+ */
+@Component
+@Slf4j
+public class RateLimiter {
+    /**
+     * The limits a request can count towards.
+     */
+    public enum LimitType {
+        STANDARD,
+        EXPENSIVE
+    }
+
+    private final RateLimitProperties properties;
+    private final RateLimitDataService rateLimitDataService;
+    // API keys are only used as hashes in bucket keys (and in the database, if used)
+    private final Map<String, String> clientIdsByApiKey;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<LimitType, TokenBucket> overflowBuckets = new EnumMap<>(LimitType.class);
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Map<LimitType, Counter> allowed = new EnumMap<>(LimitType.class);
+    private final Map<LimitType, Counter> rejected = new EnumMap<>(LimitType.class);
+    private final Counter storeFailures;
+
+    public RateLimiter(RateLimitProperties properties, RateLimitDataService rateLimitDataService,
+                       MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimitDataService = rateLimitDataService;
+        this.clientIdsByApiKey = properties.apiKeys().stream()
+                .distinct()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), apiKey -> "key:" + sha256(apiKey)));
+        for (LimitType type : LimitType.values()) {
+            RateLimitProperties.Limit limit = limit(type);
+            overflowBuckets.put(type, new TokenBucket(limit.requestsPerSecond(), limit.burstCapacity()));
+            allowed.put(type, counter(meterRegistry, type, "allowed"));
+            rejected.put(type, counter(meterRegistry, type, "rejected"));
+        }
+        this.storeFailures = Counter.builder("api.ratelimit.store.failures")
+                .description("Failures of the shared rate limit store")
+                .register(meterRegistry);
+        Gauge.builder("api.ratelimit.buckets", buckets, Map::size)
+                .description("Token buckets of the rate limits in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Identifies the client of a request: by its API key if the key is known, otherwise by its IP address.
+     *
+     * @param apiKey        the API key sent by the client; null if none
+     * @param remoteAddress the IP address of the client
+     * @return the ID of the client, which does not contain the API key
+     */
+    public String clientId(@Nullable String apiKey, String remoteAddress) {
+        String clientId = apiKey != null ? clientIdsByApiKey.get(apiKey) : null;
+        return clientId != null ? clientId : "ip:" + remoteAddress;
+    }
+
+    /**
+     * Acquires a permit for a request of a client if one is available immediately.
+     *
+     * @param clientId the ID of the client (see {@link #clientId(String, String)})
+     * @param type     the limit the request counts towards
+     * @return zero if the request is allowed; otherwise the time after which the client may retry
+     */
+    public Duration tryAcquire(String clientId, LimitType type) {
+        String bucketKey = type.name().toLowerCase(Locale.ROOT) + ":" + clientId;
+        RateLimitProperties.Limit limit = limit(type);
+        Duration wait = null;
+        if (properties.store() == RateLimitProperties.Store.POSTGRES) {
+            try {
+                wait = rateLimitDataService.tryAcquire(bucketKey, limit.requestsPerSecond(), limit.burstCapacity());
+            } catch (RuntimeException e) {
+                // fail open to the limits of this instance rather than rejecting all requests
+                storeFailures.increment();
+                log.warn("Shared rate limit store failed, using the in-memory buckets: {}", e.getMessage());
+            }
+        }
+        if (wait == null) {
+            wait = bucket(bucketKey, type).tryAcquire();
+        }
+        (wait.isZero() ? allowed : rejected).get(type).increment();
+        return wait;
+    }
+
+    /**
+     * Returns the number of token buckets in memory.
+     */
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private TokenBucket bucket(String bucketKey, LimitType type) {
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= properties.maxBuckets()) {
+            dropFullBuckets();
+            if (buckets.size() >= properties.maxBuckets()) {
+                // too many active clients: new clients share one bucket until there is room again
+                return overflowBuckets.get(type);
+            }
+        }
+        RateLimitProperties.Limit limit = limit(type);
+        return buckets.computeIfAbsent(bucketKey,
+                key -> new TokenBucket(limit.requestsPerSecond(), limit.burstCapacity()));
+    }
+
+    private void dropFullBuckets() {
+        // only one thread scans the buckets; the others use the overflow bucket in the meantime
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int before = buckets.size();
+            buckets.values().removeIf(TokenBucket::isFull);
+            log.debug("Dropped {} full rate limit buckets; {} remaining", before - buckets.size(), buckets.size());
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private RateLimitProperties.Limit limit(LimitType type) {
+        return switch (type) {
+            case STANDARD -> properties.standard();
+            case EXPENSIVE -> properties.expensive();
+        };
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, LimitType type, String outcome) {
+        return Counter.builder("api.ratelimit.requests")
+                .description("Requests checked against the rate limits")
+                .tag("limit", type.name().toLowerCase(Locale.ROOT))
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package de.seuhd.campuscoffee.api.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.seuhd.campuscoffee.api.dtos.BatchOperationDto;
+import de.seuhd.campuscoffee.api.dtos.BatchOperationResultDto;
+import de.seuhd.campuscoffee.api.dtos.BatchResultDto;
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.api.dtos.UserDto;
+import de.seuhd.campuscoffee.api.exceptions.ErrorResponse;
+import de.seuhd.campuscoffee.api.exceptions.GlobalExceptionHandler;
+import de.seuhd.campuscoffee.api.mapper.PosDtoMapper;
+import de.seuhd.campuscoffee.api.mapper.UserDtoMapper;
+import de.seuhd.campuscoffee.domain.exceptions.ValidationException;
+import de.seuhd.campuscoffee.domain.ports.BatchService;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import de.seuhd.campuscoffee.domain.ports.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Controller for running several POS and user operations in one request and one transaction.
+ * User writes are only accepted if the user store takes part in the transaction (see
+ * {@link BatchService#supportsUserWrites()}), so that a failed batch never leaves some of its writes behind.
+ */
+@Tag(name = "Batch", description = "Atomic execution of several POS and user operations.")
+@Controller
+@RequestMapping("/api/batch")
+@Slf4j
+@RequiredArgsConstructor
+public class BatchController {
+    static final int MAX_OPERATIONS = 100;
+    private static final Pattern PATH = Pattern.compile("/api/(pos|users)(?:/(\\d+))?/?");
+    private static final BatchOperationResultDto NOT_COMMITTED =
+            new BatchOperationResultDto(HttpStatus.FAILED_DEPENDENCY.value(), null);
+
+    private final BatchService batchService;
+    private final PosService posService;
+    private final UserService userService;
+    private final PosDtoMapper posDtoMapper;
+    private final UserDtoMapper userDtoMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final GlobalExceptionHandler exceptionHandler;
+
+    /**
+     * The failure of an operation; thrown out of the transaction, so that it is rolled back.
+     */
+    private static final class OperationFailedException extends RuntimeException {
+        private final int index;
+        private final RuntimeException failure;
+
+        OperationFailedException(int index, RuntimeException failure) {
+            super(failure.getMessage(), failure);
+            this.index = index;
+            this.failure = failure;
+        }
+    }
+
+    @Operation(
+            summary = "Run several POS and user operations atomically.",
+            description = "The operations (GET, POST, PUT, DELETE on /api/pos, /api/pos/{id}, /api/users, and "
+                    + "/api/users/{id}) run in order in one transaction. If an operation fails, all operations are "
+                    + "rolled back; the failed operation reports its error, the others status 424. User writes are "
+                    + "rejected with status 400 if the user store is in memory and cannot be rolled back.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = BatchResultDto.class)
+                            ),
+                            description = "All operations were committed; the status and body of each operation."
+                    ),
+                    @ApiResponse(
+                            responseCode = "4xx",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = BatchResultDto.class)
+                            ),
+                            description = "An operation failed (the status is the one of the failed operation) "
+                                    + "and all operations were rolled back."
+                    )
+            }
+    )
+    @PostMapping("")
+    public ResponseEntity<BatchResultDto> execute(
+            @RequestBody List<BatchOperationDto> operations,
+            WebRequest request) {
+
+        if (operations.isEmpty() || operations.size() > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("A batch must contain between 1 and " + MAX_OPERATIONS + " operations.");
+        }
+        if (!batchService.supportsUserWrites() && operations.stream().anyMatch(BatchController::isUserWrite)) {
+            throw new IllegalArgumentException("User writes cannot be part of a batch, since the user store cannot "
+                    + "roll them back.");
+        }
+        List<BatchOperationResultDto> results = new ArrayList<>(operations.size());
+        try {
+            batchService.executeAtomically(() -> {
+                for (int i = 0; i < operations.size(); i++) {
+                    try {
+                        results.add(execute(operations.get(i)));
+                    } catch (RuntimeException e) {
+                        throw new OperationFailedException(i, e);
+                    }
+                }
+                return null;
+            });
+        } catch (OperationFailedException e) {
+            log.info("Batch operation {} of {} failed: {}", e.index + 1, operations.size(), e.getMessage());
+            ResponseEntity<ErrorResponse> error = exceptionHandler.handleException(e.failure, request);
+            BatchOperationResultDto failed = new BatchOperationResultDto(error.getStatusCode().value(), error.getBody());
+            return ResponseEntity
+                    .status(error.getStatusCode())
+                    .body(new BatchResultDto(false, IntStream.range(0, operations.size())
+                            .mapToObj(i -> i == e.index ? failed : NOT_COMMITTED)
+                            .toList()));
+        }
+        return ResponseEntity.ok(new BatchResultDto(true, results));
+    }
+
+    /**
+     * Runs a single operation like the corresponding request to the POS or user controller.
+     */
+    private BatchOperationResultDto execute(BatchOperationDto operation) {
+        if (operation.method() == null || operation.path() == null) {
+            throw new IllegalArgumentException("Each operation requires a method and a path.");
+        }
+        Matcher matcher = PATH.matcher(operation.path());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Unsupported path '" + operation.path() + "'.");
+        }
+        HttpMethod method = HttpMethod.valueOf(operation.method().toUpperCase(Locale.ROOT));
+        Long id = matcher.group(2) != null ? Long.valueOf(matcher.group(2)) : null;
+        return matcher.group(1).equals("pos")
+                ? executePosOperation(method, id, operation)
+                : executeUserOperation(method, id, operation);
+    }
+
+    private BatchOperationResultDto executePosOperation(HttpMethod method, @Nullable Long id,
+                                                        BatchOperationDto operation) {
+        if (id == null && method.equals(HttpMethod.POST)) {
+            return result(HttpStatus.CREATED, upsertPos(body(operation, PosDto.class)));
+        }
+        if (id != null && method.equals(HttpMethod.GET)) {
+            return result(HttpStatus.OK, posDtoMapper.fromDomain(posService.getById(id)));
+        }
+        if (id != null && method.equals(HttpMethod.PUT)) {
+            PosDto posDto = body(operation, PosDto.class);
+            if (!id.equals(posDto.id())) {
+                throw new IllegalArgumentException("POS ID in path and body do not match.");
+            }
+            return result(HttpStatus.OK, upsertPos(posDto));
+        }
+        if (id != null && method.equals(HttpMethod.DELETE)) {
+            posService.delete(id);
+            return result(HttpStatus.NO_CONTENT, null);
+        }
+        throw unsupported(operation);
+    }
+
+    private BatchOperationResultDto executeUserOperation(HttpMethod method, @Nullable Long id,
+                                                         BatchOperationDto operation) {
+        if (id == null && method.equals(HttpMethod.POST)) {
+            UserDto userDto = body(operation, UserDto.class);
+            return result(HttpStatus.CREATED, userDtoMapper.toDto(userService.createUser(userDtoMapper.toDomain(userDto))));
+        }
+        if (id != null && method.equals(HttpMethod.GET)) {
+            return result(HttpStatus.OK, userDtoMapper.toDto(userService.getUserById(id)));
+        }
+        if (id != null && method.equals(HttpMethod.PUT)) {
+            UserDto userDto = body(operation, UserDto.class);
+            return result(HttpStatus.OK, userDtoMapper.toDto(userService.updateUser(id, userDtoMapper.toDomain(userDto))));
+        }
+        if (id != null && method.equals(HttpMethod.DELETE)) {
+            userService.deleteUserById(id);
+            return result(HttpStatus.NO_CONTENT, null);
+        }
+        throw unsupported(operation);
+    }
+
+    /**
+     * Returns whether an operation writes a user; invalid operations are reported when they are run.
+     */
+    private static boolean isUserWrite(BatchOperationDto operation) {
+        if (operation.method() == null || operation.path() == null) {
+            return false;
+        }
+        Matcher matcher = PATH.matcher(operation.path());
+        return matcher.matches() && matcher.group(1).equals("users")
+                && !HttpMethod.GET.matches(operation.method().toUpperCase(Locale.ROOT));
+    }
+
+    private PosDto upsertPos(PosDto posDto) {
+        return posDtoMapper.fromDomain(posService.upsert(posDtoMapper.toDomain(posDto)));
+    }
+
+    /**
+     * Reads and validates the body of an operation, like {@code @RequestBody @Valid} does for a single request.
+     */
+    private <T> T body(BatchOperationDto operation, Class<T> type) {
+        if (operation.body() == null || operation.body().isNull()) {
+            throw new IllegalArgumentException("The operation " + describe(operation) + " requires a body.");
+        }
+        T dto;
+        try {
+            dto = objectMapper.treeToValue(operation.body(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid body of " + describe(operation) + ": " + e.getOriginalMessage());
+        }
+        Set<ConstraintViolation<T>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new ValidationException(violations);
+        }
+        return dto;
+    }
+
+    private static BatchOperationResultDto result(HttpStatus status, @Nullable Object body) {
+        return new BatchOperationResultDto(status.value(), body);
+    }
+
+    private static IllegalArgumentException unsupported(BatchOperationDto operation) {
+        return new IllegalArgumentException("Unsupported operation " + describe(operation) + ".");
+    }
+
+    private static String describe(BatchOperationDto operation) {
+        return operation.method() + " " + operation.path();
+    }
+}
@@ -0,0 +1,285 @@
+package de.seuhd.campuscoffee.api.controller;
+
+import de.seuhd.campuscoffee.api.config.ChangeFeedProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Server-Sent Events feed of the changes of one entity type (POS or users).
+ * <p>
+ * Each event is encoded once into an SSE frame, which is appended to the bounded buffer of every subscriber; a
+ * subscriber's buffer is drained by a short-lived (virtual) thread that only exists while there is something to
+ * send. Idle subscribers therefore hold no thread, only their emitter and an empty buffer. A subscriber whose
+ * buffer overflows (slow consumer) is disconnected; it can reconnect with the {@code Last-Event-ID} header and
+ * resume from the recent events kept in the history. If the requested events are no longer available (or the ID
+ * belongs to an earlier run of the server), the subscriber receives a {@code reset} event and has to reload the
+ * full state.
+ */
+@Slf4j
+class ChangeFeed {
+    static final String RESET_EVENT = "reset";
+
+    private final String name;
+    private final ChangeFeedProperties properties;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final Executor sender;
+    // event IDs have the form <epoch>-<sequence>; the epoch distinguishes runs of the server
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ArrayDeque<Event> history = new ArrayDeque<>(); // guarded by lock
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private long lastSequence; // guarded by lock
+
+    /**
+     * An encoded event; the frame is shared by all subscribers and must not be modified.
+     */
+    private record Event(long sequence, Set<DataWithMediaType> frame) {
+    }
+
+    ChangeFeed(String name, ChangeFeedProperties properties, Supplier<SseEmitter> emitterFactory, Executor sender) {
+        this.name = name;
+        this.properties = properties;
+        this.emitterFactory = emitterFactory;
+        this.sender = sender;
+    }
+
+    /**
+     * Adds a subscriber, which first receives the events after the last event it has seen (if any).
+     *
+     * @param lastEventId the value of the {@code Last-Event-ID} header; null for a new subscription
+     * @return the emitter of the subscription
+     */
+    SseEmitter subscribe(@Nullable String lastEventId) {
+        SseEmitter emitter = emitterFactory.get();
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            // completed here, otherwise Spring MVC reports the timeout as an error
+            subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        lock.lock();
+        try {
+            // replay and register under the lock, so that no event in between is lost
+            if (lastEventId != null) {
+                List<Event> missed = missedEvents(lastEventId);
+                if (missed == null) {
+                    subscriber.offer(resetEvent());
+                } else {
+                    missed.forEach(subscriber::offer);
+                }
+            }
+            subscribers.add(subscriber);
+        } finally {
+            lock.unlock();
+        }
+        log.debug("New subscriber of the {} change feed (last event ID {}); {} subscribers", name, lastEventId,
+                subscribers.size());
+        return emitter;
+    }
+
+    /**
+     * Publishes an event to all subscribers and keeps it in the history.
+     *
+     * @param eventName the name of the event (e.g., {@code created})
+     * @param data      the data of the event (JSON)
+     */
+    void publish(String eventName, String data) {
+        List<Subscriber> slowSubscribers = new ArrayList<>();
+        lock.lock();
+        try {
+            long sequence = ++lastSequence;
+            Event event = new Event(sequence, frame(SseEmitter.event()
+                    .id(epoch + "-" + sequence)
+                    .name(eventName)
+                    .data(data)));
+            history.addLast(event);
+            if (history.size() > properties.historySize()) {
+                history.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (!subscriber.offer(event)) {
+                    slowSubscribers.add(subscriber);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Subscriber subscriber : slowSubscribers) {
+            log.info("Disconnecting slow subscriber of the {} change feed: more than {} events pending", name,
+                    properties.bufferSize());
+            subscriber.close();
+        }
+    }
+
+    /**
+     * Sends a comment to all subscribers; subscribers whose connection is closed are removed.
+     */
+    void heartbeat() {
+        Event heartbeat = new Event(0, frame(SseEmitter.event().comment("heartbeat")));
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(heartbeat)) {
+                subscriber.close();
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Ends all subscriptions.
+     */
+    void close() {
+        subscribers.forEach(Subscriber::close);
+    }
+
+    /**
+     * Returns the events after the given event ID, or null if the subscriber cannot resume, because the ID is
+     * unknown or the events after it are no longer in the history. Must be called while holding the lock.
+     */
+    private @Nullable List<Event> missedEvents(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return null;
+        }
+        long lastSeen;
+        try {
+            lastSeen = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (lastSeen > lastSequence) {
+            return null;
+        }
+        long firstMissed = lastSeen + 1;
+        if (firstMissed <= lastSequence && (history.isEmpty() || history.getFirst().sequence() > firstMissed)) {
+            return null; // evicted from the history
+        }
+        List<Event> missed = history.stream()
+                .filter(event -> event.sequence() > lastSeen)
+                .toList();
+        return missed.size() <= properties.bufferSize() ? missed : null;
+    }
+
+    private Event resetEvent() {
+        // carries the current ID, so that the client can continue from here after reloading
+        return new Event(lastSequence, frame(SseEmitter.event()
+                .id(epoch + "-" + lastSequence)
+                .name(RESET_EVENT)
+                .data("{}")));
+    }
+
+    private static Set<DataWithMediaType> frame(SseEmitter.SseEventBuilder builder) {
+        return Collections.unmodifiableSet(builder.build());
+    }
+
+    /**
+     * A subscriber with its buffer of pending events.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final ReentrantLock bufferLock = new ReentrantLock();
+        private final ArrayDeque<Event> buffer = new ArrayDeque<>(); // guarded by bufferLock
+        private boolean draining; // guarded by bufferLock
+        private boolean closed; // guarded by bufferLock
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Appends an event to the buffer and starts draining it if necessary; never blocks on the connection.
+         *
+         * @return false if the buffer is full or the subscriber is closed
+         */
+        boolean offer(Event event) {
+            boolean startDraining;
+            bufferLock.lock();
+            try {
+                if (closed || buffer.size() >= properties.bufferSize()) {
+                    return false;
+                }
+                buffer.addLast(event);
+                startDraining = !draining;
+                draining = true;
+            } finally {
+                bufferLock.unlock();
+            }
+            if (startDraining) {
+                sender.execute(this::drain);
+            }
+            return true;
+        }
+
+        /**
+         * Sends the pending events; only one drain runs per subscriber at a time, so events stay in order.
+         */
+        private void drain() {
+            while (true) {
+                Event event;
+                bufferLock.lock();
+                try {
+                    event = buffer.pollFirst();
+                    if (event == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                } finally {
+                    bufferLock.unlock();
+                }
+                try {
+                    emitter.send(event.frame());
+                } catch (IOException | IllegalStateException e) {
+                    // connection closed or emitter already completed
+                    log.debug("Removing subscriber of the {} change feed: {}", name, e.getMessage());
+                    subscribers.remove(this);
+                    bufferLock.lock();
+                    try {
+                        closed = true;
+                        draining = false;
+                        buffer.clear();
+                    } finally {
+                        bufferLock.unlock();
+                    }
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Disconnects the subscriber; the emitter is completed by the sender, since completing may wait for a
+         * send that blocks on the connection.
+         */
+        void close() {
+            subscribers.remove(this);
+            bufferLock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                buffer.clear();
+            } finally {
+                bufferLock.unlock();
+            }
+            sender.execute(emitter::complete);
+        }
+    }
+}
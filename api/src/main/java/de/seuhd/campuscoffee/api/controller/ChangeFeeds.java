@@ -0,0 +1,101 @@
+package de.seuhd.campuscoffee.api.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.seuhd.campuscoffee.api.config.ChangeFeedProperties;
+import de.seuhd.campuscoffee.api.dtos.ChangeEventDto;
+import de.seuhd.campuscoffee.api.mapper.PosDtoMapper;
+import de.seuhd.campuscoffee.api.mapper.UserDtoMapper;
+import de.seuhd.campuscoffee.domain.model.ChangeEvent;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The change feeds of POS ({@code GET /api/pos/changes}) and users ({@code GET /api/users/changes}).
+ * Listens to the {@link ChangeEvent}s of the domain services, which are published after the write was committed,
+ * and publishes them as Server-Sent Events; the data of an event is a {@link ChangeEventDto} encoded as JSON.
+ * Events raised within a batch transaction are delivered after it commits and dropped if it is rolled back.
+ */
+@Component
+@Slf4j
+class ChangeFeeds implements AutoCloseable {
+    private final ObjectMapper objectMapper;
+    private final PosDtoMapper posDtoMapper;
+    private final UserDtoMapper userDtoMapper;
+    private final ExecutorService sender = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("change-feed-", 0).factory());
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("change-feed-heartbeat").daemon().factory());
+    private final ChangeFeed posFeed;
+    private final ChangeFeed userFeed;
+
+    ChangeFeeds(ChangeFeedProperties properties, ObjectMapper objectMapper, PosDtoMapper posDtoMapper,
+                UserDtoMapper userDtoMapper) {
+        this.objectMapper = objectMapper;
+        this.posDtoMapper = posDtoMapper;
+        this.userDtoMapper = userDtoMapper;
+        long timeout = properties.timeout().toMillis();
+        posFeed = new ChangeFeed("POS", properties, () -> new SseEmitter(timeout), sender);
+        userFeed = new ChangeFeed("user", properties, () -> new SseEmitter(timeout), sender);
+        long interval = properties.heartbeatInterval().toMillis();
+        heartbeats.scheduleWithFixedDelay(() -> {
+            posFeed.heartbeat();
+            userFeed.heartbeat();
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    SseEmitter subscribeToPos(@Nullable String lastEventId) {
+        return posFeed.subscribe(lastEventId);
+    }
+
+    SseEmitter subscribeToUsers(@Nullable String lastEventId) {
+        return userFeed.subscribe(lastEventId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPosChange(ChangeEvent<Pos> event) {
+        Pos pos = event.entity();
+        posFeed.publish(eventName(event), toJson(new ChangeEventDto<>(event.type(), event.entityId(),
+                pos != null ? posDtoMapper.fromDomain(pos) : null)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChange(ChangeEvent<User> event) {
+        User user = event.entity();
+        userFeed.publish(eventName(event), toJson(new ChangeEventDto<>(event.type(), event.entityId(),
+                user != null ? userDtoMapper.toDto(user) : null)));
+    }
+
+    @Override
+    public void close() {
+        heartbeats.shutdownNow();
+        posFeed.close();
+        userFeed.close();
+        sender.close(); // waits for pending sends
+    }
+
+    private static String eventName(ChangeEvent<?> event) {
+        return event.type().name().toLowerCase(Locale.ROOT);
+    }
+
+    private String toJson(ChangeEventDto<?> event) {
+        // once per event, not per subscriber
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
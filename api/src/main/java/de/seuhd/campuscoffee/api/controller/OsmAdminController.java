@@ -0,0 +1,95 @@
+package de.seuhd.campuscoffee.api.controller;
+
+import de.seuhd.campuscoffee.api.dtos.OsmFetchFailureDto;
+import de.seuhd.campuscoffee.api.exceptions.ErrorResponse;
+import de.seuhd.campuscoffee.api.mapper.OsmFetchFailureDtoMapper;
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+import de.seuhd.campuscoffee.domain.ports.OsmImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controller for administrative operations on the OpenStreetMap integration.
+ */
+@Tag(name = "OSM administration", description = "Operations for inspecting and purging cached OSM import failures.")
+@Controller
+@RequestMapping("/api/admin/osm")
+@Slf4j
+@RequiredArgsConstructor
+public class OsmAdminController {
+    private final OsmImportService osmImportService;
+    private final OsmFetchFailureDtoMapper osmFetchFailureDtoMapper;
+
+    @Operation(
+            summary = "Get all OSM elements whose import recently failed for permanent reasons.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(type = "array", implementation = OsmFetchFailureDto.class)
+                            ),
+                            description = "All cached failures as a JSON array."
+                    )
+            }
+    )
+    @GetMapping("/negative-cache")
+    public ResponseEntity<List<OsmFetchFailureDto>> getNegativeCache() {
+
+        return ResponseEntity.ok(
+                osmImportService.getCachedFailures().stream()
+                        .map(osmFetchFailureDtoMapper::fromDomain)
+                        .toList()
+        );
+    }
+
+    @Operation(
+            summary = "Purge the cached failure of an OSM element, e.g., after its data was fixed.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "204",
+                            description = "The cached failure was purged; the next import fetches the element again."
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "No failure is cached for the provided OSM element."
+                    )
+            }
+    )
+    @DeleteMapping("/negative-cache/{elementId}")
+    public ResponseEntity<Void> evict(
+            @PathVariable Long elementId,
+            @RequestParam(defaultValue = "NODE") OsmElementType type) {
+        osmImportService.evictCachedFailure(type, elementId); // throws NotFoundException if no failure is cached
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "Purge all cached failures.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "204",
+                            description = "All cached failures were purged."
+                    )
+            }
+    )
+    @DeleteMapping("/negative-cache")
+    public ResponseEntity<Void> clear() {
+        osmImportService.clearCachedFailures();
+        return ResponseEntity.noContent().build();
+    }
+}
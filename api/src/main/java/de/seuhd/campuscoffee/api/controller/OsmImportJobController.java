@@ -0,0 +1,213 @@
+package de.seuhd.campuscoffee.api.controller;
+
+import de.seuhd.campuscoffee.api.dtos.ImportJobDto;
+import de.seuhd.campuscoffee.api.dtos.OsmAreaImportRequestDto;
+import de.seuhd.campuscoffee.api.dtos.OsmImportJobRequestDto;
+import de.seuhd.campuscoffee.api.exceptions.ErrorResponse;
+import de.seuhd.campuscoffee.api.mapper.ImportJobDtoMapper;
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
+import de.seuhd.campuscoffee.domain.ports.OsmImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+
+import static de.seuhd.campuscoffee.api.util.ControllerUtils.getLocation;
+
+/**
+ * Controller for asynchronous bulk imports of POS from OpenStreetMap.
+ */
+@Tag(name = "OSM import jobs", description = "Operations for importing many POS from OpenStreetMap in the background.")
+@Controller
+@RequestMapping("/api/pos/import/osm/jobs")
+@Slf4j
+@RequiredArgsConstructor
+public class OsmImportJobController {
+    private final OsmImportService osmImportService;
+    private final ImportJobDtoMapper importJobDtoMapper;
+
+    @Operation(
+            summary = "Submit a job that imports POS from OpenStreetMap nodes.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "202",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ImportJobDto.class)
+                            ),
+                            description = "The queued import job as a JSON object; its location can be polled for progress."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Validation failed (e.g., no or too many node IDs)."
+                    ),
+                    @ApiResponse(
+                            responseCode = "503",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Too many import jobs are queued; retry later."
+                    )
+            }
+    )
+    @PostMapping("")
+    public ResponseEntity<ImportJobDto> submit(
+            @RequestBody @Valid OsmImportJobRequestDto request) {
+
+        ImportJobDto job = importJobDtoMapper.fromDomain(
+                osmImportService.submitNodeImport(request.nodeIds(), request.campus())
+        );
+        return ResponseEntity
+                .accepted()
+                .location(getLocation(job.id()))
+                .body(job);
+    }
+
+    @Operation(
+            summary = "Submit a job that imports all POS within an area from OpenStreetMap.",
+            description = "Imports all nodes whose amenity maps to a POS type. Nodes whose name matches an existing "
+                    + "POS are skipped. If no area is given, the preset area of the campus is imported.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "202",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ImportJobDto.class)
+                            ),
+                            description = "The queued import job as a JSON object; its location can be polled for progress."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Validation failed (e.g., invalid or too large area)."
+                    ),
+                    @ApiResponse(
+                            responseCode = "503",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Too many import jobs are queued; retry later."
+                    )
+            }
+    )
+    @PostMapping("/area")
+    public ResponseEntity<ImportJobDto> submitArea(
+            @RequestBody @Valid OsmAreaImportRequestDto request) {
+
+        BoundingBox area = request.area() != null
+                ? importJobDtoMapper.toDomain(request.area())
+                : request.campus().getBoundingBox();
+        ImportJobDto job = importJobDtoMapper.fromDomain(
+                osmImportService.submitAreaImport(area, request.campus())
+        );
+        return ResponseEntity
+                .accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                        .path("/api/pos/import/osm/jobs/{id}")
+                        .buildAndExpand(job.id())
+                        .toUri())
+                .body(job);
+    }
+
+    @Operation(
+            summary = "Get all retained import jobs, most recent first.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(type = "array", implementation = ImportJobDto.class)
+                            ),
+                            description = "All retained import jobs as a JSON array."
+                    )
+            }
+    )
+    @GetMapping("")
+    public ResponseEntity<List<ImportJobDto>> getAll() {
+
+        return ResponseEntity.ok(
+                osmImportService.getJobs().stream()
+                        .map(importJobDtoMapper::fromDomain)
+                        .toList()
+        );
+    }
+
+    @Operation(
+            summary = "Get the state and progress of an import job.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ImportJobDto.class)
+                            ),
+                            description = "The import job with the provided ID as a JSON object."
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "No import job with the provided ID could be found."
+                    )
+            }
+    )
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobDto> getById(
+            @PathVariable String jobId) {
+
+        return ResponseEntity.ok(
+                importJobDtoMapper.fromDomain(osmImportService.getJob(jobId))
+        );
+    }
+
+    @Operation(
+            summary = "Cancel an import job.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ImportJobDto.class)
+                            ),
+                            description = "The import job after the cancellation request as a JSON object."
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "No import job with the provided ID could be found."
+                    )
+            }
+    )
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<ImportJobDto> cancel(
+            @PathVariable String jobId) {
+
+        return ResponseEntity.ok(
+                importJobDtoMapper.fromDomain(osmImportService.cancelJob(jobId))
+        );
+    }
+}
@@ -0,0 +1,354 @@
+package de.seuhd.campuscoffee.api.controller;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.api.mapper.PosDtoMapper;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of the encoded response bodies of {@code GET /api/pos}.
+ * The catalog is mapped to DTOs once per catalog version ({@link PosService#getCatalogVersion()}); each
+ * representation (media type and content coding) is serialized and compressed on first request and then served
+ * from the cached bytes, so repeated downloads of an unchanged catalog do not map, serialize, or compress anything.
+ * <p>
+ * The media type is negotiated like Spring MVC does (Accept header, in the order of the message converters, so JSON
+ * is the default). The content coding is negotiated via the Accept-Encoding header: Brotli ({@code br}, if the
+ * native library is available on the platform), gzip, or identity.
+ */
+@Component
+@Slf4j
+class PosCatalogCache {
+    private static final Type POS_LIST = new ParameterizedTypeReference<List<PosDto>>() {}.getType();
+    private static final int BROTLI_QUALITY = 11; // the bodies are compressed once, so the slowest level pays off
+
+    private final PosService posService;
+    private final PosDtoMapper posDtoMapper;
+    private final Supplier<List<HttpMessageConverter<?>>> messageConverters;
+    private final boolean brotliAvailable;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile @Nullable Catalog catalog;
+    private volatile @Nullable List<MediaType> producibleMediaTypes;
+
+    @Autowired
+    PosCatalogCache(PosService posService, PosDtoMapper posDtoMapper,
+                    ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter) {
+        // the converters of Spring MVC, so cached and uncached responses are serialized the same way
+        this(posService, posDtoMapper, () -> handlerAdapter.getObject().getMessageConverters(),
+                Brotli4jLoader.isAvailable());
+    }
+
+    PosCatalogCache(PosService posService, PosDtoMapper posDtoMapper,
+                    Supplier<List<HttpMessageConverter<?>>> messageConverters, boolean brotliAvailable) {
+        this.posService = posService;
+        this.posDtoMapper = posDtoMapper;
+        this.messageConverters = messageConverters;
+        this.brotliAvailable = brotliAvailable;
+        if (!brotliAvailable) {
+            log.info("Brotli is not available on this platform; the POS catalog is served with gzip or identity");
+        }
+    }
+
+    /**
+     * Content codings of the cached bodies, in the order of preference.
+     */
+    enum ContentCoding {
+        BROTLI("br"),
+        GZIP("gzip"),
+        IDENTITY("identity");
+
+        private final String token;
+
+        ContentCoding(String token) {
+            this.token = token;
+        }
+
+        String token() {
+            return token;
+        }
+    }
+
+    record Representation(MediaType mediaType, ContentCoding coding) {
+    }
+
+    /**
+     * An encoded body with the content type written by the message converter (e.g., including the charset).
+     */
+    record EncodedBody(MediaType contentType, byte[] bytes) {
+    }
+
+    /**
+     * The catalog of one version with its encoded bodies; a body is set once and never changes.
+     */
+    private record Catalog(long version, List<PosDto> posList,
+                           Map<Representation, CompletableFuture<EncodedBody>> bodies) {
+    }
+
+    /**
+     * Writes the catalog in the representation requested by the Accept and Accept-Encoding headers.
+     *
+     * @throws HttpMediaTypeNotAcceptableException if the catalog cannot be written in any accepted media type
+     */
+    void write(HttpServletRequest request, HttpServletResponse response)
+            throws IOException, HttpMediaTypeNotAcceptableException {
+        Representation representation = new Representation(
+                negotiateMediaType(Collections.list(request.getHeaders(HttpHeaders.ACCEPT))),
+                negotiateCoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING)));
+        EncodedBody body = get(representation);
+
+        response.setContentType(body.contentType().toString());
+        if (representation.coding() != ContentCoding.IDENTITY) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, representation.coding().token());
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentLength(body.bytes().length);
+        response.getOutputStream().write(body.bytes());
+    }
+
+    /**
+     * Returns the encoded body of the current catalog in a representation; it is encoded if this is the first
+     * request for the representation since the catalog changed.
+     */
+    EncodedBody get(Representation representation) throws IOException {
+        return get(currentCatalog(), representation);
+    }
+
+    private EncodedBody get(Catalog catalog, Representation representation) throws IOException {
+        CompletableFuture<EncodedBody> created = new CompletableFuture<>();
+        CompletableFuture<EncodedBody> existing = catalog.bodies().putIfAbsent(representation, created);
+        if (existing != null) {
+            // encoded or being encoded by another request
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof IOException ioException) {
+                    throw ioException;
+                }
+                throw e;
+            }
+        }
+        try {
+            EncodedBody body = encode(catalog, representation);
+            created.complete(body);
+            log.debug("Encoded POS catalog version {} as {}: {} bytes", catalog.version(), representation,
+                    body.bytes().length);
+            return body;
+        } catch (IOException | RuntimeException e) {
+            // not cached, the next request tries again
+            catalog.bodies().remove(representation, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the catalog of the current version; it is loaded if the version has changed since the last request.
+     */
+    private Catalog currentCatalog() {
+        // the version is read before the POS, so a catalog may be newer, but never older than its version
+        long version = posService.getCatalogVersion();
+        Catalog current = catalog;
+        if (current != null && current.version() >= version) {
+            return current;
+        }
+        rebuildLock.lock();
+        try {
+            current = catalog;
+            if (current != null && current.version() >= version) {
+                return current; // loaded by a concurrent request
+            }
+            List<PosDto> posList = posService.getAll().stream()
+                    .map(posDtoMapper::fromDomain)
+                    .toList();
+            current = new Catalog(version, posList, new ConcurrentHashMap<>());
+            catalog = current;
+            log.debug("Loaded POS catalog version {} with {} POS", version, posList.size());
+            return current;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private EncodedBody encode(Catalog catalog, Representation representation) throws IOException {
+        if (representation.coding() == ContentCoding.IDENTITY) {
+            return serialize(catalog.posList(), representation.mediaType());
+        }
+        EncodedBody identity = get(catalog, new Representation(representation.mediaType(), ContentCoding.IDENTITY));
+        byte[] compressed = switch (representation.coding()) {
+            case BROTLI -> Encoder.compress(identity.bytes(), new Encoder.Parameters().setQuality(BROTLI_QUALITY));
+            case GZIP -> gzip(identity.bytes());
+            case IDENTITY -> identity.bytes();
+        };
+        return new EncodedBody(identity.contentType(), compressed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private EncodedBody serialize(List<PosDto> posList, MediaType mediaType) throws IOException {
+        for (HttpMessageConverter<?> converter : messageConverters.get()) {
+            if (converter instanceof GenericHttpMessageConverter<?> genericConverter
+                    && genericConverter.canWrite(POS_LIST, List.class, mediaType)) {
+                BufferedOutputMessage output = new BufferedOutputMessage();
+                ((GenericHttpMessageConverter<Object>) genericConverter).write(posList, POS_LIST, mediaType, output);
+                MediaType contentType = output.getHeaders().getContentType();
+                return new EncodedBody(contentType != null ? contentType : mediaType, output.body.toByteArray());
+            }
+        }
+        throw new IllegalStateException("No message converter for POS lists as " + mediaType);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Selects the media type for the Accept header values: the first producible type that is compatible with the
+     * most specific accepted type.
+     */
+    MediaType negotiateMediaType(List<String> acceptHeaders) throws HttpMediaTypeNotAcceptableException {
+        List<MediaType> acceptedTypes = new ArrayList<>();
+        for (String header : acceptHeaders) {
+            acceptedTypes.addAll(MediaType.parseMediaTypes(header));
+        }
+        if (acceptedTypes.isEmpty()) {
+            acceptedTypes.add(MediaType.ALL);
+        }
+        MimeTypeUtils.sortBySpecificity(acceptedTypes);
+
+        List<MediaType> producibleTypes = producibleMediaTypes();
+        for (MediaType acceptedType : acceptedTypes) {
+            for (MediaType producibleType : producibleTypes) {
+                if (acceptedType.isCompatibleWith(producibleType)) {
+                    return producibleType;
+                }
+            }
+        }
+        throw new HttpMediaTypeNotAcceptableException(producibleTypes);
+    }
+
+    private List<MediaType> producibleMediaTypes() {
+        List<MediaType> types = producibleMediaTypes;
+        if (types == null) {
+            List<MediaType> collected = new ArrayList<>();
+            for (HttpMessageConverter<?> converter : messageConverters.get()) {
+                if (converter instanceof GenericHttpMessageConverter<?> genericConverter) {
+                    for (MediaType type : converter.getSupportedMediaTypes(List.class)) {
+                        // concrete types only (e.g., not application/*+json)
+                        if (type.isConcrete() && !collected.contains(type)
+                                && genericConverter.canWrite(POS_LIST, List.class, type)) {
+                            collected.add(type);
+                        }
+                    }
+                }
+            }
+            types = List.copyOf(collected);
+            producibleMediaTypes = types;
+        }
+        return types;
+    }
+
+    /**
+     * Selects the content coding for the Accept-Encoding header: the accepted coding with the highest quality,
+     * preferring Brotli over gzip if both are equally acceptable. Codings not listed are acceptable with the quality
+     * of {@code *}, if present.
+     */
+    ContentCoding negotiateCoding(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return ContentCoding.IDENTITY;
+        }
+        Map<String, Double> qualities = new HashMap<>();
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0.0; // invalid quality: treated as not acceptable
+                    }
+                }
+            }
+            if (!coding.isEmpty()) {
+                qualities.put(coding, quality);
+            }
+        }
+
+        ContentCoding selected = ContentCoding.IDENTITY;
+        double selectedQuality = 0.0;
+        for (ContentCoding coding : List.of(ContentCoding.BROTLI, ContentCoding.GZIP)) {
+            if (coding == ContentCoding.BROTLI && !brotliAvailable) {
+                continue;
+            }
+            double quality = qualities.getOrDefault(coding.token(), qualities.getOrDefault("*", 0.0));
+            if (quality > selectedQuality) {
+                selected = coding;
+                selectedQuality = quality;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Collects the output of a message converter in memory.
+     */
+    private static final class BufferedOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public @NonNull OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public @NonNull HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
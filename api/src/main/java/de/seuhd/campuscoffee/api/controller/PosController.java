@@ -1,23 +1,37 @@
 package de.seuhd.campuscoffee.api.controller;
 
+import de.seuhd.campuscoffee.api.dtos.MultiGetResultDto;
+import de.seuhd.campuscoffee.api.dtos.PosChangesDto;
 import de.seuhd.campuscoffee.api.dtos.PosDto;
 import de.seuhd.campuscoffee.api.exceptions.ErrorResponse;
 import de.seuhd.campuscoffee.api.mapper.PosDtoMapper;
 import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.MultiGetResult;
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosChanges;
+import de.seuhd.campuscoffee.domain.model.PosSyncToken;
 import de.seuhd.campuscoffee.domain.ports.PosService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Locale;
 
 import static de.seuhd.campuscoffee.api.util.ControllerUtils.getLocation;
 
@@ -32,6 +46,8 @@ import static de.seuhd.campuscoffee.api.util.ControllerUtils.getLocation;
 public class PosController {
     private final PosService posService;
     private final PosDtoMapper posDtoMapper;
+    private final PosCatalogCache posCatalogCache;
+    private final ChangeFeeds changeFeeds;
 
     @Operation(
             summary = "Get all POS.",
@@ -47,13 +63,122 @@ public class PosController {
             }
     )
     @GetMapping("")
-    public ResponseEntity<List<PosDto>> getAll() {
+    public void getAll(HttpServletRequest request, HttpServletResponse response)
+            throws IOException, HttpMediaTypeNotAcceptableException {
+        // served from the pre-encoded bodies of the current catalog version
+        posCatalogCache.write(request, response);
+    }
 
-        return ResponseEntity.ok(
-                posService.getAll().stream()
-                        .map(posDtoMapper::fromDomain)
-                        .toList()
-        );
+    @Operation(
+            summary = "Get several POS by their IDs.",
+            description = "Looks up all POS with a single query; for long ID lists, use POST /api/pos/lookup.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = MultiGetResultDto.class)
+                            ),
+                            description = "The POS found in the order of the IDs and the IDs without a POS."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "No or too many IDs were provided."
+                    )
+            }
+    )
+    @GetMapping(value = "", params = "ids")
+    public ResponseEntity<MultiGetResultDto<PosDto>> getAllById(
+            @RequestParam("ids") List<Long> ids) {
+
+        return ResponseEntity.ok(toDto(posService.getAllById(ids)));
+    }
+
+    @Operation(
+            summary = "Get several POS by the IDs in the request body.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = MultiGetResultDto.class)
+                            ),
+                            description = "The POS found in the order of the IDs and the IDs without a POS."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "No or too many IDs were provided."
+                    )
+            }
+    )
+    @PostMapping("/lookup")
+    public ResponseEntity<MultiGetResultDto<PosDto>> lookup(
+            @RequestBody List<Long> ids) {
+
+        return ResponseEntity.ok(toDto(posService.getAllById(ids)));
+    }
+
+    @Operation(
+            summary = "Subscribe to POS changes.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE),
+                            description = "Server-Sent Events (created, updated, deleted, cleared) for POS changes; "
+                                    + "after a reconnect with Last-Event-ID, the missed events or a reset event."
+                    )
+            }
+    )
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        return changeFeeds.subscribeToPos(lastEventId);
+    }
+
+    @Operation(
+            summary = "Get the POS changes since a previous sync (delta sync).",
+            description = "Pass an empty token for the first sync, which returns all POS, and the returned token "
+                    + "for the next one. Deleted POS are reported by their IDs. Tokens older than the retention of "
+                    + "deleted POS (30 days) get all POS again ('full': true).",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = PosChangesDto.class)
+                            ),
+                            description = "The changed POS, the IDs of the deleted POS, and the next sync token."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The sync token is invalid."
+                    )
+            }
+    )
+    @GetMapping(value = "/changes", params = "since")
+    public ResponseEntity<PosChangesDto> changesSince(
+            @RequestParam("since") String since) {
+
+        PosChanges changes = posService.getChanges(since.isEmpty() ? null : PosSyncToken.fromToken(since));
+        return ResponseEntity.ok(PosChangesDto.builder()
+                .changed(changes.changed().stream().map(posDtoMapper::fromDomain).toList())
+                .deleted(changes.deletedIds())
+                .full(changes.full())
+                .syncToken(changes.next().toToken())
+                .build());
     }
 
     @Operation(
@@ -173,6 +298,14 @@ public class PosController {
                                     schema = @Schema(implementation = ErrorResponse.class)
                             ),
                             description = "The OSM node with the provided ID could not be found."
+                    ),
+                    @ApiResponse(
+                            responseCode = "503",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The OpenStreetMap API is temporarily unavailable; retry later."
                     )
             }
     )
@@ -189,6 +322,59 @@ public class PosController {
                 .body(createdPos);
     }
 
+    @Operation(
+            summary = "Import a new POS from an OpenStreetMap way or relation.",
+            description = "For POS mapped as building outlines (ways) or multipolygons (relations). The element is "
+                    + "fetched with all its members in a single request; its tags are used for the POS.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "201",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = PosDto.class)
+                            ),
+                            description = "The new POS imported from OSM as a JSON object."
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "Validation failed or the OSM element data is invalid."
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The OSM way or relation with the provided ID could not be found."
+                    ),
+                    @ApiResponse(
+                            responseCode = "503",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ErrorResponse.class)
+                            ),
+                            description = "The OpenStreetMap API is temporarily unavailable; retry later."
+                    )
+            }
+    )
+    @PostMapping("/import/osm/{elementType:way|relation}/{elementId}")
+    public ResponseEntity<PosDto> create(
+            @PathVariable String elementType,
+            @PathVariable Long elementId,
+            @RequestBody CampusType campusType) {
+
+        PosDto createdPos = posDtoMapper.fromDomain(
+                posService.importFromOsmElement(OsmElementType.valueOf(elementType.toUpperCase(Locale.ROOT)), elementId, campusType)
+        );
+        return ResponseEntity
+                .created(getLocation(createdPos.id()))
+                .body(createdPos);
+    }
+
     @Operation(
             summary = "Update an existing POS by ID.",
             responses = {
@@ -255,6 +441,13 @@ public class PosController {
         return ResponseEntity.noContent().build();
     }
 
+    private MultiGetResultDto<PosDto> toDto(MultiGetResult<Pos> result) {
+        return new MultiGetResultDto<>(
+                result.found().stream().map(posDtoMapper::fromDomain).toList(),
+                result.missingIds()
+        );
+    }
+
     /**
      * Common upsert logic for create and update.
      *
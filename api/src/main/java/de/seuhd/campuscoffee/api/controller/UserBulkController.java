@@ -0,0 +1,219 @@
+package de.seuhd.campuscoffee.api.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.seuhd.campuscoffee.api.dtos.UserBulkResultDto;
+import de.seuhd.campuscoffee.api.dtos.UserDto;
+import de.seuhd.campuscoffee.api.exceptions.ErrorResponse;
+import de.seuhd.campuscoffee.api.exceptions.GlobalExceptionHandler;
+import de.seuhd.campuscoffee.api.mapper.UserDtoMapper;
+import de.seuhd.campuscoffee.api.util.NdjsonLineReader;
+import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserCursor;
+import de.seuhd.campuscoffee.domain.model.UserPage;
+import de.seuhd.campuscoffee.domain.model.UserSortKey;
+import de.seuhd.campuscoffee.domain.ports.UserService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streaming bulk import and export of users as newline-delimited JSON (NDJSON), one {@link UserDto} per line.
+ * Both directions process the stream in batches, so their memory use does not depend on the number of users.
+ */
+@Tag(name = "Users", description = "Operations related to user management.")
+@Controller
+@RequestMapping("/api/users")
+@Slf4j
+@RequiredArgsConstructor
+public class UserBulkController {
+    static final int BATCH_SIZE = 500;
+    static final int MAX_LINE_LENGTH = 16 * 1024;
+
+    private final @NonNull UserService userService;
+    private final @NonNull UserDtoMapper userDtoMapper;
+    private final @NonNull ObjectMapper objectMapper;
+    private final @NonNull Validator validator;
+    private final @NonNull GlobalExceptionHandler exceptionHandler;
+
+    /**
+     * A valid line of an import that is waiting for the next batch.
+     */
+    private record Entry(long line, User user) {
+    }
+
+    // POST /api/users/bulk (Content-Type: application/x-ndjson)
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("HTTP POST /api/users/bulk - importing users");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        WebRequest webRequest = new ServletWebRequest(request, response);
+
+        NdjsonLineReader reader = new NdjsonLineReader(request.getInputStream(), MAX_LINE_LENGTH);
+        // results are written per batch in the order of the lines, including those of invalid lines
+        List<UserBulkResultDto> results = new ArrayList<>();
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        int created = 0;
+        NdjsonLineReader.Line line;
+        while ((line = reader.next()) != null) {
+            UserBulkResultDto invalid = parse(line, batch);
+            if (invalid != null) {
+                results.add(invalid);
+            }
+            if (batch.size() == BATCH_SIZE || results.size() >= BATCH_SIZE) {
+                created += write(batch, results, out, webRequest);
+            }
+        }
+        created += write(batch, results, out, webRequest);
+        log.info("Imported {} users", created);
+    }
+
+    // GET /api/users/export
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        log.debug("HTTP GET /api/users/export - exporting all users");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+
+        UserCursor cursor = null;
+        do {
+            UserPage page = userService.getUsers(UserSortKey.LOGIN_NAME, null, cursor, BATCH_SIZE);
+            for (User user : page.users()) {
+                writeLine(userDtoMapper.toDto(user), out);
+            }
+            out.flush();
+            cursor = page.next();
+        } while (cursor != null);
+    }
+
+    /**
+     * Parses and validates a line; valid users are added to the batch, otherwise the result for the line is returned.
+     */
+    private @Nullable UserBulkResultDto parse(NdjsonLineReader.Line line, List<Entry> batch) {
+        if (line.content() == null) {
+            return invalid(line.number(), "LineTooLong",
+                    "Line exceeds the maximum length of " + MAX_LINE_LENGTH + " bytes.");
+        }
+        UserDto userDto;
+        try {
+            userDto = objectMapper.readValue(line.content(), UserDto.class);
+        } catch (JsonProcessingException e) {
+            return invalid(line.number(), e.getClass().getSimpleName(), e.getOriginalMessage());
+        }
+        if (userDto == null) {
+            return invalid(line.number(), "ValidationException", "Line is not a user.");
+        }
+        Set<ConstraintViolation<UserDto>> violations = validator.validate(userDto);
+        if (!violations.isEmpty()) {
+            return invalid(line.number(), "ValidationException", violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        batch.add(new Entry(line.number(), userDtoMapper.toDomain(userDto)));
+        return null;
+    }
+
+    /**
+     * Creates the users of the batch and writes the results of all lines read so far.
+     *
+     * @return the number of created users
+     */
+    private int write(List<Entry> batch, List<UserBulkResultDto> results, OutputStream out, WebRequest request)
+            throws IOException {
+        if (!batch.isEmpty()) {
+            results.addAll(createAll(batch, request));
+            results.sort(Comparator.comparingLong(UserBulkResultDto::line));
+        }
+        int created = 0;
+        for (UserBulkResultDto result : results) {
+            writeLine(result, out);
+            if (result.status() == UserBulkResultDto.Status.CREATED) {
+                created++;
+            }
+        }
+        out.flush();
+        batch.clear();
+        results.clear();
+        return created;
+    }
+
+    private List<UserBulkResultDto> createAll(List<Entry> batch, WebRequest request) {
+        try {
+            List<User> createdUsers = userService.createUsers(batch.stream().map(Entry::user).toList());
+            List<UserBulkResultDto> results = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                results.add(created(batch.get(i).line(), createdUsers.get(i)));
+            }
+            return results;
+        } catch (RuntimeException e) {
+            // the batch was not written: retry the users one by one to find the failing lines
+            log.debug("Batch of {} users failed, retrying individually: {}", batch.size(), e.getMessage());
+            return batch.stream()
+                    .map(entry -> create(entry, request))
+                    .toList();
+        }
+    }
+
+    /**
+     * Creates the user of a line; a failure is reported like the error response of a single request, so that
+     * unexpected errors (e.g., of the database) do not reveal their message.
+     */
+    private UserBulkResultDto create(Entry entry, WebRequest request) {
+        try {
+            return created(entry.line(), userService.createUser(entry.user()));
+        } catch (RuntimeException e) {
+            ErrorResponse error = exceptionHandler.handleException(e, request).getBody();
+            return UserBulkResultDto.builder()
+                    .line(entry.line())
+                    .status(UserBulkResultDto.Status.FAILED)
+                    .errorCode(error != null ? error.getErrorCode() : null)
+                    .message(error != null ? error.getMessage() : null)
+                    .build();
+        }
+    }
+
+    private void writeLine(Object value, OutputStream out) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(value));
+        out.write('\n');
+    }
+
+    private static UserBulkResultDto created(long line, User user) {
+        return UserBulkResultDto.builder()
+                .line(line)
+                .status(UserBulkResultDto.Status.CREATED)
+                .id(user.id())
+                .build();
+    }
+
+    private static UserBulkResultDto invalid(long line, String errorCode, String message) {
+        return UserBulkResultDto.builder()
+                .line(line)
+                .status(UserBulkResultDto.Status.INVALID)
+                .errorCode(errorCode)
+                .message(message)
+                .build();
+    }
+}
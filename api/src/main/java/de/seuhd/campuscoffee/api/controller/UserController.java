@@ -1,16 +1,27 @@
 package de.seuhd.campuscoffee.api.controller;
 
+import de.seuhd.campuscoffee.api.dtos.MultiGetResultDto;
 import de.seuhd.campuscoffee.api.dtos.UserDto;
 import de.seuhd.campuscoffee.api.mapper.UserDtoMapper;
+import de.seuhd.campuscoffee.api.util.ControllerUtils;
+import de.seuhd.campuscoffee.domain.model.MultiGetResult;
+import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserCursor;
+import de.seuhd.campuscoffee.domain.model.UserPage;
+import de.seuhd.campuscoffee.domain.model.UserSortKey;
 import de.seuhd.campuscoffee.domain.ports.UserService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -23,13 +34,50 @@ public class UserController {
 
     private final @NonNull UserService userService;
     private final @NonNull UserDtoMapper userDtoMapper;
+    private final @NonNull ChangeFeeds changeFeeds;
 
-    // GET /api/users
+    // GET /api/users?sort=lastName&prefix=Do&limit=20&cursor=...
     @GetMapping
     @ResponseBody
-    public List<UserDto> getAllUsers() {
-        log.debug("HTTP GET /api/users - retrieving all users");
-        return userDtoMapper.toDtoList(userService.getAllUsers());
+    public ResponseEntity<List<UserDto>> getUsers(
+            @RequestParam(value = "sort", defaultValue = "loginName") String sort,
+            @RequestParam(value = "prefix", required = false) String prefix,
+            @RequestParam(value = "limit", defaultValue = "100") int limit,
+            @RequestParam(value = "cursor", required = false) String cursor
+    ) {
+        log.debug("HTTP GET /api/users - retrieving up to {} users ordered by {} with prefix={}", limit, sort, prefix);
+        UserPage page = userService.getUsers(UserSortKey.fromApiValue(sort), prefix,
+                cursor != null ? UserCursor.fromToken(cursor) : null, limit);
+
+        // the next page is linked in the Link header, so the body remains a list
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.next() != null) {
+            response.header(HttpHeaders.LINK, ControllerUtils.getNextPageLink(page.next().toToken()));
+        }
+        return response.body(userDtoMapper.toDtoList(page.users()));
+    }
+
+    // GET /api/users?ids=1,2,3 (one query for all IDs; missing IDs are listed in missingIds)
+    @GetMapping(params = "ids")
+    @ResponseBody
+    public MultiGetResultDto<UserDto> getUsersById(@RequestParam("ids") List<Long> ids) {
+        log.debug("HTTP GET /api/users?ids=... - retrieving {} users by id", ids.size());
+        return toDto(userService.getUsersById(ids));
+    }
+
+    // POST /api/users/lookup with a list of IDs in the body (for long lists)
+    @PostMapping("/lookup")
+    @ResponseBody
+    public MultiGetResultDto<UserDto> lookupUsers(@RequestBody List<Long> ids) {
+        log.debug("HTTP POST /api/users/lookup - retrieving {} users by id", ids.size());
+        return toDto(userService.getUsersById(ids));
+    }
+
+    // GET /api/users/changes (Server-Sent Events; after a reconnect with Last-Event-ID)
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter changes(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.debug("HTTP GET /api/users/changes - subscribing to user changes (Last-Event-ID {})", lastEventId);
+        return changeFeeds.subscribeToUsers(lastEventId);
     }
 
     // GET /api/users/{id}
@@ -40,12 +88,22 @@ public class UserController {
         return userDtoMapper.toDto(userService.getUserById(id));
     }
 
-    // GET /api/users/filter?loginName=foo
+    // GET /api/users/filter?loginName=foo or GET /api/users/filter?emailAddress=foo@example.com
     @GetMapping("/filter")
     @ResponseBody
-    public List<UserDto> getUsersByLoginName(@RequestParam("loginName") String loginName) {
-        log.debug("HTTP GET /api/users/filter?loginName={} - retrieving users by loginName", loginName);
-        return userDtoMapper.toDtoList(userService.findUsersByLoginName(loginName));
+    public List<UserDto> getUsersByFilter(
+            @RequestParam(value = "loginName", required = false) String loginName,
+            @RequestParam(value = "emailAddress", required = false) String emailAddress
+    ) {
+        if ((loginName == null) == (emailAddress == null)) {
+            throw new IllegalArgumentException("Exactly one of the parameters 'loginName' and 'emailAddress' is required.");
+        }
+        if (loginName != null) {
+            log.debug("HTTP GET /api/users/filter?loginName={} - retrieving users by loginName", loginName);
+            return userDtoMapper.toDtoList(userService.findUsersByLoginName(loginName));
+        }
+        log.debug("HTTP GET /api/users/filter?emailAddress={} - retrieving users by emailAddress", emailAddress);
+        return userDtoMapper.toDtoList(userService.findUsersByEmailAddress(emailAddress));
     }
 
     // POST /api/users
@@ -77,4 +135,8 @@ public class UserController {
         log.debug("HTTP DELETE /api/users/{} - deleting user", id);
         userService.deleteUserById(id);
     }
+
+    private MultiGetResultDto<UserDto> toDto(MultiGetResult<User> result) {
+        return new MultiGetResultDto<>(userDtoMapper.toDtoList(result.found()), result.missingIds());
+    }
 }
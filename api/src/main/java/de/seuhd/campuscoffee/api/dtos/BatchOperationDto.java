@@ -0,0 +1,15 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Builder;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * DTO record for one operation of a batch, e.g., {@code {"method": "PUT", "path": "/api/pos/1", "body": {...}}}.
+ */
+@Builder(toBuilder = true)
+public record BatchOperationDto(
+        @Nullable String method, // GET, POST, PUT, or DELETE
+        @Nullable String path, // /api/pos, /api/pos/{id}, /api/users, or /api/users/{id}
+        @Nullable JsonNode body // the POS or user for POST and PUT
+) {}
@@ -0,0 +1,11 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * DTO record for the result of one operation of a batch.
+ */
+public record BatchOperationResultDto(
+        int status, // the HTTP status of the operation as a single request; 424 if it was not run or rolled back
+        @Nullable Object body // the POS, user, or error response; null for deletions and operations not run
+) {}
@@ -0,0 +1,13 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * DTO record for the result of a batch.
+ */
+public record BatchResultDto(
+        boolean committed, // false if an operation failed and all operations were rolled back
+        @NonNull List<BatchOperationResultDto> results // in the order of the operations
+) {}
@@ -0,0 +1,25 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * DTO record for a geographic area given by its south-west and north-east corners (WGS 84 degrees).
+ */
+@Builder(toBuilder = true)
+public record BoundingBoxDto(
+        @NotNull @DecimalMin("-180") @DecimalMax("180")
+        @NonNull Double minLon,
+
+        @NotNull @DecimalMin("-90") @DecimalMax("90")
+        @NonNull Double minLat,
+
+        @NotNull @DecimalMin("-180") @DecimalMax("180")
+        @NonNull Double maxLon,
+
+        @NotNull @DecimalMin("-90") @DecimalMax("90")
+        @NonNull Double maxLat
+) {}
@@ -0,0 +1,16 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import de.seuhd.campuscoffee.domain.model.ChangeType;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * DTO record for the data of an event of the POS and user change feeds.
+ *
+ * @param <T> the DTO type of the changed entity
+ */
+public record ChangeEventDto<T>(
+        @NonNull ChangeType type,
+        @Nullable Long id, // is null if all entities were cleared
+        @Nullable T entity // the entity after the change; null if it was deleted or cleared
+) {}
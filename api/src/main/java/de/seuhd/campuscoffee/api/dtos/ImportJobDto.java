@@ -0,0 +1,31 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.ImportJobStatus;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO record for the state and progress of an asynchronous OSM import job.
+ */
+@Builder(toBuilder = true)
+public record ImportJobDto(
+        @NonNull String id,
+        @NonNull ImportJobStatus status,
+        @NonNull CampusType campus,
+        @Nullable BoundingBoxDto area, // is null for jobs that import explicitly given nodes
+        @NonNull LocalDateTime createdAt,
+        @Nullable LocalDateTime startedAt, // is null while the job is queued
+        @Nullable LocalDateTime finishedAt, // is null until the job is completed, failed, or cancelled
+        @Nullable String message, // is set if the job failed
+        int totalCount,
+        int processedCount,
+        int importedCount,
+        int skippedCount,
+        int failedCount,
+        @NonNull List<ImportOutcomeDto> outcomes
+) {}
@@ -0,0 +1,18 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import de.seuhd.campuscoffee.domain.model.ImportOutcomeStatus;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * DTO record for the outcome of importing a single OSM element within an import job.
+ */
+@Builder(toBuilder = true)
+public record ImportOutcomeDto(
+        @NonNull Long nodeId,
+        @NonNull ImportOutcomeStatus status,
+        @Nullable Long posId, // is set if the element was imported
+        @Nullable String errorCode, // is set if the import failed
+        @Nullable String message // is set if the import failed
+) {}
@@ -0,0 +1,15 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * DTO record for the result of a lookup of several POS or users by their IDs.
+ *
+ * @param <T> the DTO type of the entities
+ */
+public record MultiGetResultDto<T>(
+        @NonNull List<T> found, // in the order of the requested IDs
+        @NonNull List<Long> missingIds // requested IDs without an entity
+) {}
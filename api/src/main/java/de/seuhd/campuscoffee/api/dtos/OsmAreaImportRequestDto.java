@@ -0,0 +1,20 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * DTO record for submitting an asynchronous import of all POS within an area.
+ */
+@Builder(toBuilder = true)
+public record OsmAreaImportRequestDto(
+        @NotNull
+        @NonNull CampusType campus,
+
+        @Valid
+        @Nullable BoundingBoxDto area // if null, the preset area of the campus is imported
+) {}
@@ -0,0 +1,22 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+import de.seuhd.campuscoffee.domain.model.OsmFetchFailureReason;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO record for a cached failure of an OSM element fetch.
+ */
+@Builder(toBuilder = true)
+public record OsmFetchFailureDto(
+        @NonNull OsmElementType elementType,
+        @NonNull Long elementId,
+        @NonNull OsmFetchFailureReason reason,
+        @Nullable String detail, // missing tag or unsupported amenity value; null if the element was not found
+        @NonNull LocalDateTime cachedAt,
+        @NonNull LocalDateTime expiresAt
+) {}
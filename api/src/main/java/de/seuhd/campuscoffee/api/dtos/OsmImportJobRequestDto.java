@@ -0,0 +1,21 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * DTO record for submitting an asynchronous OSM import job.
+ */
+@Builder(toBuilder = true)
+public record OsmImportJobRequestDto(
+        @NotNull
+        @NonNull CampusType campus,
+
+        @NotEmpty(message = "At least one OSM node ID is required.")
+        @NonNull List<@NotNull Long> nodeIds
+) {}
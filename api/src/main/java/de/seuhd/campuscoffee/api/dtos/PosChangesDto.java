@@ -0,0 +1,17 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * DTO record for the result of a POS delta sync.
+ */
+@Builder(toBuilder = true)
+public record PosChangesDto(
+        @NonNull List<PosDto> changed, // created or updated since the sync token
+        @NonNull List<Long> deleted, // IDs of the POS deleted since the sync token
+        boolean full, // all POS: replace the local copies instead of applying the changes
+        @NonNull String syncToken // pass as 'since' to the next sync
+) {}
@@ -0,0 +1,23 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * DTO record for the result of importing a single line of an NDJSON bulk import of users.
+ */
+@Builder(toBuilder = true)
+public record UserBulkResultDto(
+        long line,
+        @NonNull Status status,
+        @Nullable Long id, // is set if the user was created
+        @Nullable String errorCode, // is set if the line was not imported
+        @Nullable String message // is set if the line was not imported
+) {
+    public enum Status {
+        CREATED, // the user was created
+        INVALID, // the line is not a valid user
+        FAILED // the user is valid but could not be created, e.g., because the login name is taken
+    }
+}
@@ -3,9 +3,11 @@ package de.seuhd.campuscoffee.api.exceptions;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
 import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
 import de.seuhd.campuscoffee.domain.exceptions.ValidationException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -13,16 +15,27 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 
 /**
  * Global exception handler for all controllers.
  * Provides centralized exception handling and standardized error responses.
+ * Expected misses ({@link NotFoundException#isExpected()}, {@link MissingFieldException#isExpected()}) are frequent
+ * (e.g., clients with stale caches), so they are only logged at debug level and the exceptions have no stack trace.
+ * Their error responses are rendered like all others (content negotiation, e.g., JSON or Protobuf), since message,
+ * path, and timestamp differ per request.
  */
 @Slf4j
 @ControllerAdvice
 public class GlobalExceptionHandler {
+    /**
+     * Clock of the error timestamps; {@link LocalDateTime#now()} looks up (and copies) the default time zone for
+     * every response.
+     */
+    private static final Clock CLOCK = Clock.systemDefaultZone();
 
     /**
      * Handles all "Not Found" exceptions from the domain layer.
@@ -36,10 +49,14 @@ public class GlobalExceptionHandler {
             NotFoundException.class,
     })
     public ResponseEntity<ErrorResponse> handleNotFoundException(
-            RuntimeException exception,
+            NotFoundException exception,
             WebRequest request
     ) {
-        log.warn("Resource not found: {}", exception.getMessage());
+        if (exception.isExpected()) {
+            log.debug("Resource not found: {}", exception.getMessage());
+        } else {
+            log.warn("Resource not found: {}", exception.getMessage());
+        }
         return buildErrorResponse(exception, HttpStatus.NOT_FOUND, request);
     }
 
@@ -78,7 +95,11 @@ public class GlobalExceptionHandler {
             RuntimeException exception,
             WebRequest request
     ) {
-        log.warn("Bad request: {}", exception.getMessage());
+        if (exception instanceof MissingFieldException missingFieldException && missingFieldException.isExpected()) {
+            log.debug("Bad request: {}", exception.getMessage());
+        } else {
+            log.warn("Bad request: {}", exception.getMessage());
+        }
         return buildErrorResponse(exception, HttpStatus.BAD_REQUEST, request);
     }
 
@@ -102,6 +123,64 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(exception, HttpStatus.BAD_REQUEST, request);
     }
 
+    /**
+     * Handles transient unavailability of services the request depends on (e.g., the OpenStreetMap API).
+     * Returns HTTP 503 (Service Unavailable) to signal that the client may retry later.
+     *
+     * @param exception the exception that was thrown
+     * @param request the web request
+     * @return ResponseEntity with ErrorResponse and HTTP 503
+     */
+    @ExceptionHandler({
+            ServiceUnavailableException.class
+    })
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(
+            RuntimeException exception,
+            WebRequest request
+    ) {
+        log.warn("Service unavailable: {}", exception.getMessage());
+        return buildErrorResponse(exception, HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
+    /**
+     * Handles requests of clients that exceeded their rate limit.
+     * Returns HTTP 429 (Too Many Requests) with a {@code Retry-After} header (in seconds).
+     *
+     * @param exception the exception that was thrown
+     * @param request the web request
+     * @return ResponseEntity with ErrorResponse and HTTP 429
+     */
+    @ExceptionHandler({
+            RateLimitExceededException.class
+    })
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(
+            RateLimitExceededException exception,
+            WebRequest request
+    ) {
+        log.debug("Rate limit exceeded: {}", extractPath(request));
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(exception, HttpStatus.TOO_MANY_REQUESTS, request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(exception.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
+    /**
+     * Handles clients that disconnected from an asynchronous response, e.g., a subscriber of a change feed.
+     * No response can be written anymore.
+     *
+     * @param exception the exception that was thrown
+     * @return null, since the response is already closed
+     */
+    @ExceptionHandler({
+            AsyncRequestNotUsableException.class
+    })
+    public ResponseEntity<ErrorResponse> handleAsyncRequestNotUsableException(
+            AsyncRequestNotUsableException exception
+    ) {
+        log.debug("Client disconnected: {}", exception.getMessage());
+        return null;
+    }
+
     /**
      * Fallback handler for unexpected exceptions.
      * Returns HTTP 500 (Internal Server Error).
@@ -120,6 +199,29 @@ public class GlobalExceptionHandler {
                 "An unexpected error occurred.");
     }
 
+    /**
+     * Maps an exception to the error response of its handler above, for errors that are not thrown to Spring MVC
+     * (e.g., the failed operation of a batch).
+     *
+     * @param exception the exception that was thrown
+     * @param request the web request
+     * @return ResponseEntity with ErrorResponse and the HTTP status of the handler
+     */
+    public ResponseEntity<ErrorResponse> handleException(
+            Exception exception,
+            WebRequest request
+    ) {
+        return switch (exception) {
+            case NotFoundException e -> handleNotFoundException(e, request);
+            case DuplicationException e -> handleDuplicationException(e, request);
+            case IllegalArgumentException e -> handleBadRequestException(e, request);
+            case MissingFieldException e -> handleBadRequestException(e, request);
+            case ValidationException e -> handleDomainValidationException(e, request);
+            case ServiceUnavailableException e -> handleServiceUnavailableException(e, request);
+            default -> handleGenericException(exception, request);
+        };
+    }
+
     /**
      * Builds a standardized error response using the exception message.
      *
@@ -156,7 +258,7 @@ public class GlobalExceptionHandler {
                 .message(message)
                 .statusCode(status.value())
                 .statusMessage(status.getReasonPhrase())
-                .timestamp(LocalDateTime.now())
+                .timestamp(LocalDateTime.now(CLOCK))
                 .path(extractPath(request))
                 .build();
 
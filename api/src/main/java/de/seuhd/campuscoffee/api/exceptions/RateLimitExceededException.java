@@ -0,0 +1,40 @@
+package de.seuhd.campuscoffee.api.exceptions;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a client has exceeded its rate limit.
+ * Handled by {@link GlobalExceptionHandler} with HTTP 429 (Too Many Requests) and a {@code Retry-After} header.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+    /**
+     * The time after which the client may retry.
+     */
+    private final Duration retryAfter;
+
+    /**
+     * Creates an exception for a request that exceeded the rate limit.
+     *
+     * @param retryAfter the time after which the client may retry
+     */
+    public RateLimitExceededException(Duration retryAfter) {
+        super("Rate limit exceeded; retry after " + retryAfterSeconds(retryAfter) + " seconds.");
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns the value of the {@code Retry-After} header: the delay in whole seconds, rounded up (at least 1).
+     *
+     * @return the delay in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds(retryAfter);
+    }
+
+    private static long retryAfterSeconds(Duration retryAfter) {
+        return Math.max(1L, retryAfter.plusNanos(999_999_999L).toSeconds());
+    }
+}
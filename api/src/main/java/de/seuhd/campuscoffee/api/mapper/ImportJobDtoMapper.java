@@ -0,0 +1,24 @@
+package de.seuhd.campuscoffee.api.mapper;
+
+import de.seuhd.campuscoffee.api.dtos.BoundingBoxDto;
+import de.seuhd.campuscoffee.api.dtos.ImportJobDto;
+import de.seuhd.campuscoffee.api.dtos.ImportOutcomeDto;
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
+import de.seuhd.campuscoffee.domain.model.ImportJob;
+import de.seuhd.campuscoffee.domain.model.ImportOutcome;
+import org.mapstruct.Mapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+
+/**
+ * MapStruct mapper for converting {@link ImportJob} domain objects into {@link ImportJobDto}s.
+ * Import jobs are created by the domain layer, so only the mapping to DTOs is required
+ * (except for bounding boxes, which are also part of import requests).
+ */
+@Mapper(componentModel = "spring")
+@ConditionalOnMissingBean // prevent IntelliJ warning about duplicate beans
+public interface ImportJobDtoMapper {
+    ImportJobDto fromDomain(ImportJob source);
+    ImportOutcomeDto fromDomain(ImportOutcome source);
+    BoundingBoxDto fromDomain(BoundingBox source);
+    BoundingBox toDomain(BoundingBoxDto source);
+}
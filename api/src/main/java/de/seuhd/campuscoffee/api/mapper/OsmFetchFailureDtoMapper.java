@@ -0,0 +1,15 @@
+package de.seuhd.campuscoffee.api.mapper;
+
+import de.seuhd.campuscoffee.api.dtos.OsmFetchFailureDto;
+import de.seuhd.campuscoffee.domain.model.OsmFetchFailure;
+import org.mapstruct.Mapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+
+/**
+ * MapStruct mapper for converting {@link OsmFetchFailure} domain objects into {@link OsmFetchFailureDto}s.
+ */
+@Mapper(componentModel = "spring")
+@ConditionalOnMissingBean // prevent IntelliJ warning about duplicate beans
+public interface OsmFetchFailureDtoMapper {
+    OsmFetchFailureDto fromDomain(OsmFetchFailure source);
+}
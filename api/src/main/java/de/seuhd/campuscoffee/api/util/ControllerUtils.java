@@ -16,4 +16,28 @@ public class ControllerUtils {
                 .buildAndExpand(resourceId)
                 .toUri();
     }
+
+    /**
+     * Builds the location URI for a newly created resource with a non-numeric ID.
+     * @param resourceId the ID of the created resource
+     * @return the location URI
+     */
+    public static URI getLocation(String resourceId) {
+        return ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(resourceId)
+                .toUri();
+    }
+
+    /**
+     * Builds the value of a {@code Link} header that points to the next page of the current request.
+     * @param continuationToken the token that identifies the start of the next page
+     * @return the header value, e.g., {@code </api/users?cursor=...>; rel="next"}
+     */
+    public static String getNextPageLink(String continuationToken) {
+        String uri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("cursor", continuationToken)
+                .toUriString();
+        return "<" + uri + ">; rel=\"next\"";
+    }
 }
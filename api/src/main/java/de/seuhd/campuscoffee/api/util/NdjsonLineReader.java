@@ -0,0 +1,67 @@
+package de.seuhd.campuscoffee.api.util;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads newline-delimited JSON (NDJSON) line by line with a bounded line length, so that the memory used for
+ * a stream does not depend on its size. Empty lines are skipped, but still counted.
+ */
+public class NdjsonLineReader {
+    private final InputStream in;
+    private final int maxLineLength;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    private long lineNumber = 0;
+
+    /**
+     * A line of the stream.
+     *
+     * @param number  the line number, starting at 1
+     * @param content the line without the line terminator, or {@code null} if it exceeds the maximum length
+     */
+    public record Line(long number, @Nullable String content) {
+    }
+
+    public NdjsonLineReader(@NonNull InputStream in, int maxLineLength) {
+        this.in = new BufferedInputStream(in);
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * Reads the next non-empty line.
+     *
+     * @return the line, or {@code null} at the end of the stream
+     * @throws IOException if the stream cannot be read
+     */
+    public @Nullable Line next() throws IOException {
+        while (true) {
+            buffer.reset();
+            boolean tooLong = false;
+            int b;
+            while ((b = in.read()) != -1 && b != '\n') {
+                if (buffer.size() < maxLineLength) {
+                    buffer.write(b);
+                } else {
+                    tooLong = true; // skip the rest of the line
+                }
+            }
+            if (b == -1 && buffer.size() == 0 && !tooLong) {
+                return null;
+            }
+            lineNumber++;
+            if (tooLong) {
+                return new Line(lineNumber, null);
+            }
+            String content = buffer.toString(StandardCharsets.UTF_8).strip();
+            if (!content.isEmpty()) {
+                return new Line(lineNumber, content);
+            }
+        }
+    }
+}
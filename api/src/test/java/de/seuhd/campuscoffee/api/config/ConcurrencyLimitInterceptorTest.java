@@ -0,0 +1,93 @@
+package de.seuhd.campuscoffee.api.config;
+
+import de.seuhd.campuscoffee.api.config.ConcurrencyLimitConfig.ConcurrencyLimitInterceptor;
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrencyLimitInterceptorTest {
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 4, 4);
+    private final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(
+            new ConcurrencyLimitProperties(true, 4, 4, 4, List.of("/api/pos/import/osm/**", "/api/users/bulk"),
+                    List.of("/api/users/export", "/api/users/bulk")),
+            limiter);
+
+    @Test
+    void requestsArePrioritized() {
+        assertThat(interceptor.priority(new MockHttpServletRequest("GET", "/api/pos"))).isEqualTo(Priority.HIGH);
+        assertThat(interceptor.priority(new MockHttpServletRequest("PUT", "/api/pos/1"))).isEqualTo(Priority.NORMAL);
+        assertThat(interceptor.priority(new MockHttpServletRequest("POST", "/api/pos/import/osm/jobs/area")))
+                .isEqualTo(Priority.LOW);
+        assertThat(interceptor.priority(new MockHttpServletRequest("GET", "/api/pos/import/osm/jobs/1")))
+                .isEqualTo(Priority.HIGH);
+    }
+
+    @Test
+    void importsAreShedBeforeReads() {
+        MockHttpServletRequest firstImport = new MockHttpServletRequest("POST", "/api/users/bulk");
+        MockHttpServletRequest secondImport = new MockHttpServletRequest("POST", "/api/users/bulk");
+        assertThat(interceptor.preHandle(firstImport, response, this)).isTrue();
+        assertThat(interceptor.preHandle(secondImport, response, this)).isTrue();
+
+        // imports may use half of the limit
+        assertThatThrownBy(() -> interceptor.preHandle(new MockHttpServletRequest("POST", "/api/users/bulk"),
+                response, this)).isInstanceOf(ServiceUnavailableException.class);
+        MockHttpServletRequest read = new MockHttpServletRequest("GET", "/api/pos");
+        assertThat(interceptor.preHandle(read, response, this)).isTrue();
+        assertThat(limiter.getRejected(Priority.LOW)).isEqualTo(1);
+
+        interceptor.afterCompletion(firstImport, response, this, null);
+        interceptor.afterCompletion(secondImport, response, this, null);
+        interceptor.afterConcurrentHandlingStarted(read, response, this);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void streamingRequestsDoNotShrinkTheLimit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter streamingLimiter = new AdaptiveConcurrencyLimiter(16, 1, 16);
+        ConcurrencyLimitInterceptor limited = new ConcurrencyLimitInterceptor(
+                new ConcurrencyLimitProperties(true, 16, 1, 16, List.of(), List.of("/api/users/export")),
+                streamingLimiter);
+
+        // a sample window of requests at the limit sets the latency without queueing
+        Thread.sleep(100);
+        completeConcurrentRequests(limited, 10);
+
+        // an export that streams far longer than the other requests, in the next window
+        MockHttpServletRequest export = new MockHttpServletRequest("GET", "/api/users/export");
+        assertThat(limited.preHandle(export, response, this)).isTrue();
+        Thread.sleep(500);
+        limited.afterCompletion(export, response, this, null);
+        completeConcurrentRequests(limited, 10);
+
+        assertThat(streamingLimiter.getLimit()).isEqualTo(16);
+        assertThat(streamingLimiter.getInFlight()).isZero();
+    }
+
+    /**
+     * Admits requests until they are in flight at the same time, and completes them after 20 ms.
+     */
+    private void completeConcurrentRequests(ConcurrencyLimitInterceptor limited, int count)
+            throws InterruptedException {
+        List<MockHttpServletRequest> requests = IntStream.range(0, count)
+                .mapToObj(i -> new MockHttpServletRequest("GET", "/api/pos"))
+                .toList();
+        for (MockHttpServletRequest request : requests) {
+            assertThat(limited.preHandle(request, response, this)).isTrue();
+        }
+        Thread.sleep(20);
+        for (MockHttpServletRequest request : requests) {
+            limited.afterCompletion(request, response, this, null);
+        }
+    }
+}
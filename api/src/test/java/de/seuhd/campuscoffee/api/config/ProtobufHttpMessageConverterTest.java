@@ -0,0 +1,28 @@
+package de.seuhd.campuscoffee.api.config;
+
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProtobufHttpMessageConverterTest {
+    private final ProtobufHttpMessageConverter converter = new ProtobufHttpMessageConverter();
+
+    @Test
+    void onlyDtosAndListsOfDtosAreWritten() {
+        assertThat(converter.canWrite(new ParameterizedTypeReference<List<PosDto>>() {}.getType(), List.class,
+                ProtobufHttpMessageConverter.PROTOBUF)).isTrue();
+        assertThat(converter.canWrite(PosDto.class, PosDto.class, ProtobufHttpMessageConverter.PROTOBUF)).isTrue();
+
+        // e.g., the responses of the actuator
+        assertThat(converter.canWrite(Set.class, Set.class, ProtobufHttpMessageConverter.PROTOBUF)).isFalse();
+        assertThat(converter.canWrite(Map.class, Map.class, null)).isFalse();
+        assertThat(converter.canWrite(new ParameterizedTypeReference<List<String>>() {}.getType(), List.class,
+                null)).isFalse();
+    }
+}
@@ -0,0 +1,135 @@
+package de.seuhd.campuscoffee.api.config;
+
+import de.seuhd.campuscoffee.api.config.RateLimiter.LimitType;
+import de.seuhd.campuscoffee.api.exceptions.RateLimitExceededException;
+import de.seuhd.campuscoffee.domain.ports.RateLimitDataService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RateLimiterTest {
+    private static final String API_KEY = "secret-key";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitDataService rateLimitDataService;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitDataService = mock(RateLimitDataService.class);
+    }
+
+    @Test
+    void requestsBeyondTheBurstAreRejected() {
+        RateLimiter rateLimiter = rateLimiter(RateLimitProperties.Store.MEMORY, 100);
+        String client = rateLimiter.clientId(null, "192.0.2.1");
+
+        IntStream.range(0, 3).forEach(i ->
+                assertThat(rateLimiter.tryAcquire(client, LimitType.STANDARD)).isZero());
+        Duration wait = rateLimiter.tryAcquire(client, LimitType.STANDARD);
+
+        assertThat(wait).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(1));
+        assertThat(meterRegistry.get("api.ratelimit.requests").tag("limit", "standard").tag("outcome", "allowed")
+                .counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("api.ratelimit.requests").tag("limit", "standard").tag("outcome", "rejected")
+                .counter().count()).isEqualTo(1);
+        verify(rateLimitDataService, never()).tryAcquire(anyString(), anyDouble(), anyInt());
+    }
+
+    @Test
+    void clientsAndLimitsHaveSeparateBuckets() {
+        RateLimiter rateLimiter = rateLimiter(RateLimitProperties.Store.MEMORY, 100);
+        String client = rateLimiter.clientId(null, "192.0.2.1");
+        IntStream.range(0, 3).forEach(i -> rateLimiter.tryAcquire(client, LimitType.STANDARD));
+
+        assertThat(rateLimiter.tryAcquire(client, LimitType.STANDARD)).isPositive();
+        assertThat(rateLimiter.tryAcquire(client, LimitType.EXPENSIVE)).isZero();
+        assertThat(rateLimiter.tryAcquire(client, LimitType.EXPENSIVE)).isPositive();
+        assertThat(rateLimiter.tryAcquire(rateLimiter.clientId(null, "192.0.2.2"), LimitType.STANDARD)).isZero();
+        // a known API key identifies the client independently of its address
+        String keyClient = rateLimiter.clientId(API_KEY, "192.0.2.1");
+        assertThat(keyClient).doesNotContain(API_KEY);
+        assertThat(rateLimiter.tryAcquire(keyClient, LimitType.STANDARD)).isZero();
+        // unknown API keys do not give a client new buckets
+        assertThat(rateLimiter.clientId("unknown-key", "192.0.2.1")).isEqualTo(client);
+    }
+
+    @Test
+    void fullBucketsAreDroppedWhenTheLimitOfBucketsIsReached() throws InterruptedException {
+        RateLimiter rateLimiter = rateLimiter(RateLimitProperties.Store.MEMORY, 2);
+        rateLimiter.tryAcquire("ip:192.0.2.1", LimitType.STANDARD);
+        rateLimiter.tryAcquire("ip:192.0.2.2", LimitType.STANDARD);
+        Thread.sleep(150); // both buckets are full again after 100 ms
+
+        assertThat(rateLimiter.tryAcquire("ip:192.0.2.3", LimitType.STANDARD)).isZero();
+        assertThat(rateLimiter.bucketCount()).isEqualTo(1);
+    }
+
+    @Test
+    void sharedStoreIsUsedAndFailsOpenToMemory() {
+        RateLimiter rateLimiter = rateLimiter(RateLimitProperties.Store.POSTGRES, 100);
+        when(rateLimitDataService.tryAcquire("standard:ip:192.0.2.1", 10.0, 3)).thenReturn(Duration.ofSeconds(2));
+        when(rateLimitDataService.tryAcquire("standard:ip:192.0.2.2", 10.0, 3))
+                .thenThrow(new IllegalStateException("connection refused"));
+
+        assertThat(rateLimiter.tryAcquire("ip:192.0.2.1", LimitType.STANDARD)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(rateLimiter.tryAcquire("ip:192.0.2.2", LimitType.STANDARD)).isZero();
+        assertThat(meterRegistry.get("api.ratelimit.store.failures").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void interceptorRejectsRequestsWithRetryAfter() {
+        RateLimitProperties properties = properties(RateLimitProperties.Store.MEMORY, 100);
+        RateLimitConfig.RateLimitInterceptor interceptor =
+                new RateLimitConfig.RateLimitInterceptor(properties, new RateLimiter(properties, rateLimitDataService,
+                        meterRegistry));
+
+        assertThat(interceptor.limitType(request("POST", "/api/pos/import/osm/5589879349")))
+                .isEqualTo(LimitType.EXPENSIVE);
+        assertThat(interceptor.limitType(request("POST", "/api/pos/import/osm/jobs/area")))
+                .isEqualTo(LimitType.EXPENSIVE);
+        assertThat(interceptor.limitType(request("GET", "/api/pos/import/osm/jobs/1")))
+                .isEqualTo(LimitType.STANDARD);
+        assertThat(interceptor.limitType(request("POST", "/api/pos"))).isEqualTo(LimitType.STANDARD);
+        assertThat(interceptor.limitType(request("POST", "/api/batch"))).isEqualTo(LimitType.EXPENSIVE);
+
+        IntStream.range(0, 3).forEach(i ->
+                assertThat(interceptor.preHandle(request("GET", "/api/pos"), new MockHttpServletResponse(), this))
+                        .isTrue());
+        assertThatThrownBy(() -> interceptor.preHandle(request("GET", "/api/pos"), new MockHttpServletResponse(),
+                this))
+                .isInstanceOfSatisfying(RateLimitExceededException.class, e ->
+                        assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+    }
+
+    private RateLimiter rateLimiter(RateLimitProperties.Store store, int maxBuckets) {
+        return new RateLimiter(properties(store, maxBuckets), rateLimitDataService, meterRegistry);
+    }
+
+    private static RateLimitProperties properties(RateLimitProperties.Store store, int maxBuckets) {
+        return new RateLimitProperties(true, store, "X-API-Key", List.of(API_KEY), maxBuckets,
+                new RateLimitProperties.Limit(10.0, 3), new RateLimitProperties.Limit(0.1, 1),
+                List.of("/api/pos/import/osm/**", "/api/users/bulk", "/api/batch"));
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr("192.0.2.1");
+        return request;
+    }
+}
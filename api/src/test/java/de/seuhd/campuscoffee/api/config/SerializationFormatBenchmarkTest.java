@@ -0,0 +1,164 @@
+package de.seuhd.campuscoffee.api.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.api.mapper.PosDtoMapper;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.mapstruct.factory.Mappers;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmarks payload size and serialization throughput of the POS list (as returned by {@code GET /api/pos}) in
+ * all supported representations. Each format must round-trip the list, and the binary formats must be smaller
+ * than JSON. The throughput depends on the machine and is only measured with {@code -Pbenchmarks}.
+ */
+@Slf4j
+public class SerializationFormatBenchmarkTest {
+    private static final int POS_COUNT = 1_000;
+    private static final Type POS_LIST = new ParameterizedTypeReference<List<PosDto>>() {}.getType();
+    private static final Duration MEASUREMENT = Duration.ofMillis(500);
+
+    private final ProtobufHttpMessageConverter protobufConverter = new ProtobufHttpMessageConverter();
+    private final Map<String, Format> formats = new LinkedHashMap<>();
+
+    /**
+     * Writes and reads a list of POS in one representation.
+     */
+    private interface Format {
+        byte[] write(List<PosDto> posList) throws IOException;
+
+        List<PosDto> read(byte[] payload) throws IOException;
+    }
+
+    private interface Operation {
+        void run() throws IOException;
+    }
+
+    SerializationFormatBenchmarkTest() {
+        formats.put("JSON", jackson(Jackson2ObjectMapperBuilder.json().build()));
+        formats.put("CBOR", jackson(Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build()));
+        formats.put("Smile", jackson(Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build()));
+        formats.put("Protobuf", new Format() {
+            @Override
+            public byte[] write(List<PosDto> posList) throws IOException {
+                MockHttpOutputMessage output = new MockHttpOutputMessage();
+                protobufConverter.write(posList, POS_LIST, ProtobufHttpMessageConverter.PROTOBUF, output);
+                return output.getBodyAsBytes();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public List<PosDto> read(byte[] payload) throws IOException {
+                return (List<PosDto>) protobufConverter.read(POS_LIST, null, new MockHttpInputMessage(payload));
+            }
+        });
+    }
+
+    @Test
+    void binaryFormatsAreSmallerThanJson() throws IOException {
+        List<PosDto> posList = createPosList();
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        for (Map.Entry<String, Format> format : formats.entrySet()) {
+            byte[] payload = format.getValue().write(posList);
+            assertThat(format.getValue().read(payload)).as(format.getKey()).isEqualTo(posList);
+            sizes.put(format.getKey(), payload.length);
+        }
+        log.info("Payload sizes for {} POS: {}", POS_COUNT, sizes);
+
+        int json = sizes.get("JSON");
+        assertThat(sizes.get("CBOR")).isLessThan(json);
+        assertThat(sizes.get("Smile")).isLessThan(json);
+        assertThat(sizes.get("Protobuf")).isLessThan(json);
+        // Protobuf omits field names; Smile only references repeated names and strings, CBOR writes them every time
+        assertThat(sizes.get("Protobuf")).isLessThan(sizes.get("CBOR"));
+        assertThat(sizes.get("Smile")).isLessThan(sizes.get("CBOR"));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void serializationThroughput() throws IOException {
+        List<PosDto> posList = createPosList();
+        for (Map.Entry<String, Format> format : formats.entrySet()) {
+            byte[] payload = format.getValue().write(posList);
+            double writesPerSecond = throughput(() -> format.getValue().write(posList));
+            double readsPerSecond = throughput(() -> format.getValue().read(payload));
+            log.info("{}: {} lists of {} POS written/s, {} lists read/s", format.getKey(),
+                    Math.round(writesPerSecond), POS_COUNT, Math.round(readsPerSecond));
+        }
+    }
+
+    /**
+     * Runs an operation repeatedly, first to warm up, then for the measurement period.
+     *
+     * @return the number of operations per second
+     */
+    private static double throughput(Operation operation) throws IOException {
+        for (int i = 0; i < 200; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        long end = start + MEASUREMENT.toNanos();
+        int count = 0;
+        long now;
+        do {
+            operation.run();
+            count++;
+            now = System.nanoTime();
+        } while (now < end);
+        return count / ((now - start) / 1e9);
+    }
+
+    private static Format jackson(ObjectMapper objectMapper) {
+        return new Format() {
+            @Override
+            public byte[] write(List<PosDto> posList) throws IOException {
+                return objectMapper.writeValueAsBytes(posList);
+            }
+
+            @Override
+            public List<PosDto> read(byte[] payload) throws IOException {
+                return objectMapper.readValue(payload, new TypeReference<>() {});
+            }
+        };
+    }
+
+    private static List<PosDto> createPosList() {
+        PosDtoMapper posDtoMapper = Mappers.getMapper(PosDtoMapper.class);
+        List<PosDto> fixtures = TestFixtures.getPosList().stream().map(posDtoMapper::fromDomain).toList();
+        LocalDateTime timestamp = LocalDateTime.of(2025, 11, 21, 12, 0, 0, 123_456_000);
+        return IntStream.range(0, POS_COUNT)
+                .mapToObj(i -> {
+                    PosDto fixture = fixtures.get(i % fixtures.size());
+                    return fixture.toBuilder()
+                            .id((long) i + 1)
+                            .name(fixture.name() + " " + i)
+                            .createdAt(timestamp)
+                            .updatedAt(timestamp)
+                            .build();
+                })
+                .toList();
+    }
+}
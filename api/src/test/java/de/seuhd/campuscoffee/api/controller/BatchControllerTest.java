@@ -0,0 +1,147 @@
+package de.seuhd.campuscoffee.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.seuhd.campuscoffee.api.dtos.BatchOperationDto;
+import de.seuhd.campuscoffee.api.dtos.BatchOperationResultDto;
+import de.seuhd.campuscoffee.api.dtos.BatchResultDto;
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.api.exceptions.ErrorResponse;
+import de.seuhd.campuscoffee.api.exceptions.GlobalExceptionHandler;
+import de.seuhd.campuscoffee.api.mapper.PosDtoMapper;
+import de.seuhd.campuscoffee.api.mapper.UserDtoMapper;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.ports.BatchService;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import de.seuhd.campuscoffee.domain.ports.UserService;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BatchControllerTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final PosDtoMapper posDtoMapper = Mappers.getMapper(PosDtoMapper.class);
+    private final ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest("POST", "/api/batch"));
+    private BatchService batchService;
+    private PosService posService;
+    private UserService userService;
+    private BatchController controller;
+
+    @BeforeEach
+    void setUp() {
+        batchService = mock(BatchService.class);
+        // runs the operations directly; the transaction is the data layer's concern
+        when(batchService.executeAtomically(any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(0).get());
+        posService = mock(PosService.class);
+        userService = mock(UserService.class);
+        controller = new BatchController(batchService, posService, userService, posDtoMapper,
+                Mappers.getMapper(UserDtoMapper.class), objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), new GlobalExceptionHandler());
+    }
+
+    @Test
+    void operationsRunInOrderInOneBatch() {
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Pos created = pos.toBuilder().id(42L).build();
+        when(posService.upsert(any())).thenReturn(created);
+        when(posService.getById(42L)).thenReturn(created);
+
+        ResponseEntity<BatchResultDto> response = controller.execute(List.of(
+                operation("POST", "/api/pos", posDtoMapper.fromDomain(pos.toBuilder().id(null).build())),
+                operation("GET", "/api/pos/42", null),
+                operation("delete", "/api/pos/42", null)), request);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().committed()).isTrue();
+        assertThat(response.getBody().results()).extracting(BatchOperationResultDto::status)
+                .containsExactly(201, 200, 204);
+        assertThat(response.getBody().results().getFirst().body()).isEqualTo(posDtoMapper.fromDomain(created));
+        verify(batchService).executeAtomically(any());
+        verify(posService).delete(42L);
+    }
+
+    @Test
+    void failedOperationRollsBackBatch() {
+        when(posService.getById(7L)).thenThrow(new NotFoundException(Pos.class, 7L));
+
+        ResponseEntity<BatchResultDto> response = controller.execute(List.of(
+                operation("DELETE", "/api/pos/1", null),
+                operation("GET", "/api/pos/7", null),
+                operation("DELETE", "/api/pos/2", null)), request);
+
+        // the exception left the batch, so the data layer rolls back the first deletion
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().committed()).isFalse();
+        assertThat(response.getBody().results()).extracting(BatchOperationResultDto::status)
+                .containsExactly(424, 404, 424);
+        assertThat(response.getBody().results().get(1).body()).isInstanceOf(ErrorResponse.class);
+        verify(posService, never()).delete(2L);
+    }
+
+    @Test
+    void invalidOperationsAreRejected() {
+        PosDto invalidPos = posDtoMapper.fromDomain(TestFixtures.getPosList().getFirst()).toBuilder()
+                .name("")
+                .build();
+        for (BatchOperationDto operation : List.of(
+                operation("PATCH", "/api/pos/1", null),
+                operation("GET", "/api/osm/1", null),
+                operation("POST", "/api/pos", null),
+                operation("POST", "/api/pos", invalidPos),
+                operation("PUT", "/api/pos/99", posDtoMapper.fromDomain(TestFixtures.getPosList().getFirst())))) {
+            ResponseEntity<BatchResultDto> response = controller.execute(List.of(operation), request);
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        }
+        verify(posService, never()).upsert(any());
+    }
+
+    @Test
+    void userWritesAreRejectedIfTheUserStoreCannotRollBack() {
+        when(batchService.supportsUserWrites()).thenReturn(false);
+        List<BatchOperationDto> operations = List.of(
+                operation("DELETE", "/api/pos/1", null),
+                operation("delete", "/api/users/1", null));
+
+        assertThatThrownBy(() -> controller.execute(operations, request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("User writes");
+        verify(batchService, never()).executeAtomically(any());
+
+        // reads of users do not need a rollback
+        assertThat(controller.execute(List.of(operation("GET", "/api/users/1", null)), request).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        when(batchService.supportsUserWrites()).thenReturn(true);
+        assertThat(controller.execute(operations, request).getStatusCode()).isEqualTo(HttpStatus.OK);
+        verify(userService).deleteUserById(1L);
+    }
+
+    private BatchOperationDto operation(String method, String path, Object body) {
+        return new BatchOperationDto(method, path, body != null ? objectMapper.valueToTree(body) : null);
+    }
+}
@@ -0,0 +1,189 @@
+package de.seuhd.campuscoffee.api.controller;
+
+import de.seuhd.campuscoffee.api.config.ChangeFeedProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Slf4j
+public class ChangeFeedTest {
+    private static final ChangeFeedProperties PROPERTIES =
+            new ChangeFeedProperties(8, 4, Duration.ofSeconds(30), Duration.ofMinutes(30));
+
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Records the frames sent to a subscriber; sending blocks while the emitter is blocked.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private final CountDownLatch unblocked;
+        private volatile boolean completed;
+
+        RecordingEmitter(boolean blocked) {
+            unblocked = new CountDownLatch(blocked ? 1 : 0);
+        }
+
+        @Override
+        public void send(Set<DataWithMediaType> items) throws IOException {
+            try {
+                unblocked.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            frames.add(items.stream().map(item -> item.getData().toString()).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        List<String> frames() {
+            return frames;
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        sender.close();
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void eventsAreSentInOrder() throws InterruptedException {
+        RecordingEmitter emitter = new RecordingEmitter(false);
+        ChangeFeed feed = feed(() -> emitter);
+        feed.subscribe(null);
+
+        feed.publish("created", "{\"id\":1}");
+        feed.publish("updated", "{\"id\":1}");
+        feed.publish("deleted", "{\"id\":1}");
+
+        awaitFrames(emitter, 3);
+        assertThat(emitter.frames()).hasSize(3);
+        assertThat(emitter.frames().getFirst()).contains("-1\n").contains("event:created\n").contains("data:{\"id\":1}");
+        assertThat(emitter.frames().getLast()).contains("-3\n").contains("event:deleted\n");
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void subscriberResumesAfterLastEventId() throws InterruptedException {
+        RecordingEmitter first = new RecordingEmitter(false);
+        AtomicReference<RecordingEmitter> nextEmitter = new AtomicReference<>(first);
+        ChangeFeed feed = feed(nextEmitter::get);
+        feed.subscribe(null);
+        feed.publish("created", "1");
+        awaitFrames(first, 1);
+        String lastEventId = eventId(first.frames().getFirst());
+        feed.publish("created", "2");
+        feed.publish("created", "3");
+
+        RecordingEmitter resumed = new RecordingEmitter(false);
+        nextEmitter.set(resumed);
+        feed.subscribe(lastEventId);
+
+        awaitFrames(resumed, 2);
+        assertThat(resumed.frames()).extracting(frame -> frame.substring(frame.indexOf("data:")))
+                .containsExactly("data:2\n\n", "data:3\n\n");
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void subscriberThatCannotResumeIsReset() throws InterruptedException {
+        RecordingEmitter first = new RecordingEmitter(false);
+        AtomicReference<RecordingEmitter> nextEmitter = new AtomicReference<>(first);
+        ChangeFeed feed = feed(nextEmitter::get);
+        feed.subscribe(null);
+        feed.publish("created", "1");
+        awaitFrames(first, 1);
+        String lastEventId = eventId(first.frames().getFirst());
+        // more events than the history keeps
+        IntStream.range(0, PROPERTIES.historySize() + 1).forEach(i -> feed.publish("updated", "1"));
+
+        for (String unresumableId : List.of(lastEventId, "unknown-epoch-1", "invalid")) {
+            RecordingEmitter reset = new RecordingEmitter(false);
+            nextEmitter.set(reset);
+            feed.subscribe(unresumableId);
+            awaitFrames(reset, 1);
+            assertThat(reset.frames().getFirst()).contains("event:" + ChangeFeed.RESET_EVENT);
+        }
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void slowSubscriberIsDisconnected() throws InterruptedException {
+        RecordingEmitter slow = new RecordingEmitter(true);
+        ChangeFeed feed = feed(() -> slow);
+        feed.subscribe(null);
+
+        // the first event is being sent (blocked), the buffer holds bufferSize events, the next one overflows
+        for (int i = 0; i <= PROPERTIES.bufferSize() + 1; i++) {
+            feed.publish("created", Integer.toString(i));
+        }
+
+        assertThat(feed.subscriberCount()).isZero();
+        slow.unblocked.countDown();
+        while (!slow.completed) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void idleSubscribersHoldNoThreads() throws InterruptedException {
+        int subscribers = 10_000;
+        List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+        ChangeFeed feed = feed(() -> {
+            RecordingEmitter emitter = new RecordingEmitter(false);
+            emitters.add(emitter);
+            return emitter;
+        });
+        int threadsBefore = Thread.activeCount();
+        IntStream.range(0, subscribers).forEach(i -> feed.subscribe(null));
+        // virtual threads are not counted; no platform thread is started per subscriber
+        assertThat(Thread.activeCount()).isLessThanOrEqualTo(threadsBefore + 1);
+
+        long start = System.nanoTime();
+        feed.publish("created", "{\"id\":1}");
+        for (RecordingEmitter emitter : emitters) {
+            awaitFrames(emitter, 1);
+        }
+        log.info("Delivered an event to {} subscribers in {} ms", subscribers,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        assertThat(feed.subscriberCount()).isEqualTo(subscribers);
+    }
+
+    private ChangeFeed feed(Supplier<SseEmitter> emitterFactory) {
+        return new ChangeFeed("test", PROPERTIES, emitterFactory, sender);
+    }
+
+    private static String eventId(String frame) {
+        int start = frame.indexOf("id:") + 3;
+        return frame.substring(start, frame.indexOf('\n', start));
+    }
+
+    private static void awaitFrames(RecordingEmitter emitter, int count) throws InterruptedException {
+        while (emitter.frames().size() < count) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package de.seuhd.campuscoffee.api.controller;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.seuhd.campuscoffee.api.config.ProtobufHttpMessageConverter;
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.api.mapper.PosDtoMapper;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static de.seuhd.campuscoffee.api.controller.PosCatalogCache.ContentCoding.BROTLI;
+import static de.seuhd.campuscoffee.api.controller.PosCatalogCache.ContentCoding.GZIP;
+import static de.seuhd.campuscoffee.api.controller.PosCatalogCache.ContentCoding.IDENTITY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PosCatalogCacheTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final List<HttpMessageConverter<?>> messageConverters = List.of(
+            new MappingJackson2HttpMessageConverter(objectMapper),
+            new MappingJackson2CborHttpMessageConverter(),
+            new ProtobufHttpMessageConverter());
+    private final PosDtoMapper posDtoMapper = Mappers.getMapper(PosDtoMapper.class);
+    private PosService posService;
+    private PosCatalogCache cache;
+
+    @BeforeEach
+    void setUp() {
+        posService = mock(PosService.class);
+        when(posService.getAll()).thenReturn(TestFixtures.getPosList());
+        when(posService.getCatalogVersion()).thenReturn(1L);
+        cache = new PosCatalogCache(posService, posDtoMapper, () -> messageConverters, Brotli4jLoader.isAvailable());
+    }
+
+    @Test
+    void repeatedRequestsAreServedFromCache() throws Exception {
+        MockHttpServletResponse first = get("application/json", "gzip");
+        MockHttpServletResponse second = get("application/json", "gzip");
+
+        // mapped, serialized, and compressed once
+        verify(posService, times(1)).getAll();
+        assertThat(second.getContentAsByteArray()).isEqualTo(first.getContentAsByteArray());
+        assertThat(second.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(second.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(second.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        assertThat(readPosList(gunzip(second.getContentAsByteArray()))).isEqualTo(expectedPosList());
+    }
+
+    @Test
+    void catalogIsReloadedWhenVersionChanges() throws Exception {
+        get("application/json", null);
+        List<Pos> changedPosList = TestFixtures.getPosList().subList(0, 1);
+        when(posService.getAll()).thenReturn(changedPosList);
+        when(posService.getCatalogVersion()).thenReturn(2L);
+
+        MockHttpServletResponse response = get("application/json", null);
+
+        verify(posService, times(2)).getAll();
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(readPosList(response.getContentAsByteArray()))
+                .isEqualTo(changedPosList.stream().map(posDtoMapper::fromDomain).toList());
+    }
+
+    @Test
+    void mediaTypeIsNegotiated() throws Exception {
+        assertThat(get(null, null).getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(get("*/*", null).getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(get("text/html, application/*;q=0.5", null).getContentType())
+                .isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(get("application/cbor", null).getContentType()).isEqualTo("application/cbor");
+        assertThat(get("application/x-protobuf, application/json;q=0.9", null).getContentType())
+                .isEqualTo("application/x-protobuf");
+        assertThatThrownBy(() -> get("text/html", null)).isInstanceOf(HttpMediaTypeNotAcceptableException.class);
+    }
+
+    @Test
+    void contentCodingIsNegotiated() {
+        PosCatalogCache.ContentCoding preferred = Brotli4jLoader.isAvailable() ? BROTLI : GZIP;
+        assertThat(cache.negotiateCoding(null)).isEqualTo(IDENTITY);
+        assertThat(cache.negotiateCoding("identity")).isEqualTo(IDENTITY);
+        assertThat(cache.negotiateCoding("gzip, deflate")).isEqualTo(GZIP);
+        assertThat(cache.negotiateCoding("gzip, deflate, br")).isEqualTo(preferred);
+        assertThat(cache.negotiateCoding("br;q=0.5, gzip")).isEqualTo(GZIP);
+        assertThat(cache.negotiateCoding("br;q=0, *")).isEqualTo(GZIP);
+        assertThat(cache.negotiateCoding("gzip;q=0")).isEqualTo(IDENTITY);
+        assertThat(cache.negotiateCoding("*")).isEqualTo(preferred);
+
+        PosCatalogCache withoutBrotli = new PosCatalogCache(posService, posDtoMapper, () -> messageConverters, false);
+        assertThat(withoutBrotli.negotiateCoding("br")).isEqualTo(IDENTITY);
+        assertThat(withoutBrotli.negotiateCoding("br, gzip;q=0.1")).isEqualTo(GZIP);
+    }
+
+    @Test
+    void brotliBodyDecodesToCatalog() throws Exception {
+        if (!Brotli4jLoader.isAvailable()) {
+            return; // no native library for this platform
+        }
+        MockHttpServletResponse response = get("application/json", "br");
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("br");
+        byte[] decoded = Decoder.decompress(response.getContentAsByteArray()).getDecompressedData();
+        assertThat(readPosList(decoded)).isEqualTo(expectedPosList());
+    }
+
+    private MockHttpServletResponse get(String accept, String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pos");
+        if (accept != null) {
+            request.addHeader(HttpHeaders.ACCEPT, accept);
+        }
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        cache.write(request, response);
+        assertThat(response.getContentLength()).isEqualTo(response.getContentAsByteArray().length);
+        return response;
+    }
+
+    private List<PosDto> expectedPosList() {
+        return TestFixtures.getPosList().stream().map(posDtoMapper::fromDomain).toList();
+    }
+
+    private List<PosDto> readPosList(byte[] json) throws IOException {
+        return objectMapper.readValue(json, new TypeReference<>() {});
+    }
+
+    private static byte[] gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package de.seuhd.campuscoffee.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.seuhd.campuscoffee.api.dtos.UserBulkResultDto;
+import de.seuhd.campuscoffee.api.exceptions.GlobalExceptionHandler;
+import de.seuhd.campuscoffee.api.mapper.UserDtoMapper;
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.ports.UserService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UserBulkControllerTest {
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private UserService userService;
+    private UserBulkController controller;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        controller = new UserBulkController(userService, Mappers.getMapper(UserDtoMapper.class), objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), new GlobalExceptionHandler());
+    }
+
+    @Test
+    void failedLinesAreReportedLikeErrorResponses() throws Exception {
+        // the batch fails, so that each user is created individually
+        when(userService.createUsers(any())).thenThrow(new IllegalStateException("batch failed"));
+        when(userService.createUser(any())).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            return switch (user.loginName()) {
+                case "bulk_a" -> user.toBuilder().id(1L).build();
+                case "bulk_b" -> throw new DuplicationException(User.class, "loginName", "bulk_b");
+                default -> throw new IllegalStateException("ERROR: relation \"users\" does not exist");
+            };
+        });
+
+        List<UserBulkResultDto> results = importUsers(
+                "{\"loginName\":\"bulk_a\",\"emailAddress\":\"bulk_a@example.com\",\"firstName\":\"A\",\"lastName\":\"Bulk\"}",
+                "{\"loginName\":\"bulk_b\",\"emailAddress\":\"bulk_b@example.com\",\"firstName\":\"B\",\"lastName\":\"Bulk\"}",
+                "{\"loginName\":\"bulk_c\",\"emailAddress\":\"bulk_c@example.com\",\"firstName\":\"C\",\"lastName\":\"Bulk\"}");
+
+        assertThat(results).extracting(UserBulkResultDto::status).containsExactly(
+                UserBulkResultDto.Status.CREATED, UserBulkResultDto.Status.FAILED, UserBulkResultDto.Status.FAILED);
+        assertThat(results.get(0).id()).isEqualTo(1L);
+        assertThat(results.get(1).errorCode()).isEqualTo("DuplicationException");
+        assertThat(results.get(1).message()).contains("bulk_b");
+        // unexpected errors do not reveal their message
+        assertThat(results.get(2).message()).isEqualTo("An unexpected error occurred.");
+    }
+
+    private List<UserBulkResultDto> importUsers(String... lines) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/bulk");
+        request.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        request.setContent(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.importUsers(request, response);
+
+        return response.getContentAsString(StandardCharsets.UTF_8).lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, UserBulkResultDto.class);
+                    } catch (Exception e) {
+                        throw new AssertionError(e);
+                    }
+                })
+                .toList();
+    }
+}
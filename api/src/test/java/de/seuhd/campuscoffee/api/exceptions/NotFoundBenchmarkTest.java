@@ -0,0 +1,146 @@
+package de.seuhd.campuscoffee.api.exceptions;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Benchmarks 404-heavy traffic end to end (as returned by {@code GET /api/pos/{id}} for a missing POS): the request
+ * is dispatched by Spring MVC, the miss is thrown at the depth of a data service, and the
+ * {@link GlobalExceptionHandler} renders the error response, which is written as JSON (configured like Spring
+ * Boot). Before: misses with a stack trace; after: stackless expected misses. Both must render the same response
+ * (checked in the regular suite), and the expected misses must be cheaper (measured with {@code -Pbenchmarks}).
+ */
+@Slf4j
+public class NotFoundBenchmarkTest {
+    /**
+     * Frames between the controller and the data service, plus those of the servlet container and the filters,
+     * which MockMvc does not have.
+     */
+    private static final int STACK_DEPTH = 100;
+    private static final Duration MEASUREMENT = Duration.ofMillis(500);
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new MissingPosController())
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build()))
+            .build();
+    private final Logger rootLogger = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+    private Level rootLogLevel;
+
+    /**
+     * Looks up POS that do not exist, as the POS controller does with a missing ID.
+     */
+    @RestController
+    static class MissingPosController {
+        @GetMapping("/api/pos/{id}")
+        PosDto getById(@PathVariable Long id, @RequestParam boolean expected) {
+            return lookup(STACK_DEPTH, id, expected);
+        }
+
+        private static PosDto lookup(int depth, long id, boolean expected) {
+            if (depth > 0) {
+                return lookup(depth - 1, id, expected);
+            }
+            throw expected ? NotFoundException.expected(Pos.class, id) : new NotFoundException(Pos.class, id);
+        }
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        // logging is left out (e.g., the warnings for misses with a stack trace): its cost depends on the appenders
+        rootLogLevel = rootLogger.getLevel();
+        rootLogger.setLevel(Level.OFF);
+    }
+
+    @AfterEach
+    void afterEach() {
+        rootLogger.setLevel(rootLogLevel);
+    }
+
+    @Test
+    void expectedMissesRenderTheSameResponse() throws Exception {
+        MockHttpServletResponse before = lookupMissingPos(false);
+        MockHttpServletResponse after = lookupMissingPos(true);
+        assertThat(after.getStatus()).isEqualTo(before.getStatus()).isEqualTo(404);
+        assertThat(after.getContentType()).isEqualTo(before.getContentType()).isEqualTo("application/json");
+        assertThat(withoutTimestamp(after.getContentAsString())).isEqualTo(withoutTimestamp(before.getContentAsString()))
+                .contains("\"errorCode\":\"NotFoundException\"", "\"path\":\"/api/pos/7\"");
+    }
+
+    @Test
+    @Tag("benchmark")
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void expectedMissesAreCheaper() throws Exception {
+        double beforePerSecond = throughput(() -> lookupMissingPos(false));
+        double afterPerSecond = throughput(() -> lookupMissingPos(true));
+        rootLogger.setLevel(rootLogLevel);
+        log.info("404 responses at a stack depth of {}: {}/s with stack trace, {}/s stackless ({}x)", STACK_DEPTH,
+                Math.round(beforePerSecond), Math.round(afterPerSecond),
+                String.format("%.1f", afterPerSecond / beforePerSecond));
+
+        assertThat(afterPerSecond).isGreaterThan(beforePerSecond);
+    }
+
+    private MockHttpServletResponse lookupMissingPos(boolean expected) throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/api/pos/7")
+                        .param("expected", Boolean.toString(expected))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+        assertThat(response.getStatus()).isEqualTo(404);
+        return response;
+    }
+
+    private static String withoutTimestamp(String json) {
+        return json.replaceAll("\"timestamp\":\"[^\"]*\"", "\"timestamp\":\"\"");
+    }
+
+    /**
+     * Runs an operation repeatedly, first to warm up, then for the measurement period.
+     *
+     * @return the number of operations per second
+     */
+    private static double throughput(Callable<?> operation) throws Exception {
+        for (int i = 0; i < 2_000; i++) {
+            operation.call();
+        }
+        long start = System.nanoTime();
+        long end = start + MEASUREMENT.toNanos();
+        int count = 0;
+        long now;
+        do {
+            operation.call();
+            count++;
+            now = System.nanoTime();
+        } while (now < end);
+        return count / ((now - start) / 1e9);
+    }
+}
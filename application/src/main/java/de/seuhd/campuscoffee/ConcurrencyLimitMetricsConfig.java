@@ -0,0 +1,73 @@
+package de.seuhd.campuscoffee;
+
+import de.seuhd.campuscoffee.api.config.ConcurrencyLimitConfig;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Metrics of the adaptive concurrency limits, see {@link AdaptiveConcurrencyLimiter}: the limiter beans of the API
+ * ({@value ConcurrencyLimitConfig#LIMITER}) and of the data services ({@code dataConcurrencyLimiter}), tagged with
+ * the bean name without the suffix {@value #SUFFIX}.
+ * <p>
+ * Metrics (tag {@code limiter}: {@code api} or {@code data}): the gauges {@code concurrency.limit} and
+ * {@code concurrency.in.flight}, and the counter {@code concurrency.rejected} (tag {@code priority}). A disabled
+ * limit has no limiter bean and no metrics.
+ */
+@Configuration
+public class ConcurrencyLimitMetricsConfig {
+    static final String SUFFIX = "ConcurrencyLimiter";
+
+    @Bean
+    MeterBinder concurrencyLimitMetrics(Map<String, AdaptiveConcurrencyLimiter> limiterBeans) {
+        Map<String, AdaptiveConcurrencyLimiter> limiters = new LinkedHashMap<>();
+        limiterBeans.forEach((beanName, limiter) -> limiters.put(
+                beanName.endsWith(SUFFIX) ? beanName.substring(0, beanName.length() - SUFFIX.length()) : beanName,
+                limiter));
+        return new ConcurrencyLimitMetrics(limiters);
+    }
+
+    /**
+     * Registers the metrics of the limiters.
+     */
+    public static class ConcurrencyLimitMetrics implements MeterBinder {
+        private final Map<String, AdaptiveConcurrencyLimiter> limiters;
+
+        /**
+         * @param limiters the limiters by the value of their tag {@code limiter}
+         */
+        public ConcurrencyLimitMetrics(Map<String, AdaptiveConcurrencyLimiter> limiters) {
+            this.limiters = Map.copyOf(limiters);
+        }
+
+        @Override
+        public void bindTo(MeterRegistry registry) {
+            limiters.forEach((name, limiter) -> {
+                Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                        .description("Adaptive limit of concurrent requests or calls")
+                        .tag("limiter", name)
+                        .register(registry);
+                Gauge.builder("concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                        .description("Requests or calls admitted by the concurrency limit and not completed yet")
+                        .tag("limiter", name)
+                        .register(registry);
+                for (Priority priority : Priority.values()) {
+                    FunctionCounter.builder("concurrency.rejected", limiter, l -> l.getRejected(priority))
+                            .description("Requests or calls shed by the concurrency limit")
+                            .tag("limiter", name)
+                            .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                            .register(registry);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package de.seuhd.campuscoffee;
+
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import de.seuhd.campuscoffee.domain.ports.UserDataService;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Applies the concurrency limit of the data layer to the data services backed by the database, with proxies like
+ * those of the {@link PortMetricsConfig}. The data layer provides the advice (bean
+ * {@code dataConcurrencyLimitAdvice}, if the limit is enabled), which selects the data services to wrap.
+ */
+@Configuration
+public class DataConcurrencyLimitProxyConfig {
+    /**
+     * Wraps the data services selected by the advice in a proxy with the limit, unless the limit is disabled.
+     * Static, since it is a bean post processor; the advice is looked up when the first data service is wrapped.
+     *
+     * @param advice the advice of the limit, if enabled
+     * @return the bean post processor
+     */
+    @Bean
+    static BeanPostProcessor dataConcurrencyLimitPostProcessor(
+            @Qualifier("dataConcurrencyLimitAdvice") ObjectProvider<MethodInterceptor> advice) {
+        return new PortProxyPostProcessor(List.of(PosDataService.class, UserDataService.class), advice::getIfAvailable);
+    }
+}
@@ -0,0 +1,140 @@
+package de.seuhd.campuscoffee;
+
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.exceptions.ValidationException;
+import de.seuhd.campuscoffee.domain.ports.OsmDataService;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import de.seuhd.campuscoffee.domain.ports.UserDataService;
+import de.seuhd.campuscoffee.domain.ports.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Timers of the calls of the hexagonal ports, so that the latency of a request can be attributed to the domain
+ * services, the data services, or the remaining work of the controllers (mapping, serialization; the difference to
+ * {@code http.server.requests}).
+ * <p>
+ * Metric {@code port.calls} (tags {@code port}, {@code method}, and {@code outcome}: {@code success},
+ * {@code not_found}, {@code duplicate}, {@code validation}, {@code unavailable}, or {@code error}) with a percentile
+ * histogram. A call costs two clock reads and a lookup of its (cached) timer; it can be disabled with
+ * {@code management.metrics.enable.port.calls=false}.
+ */
+@Configuration
+public class PortMetricsConfig {
+    /**
+     * The instrumented ports.
+     */
+    static final List<Class<?>> PORTS = List.of(
+            PosService.class, PosDataService.class, OsmDataService.class, UserService.class, UserDataService.class);
+
+    /**
+     * Wraps the beans of the ports in a proxy that times the calls of the methods of the ports.
+     * Static, since it is a bean post processor; the registry is looked up when the first port is wrapped.
+     *
+     * @param meterRegistry the registry of the metrics, if any
+     * @return the bean post processor
+     */
+    @Bean
+    static BeanPostProcessor portMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new PortProxyPostProcessor(PORTS, () -> {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            return registry != null ? new PortMetrics(registry) : null;
+        });
+    }
+
+    /**
+     * Outcome of a call, derived from the exception it threw.
+     */
+    enum Outcome {
+        SUCCESS, NOT_FOUND, DUPLICATE, VALIDATION, UNAVAILABLE, ERROR;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+
+        static Outcome of(Throwable exception) {
+            return switch (exception) {
+                case NotFoundException e -> NOT_FOUND;
+                case DuplicationException e -> DUPLICATE;
+                case ValidationException e -> VALIDATION;
+                case MissingFieldException e -> VALIDATION;
+                case IllegalArgumentException e -> VALIDATION;
+                case ServiceUnavailableException e -> UNAVAILABLE;
+                default -> ERROR;
+            };
+        }
+    }
+
+    /**
+     * Times each call of a method of the ports.
+     */
+    public static class PortMetrics implements MethodInterceptor {
+        private static final Outcome[] OUTCOMES = Outcome.values();
+
+        private final MeterRegistry meterRegistry;
+        // registered on first use, since each timer has a histogram
+        private final Map<Method, AtomicReferenceArray<Timer>> timers = new ConcurrentHashMap<>();
+
+        public PortMetrics(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public @Nullable Object invoke(MethodInvocation invocation) throws Throwable {
+            Method method = invocation.getMethod();
+            if (!PORTS.contains(method.getDeclaringClass())) {
+                return invocation.proceed(); // e.g., bindTo() or close()
+            }
+            long start = System.nanoTime();
+            try {
+                Object result = invocation.proceed();
+                record(method, Outcome.SUCCESS, start);
+                return result;
+            } catch (Throwable e) {
+                record(method, Outcome.of(e), start);
+                throw e;
+            }
+        }
+
+        private void record(Method method, Outcome outcome, long start) {
+            long duration = System.nanoTime() - start;
+            AtomicReferenceArray<Timer> methodTimers = timers.get(method);
+            if (methodTimers == null) {
+                methodTimers = timers.computeIfAbsent(method, key -> new AtomicReferenceArray<>(OUTCOMES.length));
+            }
+            Timer timer = methodTimers.get(outcome.ordinal());
+            if (timer == null) {
+                // the registry returns the same timer to concurrent registrations
+                timer = Timer.builder("port.calls")
+                        .description("Calls of the ports of the domain")
+                        .tag("port", method.getDeclaringClass().getSimpleName())
+                        .tag("method", method.getName())
+                        .tag("outcome", outcome.tag)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(100_000)) // in-memory stores
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(meterRegistry);
+                methodTimers.set(outcome.ordinal(), timer);
+            }
+            timer.record(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+}
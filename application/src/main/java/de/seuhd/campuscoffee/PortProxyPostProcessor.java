@@ -0,0 +1,61 @@
+package de.seuhd.campuscoffee;
+
+import org.aopalliance.aop.Advice;
+import org.jspecify.annotations.Nullable;
+import org.springframework.aop.ClassFilter;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Bean post processor that wraps the beans of some types (e.g., the ports) in a proxy with an advice, e.g., metrics
+ * or a concurrency limit. The proxy implements the interfaces of the implementation, not those of a (transactional)
+ * proxy around it.
+ * <p>
+ * Post processors are created before the other beans, so the advice is created when the first bean is wrapped; if
+ * it is null (e.g., because the feature is disabled), the beans are not wrapped. If the advice is a
+ * {@link ClassFilter} as well, it selects the beans among the instances of the types (e.g., some implementations
+ * of a port).
+ */
+public final class PortProxyPostProcessor implements BeanPostProcessor {
+    private final List<Class<?>> types;
+    private final Supplier<@Nullable Advice> adviceFactory;
+    private @Nullable Advice advice;
+
+    /**
+     * Creates a post processor.
+     *
+     * @param types         the beans to wrap: instances of these classes or interfaces
+     * @param adviceFactory creates the advice shared by all proxies, or returns null if the beans are not wrapped
+     */
+    public PortProxyPostProcessor(List<Class<?>> types, Supplier<@Nullable Advice> adviceFactory) {
+        this.types = List.copyOf(types);
+        this.adviceFactory = adviceFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        if (types.stream().noneMatch(type -> type.isAssignableFrom(targetClass))) {
+            return bean;
+        }
+        if (advice == null) {
+            advice = adviceFactory.get();
+            if (advice == null) {
+                return bean;
+            }
+        }
+        if (advice instanceof ClassFilter classFilter && !classFilter.matches(targetClass)) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(bean);
+        proxyFactory.setInterfaces(ClassUtils.getAllInterfacesForClass(targetClass));
+        proxyFactory.addAdvice(advice);
+        return proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,59 @@
+package de.seuhd.campuscoffee;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread, e.g., in a {@code synchronized} block
+ * or a native frame. A pinned virtual thread occupies one of the few carrier threads, so pinning on a hot path
+ * (JDBC driver, connection pools, logging) would bring back the thread-pool bottleneck that virtual threads remove.
+ * <p>
+ * Active if virtual threads are enabled ({@code spring.threads.virtual.enabled}). The JDK reports pinned
+ * blocking operations as JFR events ({@code jdk.VirtualThreadPinned}); they are consumed in-process and logged
+ * with the top of their stack trace, so a library update that introduces pinning shows up in the log.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+class VirtualThreadPinningMonitor implements AutoCloseable {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final Duration THRESHOLD = Duration.ofMillis(20); // shorter pinning is harmless
+    private static final int LOGGED_FRAMES = 8;
+
+    private final RecordingStream recording = new RecordingStream();
+
+    VirtualThreadPinningMonitor() {
+        recording.enable(PINNED_EVENT).withThreshold(THRESHOLD).withStackTrace();
+        recording.onEvent(PINNED_EVENT, VirtualThreadPinningMonitor::report);
+        recording.startAsync();
+        log.info("Monitoring virtual threads that are pinned for more than {} ms", THRESHOLD.toMillis());
+    }
+
+    @Override
+    public void close() {
+        recording.close();
+    }
+
+    private static void report(RecordedEvent event) {
+        String frames = event.getStackTrace() == null ? "(no stack trace)" : event.getStackTrace().getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::format)
+                .collect(Collectors.joining("\n\tat ", "\tat ", ""));
+        log.warn("Virtual thread {} was pinned to its carrier thread for {} ms:\n{}",
+                event.getThread() != null ? event.getThread().getJavaName() : "(unknown)",
+                event.getDuration().toMillis(), frames);
+    }
+
+    private static String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + "(line " + frame.getLineNumber() + ")";
+    }
+}
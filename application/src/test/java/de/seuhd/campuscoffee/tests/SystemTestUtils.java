@@ -106,6 +106,26 @@ public class SystemTestUtils {
                     .extract().as(dtoClass);
         }
 
+        /**
+         * Retrieves all entities matching a filter parameter via the API (for filter endpoints that return lists).
+         *
+         * @param filterParameter Name of the filter parameter
+         * @param filterValue     Value to filter by
+         * @return List of DTOs representing the matching entities
+         */
+        public List<T> retrieveAllByFilter(String filterParameter, String filterValue) {
+            return given()
+                    .contentType(ContentType.JSON)
+                    .queryParam(filterParameter, filterValue)
+                    .when()
+                    .get(basePath + "/filter")
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract().jsonPath().getList("$", dtoClass)
+                    .stream()
+                    .toList();
+        }
+
         /**
          * Creates multiple entities via the API and returns their DTOs.
          *
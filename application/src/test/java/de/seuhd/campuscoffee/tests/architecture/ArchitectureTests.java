@@ -1,9 +1,11 @@
 package de.seuhd.campuscoffee.tests.architecture;
 
 import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaModifier;
 import com.tngtech.archunit.core.importer.ClassFileImporter;
 import org.junit.jupiter.api.Test;
 
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.methods;
 import static com.tngtech.archunit.library.Architectures.layeredArchitecture;
 
 public class ArchitectureTests {
@@ -26,4 +28,17 @@ public class ArchitectureTests {
                 .whereLayer("application").mayNotBeAccessedByAnyLayer()
                 .check(classes);
     }
+
+    @Test
+    void noSynchronizedMethods() {
+        JavaClasses classes = new ClassFileImporter()
+                .importPackages(
+                        "de.seuhd.campuscoffee"
+                );
+
+        // a virtual thread that blocks in a synchronized method pins its carrier thread; use java.util.concurrent locks
+        methods()
+                .should().notHaveModifier(JavaModifier.SYNCHRONIZED)
+                .check(classes);
+    }
 }
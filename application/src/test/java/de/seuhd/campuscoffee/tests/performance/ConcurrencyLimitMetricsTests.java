@@ -0,0 +1,41 @@
+package de.seuhd.campuscoffee.tests.performance;
+
+import de.seuhd.campuscoffee.ConcurrencyLimitMetricsConfig.ConcurrencyLimitMetrics;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter.Permit;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the metrics of the adaptive concurrency limits ({@code concurrency.*}).
+ */
+public class ConcurrencyLimitMetricsTests {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void limitersAreTaggedByName() {
+        AdaptiveConcurrencyLimiter api = new AdaptiveConcurrencyLimiter(2, 2, 2);
+        AdaptiveConcurrencyLimiter data = new AdaptiveConcurrencyLimiter(20, 4, 200);
+        new ConcurrencyLimitMetrics(Map.of("api", api, "data", data)).bindTo(meterRegistry);
+
+        Permit permit = Objects.requireNonNull(api.tryAcquire(Priority.HIGH));
+        assertThat(api.tryAcquire(Priority.LOW)).isNull();
+
+        assertThat(meterRegistry.get("concurrency.limit").tag("limiter", "api").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("concurrency.limit").tag("limiter", "data").gauge().value()).isEqualTo(20);
+        assertThat(meterRegistry.get("concurrency.in.flight").tag("limiter", "api").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("concurrency.rejected").tag("limiter", "api").tag("priority", "low")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("concurrency.rejected").tag("limiter", "data").tag("priority", "low")
+                .functionCounter().count()).isZero();
+
+        permit.release();
+        assertThat(meterRegistry.get("concurrency.in.flight").tag("limiter", "api").gauge().value()).isZero();
+    }
+}
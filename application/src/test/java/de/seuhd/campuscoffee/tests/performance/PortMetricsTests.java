@@ -0,0 +1,132 @@
+package de.seuhd.campuscoffee.tests.performance;
+
+import de.seuhd.campuscoffee.PortMetricsConfig.PortMetrics;
+import de.seuhd.campuscoffee.PortProxyPostProcessor;
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import de.seuhd.campuscoffee.domain.ports.RateLimitDataService;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the port metrics ({@code port.calls}) and measures their overhead per call (with {@code -Pbenchmarks}).
+ */
+@Slf4j
+public class PortMetricsTests {
+    private static final int CALLS = 1_000_000;
+
+    // the registry of the Prometheus scrape endpoint, which publishes the percentile histograms
+    private final PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+    @Test
+    void callsAreTimedByOutcome() {
+        Pos pos = TestFixtures.getPosList().getFirst();
+        PosDataService target = mock(PosDataService.class);
+        when(target.getById(1L)).thenReturn(pos);
+        when(target.getById(2L)).thenThrow(NotFoundException.expected(Pos.class, 2L));
+        when(target.upsert(any())).thenThrow(new DuplicationException(Pos.class, "name", pos.name()));
+        PosDataService posDataService = instrumented(target);
+
+        assertThat(posDataService.getById(1L)).isEqualTo(pos);
+        assertThat(posDataService.getById(1L)).isEqualTo(pos);
+        assertThatThrownBy(() -> posDataService.getById(2L)).isInstanceOf(NotFoundException.class);
+        assertThatThrownBy(() -> posDataService.upsert(pos)).isInstanceOf(DuplicationException.class);
+
+        assertThat(timer("getById", "success").count()).isEqualTo(2);
+        assertThat(timer("getById", "not_found").count()).isEqualTo(1);
+        assertThat(timer("upsert", "duplicate").count()).isEqualTo(1);
+        assertThat(meterRegistry.scrape()).contains(
+                "port_calls_seconds_bucket{method=\"getById\",outcome=\"success\",port=\"PosDataService\",le=\"1.0E-4\"}");
+    }
+
+    @Test
+    void onlyThePortsAreWrapped() {
+        BeanPostProcessor postProcessor =
+                new PortProxyPostProcessor(List.of(PosDataService.class), () -> new PortMetrics(meterRegistry));
+        Object posDataService = postProcessor.postProcessAfterInitialization(mock(PosDataService.class), "pos");
+        Object rateLimitDataService = mock(RateLimitDataService.class);
+
+        assertThat(AopUtils.isAopProxy(posDataService)).isTrue();
+        assertThat(posDataService).isInstanceOf(PosDataService.class);
+        assertThat(postProcessor.postProcessAfterInitialization(rateLimitDataService, "rateLimit"))
+                .isSameAs(rateLimitDataService);
+
+        // without an advice (e.g., no registry), nothing is wrapped
+        Object unwrapped = mock(PosDataService.class);
+        assertThat(new PortProxyPostProcessor(List.of(PosDataService.class), () -> null)
+                .postProcessAfterInitialization(unwrapped, "pos")).isSameAs(unwrapped);
+    }
+
+    @Test
+    @Tag("benchmark")
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void overheadIsLow() {
+        // a data service that returns immediately, so that only the overhead is measured
+        PosDataService target = (PosDataService) Proxy.newProxyInstance(PosDataService.class.getClassLoader(),
+                new Class<?>[]{PosDataService.class}, (proxy, method, args) -> List.of());
+        PosDataService posDataService = instrumented(target);
+        PosDataService uninstrumented = proxied(target);
+
+        // both run through a JDK proxy, so the difference is the cost of the metrics
+        double instrumentedNanos = nanosPerCall(posDataService);
+        double uninstrumentedNanos = nanosPerCall(uninstrumented);
+        log.info("Port call: {} ns with metrics, {} ns without", Math.round(instrumentedNanos),
+                Math.round(uninstrumentedNanos));
+
+        assertThat(timer("getAll", "success").count()).isEqualTo(2L * CALLS);
+        assertThat(instrumentedNanos - uninstrumentedNanos).isLessThan(5_000);
+    }
+
+    private static double nanosPerCall(PosDataService posDataService) {
+        for (int i = 0; i < CALLS; i++) {
+            posDataService.getAll(); // warm-up
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            posDataService.getAll();
+        }
+        return (System.nanoTime() - start) / (double) CALLS;
+    }
+
+    private Timer timer(String method, String outcome) {
+        return meterRegistry.get("port.calls")
+                .tag("port", "PosDataService")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer();
+    }
+
+    private PosDataService instrumented(PosDataService target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setInterfaces(PosDataService.class);
+        proxyFactory.addAdvice(new PortMetrics(meterRegistry));
+        return (PosDataService) proxyFactory.getProxy();
+    }
+
+    private static PosDataService proxied(PosDataService target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setInterfaces(PosDataService.class);
+        return (PosDataService) proxyFactory.getProxy();
+    }
+}
@@ -0,0 +1,191 @@
+package de.seuhd.campuscoffee.tests.performance;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmarks request handling on platform threads (Tomcat's default pool of 200 threads) against virtual threads
+ * ({@code spring.threads.virtual.enabled}) at high concurrency. Each request blocks for {@value #BLOCKING_MILLIS} ms,
+ * like a request that waits for the database or the OSM API; 1000 clients send requests in a closed loop.
+ * With platform threads, throughput is capped at 200 threads / 200 ms = 1000 requests per second and the other
+ * requests queue; with virtual threads, every request gets its own thread.
+ * <p>
+ * The benchmark measures wall-clock time and is therefore tagged {@code benchmark} (run with {@code -Pbenchmarks});
+ * the regular suite checks deterministically that virtual threads serve more concurrent requests than the pool.
+ */
+@Slf4j
+public class ThreadModelBenchmarkTests {
+    private static final int PLATFORM_THREADS = 200; // default of server.tomcat.threads.max
+    private static final int CLIENTS = 1000;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final long BLOCKING_MILLIS = 200;
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void virtualThreadsServeMoreConcurrentRequestsThanThePlatformPool() throws Exception {
+        // each request waits until all requests are in flight at the same time, which no pool of 200 threads allows
+        int clients = PLATFORM_THREADS + 1;
+        WebServer server = start(true, new AwaitingServlet(clients));
+        try {
+            assertThat(run(server.getPort(), clients, 1)).hasSize(clients);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    @Timeout(value = 120, unit = TimeUnit.SECONDS)
+    void virtualThreadsIncreaseThroughputAndReduceTailLatency() throws Exception {
+        Result platform = benchmark(false);
+        Result virtual = benchmark(true);
+
+        log.info("Platform threads: {} requests/s, p99 {} ms", Math.round(platform.throughput()), platform.p99Millis());
+        log.info("Virtual threads: {} requests/s, p99 {} ms", Math.round(virtual.throughput()), virtual.p99Millis());
+        assertThat(virtual.throughput()).isGreaterThan(1.5 * platform.throughput());
+        assertThat(virtual.p99Millis()).isLessThan(platform.p99Millis());
+    }
+
+    /**
+     * Throughput in requests per second and the 99th percentile of the request latency.
+     */
+    private record Result(double throughput, long p99Millis) {
+    }
+
+    private static Result benchmark(boolean virtualThreads) throws Exception {
+        WebServer server = start(virtualThreads, new BlockingServlet());
+        try {
+            run(server.getPort(), CLIENTS / 10, 2); // warm-up
+            long start = System.nanoTime();
+            List<Long> latencies = run(server.getPort(), CLIENTS, REQUESTS_PER_CLIENT);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            List<Long> sorted = latencies.stream().sorted().toList();
+            return new Result(sorted.size() / seconds,
+                    TimeUnit.NANOSECONDS.toMillis(sorted.get((int) Math.ceil(0.99 * sorted.size()) - 1)));
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Starts an embedded Tomcat on a random port that serves all paths with the given servlet.
+     */
+    private static WebServer start(boolean virtualThreads, HttpServlet servlet) {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        factory.addProtocolHandlerCustomizers(protocolHandler -> {
+            AbstractProtocol<?> protocol = (AbstractProtocol<?>) protocolHandler;
+            protocol.setAcceptCount(CLIENTS); // all clients connect at once; refused connects would distort latencies
+            if (virtualThreads) {
+                // what Spring Boot configures for spring.threads.virtual.enabled
+                protocol.setExecutor(new VirtualThreadExecutor("tomcat-handler-"));
+            } else {
+                protocol.setMaxThreads(PLATFORM_THREADS);
+            }
+        });
+        WebServer server = factory.getWebServer(servletContext -> servletContext
+                .addServlet("test", servlet)
+                .addMapping("/"));
+        server.start();
+        return server;
+    }
+
+    /**
+     * Sends requests from concurrent clients, each on its own keep-alive connection and waiting for its response
+     * before it sends the next request. The clients use blocking sockets on virtual threads, so that the client
+     * side is not the bottleneck.
+     *
+     * @return the latencies of all requests in nanoseconds
+     */
+    private static List<Long> run(int port, int clients, int requestsPerClient) {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(clients * requestsPerClient));
+        byte[] request = "GET / HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    try (Socket socket = new Socket("localhost", port)) {
+                        socket.setSoTimeout(30_000);
+                        BufferedReader in = new BufferedReader(
+                                new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+                        for (int j = 0; j < requestsPerClient; j++) {
+                            long start = System.nanoTime();
+                            socket.getOutputStream().write(request);
+                            assertThat(in.readLine()).startsWith("HTTP/1.1 200");
+                            while (!in.readLine().isEmpty()) {
+                                // skip headers; the response has no body
+                            }
+                            latencies.add(System.nanoTime() - start);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        assertThat(latencies).hasSize(clients * requestsPerClient);
+        return latencies;
+    }
+
+    /**
+     * Blocks like a request that waits for an I/O call, then responds with an empty body.
+     */
+    private static class BlockingServlet extends HttpServlet {
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            try {
+                Thread.sleep(BLOCKING_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentLength(0);
+        }
+    }
+
+    /**
+     * Responds once the given number of requests are in flight at the same time, or with 503 after a timeout.
+     */
+    private static class AwaitingServlet extends HttpServlet {
+        private final CountDownLatch inFlight;
+
+        AwaitingServlet(int requests) {
+            this.inFlight = new CountDownLatch(requests);
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            inFlight.countDown();
+            try {
+                response.setStatus(inFlight.await(30, TimeUnit.SECONDS)
+                        ? HttpServletResponse.SC_OK : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            response.setContentLength(0);
+        }
+    }
+}
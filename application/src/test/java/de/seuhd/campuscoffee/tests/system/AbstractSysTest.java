@@ -23,7 +23,11 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Abstract base class for system tests.
  * Sets up the Spring Boot test context, manages the PostgreSQL testcontainer, and configures REST Assured.
  */
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        // the tests send requests faster than clients may by default
+        properties = "api.rate-limit.enabled=false"
+)
 public abstract class AbstractSysTest {
     protected static final PostgreSQLContainer<?> postgresContainer;
 
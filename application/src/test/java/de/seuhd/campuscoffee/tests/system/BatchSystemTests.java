@@ -0,0 +1,86 @@
+package de.seuhd.campuscoffee.tests.system;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.seuhd.campuscoffee.api.dtos.BatchOperationDto;
+import de.seuhd.campuscoffee.api.dtos.BatchOperationResultDto;
+import de.seuhd.campuscoffee.api.dtos.BatchResultDto;
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Objects;
+
+import static de.seuhd.campuscoffee.tests.SystemTestUtils.Requests.posRequests;
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * System tests for batches of POS and user operations.
+ */
+public class BatchSystemTests extends AbstractSysTest {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void batchIsCommittedAtomically() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        Pos posToUpdate = createdPosList.getFirst().toBuilder().name("Updated Name").build();
+        Long posToDeleteId = Objects.requireNonNull(createdPosList.getLast().id());
+        Pos posToCreate = TestFixtures.getPosFixturesForInsertion().getFirst();
+
+        BatchResultDto result = execute(List.of(
+                operation("POST", "/api/pos", posDtoMapper.fromDomain(posToCreate)),
+                operation("PUT", "/api/pos/" + posToUpdate.id(), posDtoMapper.fromDomain(posToUpdate)),
+                operation("DELETE", "/api/pos/" + posToDeleteId, null)
+        ), HttpStatus.OK);
+
+        assertThat(result.committed()).isTrue();
+        assertThat(result.results()).extracting(BatchOperationResultDto::status).containsExactly(201, 200, 204);
+        assertThat(posRequests.retrieveAll())
+                .extracting(PosDto::name)
+                .contains(posToCreate.name(), "Updated Name")
+                .hasSize(createdPosList.size());
+    }
+
+    @Test
+    void failedOperationRollsBackBatch() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        Long posToDeleteId = Objects.requireNonNull(createdPosList.getFirst().id());
+        Pos posToCreate = TestFixtures.getPosFixturesForInsertion().getFirst();
+
+        BatchResultDto result = execute(List.of(
+                operation("DELETE", "/api/pos/" + posToDeleteId, null),
+                operation("POST", "/api/pos", posDtoMapper.fromDomain(posToCreate)),
+                operation("DELETE", "/api/pos/4711", null)
+        ), HttpStatus.NOT_FOUND);
+
+        assertThat(result.committed()).isFalse();
+        assertThat(result.results()).extracting(BatchOperationResultDto::status).containsExactly(424, 424, 404);
+        // neither the deletion nor the creation is visible
+        assertThat(posRequests.retrieveAll())
+                .extracting(PosDto::id)
+                .contains(posToDeleteId)
+                .hasSize(createdPosList.size());
+    }
+
+    private BatchOperationDto operation(String method, String path, Object body) {
+        return new BatchOperationDto(method, path, body != null ? objectMapper.valueToTree(body) : null);
+    }
+
+    private static BatchResultDto execute(List<BatchOperationDto> operations, HttpStatus expectedStatus) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(operations)
+                .when()
+                .post("/api/batch")
+                .then()
+                .statusCode(expectedStatus.value())
+                .extract().as(BatchResultDto.class);
+    }
+}
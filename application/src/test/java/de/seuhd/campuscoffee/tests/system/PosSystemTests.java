@@ -1,15 +1,27 @@
 package de.seuhd.campuscoffee.tests.system;
 
+import de.seuhd.campuscoffee.api.dtos.MultiGetResultDto;
+import de.seuhd.campuscoffee.api.dtos.PosChangesDto;
 import de.seuhd.campuscoffee.api.dtos.PosDto;
 import de.seuhd.campuscoffee.domain.model.Pos;
 import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import io.restassured.RestAssured;
+import io.restassured.common.mapper.TypeRef;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
 import org.springframework.http.HttpStatus;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static de.seuhd.campuscoffee.tests.SystemTestUtils.Requests.posRequests;
+import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -107,4 +119,102 @@ public class PosSystemTests extends AbstractSysTest {
         assertThat(remainingPosIds)
                 .doesNotContain(posToDelete.id());
     }
+
+    @Test
+    void catalogIsServedCompressedAndReflectsChanges() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        Pos posToUpdate = createdPosList.getFirst().toBuilder().name("Updated Name").build();
+
+        // the cached body of the current catalog version; RestAssured decompresses it
+        given()
+                .header("Accept-Encoding", "gzip")
+                .when()
+                .get("/api/pos")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("Content-Encoding", "gzip");
+
+        // the update changes the catalog version, so the cached body is replaced
+        posRequests.update(List.of(posDtoMapper.fromDomain(posToUpdate)));
+
+        assertThat(posRequests.retrieveAll())
+                .extracting(PosDto::name)
+                .contains("Updated Name");
+    }
+    @Test
+    void getPosByIdList() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        Long firstId = Objects.requireNonNull(createdPosList.getFirst().id());
+        Long lastId = Objects.requireNonNull(createdPosList.getLast().id());
+
+        MultiGetResultDto<PosDto> result = given()
+                .queryParam("ids", lastId + ",4711," + firstId + "," + lastId)
+                .when()
+                .get("/api/pos")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().as(new TypeRef<>() {});
+
+        assertThat(result.found()).extracting(PosDto::id).containsExactly(lastId, firstId);
+        assertThat(result.missingIds()).containsExactly(4711L);
+    }
+
+    @Test
+    void deltaSyncReturnsChangedAndDeletedPos() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        PosChangesDto fullSync = syncSince("");
+        assertThat(fullSync.changed()).hasSameSizeAs(createdPosList);
+        assertThat(fullSync.deleted()).isEmpty();
+
+        Pos posToUpdate = createdPosList.getFirst().toBuilder().name("Updated Name").build();
+        posRequests.update(List.of(posDtoMapper.fromDomain(posToUpdate)));
+        Long deletedId = Objects.requireNonNull(createdPosList.getLast().id());
+        posRequests.deleteAndReturnStatusCodes(List.of(deletedId));
+
+        PosChangesDto deltaSync = syncSince(fullSync.syncToken());
+        assertThat(deltaSync.changed())
+                .extracting(PosDto::name)
+                .contains("Updated Name");
+        assertThat(deltaSync.changed())
+                .extracting(PosDto::id)
+                .doesNotContain(deletedId);
+        assertThat(deltaSync.deleted()).containsExactly(deletedId);
+
+        given()
+                .queryParam("since", "invalid")
+                .when()
+                .get("/api/pos/changes")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void changesAreStreamedToSubscribers() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(RestAssured.baseURI + "/api/pos/changes")).build();
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            // returns when the subscription is established (headers sent)
+            HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+            assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                    contentType -> assertThat(contentType).startsWith("text/event-stream"));
+
+            Pos posToCreate = TestFixtures.getPosFixturesForInsertion().getFirst();
+            posRequests.create(List.of(posDtoMapper.fromDomain(posToCreate)));
+
+            try (Stream<String> lines = response.body()) {
+                assertThat(lines.filter(line -> line.startsWith("event:")).findFirst())
+                        .contains("event:created");
+            }
+        }
+    }
+
+    private static PosChangesDto syncSince(String token) {
+        return given()
+                .queryParam("since", token)
+                .when()
+                .get("/api/pos/changes")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().as(PosChangesDto.class);
+    }
 }
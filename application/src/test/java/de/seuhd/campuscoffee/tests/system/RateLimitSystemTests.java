@@ -0,0 +1,42 @@
+package de.seuhd.campuscoffee.tests.system;
+
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * System tests for the per-client rate limits of the API.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "api.rate-limit.enabled=true",
+                "api.rate-limit.api-keys=test-key",
+                "api.rate-limit.standard.requests-per-second=0.5",
+                "api.rate-limit.standard.burst-capacity=3"
+        }
+)
+public class RateLimitSystemTests extends AbstractSysTest {
+
+    @Test
+    void requestsBeyondTheLimitAreRejectedWithRetryAfter() {
+        IntStream.range(0, 3).forEach(i ->
+                given().get("/api/pos").then().statusCode(HttpStatus.OK.value()));
+
+        Response rejected = given().get("/api/pos");
+
+        assertThat(rejected.statusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(Long.parseLong(rejected.header(HttpHeaders.RETRY_AFTER))).isBetween(1L, 2L);
+        assertThat(rejected.jsonPath().getString("errorCode")).isEqualTo("RateLimitExceededException");
+
+        // a client with a known API key has its own limit
+        given().header("X-API-Key", "test-key").get("/api/pos").then().statusCode(HttpStatus.OK.value());
+    }
+}
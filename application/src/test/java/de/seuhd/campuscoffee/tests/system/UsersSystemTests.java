@@ -1,11 +1,18 @@
 package de.seuhd.campuscoffee.tests.system;
 
+import de.seuhd.campuscoffee.api.dtos.MultiGetResultDto;
 import de.seuhd.campuscoffee.api.dtos.UserDto;
+import io.restassured.common.mapper.TypeRef;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 
 import java.util.List;
 
 import static de.seuhd.campuscoffee.tests.SystemTestUtils.Requests.userRequests;
+import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -42,6 +49,36 @@ public class UsersSystemTests extends AbstractSysTest {
         assertThat(createdUser.lastName()).isEqualTo(userToCreate.lastName());
     }
 
+    @Test
+    void getUsersByIdList() {
+        List<UserDto> createdUsers = userRequests.create(List.of(buildUser("first"), buildUser("second")));
+        Long firstId = createdUsers.getFirst().id();
+        Long secondId = createdUsers.getLast().id();
+
+        // results in the order of the IDs, missing IDs are reported
+        MultiGetResultDto<UserDto> result = given()
+                .queryParam("ids", secondId + ",4711," + firstId)
+                .when()
+                .get("/api/users")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().as(new TypeRef<>() {});
+        assertThat(result.found()).extracting(UserDto::id).containsExactly(secondId, firstId);
+        assertThat(result.missingIds()).containsExactly(4711L);
+
+        // the same via POST with the IDs in the body
+        MultiGetResultDto<UserDto> posted = given()
+                .contentType(ContentType.JSON)
+                .body(List.of(firstId, 4711L))
+                .when()
+                .post("/api/users/lookup")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().as(new TypeRef<>() {});
+        assertThat(posted.found()).extracting(UserDto::id).containsExactly(firstId);
+        assertThat(posted.missingIds()).containsExactly(4711L);
+    }
+
     @Test
     void filterUserByLoginName() {
         // zwei Users anlegen
@@ -72,8 +109,83 @@ public class UsersSystemTests extends AbstractSysTest {
         assertThat(result.lastName()).isEqualTo(reference.lastName());
     }
 
+    @Test
+    void filterUserByEmailAddress() {
+        List<UserDto> createdUsers = userRequests.create(List.of(buildUser("mail1"), buildUser("mail2")));
+        UserDto reference = createdUsers.getLast();
+
+        // email addresses are compared case-insensitively
+        List<UserDto> filteredUsers = userRequests
+                .retrieveAllByFilter("emailAddress", reference.emailAddress().toUpperCase());
+
+        assertThat(filteredUsers)
+                .extracting(UserDto::id)
+                .containsExactly(reference.id());
+        assertThat(userRequests.retrieveAllByFilter("emailAddress", "unknown@example.com")).isEmpty();
+    }
 
 
+
+    @Test
+    void listUsersInPages() {
+        userRequests.create(List.of(buildUser("page_c"), buildUser("page_a"), buildUser("page_b")));
+
+        // erste Seite: zwei User in Sortierreihenfolge, Fortsetzung im Link-Header
+        Response first = given()
+                .queryParam("prefix", "login_page_")
+                .queryParam("limit", 2)
+                .when()
+                .get("/api/users");
+        first.then().statusCode(HttpStatus.OK.value());
+        assertThat(first.jsonPath().getList("loginName", String.class))
+                .containsExactly("login_page_a", "login_page_b");
+        String nextLink = first.getHeader(HttpHeaders.LINK);
+        assertThat(nextLink).contains("rel=\"next\"");
+
+        // second page via the URL from the Link header
+        Response second = given()
+                .urlEncodingEnabled(false)
+                .when()
+                .get(nextLink.substring(nextLink.indexOf('<') + 1, nextLink.indexOf('>')));
+        second.then().statusCode(HttpStatus.OK.value());
+        assertThat(second.jsonPath().getList("loginName", String.class)).containsExactly("login_page_c");
+        assertThat(second.getHeader(HttpHeaders.LINK)).isNull();
+    }
+
+    @Test
+    void importAndExportUsersAsNdjson() {
+        String ndjson = String.join("\n",
+                "{\"loginName\":\"bulk_a\",\"emailAddress\":\"bulk_a@example.com\",\"firstName\":\"A\",\"lastName\":\"Bulk\"}",
+                "{\"loginName\":\"bulk b\",\"emailAddress\":\"bulk_b@example.com\",\"firstName\":\"B\",\"lastName\":\"Bulk\"}",
+                "not json",
+                "{\"loginName\":\"bulk_a\",\"emailAddress\":\"bulk_c@example.com\",\"firstName\":\"C\",\"lastName\":\"Bulk\"}");
+
+        // one result per line, in the order of the lines
+        Response imported = given()
+                .contentType("application/x-ndjson")
+                .body(ndjson)
+                .when()
+                .post("/api/users/bulk");
+        imported.then().statusCode(HttpStatus.OK.value());
+        assertThat(imported.asString().lines())
+                .hasSize(4)
+                .satisfiesExactly(
+                        line -> assertThat(line).contains("\"line\":1", "\"status\":\"CREATED\""),
+                        line -> assertThat(line).contains("\"line\":2", "\"status\":\"INVALID\"", "loginName"),
+                        line -> assertThat(line).contains("\"line\":3", "\"status\":\"INVALID\""),
+                        line -> assertThat(line).contains("\"line\":4", "\"status\":\"FAILED\"", "DuplicationException"));
+
+        Response exported = given()
+                .when()
+                .get("/api/users/export");
+        exported.then().statusCode(HttpStatus.OK.value());
+        assertThat(exported.asString().lines())
+                .filteredOn(line -> line.contains("bulk_"))
+                .singleElement()
+                .asString()
+                .contains("\"loginName\":\"bulk_a\"");
+    }
+
     @Test
     void updateUser() {
         // 1. User anlegen
@@ -0,0 +1,99 @@
+package de.seuhd.campuscoffee.data.client;
+
+import org.jspecify.annotations.NonNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the OpenStreetMap API integration (prefix {@code osm.api}).
+ *
+ * @param baseUrl       the base URL of the OSM API (e.g., https://www.openstreetmap.org/api/0.6)
+ * @param fetch         throttling, retry, and circuit breaker settings for OSM requests
+ * @param http          connection pool and timeout settings of the HTTP client used for OSM requests
+ * @param negativeCache settings for caching nodes that cannot be imported
+ * @param area          settings for fetching all data within an area via the {@code map} endpoint
+ */
+@ConfigurationProperties(prefix = "osm.api")
+public record OsmApiProperties(
+        @NonNull String baseUrl,
+        @DefaultValue @NonNull Fetch fetch,
+        @DefaultValue @NonNull Http http,
+        @DefaultValue @NonNull NegativeCache negativeCache,
+        @DefaultValue @NonNull Area area
+) {
+    /**
+     * Settings for the {@link OsmFetchScheduler}.
+     * The defaults respect the OSM API usage policy, which asks clients to avoid heavy parallel usage.
+     *
+     * @param requestsPerSecond sustained number of requests per second sent to the OSM API
+     * @param burstCapacity     number of requests that may be sent at once after an idle period
+     * @param maxConcurrency    maximum number of requests in flight at the same time
+     * @param maxRetries        number of retries for transient errors (HTTP 429, 5xx, I/O errors)
+     * @param initialBackoff    delay before the first retry; doubled for each further retry
+     * @param maxBackoff        upper bound for the delay between two retries
+     * @param failureThreshold  number of consecutive transient failures after which the circuit opens
+     * @param openDuration      time the circuit stays open before a single trial request is let through
+     */
+    public record Fetch(
+            @DefaultValue("2.0") double requestsPerSecond,
+            @DefaultValue("4") int burstCapacity,
+            @DefaultValue("4") int maxConcurrency,
+            @DefaultValue("3") int maxRetries,
+            @DefaultValue("250ms") @NonNull Duration initialBackoff,
+            @DefaultValue("10s") @NonNull Duration maxBackoff,
+            @DefaultValue("5") int failureThreshold,
+            @DefaultValue("30s") @NonNull Duration openDuration
+    ) {
+    }
+
+    /**
+     * Settings for the pooled HTTP client that executes OSM requests (see {@link OsmFeignClientConfig}).
+     * Connections are kept alive and reused, so bulk imports do not pay a TLS handshake per request.
+     *
+     * @param connectTimeout           maximum time to establish a TCP/TLS connection
+     * @param readTimeout              maximum time to wait for the response after the request was sent
+     * @param connectionRequestTimeout maximum time to wait for a free connection from the pool
+     * @param maxConnections           maximum number of pooled connections in total
+     * @param maxConnectionsPerRoute   maximum number of pooled connections per host
+     * @param timeToLive               maximum lifetime of a pooled connection, regardless of activity
+     * @param idleTimeout              time after which idle connections are evicted from the pool
+     */
+    public record Http(
+            @DefaultValue("5s") @NonNull Duration connectTimeout,
+            @DefaultValue("30s") @NonNull Duration readTimeout,
+            @DefaultValue("5s") @NonNull Duration connectionRequestTimeout,
+            @DefaultValue("20") int maxConnections,
+            @DefaultValue("8") int maxConnectionsPerRoute,
+            @DefaultValue("5m") @NonNull Duration timeToLive,
+            @DefaultValue("30s") @NonNull Duration idleTimeout
+    ) {
+    }
+
+    /**
+     * Settings for the cache of nodes that failed to import for permanent reasons
+     * (HTTP 404/410, missing required tags, unsupported amenity). Transient errors are never cached.
+     *
+     * @param enabled    whether failures are cached at all
+     * @param ttl        time after which a cached failure expires and the node is fetched again
+     * @param maxEntries maximum number of cached failures; the oldest entries are evicted first
+     */
+    public record NegativeCache(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("1h") @NonNull Duration ttl,
+            @DefaultValue("10000") int maxEntries
+    ) {
+    }
+
+    /**
+     * Settings for area requests. The OSM API rejects areas larger than 0.25 square degrees or containing more than
+     * 50,000 nodes, so larger areas are split into tiles that are fetched concurrently by the {@link OsmFetchScheduler}.
+     *
+     * @param tileSize maximum side length of a tile in degrees
+     */
+    public record Area(
+            @DefaultValue("0.01") double tileSize
+    ) {
+    }
+}
@@ -1,8 +1,10 @@
 package de.seuhd.campuscoffee.data.client;
 
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 /**
  * Feign client for OpenStreetMap API integration.
@@ -21,4 +23,35 @@ public interface OsmFeignClient {
      */
     @GetMapping("/node/{id}")
     String fetchNode(@PathVariable("id") Long nodeId);
+
+    /**
+     * Fetches all data (nodes, ways, and relations) within a bounding box from the OpenStreetMap API.
+     * The raw response is returned, so that its body can be parsed as a stream; callers must close it
+     * and check the status code themselves.
+     *
+     * @param bbox the bounding box as "minLon,minLat,maxLon,maxLat"
+     * @return the raw XML response
+     */
+    @GetMapping("/map")
+    Response fetchMap(@RequestParam("bbox") String bbox);
+
+    /**
+     * Fetches a way including all its nodes with a single request from the OpenStreetMap API.
+     * Like {@link #fetchMap(String)}, the raw response is returned for stream parsing.
+     *
+     * @param wayId the OSM way ID
+     * @return the raw XML response
+     */
+    @GetMapping("/way/{id}/full")
+    Response fetchWayFull(@PathVariable("id") Long wayId);
+
+    /**
+     * Fetches a relation including all its member nodes and ways (with their nodes) with a single request
+     * from the OpenStreetMap API. Like {@link #fetchMap(String)}, the raw response is returned for stream parsing.
+     *
+     * @param relationId the OSM relation ID
+     * @return the raw XML response
+     */
+    @GetMapping("/relation/{id}/full")
+    Response fetchRelationFull(@PathVariable("id") Long relationId);
 }
@@ -1,14 +1,40 @@
 package de.seuhd.campuscoffee.data.client;
 
+import feign.Client;
+import feign.Request;
 import feign.RequestInterceptor;
+import feign.RetryableException;
+import feign.hc5.ApacheHttp5Client;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Configuration for OSM Feign client.
+ * Requests are executed by a pooled Apache HttpClient 5 that keeps connections alive, applies the timeouts from
+ * {@link OsmApiProperties.Http}, and transparently decompresses gzip/deflate responses. Spring Cloud OpenFeign
+ * records request latencies of the Feign client via Micrometer (metric {@code http.client.requests}).
  */
 @Configuration
 public class OsmFeignClientConfig {
+    /**
+     * Name of the connection pool in the pool metrics (tag {@code httpclient}).
+     */
+    static final String POOL_NAME = "osm-api";
+
     /**
      * Adds User-Agent header to all OSM API requests.
      *
@@ -19,4 +45,104 @@ public class OsmFeignClientConfig {
         return requestTemplate ->
             requestTemplate.header("User-Agent", "CampusCoffee/0.0.2");
     }
+
+    /**
+     * Creates the connection pool shared by all OSM requests.
+     *
+     * @param osmApiProperties the OSM API configuration
+     * @return the pooling connection manager
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager osmConnectionManager(OsmApiProperties osmApiProperties) {
+        OsmApiProperties.Http http = osmApiProperties.http();
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(http.maxConnections())
+                .setMaxConnPerRoute(http.maxConnectionsPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(http.connectTimeout()))
+                        .setSocketTimeout(Timeout.of(http.readTimeout()))
+                        .setTimeToLive(TimeValue.of(http.timeToLive()))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+    }
+
+    /**
+     * Creates the HTTP client used by the OSM Feign client.
+     * Content compression is enabled by default, i.e., the client sends {@code Accept-Encoding: gzip, deflate}
+     * and decompresses responses before Feign decodes them.
+     * The client does not retry by itself (it would retry HTTP 503 and 429 once), so that every response reaches
+     * the {@link OsmFetchScheduler}.
+     *
+     * @param osmConnectionManager the connection pool
+     * @param osmApiProperties     the OSM API configuration
+     * @return the HTTP client
+     */
+    @Bean
+    public CloseableHttpClient osmHttpClient(PoolingHttpClientConnectionManager osmConnectionManager,
+                                             OsmApiProperties osmApiProperties) {
+        OsmApiProperties.Http http = osmApiProperties.http();
+        return HttpClients.custom()
+                .setConnectionManager(osmConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(http.connectionRequestTimeout()))
+                        .setResponseTimeout(Timeout.of(http.readTimeout()))
+                        .build())
+                // retries are the job of the OsmFetchScheduler (backoff, circuit breaker, status metrics)
+                .disableAutomaticRetries()
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(http.idleTimeout()))
+                .disableCookieManagement()
+                .build();
+    }
+
+    /**
+     * Creates the Feign client that executes OSM requests with the pooled HTTP client.
+     * I/O errors are reported as {@link RetryableException} right away (instead of being converted by Feign after the
+     * client returns), so that the Micrometer observation of the request is completed for failed requests as well.
+     *
+     * @param osmHttpClient the HTTP client
+     * @return the Feign client
+     */
+    @Bean
+    public Client osmFeignHttpClient(CloseableHttpClient osmHttpClient) {
+        Client delegate = new ApacheHttp5Client(osmHttpClient);
+        return (request, options) -> {
+            try {
+                return delegate.execute(request, options);
+            } catch (IOException e) {
+                throw new RetryableException(-1,
+                        String.format("%s executing %s %s", e.getMessage(), request.httpMethod(), request.url()),
+                        request.httpMethod(), e, (Long) null, request);
+            }
+        };
+    }
+
+    /**
+     * Aligns Feign's per-request timeouts with the HTTP client configuration
+     * (Feign passes them to the HTTP client for every request).
+     *
+     * @param osmApiProperties the OSM API configuration
+     * @return the request options
+     */
+    @Bean
+    public Request.Options osmRequestOptions(OsmApiProperties osmApiProperties) {
+        OsmApiProperties.Http http = osmApiProperties.http();
+        return new Request.Options(
+                http.connectTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                http.readTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                true
+        );
+    }
+
+    /**
+     * Exposes usage of the OSM connection pool (leased, available, pending, and max connections) as metrics.
+     *
+     * @param osmConnectionManager the connection pool
+     * @return the meter binder for the pool metrics
+     */
+    @Bean
+    public MeterBinder osmConnectionPoolMetrics(PoolingHttpClientConnectionManager osmConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(osmConnectionManager, POOL_NAME, Tags.empty());
+    }
 }
@@ -0,0 +1,284 @@
+package de.seuhd.campuscoffee.data.client;
+
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.util.TokenBucket;
+import feign.FeignException;
+import feign.RetryableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Schedules requests against the OpenStreetMap API.
+ * <p>
+ * Every request runs on a virtual thread and passes through the following stages:
+ * <ol>
+ *   <li>a circuit breaker that fails fast while the OSM API is unhealthy,</li>
+ *   <li>a token bucket that enforces the configured request rate,</li>
+ *   <li>a semaphore that bounds the number of requests in flight,</li>
+ *   <li>a retry loop with exponential backoff and jitter for transient errors (HTTP 429, 5xx, I/O errors).</li>
+ * </ol>
+ * Non-transient errors (e.g., HTTP 404) are passed through unchanged, so callers can translate them.
+ * Transient errors that persist after all retries are reported as {@link ServiceUnavailableException}.
+ * <p>
+ * The responses of all attempts are counted by the metric {@code osm.fetch.responses} (tag {@code status}: the HTTP
+ * status code, or {@code io_error} if no response was received).
+ */
+@Slf4j
+@Component
+public class OsmFetchScheduler implements AutoCloseable, MeterBinder {
+    static final String SERVICE_NAME = "OpenStreetMap API";
+    private static final Set<Integer> RETRYABLE_STATUS_CODES = Set.of(429, 500, 502, 503, 504);
+
+    private final OsmApiProperties.Fetch properties;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("osm-fetch-", 0).factory());
+    private final TokenBucket tokenBucket;
+    private final Semaphore concurrencyLimit;
+    private final CircuitBreaker circuitBreaker;
+    private final Map<String, Counter> responseCounters = new ConcurrentHashMap<>();
+    private volatile @Nullable MeterRegistry meterRegistry;
+
+    public OsmFetchScheduler(@NonNull OsmApiProperties osmApiProperties) {
+        this.properties = osmApiProperties.fetch();
+        this.tokenBucket = new TokenBucket(properties.requestsPerSecond(), properties.burstCapacity());
+        this.concurrencyLimit = new Semaphore(properties.maxConcurrency(), true);
+        this.circuitBreaker = new CircuitBreaker(properties.failureThreshold(), properties.openDuration());
+    }
+
+    /**
+     * Submits an OSM request for asynchronous execution.
+     *
+     * @param description a short description of the request for logging (e.g., "node 42")
+     * @param request     the request to execute, typically a call to the {@link OsmFeignClient}
+     * @param <T>         the type of the response
+     * @return a future that completes with the response or with the exception thrown by the last attempt
+     */
+    public <T> @NonNull CompletableFuture<T> submit(@NonNull String description, @NonNull Supplier<T> request) {
+        return CompletableFuture.supplyAsync(() -> executeWithRetries(description, request), executor);
+    }
+
+    /**
+     * Executes an OSM request and waits for its result.
+     *
+     * @param description a short description of the request for logging (e.g., "node 42")
+     * @param request     the request to execute, typically a call to the {@link OsmFeignClient}
+     * @param <T>         the type of the response
+     * @return the response of the request
+     * @throws FeignException              if the OSM API responded with a non-transient error
+     * @throws ServiceUnavailableException if the OSM API is unhealthy or transient errors persisted
+     */
+    public <T> T execute(@NonNull String description, @NonNull Supplier<T> request) {
+        return await(description, submit(description, request));
+    }
+
+    /**
+     * Waits for the result of a request submitted via {@link #submit(String, Supplier)}.
+     *
+     * @param description a short description of the request for logging (e.g., "node 42")
+     * @param future      the future returned on submission
+     * @param <T>         the type of the response
+     * @return the response of the request
+     * @throws FeignException              if the OSM API responded with a non-transient error
+     * @throws ServiceUnavailableException if the OSM API is unhealthy or transient errors persisted
+     */
+    public <T> T await(@NonNull String description, @NonNull CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Unexpected error while fetching " + description, e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(SERVICE_NAME, "request for " + description + " was interrupted");
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        meterRegistry = registry;
+    }
+
+    private <T> T executeWithRetries(String description, Supplier<T> request) {
+        for (int attempt = 0; ; attempt++) {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                log.warn("Circuit breaker is open, rejecting OSM request for {}", description);
+                throw new ServiceUnavailableException(SERVICE_NAME, "too many recent failures");
+            }
+            boolean healthy = false;
+            FeignException failure;
+            try {
+                T response = executeThrottled(request);
+                countResponse("200"); // Feign returns the body of successful responses only
+                healthy = true;
+                return response;
+            } catch (FeignException e) {
+                countResponse(e.status() > 0 ? Integer.toString(e.status()) : "io_error");
+                if (!isRetryable(e)) {
+                    // the API answered deliberately (e.g., 404), so it is healthy
+                    healthy = true;
+                    throw e;
+                }
+                failure = e;
+            } finally {
+                // any other exception (e.g., an interrupt) is a failure as well, so that the trial request of a
+                // half-open circuit always completes
+                if (healthy) {
+                    circuitBreaker.onSuccess();
+                } else {
+                    circuitBreaker.onFailure();
+                }
+            }
+            Duration delay = backoff(attempt, failure);
+            if (attempt >= properties.maxRetries() || delay.compareTo(properties.maxBackoff()) > 0) {
+                log.error("Giving up OSM request for {} after {} attempt(s): {}",
+                        description, attempt + 1, describe(failure));
+                throw new ServiceUnavailableException(SERVICE_NAME, describe(failure));
+            }
+            log.warn("Transient error for OSM request {} ({}), retrying in {} ms",
+                    description, describe(failure), delay.toMillis());
+            sleep(delay, description);
+        }
+    }
+
+    private <T> T executeThrottled(Supplier<T> request) {
+        sleep(tokenBucket.reserve(), "rate limit");
+        concurrencyLimit.acquireUninterruptibly();
+        try {
+            return request.get();
+        } finally {
+            concurrencyLimit.release();
+        }
+    }
+
+    private void countResponse(String status) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) {
+            return;
+        }
+        responseCounters.computeIfAbsent(status, key -> Counter.builder("osm.fetch.responses")
+                        .description("Responses of the OSM API, including retried attempts")
+                        .tag("status", key)
+                        .register(registry))
+                .increment();
+    }
+
+    private static String describe(FeignException e) {
+        return e.status() > 0 ? "HTTP status " + e.status() : "I/O error";
+    }
+
+    private static boolean isRetryable(FeignException e) {
+        return e instanceof RetryableException || RETRYABLE_STATUS_CODES.contains(e.status());
+    }
+
+    /**
+     * Computes the delay before the next retry: exponential backoff with "equal jitter"
+     * (half of the delay is fixed, the other half is random), but at least the delay requested by the
+     * server via the {@code Retry-After} header.
+     */
+    private Duration backoff(int attempt, FeignException e) {
+        long exponentialMillis = properties.initialBackoff().toMillis() << Math.min(attempt, 20);
+        long cappedMillis = Math.min(exponentialMillis, properties.maxBackoff().toMillis());
+        long jitteredMillis = cappedMillis / 2 + ThreadLocalRandom.current().nextLong(cappedMillis / 2 + 1);
+        Duration delay = Duration.ofMillis(jitteredMillis);
+        return retryAfter(e)
+                .filter(retryAfter -> retryAfter.compareTo(delay) > 0)
+                .orElse(delay);
+    }
+
+    private static Optional<Duration> retryAfter(FeignException e) {
+        Collection<String> values = e.responseHeaders().entrySet().stream()
+                .filter(entry -> "retry-after".equalsIgnoreCase(entry.getKey()))
+                .findFirst()
+                .map(Map.Entry::getValue)
+                .orElse(Set.of());
+        return values.stream()
+                .filter(value -> value.matches("\\d+"))
+                .findFirst()
+                .map(value -> Duration.ofSeconds(Long.parseLong(value)));
+    }
+
+    private static void sleep(Duration delay, String description) {
+        if (delay.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(SERVICE_NAME, "request for " + description + " was interrupted");
+        }
+    }
+
+    /**
+     * Minimal lock-free circuit breaker.
+     * The circuit opens after a number of consecutive failures. Once the open duration has elapsed, a single
+     * trial request is let through (half-open state): its success closes the circuit, its failure reopens it.
+     * Each permitted request must report its outcome via {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    private static final class CircuitBreaker {
+        private final int failureThreshold;
+        private final long openDurationNanos;
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicBoolean trialInFlight = new AtomicBoolean();
+        private volatile boolean open;
+        private volatile long openedAtNanos;
+
+        private CircuitBreaker(int failureThreshold, Duration openDuration) {
+            this.failureThreshold = failureThreshold;
+            this.openDurationNanos = openDuration.toNanos();
+        }
+
+        boolean tryAcquirePermission() {
+            if (!open) {
+                return true;
+            }
+            if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                return false;
+            }
+            return trialInFlight.compareAndSet(false, true);
+        }
+
+        void onSuccess() {
+            consecutiveFailures.set(0);
+            open = false;
+            trialInFlight.set(false);
+        }
+
+        void onFailure() {
+            if (consecutiveFailures.incrementAndGet() >= failureThreshold || trialInFlight.get()) {
+                openedAtNanos = System.nanoTime();
+                open = true;
+                trialInFlight.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package de.seuhd.campuscoffee.data.client;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Planar geometry helpers for OSM ways and relations.
+ * Coordinates are treated as planar, which is accurate enough for the small extent of POS and is not
+ * distorted by the projection because centroids are invariant under the (locally) linear map projection.
+ */
+final class OsmGeometry {
+    /**
+     * Rings whose area is below this threshold (in square degrees) are considered degenerate.
+     */
+    private static final double MIN_AREA = 1e-14;
+
+    private OsmGeometry() {
+    }
+
+    /**
+     * Geographic point.
+     *
+     * @param lat the latitude in degrees
+     * @param lon the longitude in degrees
+     */
+    record Point(double lat, double lon) {
+    }
+
+    /**
+     * Computes the centroid of a way: the area centroid for closed ways (e.g., building outlines) and the mean
+     * of the distinct points for open or degenerate ways.
+     *
+     * @param points the points of the way in order
+     * @return the centroid, or empty if the way has no points
+     */
+    static Optional<Point> centroidOfWay(List<Point> points) {
+        return centroidOfRings(isClosed(points) ? List.of(points) : List.of(), List.of())
+                .or(() -> mean(points));
+    }
+
+    /**
+     * Computes the area centroid of a multipolygon given by its closed outer and inner rings;
+     * inner rings (holes) are subtracted.
+     *
+     * @param outerRings the closed outer rings
+     * @param innerRings the closed inner rings
+     * @return the centroid, or empty if the rings have no area
+     */
+    static Optional<Point> centroidOfRings(List<List<Point>> outerRings, List<List<Point>> innerRings) {
+        double[] sums = new double[3]; // area, area-weighted lat, area-weighted lon
+        outerRings.forEach(ring -> addRing(ring, 1, sums));
+        innerRings.forEach(ring -> addRing(ring, -1, sums));
+        if (sums[0] < MIN_AREA) {
+            return Optional.empty();
+        }
+        return Optional.of(new Point(sums[1] / sums[0], sums[2] / sums[0]));
+    }
+
+    /**
+     * Computes the mean of the distinct points, e.g., of a way that is not closed.
+     *
+     * @param points the points
+     * @return the mean, or empty if there are no points
+     */
+    static Optional<Point> mean(List<Point> points) {
+        Set<Point> distinct = new LinkedHashSet<>(points); // the closing point of a ring is not counted twice
+        if (distinct.isEmpty()) {
+            return Optional.empty();
+        }
+        double lat = distinct.stream().mapToDouble(Point::lat).sum() / distinct.size();
+        double lon = distinct.stream().mapToDouble(Point::lon).sum() / distinct.size();
+        return Optional.of(new Point(lat, lon));
+    }
+
+    static boolean isClosed(List<Point> points) {
+        return points.size() >= 4 && points.getFirst().equals(points.getLast());
+    }
+
+    /**
+     * Adds the area and the area-weighted centroid of a ring (shoelace formula) to the sums.
+     * The coordinates are shifted to the first point of the ring to avoid cancellation errors.
+     */
+    private static void addRing(List<Point> ring, int sign, double[] sums) {
+        Point origin = ring.getFirst();
+        double doubleArea = 0;
+        double lat = 0;
+        double lon = 0;
+        for (int i = 0; i < ring.size() - 1; i++) {
+            double x0 = ring.get(i).lon() - origin.lon();
+            double y0 = ring.get(i).lat() - origin.lat();
+            double x1 = ring.get(i + 1).lon() - origin.lon();
+            double y1 = ring.get(i + 1).lat() - origin.lat();
+            double cross = x0 * y1 - x1 * y0;
+            doubleArea += cross;
+            lon += (x0 + x1) * cross;
+            lat += (y0 + y1) * cross;
+        }
+        double area = Math.abs(doubleArea) / 2;
+        if (area < MIN_AREA) {
+            return;
+        }
+        // the centroid is (sum / (3 * doubleArea)); weighting it with the area cancels the orientation
+        double centroidLat = origin.lat() + lat / (3 * doubleArea);
+        double centroidLon = origin.lon() + lon / (3 * doubleArea);
+        sums[0] += sign * area;
+        sums[1] += sign * area * centroidLat;
+        sums[2] += sign * area * centroidLon;
+    }
+}
@@ -19,5 +19,7 @@ import java.util.Map;
 @JsonDeserialize(using = OsmResponseDeserializer.class)
 public class OsmResponse {
     private Long id;
+    private Double lat;
+    private Double lon;
     private Map<String, String> tags;
 }
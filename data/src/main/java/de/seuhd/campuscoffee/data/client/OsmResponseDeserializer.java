@@ -13,7 +13,7 @@ import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 /**
- * Custom deserializer that extracts node id and tags from the OSM XML nested structure.
+ * Custom deserializer that extracts node id, coordinates, and tags from the OSM XML nested structure.
  */
 public class OsmResponseDeserializer extends JsonDeserializer<OsmResponse> {
     @Override
@@ -28,6 +28,8 @@ public class OsmResponseDeserializer extends JsonDeserializer<OsmResponse> {
 
         return OsmResponse.builder()
                 .id(nodeElement.get("id").asLong())
+                .lat(nodeElement.has("lat") ? nodeElement.get("lat").asDouble() : null)
+                .lon(nodeElement.has("lon") ? nodeElement.get("lon").asDouble() : null)
                 .tags(deserializeTags(nodeElement.get("tag")))
                 .build();
     }
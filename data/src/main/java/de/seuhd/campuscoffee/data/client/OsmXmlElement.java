@@ -0,0 +1,24 @@
+package de.seuhd.campuscoffee.data.client;
+
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+import org.jspecify.annotations.NonNull;
+
+import java.util.Map;
+
+/**
+ * Element of an OSM XML document as read by the {@link OsmXmlStreamParser}.
+ *
+ * @param type the type of the element
+ * @param id   the OSM ID of the element
+ * @param lat  the latitude of the node or the centroid of the way or relation in degrees
+ * @param lon  the longitude of the node or the centroid of the way or relation in degrees
+ * @param tags the tags of the element; empty if the element has no tags
+ */
+public record OsmXmlElement(
+        @NonNull OsmElementType type,
+        long id,
+        double lat,
+        double lon,
+        @NonNull Map<String, String> tags
+) {
+}
@@ -0,0 +1,222 @@
+package de.seuhd.campuscoffee.data.client;
+
+import de.seuhd.campuscoffee.data.client.OsmGeometry.Point;
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * Streaming (StAX) parser for OSM XML documents such as the responses of the {@code map} and {@code full} endpoints.
+ * In contrast to the tree-based {@link OsmResponseDeserializer}, the document is never held in memory completely,
+ * and only the elements selected by the caller are retained.
+ */
+public class OsmXmlStreamParser {
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private OsmXmlStreamParser() {
+    }
+
+    /**
+     * Reads all node elements from an OSM XML document and keeps those whose tags match the filter.
+     *
+     * @param inputStream the OSM XML document; not closed by this method
+     * @param tagFilter   selects the nodes to keep based on their tags
+     * @return the selected nodes in document order
+     * @throws XMLStreamException if the document is not well-formed
+     */
+    public static List<OsmXmlElement> parseNodes(InputStream inputStream, Predicate<Map<String, String>> tagFilter)
+            throws XMLStreamException {
+        List<OsmXmlElement> nodes = new ArrayList<>();
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("node")) {
+                    long id = Long.parseLong(reader.getAttributeValue(null, "id"));
+                    String lat = reader.getAttributeValue(null, "lat");
+                    String lon = reader.getAttributeValue(null, "lon");
+                    Map<String, String> tags = readChildren(reader, null, null);
+                    // deleted nodes in history responses have no coordinates
+                    if (lat != null && lon != null && tagFilter.test(tags)) {
+                        nodes.add(new OsmXmlElement(OsmElementType.NODE, id,
+                                Double.parseDouble(lat), Double.parseDouble(lon), tags));
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return nodes;
+    }
+
+    /**
+     * Reads a way or relation from the response of its {@code full} endpoint, which contains the element itself
+     * and all member ways and nodes. The tags are taken from the element, the location is the centroid of its
+     * members: the area centroid of closed ways and of the closed outer ways of a relation (minus inner ways),
+     * otherwise the mean of the member nodes. Nested relations are not expanded by the OSM API and are ignored.
+     *
+     * @param inputStream the OSM XML document; not closed by this method
+     * @param type        the type of the requested element; must be a way or relation
+     * @param id          the OSM ID of the requested element
+     * @return the element with its centroid, or empty if the document does not contain the element or
+     * none of its member nodes
+     * @throws XMLStreamException if the document is not well-formed
+     */
+    public static Optional<OsmXmlElement> parseFullElement(InputStream inputStream, OsmElementType type, long id)
+            throws XMLStreamException {
+        if (type == OsmElementType.NODE) {
+            throw new IllegalArgumentException("Nodes have no full representation.");
+        }
+        Map<Long, Point> nodes = new HashMap<>();
+        Map<Long, List<Long>> wayNodeRefs = new HashMap<>();
+        List<Member> members = new ArrayList<>();
+        Map<String, String> tags = null;
+
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                String elementName = reader.getLocalName();
+                if (!elementName.equals("node") && !elementName.equals("way") && !elementName.equals("relation")) {
+                    continue;
+                }
+                long elementId = Long.parseLong(reader.getAttributeValue(null, "id"));
+                boolean requested = elementName.equals(type.osmValue()) && elementId == id;
+                switch (elementName) {
+                    case "node" -> {
+                        String lat = reader.getAttributeValue(null, "lat");
+                        String lon = reader.getAttributeValue(null, "lon");
+                        readChildren(reader, null, null);
+                        if (lat != null && lon != null) {
+                            nodes.put(elementId, new Point(Double.parseDouble(lat), Double.parseDouble(lon)));
+                        }
+                    }
+                    case "way" -> {
+                        List<Long> nodeRefs = new ArrayList<>();
+                        Map<String, String> wayTags = readChildren(reader, nodeRefs, null);
+                        wayNodeRefs.put(elementId, nodeRefs);
+                        if (requested) {
+                            tags = wayTags;
+                        }
+                    }
+                    default -> {
+                        // only the requested relation is complete; its member relations have no members
+                        Map<String, String> relationTags = readChildren(reader, null, requested ? members : null);
+                        if (requested) {
+                            tags = relationTags;
+                        }
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        if (tags == null) {
+            return Optional.empty();
+        }
+        Optional<Point> centroid = type == OsmElementType.WAY
+                ? OsmGeometry.centroidOfWay(resolve(wayNodeRefs.get(id), nodes))
+                : centroidOfRelation(members, wayNodeRefs, nodes);
+        Map<String, String> elementTags = tags;
+        return centroid.map(point -> new OsmXmlElement(type, id, point.lat(), point.lon(), elementTags));
+    }
+
+    /**
+     * Computes the centroid of a (multipolygon) relation from the closed member ways, falling back to the mean of
+     * all member nodes if no member way is closed, e.g., for outer rings that consist of several ways.
+     */
+    private static Optional<Point> centroidOfRelation(List<Member> members, Map<Long, List<Long>> wayNodeRefs,
+                                                      Map<Long, Point> nodes) {
+        List<List<Point>> outerRings = new ArrayList<>();
+        List<List<Point>> innerRings = new ArrayList<>();
+        List<Point> allPoints = new ArrayList<>();
+        for (Member member : members) {
+            if (member.type().equals("node") && nodes.containsKey(member.ref())) {
+                allPoints.add(nodes.get(member.ref()));
+            } else if (member.type().equals("way") && wayNodeRefs.containsKey(member.ref())) {
+                List<Point> points = resolve(wayNodeRefs.get(member.ref()), nodes);
+                allPoints.addAll(points);
+                if (OsmGeometry.isClosed(points)) {
+                    (member.role().equals("inner") ? innerRings : outerRings).add(points);
+                }
+            }
+        }
+        return OsmGeometry.centroidOfRings(outerRings, innerRings)
+                .or(() -> OsmGeometry.mean(allPoints));
+    }
+
+    private static List<Point> resolve(List<Long> nodeRefs, Map<Long, Point> nodes) {
+        return nodeRefs.stream()
+                .map(nodes::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Reads the children of the current element and advances the reader to the element's end tag.
+     * Tags are always returned; node references of ways and members of relations are collected if a list is given.
+     */
+    private static Map<String, String> readChildren(XMLStreamReader reader, List<Long> nodeRefs, List<Member> members)
+            throws XMLStreamException {
+        Map<String, String> tags = new HashMap<>();
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+                switch (reader.getLocalName()) {
+                    case "tag" -> tags.put(reader.getAttributeValue(null, "k"), reader.getAttributeValue(null, "v"));
+                    case "nd" -> {
+                        if (nodeRefs != null) {
+                            nodeRefs.add(Long.parseLong(reader.getAttributeValue(null, "ref")));
+                        }
+                    }
+                    case "member" -> {
+                        if (members != null) {
+                            members.add(new Member(reader.getAttributeValue(null, "type"),
+                                    Long.parseLong(reader.getAttributeValue(null, "ref")),
+                                    Objects.requireNonNullElse(reader.getAttributeValue(null, "role"), "")));
+                        }
+                    }
+                    default -> {
+                        // other children (e.g., bounds) are not relevant
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+        return tags;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // OSM documents have no DTD; disabling it prevents XML external entity attacks
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * Member of a relation.
+     *
+     * @param type the member type ("node", "way", or "relation")
+     * @param ref  the OSM ID of the member
+     * @param role the role of the member (e.g., "outer"); empty if not set
+     */
+    private record Member(String type, long ref, String role) {
+    }
+}
@@ -0,0 +1,657 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserCursor;
+import de.seuhd.campuscoffee.domain.model.UserPage;
+import de.seuhd.campuscoffee.domain.model.UserSortKey;
+import de.seuhd.campuscoffee.domain.ports.UserDataService;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * In-memory implementation of the user data service that is optimized for a small heap footprint; active if
+ * {@code users.store.type} is {@code compact}. It behaves like {@link UserDataServiceImpl}, but needs less than
+ * half of its memory per user (see {@code UserStoreFootprintTest}).
+ * <p>
+ * Users are not kept as {@link User} records, but in columns (parallel arrays) indexed by a slot number:
+ * IDs and timestamps (epoch milliseconds) as primitives, login names and email addresses as strings, and first
+ * and last names as codes of a {@link StringDictionary}, so names shared by many users are stored once.
+ * {@link User} records are materialized on demand when a user is read. The ID index is a {@link LongIntHashMap}
+ * and the unique indexes for login name and normalized email address are {@link StringSlotIndex}es, so no
+ * boxed keys or map entries are allocated per user. Slots of deleted users are reused.
+ * <p>
+ * Pages are read from sorted arrays of slots (by login name, and by last name and ID), which are rebuilt lazily
+ * on the first page request after a write; that request serves its page from the rebuilt order under the read lock.
+ * This favors read-mostly workloads; paging while users are written continuously is cheaper with
+ * {@link UserDataServiceImpl}. Timestamps are truncated to milliseconds.
+ * <p>
+ * All access is guarded by a read-write lock: reads proceed in parallel, writes are serialized. Batches
+ * ({@link #upsertAll(List)}) are written under one write lock, so readers see either all or none of their users,
+ * and validated before their first user is written, so a failed batch is neither applied nor journaled.
+ * If {@code users.store.journal.enabled} is set, writes are appended to a {@link UserJournal} like in
+ * {@link UserDataServiceImpl}, and the store is rebuilt from the journal on startup.
+ */
+@Service
+@ConditionalOnProperty(name = "users.store.type", havingValue = "compact")
+@Slf4j
+class CompactUserDataServiceImpl implements UserDataService, AutoCloseable {
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final long FREE = 0L; // ID of unused slots; IDs start at 1
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final @Nullable UserJournal journal;
+
+    // columns, indexed by the slot of a user
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] createdAt = new long[INITIAL_CAPACITY];
+    private long[] updatedAt = new long[INITIAL_CAPACITY];
+    private String[] loginNames = new String[INITIAL_CAPACITY];
+    private String[] emailAddresses = new String[INITIAL_CAPACITY];
+    private int[] firstNames = new int[INITIAL_CAPACITY];
+    private int[] lastNames = new int[INITIAL_CAPACITY];
+
+    private final StringDictionary names = new StringDictionary();
+    private final LongIntHashMap slotsById = new LongIntHashMap(INITIAL_CAPACITY);
+    private final StringSlotIndex slotsByLoginName = new StringSlotIndex(slot -> loginNames[slot], INITIAL_CAPACITY);
+    private final StringSlotIndex slotsByEmailAddress =
+            new StringSlotIndex(slot -> normalizeEmailAddress(emailAddresses[slot]), INITIAL_CAPACITY);
+
+    private int slotCount; // slots in use or free, i.e., the first never used slot
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+    private long nextId = 1L;
+
+    // sorted slots for pages; null if not rebuilt since the last write
+    private int @Nullable [] slotsByLoginNameOrder;
+    private int @Nullable [] slotsByLastNameOrder;
+
+    /**
+     * Creates a store without persistence (for tests).
+     */
+    CompactUserDataServiceImpl() {
+        this.journal = null;
+    }
+
+    /**
+     * Creates a store that is persisted according to the journal settings and recovers its previous state.
+     *
+     * @param properties the user store settings
+     */
+    @Autowired
+    CompactUserDataServiceImpl(@NonNull UserStoreProperties properties) {
+        if (!properties.journal().enabled()) {
+            this.journal = null;
+            return;
+        }
+        this.journal = new UserJournal(properties.journal(), this::journalState);
+        UserJournal.State recovered = journal.recover();
+        recovered.users().forEach(this::insert);
+        nextId = recovered.nextId();
+        journal.start();
+    }
+
+    @Override
+    public void clear() {
+        log.debug("Clearing all users from compact in-memory store");
+        write(() -> {
+            Arrays.fill(loginNames, 0, slotCount, null);
+            Arrays.fill(emailAddresses, 0, slotCount, null);
+            Arrays.fill(ids, 0, slotCount, FREE);
+            slotCount = 0;
+            freeSlotCount = 0;
+            nextId = 1L;
+            names.clear();
+            slotsById.clear();
+            slotsByLoginName.clear();
+            slotsByEmailAddress.clear();
+            invalidateOrders();
+            if (journal != null) {
+                journal.appendClear();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return false;
+    }
+
+    @Override
+    public @NonNull List<User> getAll() {
+        return read(() -> {
+            List<User> users = new ArrayList<>(slotsById.size());
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (ids[slot] != FREE) {
+                    users.add(materialize(slot));
+                }
+            }
+            return users;
+        });
+    }
+
+    @Override
+    public @NonNull UserPage getPage(@NonNull UserSortKey sortKey, @Nullable String prefix,
+                                     @Nullable UserCursor after, int limit) {
+        Objects.requireNonNull(sortKey, "sortKey must not be null");
+        String start = prefix != null ? prefix : "";
+        // continue after the cursor, unless the prefix range starts later
+        boolean continueAfterCursor = after != null && after.value().compareTo(start) >= 0;
+        String fromValue = continueAfterCursor ? after.value() : start;
+        long fromId = continueAfterCursor ? after.id() : Long.MIN_VALUE;
+
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            int[] order = sortKey == UserSortKey.LOGIN_NAME ? slotsByLoginNameOrder : slotsByLastNameOrder;
+            if (order != null) {
+                return page(order, sortKey, start, fromValue, fromId, limit);
+            }
+        } finally {
+            readLock.unlock();
+        }
+
+        // rebuild the sort order after writes, then downgrade to the read lock, so that the page is served from
+        // the rebuilt order even if writes are queued (they would invalidate it again)
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        int[] order;
+        try {
+            order = buildOrder(sortKey);
+            readLock.lock();
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            return page(order, sortKey, start, fromValue, fromId, limit);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public @NonNull User getById(@NonNull Long id) {
+        Objects.requireNonNull(id, "id must not be null");
+        User user = read(() -> {
+            int slot = slotsById.get(id);
+            return slot != LongIntHashMap.MISSING ? materialize(slot) : null;
+        });
+        if (user == null) {
+            throw NotFoundException.expected(User.class, id);
+        }
+        return user;
+    }
+
+    @Override
+    public @NonNull List<User> getAllById(@NonNull List<Long> ids) {
+        Objects.requireNonNull(ids, "ids must not be null");
+        // all IDs under one read lock, so that the result is consistent
+        return read(() -> {
+            List<User> users = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                int slot = slotsById.get(id);
+                if (slot != LongIntHashMap.MISSING) {
+                    users.add(materialize(slot));
+                }
+            }
+            return users;
+        });
+    }
+
+    @Override
+    public @NonNull User getByLoginName(@NonNull String loginName) {
+        Objects.requireNonNull(loginName, "loginName must not be null");
+        User user = read(() -> {
+            int slot = slotsByLoginName.get(loginName);
+            return slot != StringSlotIndex.MISSING ? materialize(slot) : null;
+        });
+        if (user == null) {
+            throw NotFoundException.expected(User.class, "loginName", loginName);
+        }
+        return user;
+    }
+
+    @Override
+    public @NonNull User getByEmailAddress(@NonNull String emailAddress) {
+        Objects.requireNonNull(emailAddress, "emailAddress must not be null");
+        String emailKey = normalizeEmailAddress(emailAddress);
+        User user = read(() -> {
+            int slot = slotsByEmailAddress.get(emailKey);
+            return slot != StringSlotIndex.MISSING ? materialize(slot) : null;
+        });
+        if (user == null) {
+            throw NotFoundException.expected(User.class, "emailAddress", emailAddress);
+        }
+        return user;
+    }
+
+    @Override
+    public @NonNull User upsert(@NonNull User user) {
+        Objects.requireNonNull(user, "user must not be null");
+        long now = Instant.now().toEpochMilli();
+        return write(() -> user.id() == null ? create(user, now) : update(user, now));
+    }
+
+    @Override
+    public @NonNull List<User> upsertAll(@NonNull List<User> users) {
+        Objects.requireNonNull(users, "users must not be null");
+        long now = Instant.now().toEpochMilli();
+        return write(() -> {
+            // the whole batch is validated before the first user is written, so a failed batch is neither
+            // applied nor journaled
+            validate(users);
+            List<User> written = new ArrayList<>(users.size());
+            for (User user : users) {
+                written.add(user.id() == null ? create(user, now) : update(user, now));
+            }
+            return written;
+        });
+    }
+
+    @Override
+    public void delete(@NonNull Long id) {
+        Objects.requireNonNull(id, "id must not be null");
+        boolean removed = write(() -> remove(id));
+        if (!removed) {
+            throw new NotFoundException(User.class, id);
+        }
+        log.debug("Deleted user with id={}", id);
+    }
+
+    @Override
+    public void close() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * Returns the number of distinct first and last names that are stored.
+     */
+    int nameCount() {
+        return read(names::size);
+    }
+
+    // --- writes; the write lock must be held ---
+
+    private User create(User user, long now) {
+        checkUnique(user, FREE);
+        User created = insert(user.toBuilder()
+                .id(nextId)
+                .createdAt(Instant.ofEpochMilli(now))
+                .updatedAt(Instant.ofEpochMilli(now))
+                .build());
+        nextId++;
+        append(created);
+        log.debug("Created new user with id={} and loginName={}", created.id(), created.loginName());
+        return created;
+    }
+
+    private User update(User user, long now) {
+        int slot = slotsById.get(user.id());
+        if (slot == LongIntHashMap.MISSING) {
+            throw new NotFoundException(User.class, user.id());
+        }
+        checkUnique(user, user.id());
+
+        // the index entries are removed with the old keys before the columns are overwritten
+        slotsByLoginName.remove(loginNames[slot], slot);
+        slotsByEmailAddress.remove(normalizeEmailAddress(emailAddresses[slot]), slot);
+        loginNames[slot] = user.loginName();
+        emailAddresses[slot] = user.emailAddress();
+        slotsByLoginName.add(user.loginName(), slot);
+        slotsByEmailAddress.add(normalizeEmailAddress(user.emailAddress()), slot);
+        // encode the new names first, so that an unchanged name does not drop out of the dictionary in between
+        int firstName = names.encode(user.firstName());
+        int lastName = names.encode(user.lastName());
+        names.release(firstNames[slot]);
+        names.release(lastNames[slot]);
+        firstNames[slot] = firstName;
+        lastNames[slot] = lastName;
+        updatedAt[slot] = now;
+        invalidateOrders();
+
+        User updated = materialize(slot);
+        append(updated);
+        log.debug("Updated user with id={} and loginName={}", updated.id(), updated.loginName());
+        return updated;
+    }
+
+    /**
+     * Stores a user with ID and timestamps in a free slot and indexes it.
+     */
+    private User insert(User user) {
+        int slot = allocateSlot();
+        ids[slot] = user.id();
+        createdAt[slot] = Objects.requireNonNull(user.createdAt()).toEpochMilli();
+        updatedAt[slot] = Objects.requireNonNull(user.updatedAt()).toEpochMilli();
+        loginNames[slot] = user.loginName();
+        emailAddresses[slot] = user.emailAddress();
+        firstNames[slot] = names.encode(user.firstName());
+        lastNames[slot] = names.encode(user.lastName());
+        slotsById.put(user.id(), slot);
+        slotsByLoginName.add(user.loginName(), slot);
+        slotsByEmailAddress.add(normalizeEmailAddress(user.emailAddress()), slot);
+        invalidateOrders();
+        return materialize(slot);
+    }
+
+    private boolean remove(long id) {
+        int slot = slotsById.remove(id);
+        if (slot == LongIntHashMap.MISSING) {
+            return false;
+        }
+        slotsByLoginName.remove(loginNames[slot], slot);
+        slotsByEmailAddress.remove(normalizeEmailAddress(emailAddresses[slot]), slot);
+        names.release(firstNames[slot]);
+        names.release(lastNames[slot]);
+        ids[slot] = FREE;
+        loginNames[slot] = null;
+        emailAddresses[slot] = null;
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlotCount * 2);
+        }
+        freeSlots[freeSlotCount++] = slot;
+        invalidateOrders();
+        if (journal != null) {
+            journal.appendDelete(id);
+        }
+        return true;
+    }
+
+    /**
+     * @param id the ID of the user whose keys are checked, or {@link #FREE} for new users
+     * @throws DuplicationException if another user has the login name or email address
+     */
+    private void checkUnique(User user, long id) {
+        int loginNameSlot = slotsByLoginName.get(user.loginName());
+        if (loginNameSlot != StringSlotIndex.MISSING && ids[loginNameSlot] != id) {
+            throw new DuplicationException(User.class, "loginName", user.loginName());
+        }
+        int emailAddressSlot = slotsByEmailAddress.get(normalizeEmailAddress(user.emailAddress()));
+        if (emailAddressSlot != StringSlotIndex.MISSING && ids[emailAddressSlot] != id) {
+            throw new DuplicationException(User.class, "emailAddress", user.emailAddress());
+        }
+    }
+
+    /**
+     * Checks that the users of a batch can be written in order: updated users exist, and no login name or email
+     * address is taken by another user, given the keys that earlier users of the batch take or give up.
+     *
+     * @throws NotFoundException    if an updated user does not exist
+     * @throws DuplicationException if another user has the login name or email address
+     */
+    private void validate(List<User> users) {
+        Map<Long, User> batch = new HashMap<>(); // the users written by the batch so far, by ID
+        Map<String, Long> loginNameOwners = new HashMap<>(); // keys taken (ID) or given up (null) by the batch
+        Map<String, Long> emailAddressOwners = new HashMap<>();
+        long newId = nextId;
+        for (User user : users) {
+            long id = user.id() != null ? user.id() : newId++;
+            User previous = user.id() != null ? batch.get(id) : null;
+            if (previous == null && user.id() != null) {
+                int slot = slotsById.get(id);
+                if (slot == LongIntHashMap.MISSING) {
+                    throw new NotFoundException(User.class, id);
+                }
+                previous = materialize(slot);
+            }
+            take(loginNameOwners, slotsByLoginName, previous != null ? previous.loginName() : null,
+                    user.loginName(), id, () -> new DuplicationException(User.class, "loginName", user.loginName()));
+            take(emailAddressOwners, slotsByEmailAddress,
+                    previous != null ? normalizeEmailAddress(previous.emailAddress()) : null,
+                    normalizeEmailAddress(user.emailAddress()), id,
+                    () -> new DuplicationException(User.class, "emailAddress", user.emailAddress()));
+            batch.put(id, user);
+        }
+    }
+
+    private void take(Map<String, Long> owners, StringSlotIndex index, @Nullable String previousKey, String key,
+                      long id, Supplier<DuplicationException> duplication) {
+        Long owner;
+        if (owners.containsKey(key)) {
+            owner = owners.get(key);
+        } else {
+            int slot = index.get(key);
+            owner = slot != StringSlotIndex.MISSING ? ids[slot] : null;
+        }
+        if (owner != null && owner != id) {
+            throw duplication.get();
+        }
+        if (previousKey != null && !previousKey.equals(key)) {
+            owners.put(previousKey, null);
+        }
+        owners.put(key, id);
+    }
+
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotCount == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            updatedAt = Arrays.copyOf(updatedAt, capacity);
+            loginNames = Arrays.copyOf(loginNames, capacity);
+            emailAddresses = Arrays.copyOf(emailAddresses, capacity);
+            firstNames = Arrays.copyOf(firstNames, capacity);
+            lastNames = Arrays.copyOf(lastNames, capacity);
+        }
+        return slotCount++;
+    }
+
+    private void invalidateOrders() {
+        slotsByLoginNameOrder = null;
+        slotsByLastNameOrder = null;
+    }
+
+    private void append(User user) {
+        if (journal != null) {
+            journal.appendPut(user);
+        }
+    }
+
+    // --- reads; the read or write lock must be held ---
+
+    private User materialize(int slot) {
+        return new User(ids[slot], Instant.ofEpochMilli(createdAt[slot]), Instant.ofEpochMilli(updatedAt[slot]),
+                loginNames[slot], emailAddresses[slot], names.decode(firstNames[slot]), names.decode(lastNames[slot]));
+    }
+
+    private UserPage page(int[] order, UserSortKey sortKey, String prefix, String fromValue, long fromId, int limit) {
+        IntFunction<String> valueOf = sortKey == UserSortKey.LOGIN_NAME
+                ? slot -> loginNames[slot]
+                : slot -> names.decode(lastNames[slot]);
+        List<User> page = new ArrayList<>(Math.min(limit, 64));
+        for (int i = firstAfter(order, valueOf, fromValue, fromId); i < order.length; i++) {
+            if (!valueOf.apply(order[i]).startsWith(prefix)) {
+                break; // values with the prefix are contiguous in the order
+            }
+            if (page.size() == limit) {
+                return new UserPage(page, UserCursor.after(sortKey, page.getLast()));
+            }
+            page.add(materialize(order[i]));
+        }
+        return new UserPage(page, null);
+    }
+
+    /**
+     * Binary search for the first position in a sorted order whose (value, ID) is greater than the given one.
+     */
+    private int firstAfter(int[] order, IntFunction<String> valueOf, String value, long id) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = valueOf.apply(order[middle]).compareTo(value);
+            if (comparison < 0 || comparison == 0 && ids[order[middle]] <= id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Sorts the used slots by login name or by last name and ID, unless the order is still valid
+     * (requires the write lock). Only the requested order is rebuilt, so writers wait for one sort.
+     */
+    private int[] buildOrder(UserSortKey sortKey) {
+        int[] order = sortKey == UserSortKey.LOGIN_NAME ? slotsByLoginNameOrder : slotsByLastNameOrder;
+        if (order != null) {
+            return order; // already rebuilt by a concurrent page request
+        }
+        int[] slots = new int[slotsById.size()];
+        int count = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (ids[slot] != FREE) {
+                slots[count++] = slot;
+            }
+        }
+        if (sortKey == UserSortKey.LOGIN_NAME) {
+            sort(slots, (a, b) -> loginNames[a].compareTo(loginNames[b]));
+            slotsByLoginNameOrder = slots;
+        } else {
+            sort(slots, (a, b) -> {
+                int comparison = names.decode(lastNames[a]).compareTo(names.decode(lastNames[b]));
+                return comparison != 0 ? comparison : Long.compare(ids[a], ids[b]);
+            });
+            slotsByLastNameOrder = slots;
+        }
+        return slots;
+    }
+
+    /**
+     * Bottom-up merge sort of slots; unlike {@link Arrays#sort(Object[], java.util.Comparator)}, it needs no boxed
+     * slots, only one buffer of the same length.
+     */
+    private static void sort(int[] slots, IntBinaryOperator comparator) {
+        int[] source = slots;
+        int[] target = new int[slots.length];
+        for (int width = 1; width < slots.length; width *= 2) {
+            for (int low = 0; low < slots.length; low += 2 * width) {
+                int middle = Math.min(low + width, slots.length);
+                int high = Math.min(low + 2 * width, slots.length);
+                int left = low;
+                int right = middle;
+                int next = low;
+                while (left < middle && right < high) {
+                    target[next++] = comparator.applyAsInt(source[left], source[right]) <= 0
+                            ? source[left++]
+                            : source[right++];
+                }
+                System.arraycopy(source, left, target, next, middle - left);
+                System.arraycopy(source, right, target, next + middle - left, high - right);
+            }
+            int[] merged = target;
+            target = source;
+            source = merged;
+        }
+        if (source != slots) {
+            System.arraycopy(source, 0, slots, 0, slots.length);
+        }
+    }
+
+    /**
+     * State for journal snapshots. The users are materialized one at a time while the snapshot is written,
+     * so a snapshot does not need a copy of the whole store.
+     */
+    private UserJournal.State journalState() {
+        long stateNextId = read(() -> nextId);
+        Collection<User> users = new AbstractCollection<>() {
+            @Override
+            public Iterator<User> iterator() {
+                return new Iterator<>() {
+                    private int slot = -1;
+                    private @Nullable User next = advance();
+
+                    private @Nullable User advance() {
+                        return read(() -> {
+                            while (++slot < slotCount) {
+                                if (ids[slot] != FREE) {
+                                    return materialize(slot);
+                                }
+                            }
+                            return null;
+                        });
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return next != null;
+                    }
+
+                    @Override
+                    public User next() {
+                        if (next == null) {
+                            throw new NoSuchElementException();
+                        }
+                        User current = next;
+                        next = advance();
+                        return current;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return read(slotsById::size);
+            }
+        };
+        return new UserJournal.State(stateNextId, users);
+    }
+
+    private <T> T read(Supplier<T> action) {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return action.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> action) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            return action.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Email addresses are compared case-insensitively and without surrounding whitespace.
+     */
+    private static String normalizeEmailAddress(String emailAddress) {
+        return emailAddress.trim().toLowerCase(Locale.ROOT);
+    }
+}
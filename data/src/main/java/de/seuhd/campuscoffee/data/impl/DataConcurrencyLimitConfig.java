@@ -0,0 +1,120 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import de.seuhd.campuscoffee.domain.ports.UserDataService;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter.Permit;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter.Priority;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.jspecify.annotations.Nullable;
+import org.springframework.aop.ClassFilter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.List;
+
+/**
+ * Adaptive concurrency limit around the data services backed by the database ({@link PosDataServiceImpl} and
+ * {@link JpaUserDataServiceImpl}), see {@link AdaptiveConcurrencyLimiter}. The in-memory user stores do not wait
+ * for connections, so their calls are not limited.
+ * When the database slows down, the latency of the calls grows and the limit shrinks, so that excess calls fail
+ * fast with a {@link ServiceUnavailableException} (HTTP 503) instead of queueing for connections of the pool.
+ * Reads have priority over writes. Calls that fail because the database is unavailable or timed out reduce the
+ * limit at once.
+ * <p>
+ * If the limit is enabled, this configuration provides the limiter (bean {@value #LIMITER}) and the advice
+ * (bean {@value #ADVICE}); the application wraps the data services that the advice selects in proxies with it
+ * and exports the metrics of the limiter (tag {@code limiter=data}).
+ */
+@Configuration
+class DataConcurrencyLimitConfig {
+    static final String LIMITER = "dataConcurrencyLimiter";
+    static final String ADVICE = "dataConcurrencyLimitAdvice";
+
+    /**
+     * The data services that share the connection pool of the database.
+     */
+    static final List<Class<?>> DATABASE_STORES = List.of(PosDataServiceImpl.class, JpaUserDataServiceImpl.class);
+
+    /**
+     * The limiter of the calls; one for both stores, since they share the database (and its connection pool).
+     *
+     * @param properties the limit configuration
+     * @return the limiter
+     */
+    @Bean(LIMITER)
+    @ConditionalOnProperty(name = "data.concurrency-limit.enabled", matchIfMissing = true)
+    AdaptiveConcurrencyLimiter dataConcurrencyLimiter(DataConcurrencyLimitProperties properties) {
+        return new AdaptiveConcurrencyLimiter(properties.initialLimit(), properties.minLimit(), properties.maxLimit());
+    }
+
+    /**
+     * The advice that applies the limit to the calls of the data services backed by the database.
+     *
+     * @param limiter the limiter
+     * @return the advice
+     */
+    @Bean(ADVICE)
+    @ConditionalOnProperty(name = "data.concurrency-limit.enabled", matchIfMissing = true)
+    MethodInterceptor dataConcurrencyLimitAdvice(@Qualifier(LIMITER) AdaptiveConcurrencyLimiter limiter) {
+        return new DataConcurrencyLimiter(limiter);
+    }
+
+    /**
+     * Applies the limit to each call of a method of the data service ports; as a class filter, it selects the
+     * data services to wrap (the {@link #DATABASE_STORES}).
+     */
+    @Slf4j
+    static class DataConcurrencyLimiter implements MethodInterceptor, ClassFilter {
+        private final AdaptiveConcurrencyLimiter limiter;
+
+        DataConcurrencyLimiter(AdaptiveConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        @Override
+        public boolean matches(Class<?> clazz) {
+            return DATABASE_STORES.stream().anyMatch(type -> type.isAssignableFrom(clazz));
+        }
+
+        @Override
+        public @Nullable Object invoke(MethodInvocation invocation) throws Throwable {
+            Class<?> port = invocation.getMethod().getDeclaringClass();
+            if (port != PosDataService.class && port != UserDataService.class) {
+                return invocation.proceed(); // e.g., close()
+            }
+            Priority priority = priority(invocation.getMethod().getName());
+            Permit permit = limiter.tryAcquire(priority);
+            if (permit == null) {
+                log.debug("Shedding {}.{}: {} calls in flight", port.getSimpleName(),
+                        invocation.getMethod().getName(), limiter.getInFlight());
+                throw new ServiceUnavailableException("Database", "too many concurrent operations.");
+            }
+            try {
+                Object result = invocation.proceed();
+                permit.release();
+                return result;
+            } catch (TransientDataAccessException | DataAccessResourceFailureException
+                     | CannotCreateTransactionException e) {
+                // timeout or no connection: the database is overloaded
+                permit.releaseDropped();
+                throw e;
+            } catch (Throwable e) {
+                permit.release();
+                throw e;
+            }
+        }
+
+        static Priority priority(String methodName) {
+            return methodName.startsWith("get") ? Priority.HIGH : Priority.NORMAL;
+        }
+    }
+}
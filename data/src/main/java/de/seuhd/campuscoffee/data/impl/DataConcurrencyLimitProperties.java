@@ -0,0 +1,22 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for the adaptive concurrency limit of the POS and user data services
+ * (prefix {@code data.concurrency-limit}).
+ *
+ * @param enabled      whether calls of the data services are subject to the limit
+ * @param initialLimit the number of concurrent calls admitted until latencies have been observed
+ * @param minLimit     the lower bound of the limit
+ * @param maxLimit     the upper bound of the limit
+ */
+@ConfigurationProperties(prefix = "data.concurrency-limit")
+public record DataConcurrencyLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit
+) {
+}
@@ -0,0 +1,213 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.data.mapper.UserEntityMapper;
+import de.seuhd.campuscoffee.data.persistence.UserEntity;
+import de.seuhd.campuscoffee.data.persistence.UserRepository;
+import de.seuhd.campuscoffee.data.util.ConstraintViolationChecker;
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserCursor;
+import de.seuhd.campuscoffee.domain.model.UserPage;
+import de.seuhd.campuscoffee.domain.model.UserSortKey;
+import de.seuhd.campuscoffee.domain.ports.UserDataService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Persistent implementation of the user data service backed by the {@code users} table.
+ * Active if {@code users.store.type} is {@code jpa}; in contrast to the in-memory store, users survive restarts
+ * and are shared between all application instances that use the same database.
+ * <p>
+ * Lookups by login name and email address use the unique indexes of the table, and uniqueness is enforced by
+ * these indexes instead of prior checks, so concurrent writes on different instances cannot create duplicates.
+ * Violations are translated to {@link DuplicationException}s. Pages are read with keyset queries on sorted
+ * indexes (see migration {@code V4}), so their cost does not depend on the position in the list. Batches are
+ * written in one transaction and sent to the database as JDBC batches (see
+ * {@code spring.jpa.properties.hibernate.jdbc.batch_size}); IDs are allocated in blocks for them (see
+ * {@link UserEntity#ID_ALLOCATION_SIZE}).
+ */
+@Service
+@ConditionalOnProperty(name = "users.store.type", havingValue = "jpa")
+@RequiredArgsConstructor
+@Slf4j
+class JpaUserDataServiceImpl implements UserDataService {
+    // detail of PostgreSQL unique violations, e.g., "Key (login_name)=(jane) already exists."
+    private static final Pattern DUPLICATE_KEY_DETAIL = Pattern.compile("Key \\(.+?\\)=\\((.*)\\) already exists");
+
+    private final UserRepository userRepository;
+    private final UserEntityMapper userEntityMapper;
+
+    /**
+     * Deletes all users. Unlike the in-memory stores, IDs do not restart at 1: the ID generator has allocated a block
+     * of IDs in advance, which it would hand out again after a restart of the sequence.
+     */
+    @Override
+    public void clear() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return true;
+    }
+
+    @Override
+    public @NonNull List<User> getAll() {
+        return userRepository.findAll().stream()
+                .map(userEntityMapper::fromEntity)
+                .toList();
+    }
+
+    @Override
+    public @NonNull UserPage getPage(@NonNull UserSortKey sortKey, @Nullable String prefix,
+                                     @Nullable UserCursor after, int limit) {
+        String pattern = escapeLikePattern(prefix != null ? prefix : "") + "%";
+        String afterValue = after != null ? after.value() : ""; // sort values are never empty
+        // one more user than requested tells whether there is a next page
+        List<UserEntity> entities = switch (sortKey) {
+            case LOGIN_NAME -> userRepository.findPageByLoginName(pattern, afterValue, limit + 1);
+            case LAST_NAME -> userRepository.findPageByLastName(pattern, afterValue,
+                    after != null ? after.id() : 0L, limit + 1);
+        };
+        List<User> users = entities.stream()
+                .limit(limit)
+                .map(userEntityMapper::fromEntity)
+                .toList();
+        return new UserPage(users, entities.size() > limit ? UserCursor.after(sortKey, users.getLast()) : null);
+    }
+
+    @Override
+    public @NonNull User getById(@NonNull Long id) {
+        return userRepository.findById(id)
+                .map(userEntityMapper::fromEntity)
+                .orElseThrow(() -> NotFoundException.expected(User.class, id));
+    }
+
+    @Override
+    public @NonNull List<User> getAllById(@NonNull List<Long> ids) {
+        Objects.requireNonNull(ids, "ids must not be null");
+        return userRepository.findAllByIdIn(ids.toArray(Long[]::new)).stream()
+                .map(userEntityMapper::fromEntity)
+                .toList();
+    }
+
+    @Override
+    public @NonNull User getByLoginName(@NonNull String loginName) {
+        return userRepository.findByLoginName(loginName)
+                .map(userEntityMapper::fromEntity)
+                .orElseThrow(() -> NotFoundException.expected(User.class, "loginName", loginName));
+    }
+
+    @Override
+    public @NonNull User getByEmailAddress(@NonNull String emailAddress) {
+        return userRepository.findByNormalizedEmailAddress(emailAddress)
+                .map(userEntityMapper::fromEntity)
+                .orElseThrow(() -> NotFoundException.expected(User.class, "emailAddress", emailAddress));
+    }
+
+    @Override
+    @Transactional
+    public @NonNull User upsert(@NonNull User user) {
+        Objects.requireNonNull(user, "user must not be null");
+        return upsertAll(List.of(user)).getFirst();
+    }
+
+    @Override
+    @Transactional
+    public @NonNull List<User> upsertAll(@NonNull List<User> users) {
+        Objects.requireNonNull(users, "users must not be null");
+
+        // load all existing users of the batch with a single query
+        List<Long> ids = users.stream()
+                .map(User::id)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<Long, UserEntity> existingEntities = ids.isEmpty() ? Map.of() : userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+
+        List<UserEntity> entities = users.stream()
+                .map(user -> {
+                    if (user.id() == null) {
+                        return userEntityMapper.toEntity(user);
+                    }
+                    UserEntity userEntity = existingEntities.get(user.id());
+                    if (userEntity == null) {
+                        throw new NotFoundException(User.class, user.id());
+                    }
+                    // note: timestamps are managed by JPA lifecycle callbacks (@PrePersist, @PreUpdate)
+                    userEntityMapper.updateEntity(user, userEntity);
+                    return userEntity;
+                })
+                .toList();
+
+        try {
+            // updates are flushed before inserts, so that new users can take keys given up by updates of the batch;
+            // both are flushed as JDBC batches, and constraint violations surface here
+            userRepository.saveAllAndFlush(entities.stream().filter(entity -> entity.getId() != null).toList());
+            userRepository.saveAllAndFlush(entities.stream().filter(entity -> entity.getId() == null).toList());
+            log.debug("Upserted {} user(s)", entities.size());
+            return entities.stream()
+                    .map(userEntityMapper::fromEntity)
+                    .toList();
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e, users);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // an update found no row: the user was deleted after it was loaded
+            throw new NotFoundException(User.class, e.getIdentifier() instanceof Long id ? id : ids.getFirst());
+        }
+    }
+
+    @Override
+    public void delete(@NonNull Long id) {
+        if (userRepository.deleteByIdReturningCount(id) == 0) {
+            throw new NotFoundException(User.class, id);
+        }
+        log.debug("Deleted user with id={}", id);
+    }
+
+    private static String escapeLikePattern(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Translates violations of the unique indexes to domain exceptions; other violations are returned unchanged.
+     */
+    private static RuntimeException translate(DataIntegrityViolationException e, List<User> users) {
+        if (ConstraintViolationChecker.isConstraintViolation(e, UserEntity.LOGIN_NAME_CONSTRAINT)) {
+            return new DuplicationException(User.class, "loginName", duplicateValue(e, users, User::loginName));
+        }
+        if (ConstraintViolationChecker.isConstraintViolation(e, UserEntity.EMAIL_ADDRESS_CONSTRAINT)) {
+            return new DuplicationException(User.class, "emailAddress", duplicateValue(e, users, User::emailAddress));
+        }
+        return e;
+    }
+
+    /**
+     * Determines the duplicate value: for a single user, it is the user's value; for batches, it is taken
+     * from the detail message of the database.
+     */
+    private static String duplicateValue(DataIntegrityViolationException e, List<User> users,
+                                         Function<User, String> valueOf) {
+        if (users.size() == 1) {
+            return valueOf.apply(users.getFirst());
+        }
+        Matcher matcher = DUPLICATE_KEY_DETAIL.matcher(Objects.toString(e.getMostSpecificCause().getMessage(), ""));
+        return matcher.find() ? matcher.group(1) : "(unknown)";
+    }
+}
@@ -0,0 +1,136 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import java.util.Arrays;
+
+/**
+ * Hash map from primitive {@code long} keys to non-negative {@code int} values, without boxing.
+ * Uses open addressing with linear probing in two parallel arrays and backward-shift deletion, so it needs
+ * neither entry objects nor tombstones: an entry takes 12 bytes of table space instead of about 60 bytes
+ * for a {@code HashMap<Long, Integer>} (node, boxed key, and boxed value).
+ * <p>
+ * Not thread-safe; {@link CompactUserDataServiceImpl} guards it with its lock.
+ */
+class LongIntHashMap {
+    static final int MISSING = -1;
+    private static final float MAX_LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] values; // MISSING marks an empty position
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the value of the key, or {@link #MISSING}
+     */
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int i = position(key, mask); values[i] != MISSING; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * @param value the value, must not be negative
+     * @return the previous value of the key, or {@link #MISSING}
+     */
+    int put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value must not be negative: " + value);
+        }
+        int mask = keys.length - 1;
+        int i = position(key, mask);
+        for (; values[i] != MISSING; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                int previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > MAX_LOAD_FACTOR * keys.length) {
+            rehash(keys.length * 2);
+        }
+        return MISSING;
+    }
+
+    /**
+     * @return the removed value of the key, or {@link #MISSING}
+     */
+    int remove(long key) {
+        int mask = keys.length - 1;
+        for (int i = position(key, mask); values[i] != MISSING; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                int removed = values[i];
+                shiftBack(i, mask);
+                size--;
+                return removed;
+            }
+        }
+        return MISSING;
+    }
+
+    void clear() {
+        Arrays.fill(values, MISSING);
+        size = 0;
+    }
+
+    /**
+     * Closes the gap at a removed position by moving back later entries of the same probe sequence.
+     */
+    private void shiftBack(int gap, int mask) {
+        for (int i = (gap + 1) & mask; values[i] != MISSING; i = (i + 1) & mask) {
+            int home = position(keys[i], mask);
+            // the entry may move to the gap if the gap lies on its probe sequence, i.e., between home and i
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                keys[gap] = keys[i];
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        values[gap] = MISSING;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != MISSING) {
+                int i = position(oldKeys[j], mask);
+                while (values[i] != MISSING) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+    }
+
+    private static int position(long key, int mask) {
+        // Fibonacci hashing spreads sequential IDs over the whole table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    static int tableSizeFor(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(8, (int) (expectedSize / MAX_LOAD_FACTOR)) - 1) << 1;
+        return Math.max(capacity, 16);
+    }
+}
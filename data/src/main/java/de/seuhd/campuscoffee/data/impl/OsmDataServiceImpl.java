@@ -1,37 +1,99 @@
 package de.seuhd.campuscoffee.data.impl;
 
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
+import de.seuhd.campuscoffee.data.client.OsmApiProperties;
 import de.seuhd.campuscoffee.data.client.OsmFeignClient;
+import de.seuhd.campuscoffee.data.client.OsmFetchScheduler;
 import de.seuhd.campuscoffee.data.client.OsmResponse;
+import de.seuhd.campuscoffee.data.client.OsmXmlElement;
+import de.seuhd.campuscoffee.data.client.OsmXmlStreamParser;
 import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
 import de.seuhd.campuscoffee.domain.model.OsmAmenity;
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+import de.seuhd.campuscoffee.domain.model.OsmFetchFailure;
+import de.seuhd.campuscoffee.domain.model.OsmFetchFailureReason;
 import de.seuhd.campuscoffee.domain.model.OsmNode;
 import de.seuhd.campuscoffee.domain.ports.OsmDataService;
+import de.seuhd.campuscoffee.domain.util.SingleFlight;
 import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import feign.RetryableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
 import org.springframework.stereotype.Service;
 
+import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * OSM data service that fetches node data from the OpenStreetMap API.
+ * OSM data service that fetches node, way, and relation data from the OpenStreetMap API.
+ * All requests are throttled and retried by the {@link OsmFetchScheduler}.
+ * Ways and relations are fetched with their members via the {@code full} endpoints, i.e., with one request each.
+ * Areas are fetched via the {@code map} endpoint in tiles that are requested concurrently and parsed as streams.
+ * Elements that cannot be imported are recorded in the {@link OsmNegativeCache}, so repeated fetches fail immediately.
+ * Concurrent fetches of the same element are coalesced into one request ({@link SingleFlight}, metric
+ * {@code singleflight.calls} with tag {@code operation=osm.fetch}).
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
-class OsmDataServiceImpl implements OsmDataService {
+class OsmDataServiceImpl implements OsmDataService, MeterBinder {
     private final OsmFeignClient osmFeignClient;
+    private final OsmFetchScheduler osmFetchScheduler;
+    private final OsmNegativeCache osmNegativeCache;
+    private final OsmApiProperties osmApiProperties;
+    private final SingleFlight<FetchKey, OsmNode> fetches = new SingleFlight<>();
+
+    /**
+     * Key of the fetches of an element, since OSM IDs are only unique per element type.
+     */
+    private record FetchKey(OsmElementType elementType, Long elementId) {
+    }
 
     @Override
     public @NonNull OsmNode fetchNode(@NonNull Long nodeId) {
+        // concurrent imports of the same node share one request (and its result or error)
+        return fetches.execute(new FetchKey(OsmElementType.NODE, nodeId), () -> fetchNodeOnce(nodeId));
+    }
+
+    @Override
+    public @NonNull OsmNode fetchElement(@NonNull OsmElementType elementType, @NonNull Long elementId) {
+        if (elementType == OsmElementType.NODE) {
+            return fetchNode(elementId);
+        }
+        return fetches.execute(new FetchKey(elementType, elementId), () -> fetchElementOnce(elementType, elementId));
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        SingleFlightMetrics.bind(registry, "osm.fetch", fetches);
+    }
+
+    private OsmNode fetchNodeOnce(Long nodeId) {
+        Optional<OsmFetchFailure> cachedFailure = osmNegativeCache.get(OsmElementType.NODE, nodeId);
+        if (cachedFailure.isPresent()) {
+            log.debug("OSM node {} failed recently ({}), skipping fetch", nodeId, cachedFailure.get().reason());
+            throw toException(cachedFailure.get());
+        }
+
         try {
             log.debug("Fetching OSM node {}...", nodeId);
-            String xmlResponse = osmFeignClient.fetchNode(nodeId);
+            String xmlResponse = osmFetchScheduler.execute("node " + nodeId, () -> osmFeignClient.fetchNode(nodeId));
 
             if (xmlResponse == null || xmlResponse.isEmpty()) {
                 log.error("Empty response from OSM API for node {}", nodeId);
@@ -43,15 +105,16 @@ class OsmDataServiceImpl implements OsmDataService {
             log.debug("Successfully fetched and parsed OSM node {}", nodeId);
             return node;
 
-        } catch (FeignException.NotFound e) {
+        } catch (FeignException.NotFound | FeignException.Gone e) {
             log.warn("OSM node {} not found", nodeId);
+            osmNegativeCache.put(OsmElementType.NODE, nodeId, OsmFetchFailureReason.NOT_FOUND, null);
             throw new NotFoundException(OsmNode.class, nodeId);
         } catch (FeignException e) {
             log.error("HTTP error fetching OSM node {}: {} - {}",
                     nodeId, e.status(), e.getMessage());
             throw new NotFoundException(OsmNode.class, nodeId);
-        } catch (MissingFieldException e) {
-            // re-throw missing fields exception as-is
+        } catch (MissingFieldException | ServiceUnavailableException e) {
+            // re-throw missing fields and transient errors as-is
             throw e;
         } catch (Exception e) {
             log.error("Error fetching OSM node {}", nodeId, e);
@@ -59,6 +122,172 @@ class OsmDataServiceImpl implements OsmDataService {
         }
     }
 
+    private OsmNode fetchElementOnce(OsmElementType elementType, Long elementId) {
+        String description = elementType.osmValue() + " " + elementId;
+        Optional<OsmFetchFailure> cachedFailure = osmNegativeCache.get(elementType, elementId);
+        if (cachedFailure.isPresent()) {
+            log.debug("OSM {} failed recently ({}), skipping fetch", description, cachedFailure.get().reason());
+            throw toException(cachedFailure.get());
+        }
+
+        try {
+            log.debug("Fetching OSM {} with its members...", description);
+            Optional<OsmXmlElement> element = osmFetchScheduler.execute(description,
+                    () -> fetchFullElement(elementType, elementId));
+            if (element.isEmpty()) {
+                log.error("OSM response for {} contains neither the element nor its member nodes", description);
+                throw new NotFoundException(OsmNode.class, elementId);
+            }
+
+            OsmNode osmNode = toOsmNode(element.get());
+
+            log.debug("Successfully fetched and parsed OSM {} with centroid ({}, {})",
+                    description, osmNode.latitude(), osmNode.longitude());
+            return osmNode;
+
+        } catch (FeignException.NotFound | FeignException.Gone e) {
+            log.warn("OSM {} not found", description);
+            osmNegativeCache.put(elementType, elementId, OsmFetchFailureReason.NOT_FOUND, null);
+            throw new NotFoundException(OsmNode.class, elementId);
+        } catch (FeignException e) {
+            log.error("HTTP error fetching OSM {}: {} - {}", description, e.status(), e.getMessage());
+            throw new NotFoundException(OsmNode.class, elementId);
+        }
+    }
+
+    @Override
+    public @NonNull List<OsmNode> fetchNodesInArea(@NonNull BoundingBox area) {
+        List<BoundingBox> tiles = area.split(osmApiProperties.area().tileSize());
+        log.info("Fetching OSM area {} in {} tile(s)...", area.toOsmParameter(), tiles.size());
+
+        // the scheduler runs the tile requests concurrently within the rate and concurrency limits
+        List<CompletableFuture<List<OsmXmlElement>>> futures = tiles.stream()
+                .map(tile -> osmFetchScheduler.submit("map " + tile.toOsmParameter(), () -> fetchTile(tile)))
+                .toList();
+
+        // nodes on tile borders may be contained in several tiles
+        Map<Long, OsmXmlElement> amenityNodes = new TreeMap<>();
+        for (int i = 0; i < tiles.size(); i++) {
+            String tile = tiles.get(i).toOsmParameter();
+            try {
+                osmFetchScheduler.await("map " + tile, futures.get(i))
+                        .forEach(node -> amenityNodes.putIfAbsent(node.id(), node));
+            } catch (FeignException e) {
+                futures.forEach(future -> future.cancel(true));
+                log.error("OSM API rejected area {}: {} - {}", tile, e.status(), e.contentUTF8());
+                throw new IllegalArgumentException(
+                        "The OSM API rejected the area " + tile + " (HTTP status " + e.status() + ").");
+            } catch (RuntimeException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+        }
+
+        List<OsmNode> nodes = new ArrayList<>();
+        for (OsmXmlElement node : amenityNodes.values()) {
+            if (OsmAmenity.fromOsmValue(node.tags().get("amenity")).isEmpty()) {
+                continue; // e.g., benches or parking lots, which are no POS candidates
+            }
+            if (osmNegativeCache.get(OsmElementType.NODE, node.id()).isPresent()) {
+                continue; // failed recently and is still broken in OSM
+            }
+            try {
+                nodes.add(toOsmNode(node));
+            } catch (MissingFieldException e) {
+                // toOsmNode recorded the failure in the negative cache, where it is visible to administrators
+                log.debug("Skipping OSM node {} in area {}: {}", node.id(), area.toOsmParameter(), e.getMessage());
+            }
+        }
+        log.info("Found {} importable OSM nodes in area {}", nodes.size(), area.toOsmParameter());
+        return nodes;
+    }
+
+    @Override
+    public @NonNull List<OsmFetchFailure> getCachedFailures() {
+        return osmNegativeCache.getAll();
+    }
+
+    @Override
+    public void evictCachedFailure(@NonNull OsmElementType elementType, @NonNull Long elementId) {
+        if (!osmNegativeCache.evict(elementType, elementId)) {
+            throw new NotFoundException(OsmFetchFailure.class, elementId);
+        }
+    }
+
+    @Override
+    public int clearCachedFailures() {
+        return osmNegativeCache.clear();
+    }
+
+    /**
+     * Fetches a single tile of an area and parses the nodes with an amenity tag from the response stream.
+     * I/O errors while reading the response are reported as retryable, so the scheduler retries the tile.
+     *
+     * @param tile the tile to fetch
+     * @return the nodes with an amenity tag
+     */
+    private List<OsmXmlElement> fetchTile(BoundingBox tile) {
+        try (Response response = osmFeignClient.fetchMap(tile.toOsmParameter())) {
+            if (response.status() != 200) {
+                throw FeignException.errorStatus("OsmFeignClient#fetchMap(String)", response);
+            }
+            if (response.body() == null) {
+                return List.of();
+            }
+            try (InputStream body = response.body().asInputStream()) {
+                return OsmXmlStreamParser.parseNodes(body, tags -> tags.containsKey("amenity"));
+            } catch (IOException | XMLStreamException e) {
+                throw new RetryableException(-1, "Error reading OSM area " + tile.toOsmParameter(),
+                        Request.HttpMethod.GET, e, (Long) null, response.request());
+            }
+        }
+    }
+
+    /**
+     * Fetches a way or relation with its members and parses it from the response stream.
+     * I/O errors while reading the response are reported as retryable, so the scheduler retries the request.
+     *
+     * @param elementType the element type (way or relation)
+     * @param elementId   the element ID
+     * @return the element with its centroid, or empty if the response does not contain it
+     */
+    private Optional<OsmXmlElement> fetchFullElement(OsmElementType elementType, Long elementId) {
+        boolean way = elementType == OsmElementType.WAY;
+        try (Response response = way
+                ? osmFeignClient.fetchWayFull(elementId)
+                : osmFeignClient.fetchRelationFull(elementId)) {
+            if (response.status() != 200) {
+                throw FeignException.errorStatus(
+                        way ? "OsmFeignClient#fetchWayFull(Long)" : "OsmFeignClient#fetchRelationFull(Long)", response);
+            }
+            if (response.body() == null) {
+                return Optional.empty();
+            }
+            try (InputStream body = response.body().asInputStream()) {
+                return OsmXmlStreamParser.parseFullElement(body, elementType, elementId);
+            } catch (IOException | XMLStreamException e) {
+                throw new RetryableException(-1, "Error reading OSM " + elementType.osmValue() + " " + elementId,
+                        Request.HttpMethod.GET, e, (Long) null, response.request());
+            }
+        }
+    }
+
+    /**
+     * Recreates the exception of the original failed fetch from a cached failure.
+     *
+     * @param failure the cached failure
+     * @return the exception to throw
+     */
+    private RuntimeException toException(OsmFetchFailure failure) {
+        return switch (failure.reason()) {
+            // known failures are expected, so their exceptions are stackless
+            case NOT_FOUND -> NotFoundException.expected(OsmNode.class, failure.elementId());
+            case MISSING_TAG -> MissingFieldException.expected(OsmNode.class, failure.elementId(),
+                    Objects.requireNonNull(failure.detail()));
+            case UNSUPPORTED_AMENITY -> MissingFieldException.expected(OsmNode.class, failure.elementId(), "amenity");
+        };
+    }
+
     /**
      * Parses the OSM XML response and extracts node data.
      *
@@ -72,19 +301,36 @@ class OsmDataServiceImpl implements OsmDataService {
         // parse XML using Jackson (deserializer ensures node element and id are present)
         XmlMapper xmlMapper = new XmlMapper();
         OsmResponse osmResponse = xmlMapper.readValue(xmlResponse, OsmResponse.class);
-        Map<String, String> tags = osmResponse.getTags();
+        if (osmResponse.getLat() == null || osmResponse.getLon() == null) {
+            throw new MissingFieldException(OsmNode.class, nodeId, "lat/lon");
+        }
+        return toOsmNode(new OsmXmlElement(OsmElementType.NODE, nodeId,
+                osmResponse.getLat(), osmResponse.getLon(), osmResponse.getTags()));
+    }
 
+    /**
+     * Extracts the POS-relevant data from the tags of an OSM element.
+     *
+     * @param element the OSM element with its tags and location
+     * @return the OsmNode object
+     * @throws MissingFieldException if required fields are missing
+     */
+    private OsmNode toOsmNode(OsmXmlElement element) {
+        Map<String, String> tags = element.tags();
         // extract required fields
-        String name = getRequiredTag(tags, "name", nodeId);
-        String city = getRequiredTag(tags, "addr:city", nodeId);
-        String street = getRequiredTag(tags, "addr:street", nodeId);
-        String houseNumber = getRequiredTag(tags, "addr:housenumber", nodeId);
-        String postcode = getRequiredTag(tags, "addr:postcode", nodeId);
-        String amenityStr = getRequiredTag(tags, "amenity", nodeId);
+        String name = getRequiredTag(element, "name");
+        String city = getRequiredTag(element, "addr:city");
+        String street = getRequiredTag(element, "addr:street");
+        String houseNumber = getRequiredTag(element, "addr:housenumber");
+        String postcode = getRequiredTag(element, "addr:postcode");
+        String amenityStr = getRequiredTag(element, "amenity");
         OsmAmenity amenity = OsmAmenity.fromOsmValue(amenityStr)
                 .orElseThrow(() -> {
-                    log.warn("OSM node {} has unsupported amenity type: {}", nodeId, amenityStr);
-                    return new MissingFieldException(OsmNode.class, nodeId, "amenity");
+                    log.warn("OSM {} {} has unsupported amenity type: {}",
+                            element.type().osmValue(), element.id(), amenityStr);
+                    osmNegativeCache.put(element.type(), element.id(),
+                            OsmFetchFailureReason.UNSUPPORTED_AMENITY, amenityStr);
+                    return new MissingFieldException(OsmNode.class, element.id(), "amenity");
                 });
 
         // extract optional fields
@@ -94,7 +340,10 @@ class OsmDataServiceImpl implements OsmDataService {
 
         // build and return the OsmNode
         return OsmNode.builder()
-                .nodeId(nodeId)
+                .nodeId(element.id())
+                .elementType(element.type())
+                .latitude(element.lat())
+                .longitude(element.lon())
                 .name(nameEn.or(() -> nameDe).orElse(name)) // prioritize nameEn, then nameDe, then fall back to name
                 .amenity(amenity)
                 .city(city)
@@ -106,20 +355,20 @@ class OsmDataServiceImpl implements OsmDataService {
     }
 
     /**
-     * Retrieves a required tag from the tags map.
+     * Retrieves a required tag from the tags of an element.
      *
-     * @param tags   the map of OSM tags
-     * @param key    the tag key to retrieve
-     * @param nodeId the node ID for error reporting
+     * @param element the OSM element
+     * @param key     the tag key to retrieve
      * @return the tag value
      * @throws MissingFieldException if the tag is missing
      */
-    private String getRequiredTag(Map<String, String> tags, String key, Long nodeId) {
-        return Optional.ofNullable(tags.get(key))
+    private String getRequiredTag(OsmXmlElement element, String key) {
+        return Optional.ofNullable(element.tags().get(key))
                 .orElseThrow(() -> {
-                    log.warn("OSM node {} is missing required field: '{}'. Available tags: {}",
-                            nodeId, key, tags.keySet());
-                    return new MissingFieldException(OsmNode.class, nodeId, key);
+                    log.warn("OSM {} {} is missing required field: '{}'. Available tags: {}",
+                            element.type().osmValue(), element.id(), key, element.tags().keySet());
+                    osmNegativeCache.put(element.type(), element.id(), OsmFetchFailureReason.MISSING_TAG, key);
+                    return new MissingFieldException(OsmNode.class, element.id(), key);
                 });
     }
 }
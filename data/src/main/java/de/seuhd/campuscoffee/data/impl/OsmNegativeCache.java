@@ -0,0 +1,154 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.data.client.OsmApiProperties;
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+import de.seuhd.campuscoffee.domain.model.OsmFetchFailure;
+import de.seuhd.campuscoffee.domain.model.OsmFetchFailureReason;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory cache of OSM elements that failed to import for permanent reasons.
+ * Entries are keyed by element type and ID, because OSM IDs are only unique per element type.
+ * Entries expire after the configured TTL; when the cache is full, expired and then the oldest entries are evicted.
+ * Since all entries have the same TTL, the insertion order is also the expiration order: both kinds of eviction
+ * remove entries from the head of a queue, so that a put takes amortized constant time even when the cache is full.
+ */
+@Component
+@Slf4j
+class OsmNegativeCache {
+    private final OsmApiProperties.NegativeCache properties;
+    private final Map<Key, OsmFetchFailure> failures = new ConcurrentHashMap<>();
+    // entries in insertion order; may contain entries that were replaced or removed since (skipped on eviction)
+    private final Queue<OsmFetchFailure> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    OsmNegativeCache(@NonNull OsmApiProperties osmApiProperties) {
+        this.properties = osmApiProperties.negativeCache();
+    }
+
+    /**
+     * Looks up the cached failure of an element; expired entries are removed.
+     *
+     * @param elementType the OSM element type
+     * @param elementId   the OSM element ID
+     * @return the cached failure, or empty if the element is not cached
+     */
+    Optional<OsmFetchFailure> get(@NonNull OsmElementType elementType, @NonNull Long elementId) {
+        Key key = new Key(elementType, elementId);
+        OsmFetchFailure failure = failures.get(key);
+        if (failure == null) {
+            return Optional.empty();
+        }
+        if (isExpired(failure, now())) {
+            failures.remove(key, failure);
+            return Optional.empty();
+        }
+        return Optional.of(failure);
+    }
+
+    /**
+     * Records a failure for an element (no-op if the cache is disabled).
+     *
+     * @param elementType the OSM element type
+     * @param elementId   the OSM element ID
+     * @param reason      the failure reason
+     * @param detail      the missing tag or unsupported amenity value; null if the element was not found
+     */
+    void put(@NonNull OsmElementType elementType, @NonNull Long elementId, @NonNull OsmFetchFailureReason reason,
+             @Nullable String detail) {
+        if (!properties.enabled()) {
+            return;
+        }
+        LocalDateTime now = now();
+        OsmFetchFailure failure = OsmFetchFailure.builder()
+                .elementType(elementType)
+                .elementId(elementId)
+                .reason(reason)
+                .detail(detail)
+                .cachedAt(now)
+                .expiresAt(now.plus(properties.ttl()))
+                .build();
+        failures.put(Key.of(failure), failure);
+        insertionOrder.add(failure);
+        log.debug("Cached OSM fetch failure of {} {}: {} {}", elementType.osmValue(), elementId, reason, detail);
+
+        evictFromHead(now);
+    }
+
+    /**
+     * @return all non-expired entries ordered by element type and ID
+     */
+    List<OsmFetchFailure> getAll() {
+        LocalDateTime now = now();
+        failures.values().removeIf(failure -> isExpired(failure, now));
+        return failures.values().stream()
+                .sorted(Comparator.comparing(OsmFetchFailure::elementType)
+                        .thenComparing(OsmFetchFailure::elementId))
+                .toList();
+    }
+
+    /**
+     * @param elementType the OSM element type
+     * @param elementId   the OSM element ID
+     * @return true if a non-expired entry was removed
+     */
+    boolean evict(@NonNull OsmElementType elementType, @NonNull Long elementId) {
+        OsmFetchFailure removed = failures.remove(new Key(elementType, elementId));
+        return removed != null && !isExpired(removed, now());
+    }
+
+    /**
+     * @return the number of removed non-expired entries
+     */
+    int clear() {
+        int count = getAll().size();
+        failures.clear();
+        insertionOrder.clear();
+        return count;
+    }
+
+    /**
+     * Removes entries from the head of the insertion order while they are stale (replaced or removed), expired, or
+     * beyond the maximum size of the cache.
+     */
+    private void evictFromHead(LocalDateTime now) {
+        OsmFetchFailure oldest;
+        while ((oldest = insertionOrder.peek()) != null) {
+            Key key = Key.of(oldest);
+            boolean stale = !oldest.equals(failures.get(key));
+            if (!stale && !isExpired(oldest, now) && failures.size() <= properties.maxEntries()) {
+                return;
+            }
+            // the head is found at once; false if a concurrent put removed it already
+            if (insertionOrder.remove(oldest) && !stale) {
+                failures.remove(key, oldest);
+            }
+        }
+    }
+
+    private static boolean isExpired(OsmFetchFailure failure, LocalDateTime now) {
+        return !failure.expiresAt().isAfter(now);
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneId.of("UTC"));
+    }
+
+    private record Key(OsmElementType elementType, long elementId) {
+        static Key of(OsmFetchFailure failure) {
+            return new Key(failure.elementType(), failure.elementId());
+        }
+    }
+}
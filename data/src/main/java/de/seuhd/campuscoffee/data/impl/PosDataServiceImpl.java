@@ -3,34 +3,91 @@ package de.seuhd.campuscoffee.data.impl;
 import de.seuhd.campuscoffee.data.mapper.PosEntityMapper;
 import de.seuhd.campuscoffee.data.persistence.PosEntity;
 import de.seuhd.campuscoffee.data.persistence.PosRepository;
+import de.seuhd.campuscoffee.data.persistence.PosTombstoneRepository;
 import de.seuhd.campuscoffee.data.util.ConstraintViolationChecker;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosChanges;
+import de.seuhd.campuscoffee.domain.model.PosSyncToken;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
 import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import de.seuhd.campuscoffee.domain.util.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Implementation of the POS data service that the domain layer provides as a port.
  * This layer is responsible for data access and persistence.
  * Business logic should be in the service layer.
+ * Concurrent lookups of the same POS by ID are coalesced into one query ({@link SingleFlight}, metric
+ * {@code singleflight.calls} with tag {@code operation=pos.getById}).
+ * The catalog version is read from the database (see migration {@code V9}) and cached for
+ * {@link #CATALOG_VERSION_TTL}; writes of this instance expire it when they commit.
+ * The delta sync is ordered by the IDs of the writing transactions (see migration {@code V10}); tombstones are kept
+ * for {@link #TOMBSTONE_RETENTION} and purged at most once per {@link #TOMBSTONE_PURGE_INTERVAL} by the sync that
+ * finds the interval elapsed.
  */
 @Service
+@Slf4j
 @RequiredArgsConstructor
-class PosDataServiceImpl implements PosDataService {
+class PosDataServiceImpl implements PosDataService, MeterBinder {
+    /**
+     * How long the IDs of deleted POS are kept for the delta sync; clients that sync less often get a full sync.
+     */
+    static final Duration TOMBSTONE_RETENTION = Duration.ofDays(30);
+    static final Duration TOMBSTONE_PURGE_INTERVAL = Duration.ofHours(1);
+    /**
+     * How long the catalog version is cached, i.e., how long changes of other instances may remain unnoticed.
+     */
+    static final Duration CATALOG_VERSION_TTL = Duration.ofSeconds(1);
+
     private final PosRepository posRepository;
+    private final PosTombstoneRepository posTombstoneRepository;
     private final PosEntityMapper posEntityMapper;
+    private final SingleFlight<Long, Pos> getByIdFlights = new SingleFlight<>();
+    private final AtomicReference<CatalogVersion> catalogVersion = new AtomicReference<>(CatalogVersion.expired());
+    private final AtomicLong nextTombstonePurgeNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * A catalog version read from the database and the time (of {@link System#nanoTime()}) until it is used.
+     * Each expired version is a new instance, so a version read before a write cannot replace the expiry of the
+     * write.
+     */
+    private record CatalogVersion(long version, long expiresAt) {
+        static CatalogVersion expired() {
+            return new CatalogVersion(0, System.nanoTime());
+        }
+
+        boolean isValid(long now) {
+            return now - expiresAt < 0;
+        }
+    }
 
     @Override
+    @Transactional
     public void clear() {
+        posTombstoneRepository.upsertAllExisting(now());
         posRepository.deleteAllInBatch();
         posRepository.flush();
         posRepository.resetSequence(); // ensure consistent IDs after clearing (for local testing)
+        afterCommit(getByIdFlights::forgetAll);
+        afterCommit(this::expireCatalogVersion);
     }
 
     @Override
@@ -40,29 +97,81 @@ class PosDataServiceImpl implements PosDataService {
                 .toList();
     }
 
+    @Override
+    public long getCatalogVersion() {
+        long now = System.nanoTime();
+        CatalogVersion cached = catalogVersion.get();
+        if (cached.isValid(now)) {
+            return cached.version();
+        }
+        long version = posRepository.findCatalogVersion();
+        catalogVersion.compareAndSet(cached, new CatalogVersion(version, now + CATALOG_VERSION_TTL.toNanos()));
+        return version;
+    }
+
+    @Override
+    public @NonNull PosChanges getChanges(@Nullable PosSyncToken since) {
+        purgeTombstonesIfDue();
+        // read before the changes: the transactions before the position have completed, so their writes are read
+        // below, and the writes of all others are returned by the next sync
+        PosSyncToken next = new PosSyncToken(posRepository.findSyncPosition());
+        if (since == null) {
+            return new PosChanges(getAll(), List.of(), true, next);
+        }
+        // tombstones first: a POS deleted in between is then missing from both results and reported by the next
+        // sync, instead of being reported as deleted and changed at the same time
+        List<Long> deletedIds = posTombstoneRepository.findPosIdsDeletedSince(since.position());
+        List<Pos> changed = posRepository.findChangedSince(since.position()).stream()
+                .map(posEntityMapper::fromEntity)
+                .toList();
+        // read after the tombstones, so that tombstones purged in between are noticed
+        if (since.position() <= posTombstoneRepository.findPurgedThrough()) {
+            return new PosChanges(getAll(), List.of(), true, next);
+        }
+        return new PosChanges(changed, deletedIds, false, next);
+    }
+
     @Override
     public @NonNull Pos getByName(@NonNull String name) {
         return posRepository.findByName(name)
                 .map(posEntityMapper::fromEntity)
-                .orElseThrow(() -> new NotFoundException(Pos.class, PosEntity.NAME_COLUMN, name));
+                .orElseThrow(() -> NotFoundException.expected(Pos.class, PosEntity.NAME_COLUMN, name));
     }
 
     @Override
     public @NonNull Pos getById(@NonNull Long id) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // the caller must see the (uncommitted) changes of its own transaction
+            return findById(id);
+        }
+        return getByIdFlights.execute(id, () -> findById(id));
+    }
+
+    private Pos findById(Long id) {
         return posRepository.findById(id)
                 .map(posEntityMapper::fromEntity)
-                .orElseThrow(() -> new NotFoundException(Pos.class, id));
+                .orElseThrow(() -> NotFoundException.expected(Pos.class, id));
     }
 
     @Override
+    public @NonNull List<Pos> getAllById(@NonNull List<Long> ids) {
+        return posRepository.findAllByIdIn(ids.toArray(Long[]::new)).stream()
+                .map(posEntityMapper::fromEntity)
+                .toList();
+    }
+
+    @Override
+    @Transactional
     public @NonNull Pos upsert(@NonNull Pos pos) {
         // map POS domain object to entity and save
         try {
             if (pos.id() == null) {
-                // create new POS
-                return posEntityMapper.fromEntity(
-                        posRepository.saveAndFlush(posEntityMapper.toEntity(pos))
-                );
+                // create new POS; its ID may have been used before the POS were cleared
+                PosEntity created = posRepository.saveAndFlush(posEntityMapper.toEntity(pos));
+                posTombstoneRepository.deleteByPosId(created.getId());
+                afterCommit(() -> getByIdFlights.forget(created.getId()));
+                afterCommit(this::expireCatalogVersion);
+                return posEntityMapper.fromEntity(created);
             }
 
             // update existing POS
@@ -72,6 +181,8 @@ class PosDataServiceImpl implements PosDataService {
             // use mapper to update entity fields automatically
             // note: timestamps are managed by JPA lifecycle callbacks (@PreUpdate)
             posEntityMapper.updateEntity(pos, posEntity);
+            afterCommit(() -> getByIdFlights.forget(pos.id()));
+            afterCommit(this::expireCatalogVersion);
 
             return posEntityMapper.fromEntity(posRepository.saveAndFlush(posEntity));
         } catch (DataIntegrityViolationException e) {
@@ -86,10 +197,71 @@ class PosDataServiceImpl implements PosDataService {
     }
 
     @Override
+    @Transactional
     public void delete(@NonNull Long id) {
         if (!posRepository.existsById(id)) {
             throw new NotFoundException(Pos.class, id);
         }
         posRepository.deleteById(id);
+        posTombstoneRepository.upsert(id, now());
+        afterCommit(() -> getByIdFlights.forget(id));
+        afterCommit(this::expireCatalogVersion);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        SingleFlightMetrics.bind(registry, "pos.getById", getByIdFlights);
+    }
+
+    /**
+     * Purges the tombstones older than the retention, if the purge interval has elapsed since the last purge.
+     */
+    private void purgeTombstonesIfDue() {
+        long now = System.nanoTime();
+        long due = nextTombstonePurgeNanos.get();
+        // only one sync per interval purges
+        if (now - due >= 0 && nextTombstonePurgeNanos.compareAndSet(due, now + TOMBSTONE_PURGE_INTERVAL.toNanos())) {
+            purgeTombstones(now().minus(TOMBSTONE_RETENTION));
+        }
+    }
+
+    /**
+     * Purges the tombstones of the POS deleted before a point in time; syncs with older tokens become full syncs.
+     */
+    void purgeTombstones(LocalDateTime deletedBefore) {
+        long purged = posTombstoneRepository.purgeDeletedBefore(deletedBefore);
+        log.debug("Purged {} POS tombstones deleted before {}", purged, deletedBefore);
+    }
+
+    /**
+     * Makes the next call of {@link #getCatalogVersion()} read the version from the database, so that this instance
+     * sees its own writes immediately.
+     */
+    private void expireCatalogVersion() {
+        catalogVersion.set(CatalogVersion.expired());
+    }
+
+    /**
+     * Runs the action after the current transaction committed (or immediately, without a transaction), so that
+     * lookups started later do not join a lookup that may have read the state before the change.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * @return the current time in UTC, like the timestamps of {@link PosEntity}
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneId.of("UTC"));
     }
 }
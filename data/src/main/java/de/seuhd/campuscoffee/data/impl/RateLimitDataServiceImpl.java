@@ -0,0 +1,50 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.data.persistence.RateLimitBucketRepository;
+import de.seuhd.campuscoffee.domain.ports.RateLimitDataService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of the shared rate limits with the table {@code rate_limit_buckets}.
+ * Each permit costs one statement (and one pooled connection for its duration); full buckets are purged at most
+ * once per {@link #PURGE_INTERVAL} by the request that finds the interval elapsed.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+class RateLimitDataServiceImpl implements RateLimitDataService {
+    static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private final RateLimitBucketRepository rateLimitBucketRepository;
+    private final AtomicLong nextPurgeNanos = new AtomicLong(System.nanoTime() + PURGE_INTERVAL.toNanos());
+
+    @Override
+    public @NonNull Duration tryAcquire(@NonNull String bucketKey, double permitsPerSecond, int burstCapacity) {
+        Objects.requireNonNull(bucketKey, "bucketKey must not be null");
+        if (permitsPerSecond <= 0 || burstCapacity <= 0) {
+            throw new IllegalArgumentException("Rate and burst capacity must be positive.");
+        }
+        purgeIfDue();
+        long intervalMicros = Math.max(1L, (long) (1_000_000L / permitsPerSecond));
+        long waitMicros = rateLimitBucketRepository.tryAcquire(bucketKey, intervalMicros,
+                intervalMicros * (burstCapacity - 1));
+        return waitMicros > 0 ? Duration.ofNanos(waitMicros * 1000) : Duration.ZERO;
+    }
+
+    private void purgeIfDue() {
+        long now = System.nanoTime();
+        long due = nextPurgeNanos.get();
+        // only one request per interval purges
+        if (now - due >= 0 && nextPurgeNanos.compareAndSet(due, now + PURGE_INTERVAL.toNanos())) {
+            int purged = rateLimitBucketRepository.deleteFull();
+            log.debug("Purged {} full rate limit buckets", purged);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Metrics of the {@link SingleFlight} instances of the data services.
+ */
+final class SingleFlightMetrics {
+    private SingleFlightMetrics() {
+    }
+
+    /**
+     * Registers the counter {@code singleflight.calls} of a single flight, with the tags {@code operation} and
+     * {@code outcome} ({@code executed}: the call was run; {@code coalesced}: the call joined a call in flight).
+     *
+     * @param registry     the registry
+     * @param operation    the name of the coalesced operation
+     * @param singleFlight the single flight
+     */
+    static void bind(MeterRegistry registry, String operation, SingleFlight<?, ?> singleFlight) {
+        FunctionCounter.builder("singleflight.calls", singleFlight, SingleFlight::getExecuted)
+                .description("Calls of coalesced operations")
+                .tag("operation", operation)
+                .tag("outcome", "executed")
+                .register(registry);
+        FunctionCounter.builder("singleflight.calls", singleFlight, SingleFlight::getCoalesced)
+                .description("Calls of coalesced operations")
+                .tag("operation", operation)
+                .tag("outcome", "coalesced")
+                .register(registry);
+    }
+}
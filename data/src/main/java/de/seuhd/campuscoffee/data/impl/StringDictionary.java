@@ -0,0 +1,72 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary encoding of strings that many records share, e.g., first and last names: each distinct string is
+ * stored once and referenced by an {@code int} code. Codes are reference-counted, so the entry of a string is
+ * removed (and its code reused) when no record uses it anymore.
+ * <p>
+ * Not thread-safe; {@link CompactUserDataServiceImpl} guards it with its lock.
+ */
+class StringDictionary {
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[64];
+    private int[] referenceCounts = new int[64];
+    private int[] freeCodes = new int[16];
+    private int freeCodeCount;
+    private int nextCode;
+
+    /**
+     * Returns the code of a string and adds a reference to it.
+     */
+    int encode(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = freeCodeCount > 0 ? freeCodes[--freeCodeCount] : nextCode++;
+            if (code == values.length) {
+                values = Arrays.copyOf(values, code * 2);
+                referenceCounts = Arrays.copyOf(referenceCounts, code * 2);
+            }
+            values[code] = value;
+            codes.put(value, code);
+        }
+        referenceCounts[code]++;
+        return code;
+    }
+
+    String decode(int code) {
+        return values[code];
+    }
+
+    /**
+     * Removes a reference to the string of a code; the code must not be used afterward by the caller.
+     */
+    void release(int code) {
+        if (--referenceCounts[code] == 0) {
+            codes.remove(values[code]);
+            values[code] = null;
+            if (freeCodeCount == freeCodes.length) {
+                freeCodes = Arrays.copyOf(freeCodes, freeCodeCount * 2);
+            }
+            freeCodes[freeCodeCount++] = code;
+        }
+    }
+
+    /**
+     * @return the number of distinct strings
+     */
+    int size() {
+        return codes.size();
+    }
+
+    void clear() {
+        codes.clear();
+        Arrays.fill(values, null);
+        Arrays.fill(referenceCounts, 0);
+        freeCodeCount = 0;
+        nextCode = 0;
+    }
+}
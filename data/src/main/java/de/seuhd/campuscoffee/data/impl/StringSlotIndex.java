@@ -0,0 +1,125 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Unique hash index from string keys to the slots of a column store, without boxing.
+ * The keys are not stored in the index: they are read from the store's columns via {@code keyOf(slot)} when the
+ * (stored) hash codes match. Uses open addressing with linear probing and backward-shift deletion, so an entry
+ * takes 8 bytes of table space.
+ * <p>
+ * Not thread-safe; {@link CompactUserDataServiceImpl} guards it with its lock.
+ */
+class StringSlotIndex {
+    static final int MISSING = -1;
+    private static final float MAX_LOAD_FACTOR = 0.6f;
+
+    private final IntFunction<String> keyOf;
+    private int[] slots; // MISSING marks an empty position
+    private int[] hashes;
+    private int size;
+
+    /**
+     * @param keyOf        reads the key of an indexed slot from the store
+     * @param expectedSize the expected number of keys
+     */
+    StringSlotIndex(IntFunction<String> keyOf, int expectedSize) {
+        this.keyOf = keyOf;
+        allocate(LongIntHashMap.tableSizeFor(expectedSize));
+    }
+
+    /**
+     * @return the slot with the key, or {@link #MISSING}
+     */
+    int get(String key) {
+        int hash = hash(key);
+        int mask = slots.length - 1;
+        for (int i = hash & mask; slots[i] != MISSING; i = (i + 1) & mask) {
+            if (hashes[i] == hash && keyOf.apply(slots[i]).equals(key)) {
+                return slots[i];
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * Adds a key that is not in the index yet (check with {@link #get(String)} first).
+     */
+    void add(String key, int slot) {
+        int hash = hash(key);
+        int mask = slots.length - 1;
+        int i = hash & mask;
+        while (slots[i] != MISSING) {
+            i = (i + 1) & mask;
+        }
+        slots[i] = slot;
+        hashes[i] = hash;
+        if (++size > MAX_LOAD_FACTOR * slots.length) {
+            rehash(slots.length * 2);
+        }
+    }
+
+    /**
+     * Removes the entry of a key if it points to the given slot.
+     */
+    void remove(String key, int slot) {
+        int hash = hash(key);
+        int mask = slots.length - 1;
+        for (int i = hash & mask; slots[i] != MISSING; i = (i + 1) & mask) {
+            if (slots[i] == slot) {
+                shiftBack(i, mask);
+                size--;
+                return;
+            }
+        }
+    }
+
+    void clear() {
+        Arrays.fill(slots, MISSING);
+        size = 0;
+    }
+
+    /**
+     * Closes the gap at a removed position by moving back later entries of the same probe sequence.
+     */
+    private void shiftBack(int gap, int mask) {
+        for (int i = (gap + 1) & mask; slots[i] != MISSING; i = (i + 1) & mask) {
+            int home = hashes[i] & mask;
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                slots[gap] = slots[i];
+                hashes[gap] = hashes[i];
+                gap = i;
+            }
+        }
+        slots[gap] = MISSING;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldSlots = slots;
+        int[] oldHashes = hashes;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int j = 0; j < oldSlots.length; j++) {
+            if (oldSlots[j] != MISSING) {
+                int i = oldHashes[j] & mask;
+                while (slots[i] != MISSING) {
+                    i = (i + 1) & mask;
+                }
+                slots[i] = oldSlots[j];
+                hashes[i] = oldHashes[j];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new int[capacity];
+        hashes = new int[capacity];
+        Arrays.fill(slots, MISSING);
+    }
+
+    private static int hash(String key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16); // use the high bits for small tables, too
+    }
+}
@@ -0,0 +1,31 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.ports.TransactionDataService;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the transaction port with the JPA transaction manager.
+ * The repositories and data services called by the work join its transaction, so all of them use the same
+ * database connection, which is checked out of the pool once.
+ */
+@Service
+class TransactionDataServiceImpl implements TransactionDataService {
+    private final TransactionTemplate transactionTemplate;
+
+    TransactionDataServiceImpl(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public <T> @Nullable T runInTransaction(@NonNull Supplier<T> work) {
+        Objects.requireNonNull(work, "work must not be null");
+        return transactionTemplate.execute(status -> work.get());
+    }
+}
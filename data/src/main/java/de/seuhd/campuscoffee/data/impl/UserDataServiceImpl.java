@@ -3,35 +3,135 @@ package de.seuhd.campuscoffee.data.impl;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
 import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserCursor;
+import de.seuhd.campuscoffee.domain.model.UserPage;
+import de.seuhd.campuscoffee.domain.model.UserSortKey;
 import de.seuhd.campuscoffee.domain.ports.UserDataService;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * Simple in-memory implementation of the user data service.
- * Mimics database behavior for tests.
+ * Mimics database behavior for tests; active if {@code users.store.type} is {@code memory} (the default).
+ * Users are lost on restart and not shared between application instances (see {@link JpaUserDataServiceImpl}).
+ * <p>
+ * Besides the primary map (ID to user), secondary indexes map the login name and the normalized email address
+ * to the user ID, so that lookups and uniqueness checks do not scan all users. The login name index and an index of
+ * last names are sorted (skip lists), so pages of users ordered by these attributes, optionally restricted to a
+ * prefix, are read directly from the index. The indexes are updated together with the primary map on create,
+ * update, and delete.
+ * <p>
+ * Writes are race-free without a global lock: unique keys are reserved atomically via {@code putIfAbsent} on the
+ * indexes (and rolled back if another key is taken), so concurrent creates with the same login name or email
+ * address cannot both succeed. Writes of the same user are serialized by a lock stripe chosen by the user ID;
+ * writes to different users proceed in parallel. {@link #clear()} holds all lock stripes.
+ * Batches ({@link #upsertAll(List)}) hold the lock stripes of all their users and are validated completely before
+ * the first user is written, so a failed batch leaves no trace.
+ * <p>
+ * If {@code users.store.journal.enabled} is set, every write is appended to a {@link UserJournal} while the lock
+ * stripe of the user is held, so the journal contains the writes of each user (and the clears) in the order they
+ * were applied.
+ * On startup, the store is rebuilt from the journal.
  */
 @Service
+@ConditionalOnProperty(name = "users.store.type", havingValue = "memory", matchIfMissing = true)
 @Slf4j
-class UserDataServiceImpl implements UserDataService {
+class UserDataServiceImpl implements UserDataService, AutoCloseable {
+    private static final int LOCK_STRIPES = 64; // must be a power of two
 
     private final Map<Long, User> users = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<String, Long> idsByLoginName = new ConcurrentSkipListMap<>();
+    private final NavigableSet<IndexKey> lastNameIndex = new ConcurrentSkipListSet<>();
+    private final Map<String, Long> idsByEmailAddress = new ConcurrentHashMap<>(); // keys are normalized
     private final AtomicLong idSequence = new AtomicLong(1L);
+    private final Lock[] locks = createLocks();
+    // incremented by clear(), which resets the ID sequence; guarded by all lock stripes
+    private volatile long clears;
+    private final @Nullable UserJournal journal;
+
+    /**
+     * Creates a store without persistence (for tests).
+     */
+    UserDataServiceImpl() {
+        this.journal = null;
+    }
+
+    /**
+     * Creates a store that is persisted according to the journal settings and recovers its previous state.
+     *
+     * @param properties the user store settings
+     */
+    @Autowired
+    UserDataServiceImpl(@NonNull UserStoreProperties properties) {
+        if (!properties.journal().enabled()) {
+            this.journal = null;
+            return;
+        }
+        this.journal = new UserJournal(properties.journal(),
+                () -> new UserJournal.State(idSequence.get(), users.values()));
+        UserJournal.State recovered = journal.recover();
+        // restore the persisted users and their indexes
+        recovered.users().forEach(user -> {
+            users.put(user.id(), user);
+            idsByLoginName.put(user.loginName(), user.id());
+            idsByEmailAddress.put(normalizeEmailAddress(user.emailAddress()), user.id());
+            lastNameIndex.add(new IndexKey(user.lastName(), user.id()));
+        });
+        idSequence.set(recovered.nextId());
+        journal.start();
+    }
 
     @Override
     public void clear() {
         log.debug("Clearing all users from in-memory store");
-        users.clear();
-        idSequence.set(1L);
+        // all lock stripes, so that each write is journaled and applied entirely before or after the clear
+        for (Lock lock : locks) {
+            lock.lock();
+        }
+        try {
+            users.clear();
+            idsByLoginName.clear();
+            idsByEmailAddress.clear();
+            lastNameIndex.clear();
+            idSequence.set(1L);
+            clears++;
+            if (journal != null) {
+                journal.appendClear();
+            }
+        } finally {
+            for (int stripe = locks.length - 1; stripe >= 0; stripe--) {
+                locks[stripe].unlock();
+            }
+        }
+    }
+
+    @Override
+    public boolean isTransactional() {
+        return false;
     }
 
     @Override
@@ -39,79 +139,296 @@ class UserDataServiceImpl implements UserDataService {
         return new ArrayList<>(users.values());
     }
 
+    @Override
+    public @NonNull UserPage getPage(@NonNull UserSortKey sortKey, @Nullable String prefix,
+                                     @Nullable UserCursor after, int limit) {
+        Objects.requireNonNull(sortKey, "sortKey must not be null");
+        String start = prefix != null ? prefix : "";
+        // continue after the cursor, unless the prefix range starts later
+        boolean continueAfterCursor = after != null && after.value().compareTo(start) >= 0;
+        IndexKey from = continueAfterCursor
+                ? new IndexKey(after.value(), after.id())
+                : new IndexKey(start, Long.MIN_VALUE);
+
+        // the indexes are iterated directly, without copying them
+        Iterator<IndexKey> candidates = switch (sortKey) {
+            case LOGIN_NAME -> idsByLoginName.tailMap(from.value(), !continueAfterCursor).entrySet().stream()
+                    .map(entry -> new IndexKey(entry.getKey(), entry.getValue()))
+                    .iterator();
+            case LAST_NAME -> lastNameIndex.tailSet(from, !continueAfterCursor).iterator();
+        };
+
+        List<User> page = new ArrayList<>(Math.min(limit, 64));
+        while (candidates.hasNext()) {
+            IndexKey candidate = candidates.next();
+            if (!candidate.value().startsWith(start)) {
+                break; // values with the prefix are contiguous in the index
+            }
+            User user = users.get(candidate.id());
+            if (user == null || !sortKey.valueOf(user).equals(candidate.value())) {
+                continue; // transient index entry of a concurrent write
+            }
+            if (page.size() == limit) {
+                return new UserPage(page, UserCursor.after(sortKey, page.getLast()));
+            }
+            page.add(user);
+        }
+        return new UserPage(page, null);
+    }
+
     @Override
     public @NonNull User getById(@NonNull Long id) {
         Objects.requireNonNull(id, "id must not be null");
         User user = users.get(id);
         if (user == null) {
-            throw new NotFoundException(User.class, id);
+            throw NotFoundException.expected(User.class, id);
         }
         return user;
     }
 
+    @Override
+    public @NonNull List<User> getAllById(@NonNull List<Long> ids) {
+        Objects.requireNonNull(ids, "ids must not be null");
+        return ids.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     @Override
     public @NonNull User getByLoginName(@NonNull String loginName) {
         Objects.requireNonNull(loginName, "loginName must not be null");
 
-        return users.values().stream()
-                .filter(u -> u.loginName().equals(loginName))
-                .findFirst()
-                .orElseThrow(() ->
-                        new NotFoundException(User.class, "loginName", loginName));
+        User user = lookup(idsByLoginName, loginName, User::loginName);
+        if (user == null) {
+            throw NotFoundException.expected(User.class, "loginName", loginName);
+        }
+        return user;
+    }
+
+    @Override
+    public @NonNull User getByEmailAddress(@NonNull String emailAddress) {
+        Objects.requireNonNull(emailAddress, "emailAddress must not be null");
+
+        String emailKey = normalizeEmailAddress(emailAddress);
+        User user = lookup(idsByEmailAddress, emailKey, u -> normalizeEmailAddress(u.emailAddress()));
+        if (user == null) {
+            throw NotFoundException.expected(User.class, "emailAddress", emailAddress);
+        }
+        return user;
     }
 
     @Override
     public @NonNull User upsert(@NonNull User user) {
         Objects.requireNonNull(user, "user must not be null");
 
-        // Einzigartigkeits-Constraints prüfen
-        users.values().forEach(existing -> {
-            boolean sameId = user.id() != null && user.id().equals(existing.id());
-            if (!sameId) {
-                if (existing.loginName().equals(user.loginName())) {
-                    throw new DuplicationException(User.class, "loginName", user.loginName());
-                }
-                if (existing.emailAddress().equals(user.emailAddress())) {
-                    throw new DuplicationException(User.class, "emailAddress", user.emailAddress());
-                }
-            }
-        });
-
         Instant now = Instant.now();
 
         if (user.id() == null) {
             // Neuer User
-            long newId = idSequence.getAndIncrement();
+            long newId;
+            Lock lock;
+            while (true) {
+                long generation = clears;
+                newId = idSequence.getAndIncrement();
+                lock = lockFor(newId);
+                lock.lock();
+                if (generation == clears) {
+                    break;
+                }
+                lock.unlock(); // the ID was allocated before a concurrent clear(), which reset the sequence
+            }
             User created = user.toBuilder()
                     .id(newId)
                     .createdAt(now)
                     .updatedAt(now)
                     .build();
 
-            users.put(newId, created);
+            try {
+                // reserve the unique keys atomically in the indexes; the user becomes visible only afterwards
+                reserveKeys(null, created, Map.of());
+                users.put(newId, created);
+                lastNameIndex.add(new IndexKey(created.lastName(), newId));
+                append(created);
+            } finally {
+                lock.unlock();
+            }
 
             log.debug("Created new user with id={} and loginName={}", newId, created.loginName());
             return created;
         } else {
-            // Update eines existierenden Users
+            // update of an existing user
+            return update(user, now);
+        }
+    }
+
+    /**
+     * Updates an existing user; writes to the same ID are serialized.
+     *
+     * @param user      the new state of the user
+     * @param updatedAt the new update timestamp
+     */
+    private User update(User user, Instant updatedAt) {
+        Lock lock = lockFor(user.id());
+        lock.lock();
+        try {
             User existing = users.get(user.id());
             if (existing == null) {
                 throw new NotFoundException(User.class, user.id());
             }
 
-            User updated = existing.toBuilder()
-                    .loginName(user.loginName())
-                    .emailAddress(user.emailAddress())
-                    .firstName(user.firstName())
-                    .lastName(user.lastName())
-                    .createdAt(existing.createdAt())
-                    .updatedAt(now)
-                    .build();
-
+            User updated = merge(existing, user, updatedAt);
+            reserveKeys(existing, updated, Map.of());
             users.put(updated.id(), updated);
+            append(updated);
+            releaseReplacedKeys(existing, updated);
 
             log.debug("Updated user with id={} and loginName={}", updated.id(), updated.loginName());
             return updated;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes all users or none of them. The batch is validated before any user is written: the lock stripes of all
+     * users are held for the whole batch, and the new states and unique keys of all users are prepared (keys are
+     * reserved like in {@link #upsert(User)}); only then the users are written, which cannot fail anymore.
+     * If the batch is invalid, only its reservations are released; users written concurrently are not touched.
+     * Readers may see some users of a valid batch before the others, but never users of an invalid batch.
+     * <p>
+     * Like in a database transaction, a key given up by one user of the batch can be taken by a later user of the
+     * batch; until the batch is written, lookups of such a key find no user.
+     */
+    @Override
+    public @NonNull List<User> upsertAll(@NonNull List<User> users) {
+        Objects.requireNonNull(users, "users must not be null");
+        Instant now = Instant.now();
+        List<User> batch;
+        List<Lock> batchLocks;
+        while (true) {
+            long generation = clears;
+            long nextNewId = idSequence.getAndAdd(users.stream().filter(user -> user.id() == null).count());
+            batch = new ArrayList<>(users.size());
+            for (User user : users) {
+                batch.add(user.id() != null ? user : user.toBuilder().id(nextNewId++).build());
+            }
+            batchLocks = lockAll(batch);
+            if (generation == clears) {
+                break;
+            }
+            // the IDs were allocated before a concurrent clear(), which reset the sequence
+            batchLocks.reversed().forEach(Lock::unlock);
+        }
+        try {
+            Map<Long, PreparedWrite> writes = new LinkedHashMap<>(); // by ID, in the order of their first write
+            List<Reservation> reservations = new ArrayList<>();
+            List<User> written = new ArrayList<>(batch.size());
+            try {
+                for (int i = 0; i < batch.size(); i++) {
+                    written.add(prepare(batch.get(i), users.get(i).id() == null, now, writes, reservations));
+                }
+            } catch (RuntimeException e) {
+                release(reservations);
+                throw e;
+            }
+            publish(writes, reservations);
+            log.debug("Wrote batch of {} users", written.size());
+            return written;
+        } finally {
+            batchLocks.reversed().forEach(Lock::unlock);
+        }
+    }
+
+    /**
+     * Prepares the write of a user of a batch: computes its new state and reserves its unique keys.
+     * The user may be written several times in the batch; each write starts from the state of the previous one.
+     *
+     * @param user         the user (with ID)
+     * @param create       true if the user is new
+     * @param now          the timestamp of the batch
+     * @param writes       the writes prepared so far, by ID
+     * @param reservations the keys reserved so far, in the order they were reserved
+     * @return the new state of the user
+     */
+    private User prepare(User user, boolean create, Instant now, Map<Long, PreparedWrite> writes,
+                         List<Reservation> reservations) {
+        PreparedWrite previous = writes.get(user.id());
+        User existing;
+        if (previous != null) {
+            existing = previous.user();
+        } else if (create) {
+            existing = null;
+        } else {
+            existing = this.users.get(user.id()); // stable, since the lock stripe of the user is held
+            if (existing == null) {
+                throw new NotFoundException(User.class, user.id());
+            }
+        }
+        User next = existing == null
+                ? user.toBuilder().createdAt(now).updatedAt(now).build()
+                : merge(existing, user, now);
+
+        reservations.addAll(reserveKeys(existing, next, writes));
+        writes.put(next.id(), new PreparedWrite(previous != null ? previous.original() : existing, next));
+        return next;
+    }
+
+    /**
+     * Writes the prepared users of a batch and their indexes; the lock stripes of the users are held.
+     *
+     * @param writes       the prepared writes, by ID
+     * @param reservations the keys reserved by the batch
+     */
+    private void publish(Map<Long, PreparedWrite> writes, List<Reservation> reservations) {
+        for (PreparedWrite write : writes.values()) {
+            User original = write.original();
+            User user = write.user();
+            users.put(user.id(), user);
+            if (original == null) {
+                lastNameIndex.add(new IndexKey(user.lastName(), user.id()));
+            } else {
+                releaseReplacedKeys(original, user);
+            }
+            append(user);
+        }
+        // keys that the final state of their user does not hold, e.g., reserved by an earlier write of the user
+        for (Reservation reservation : reservations) {
+            User user = writes.get(reservation.id()).user();
+            if (!keyOf(reservation.index(), user).equals(reservation.key())) {
+                reservation.index().remove(reservation.key(), reservation.id());
+            }
+        }
+    }
+
+    /**
+     * Builds the new state of an existing user; the ID and the creation timestamp are kept.
+     */
+    private static User merge(User existing, User user, Instant updatedAt) {
+        return existing.toBuilder()
+                .loginName(user.loginName())
+                .emailAddress(user.emailAddress())
+                .firstName(user.firstName())
+                .lastName(user.lastName())
+                .createdAt(existing.createdAt())
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    /**
+     * Releases the keys of the previous state of a user that its new state no longer holds.
+     */
+    private void releaseReplacedKeys(User existing, User updated) {
+        if (!existing.loginName().equals(updated.loginName())) {
+            idsByLoginName.remove(existing.loginName(), existing.id());
+        }
+        String oldEmailKey = normalizeEmailAddress(existing.emailAddress());
+        if (!oldEmailKey.equals(normalizeEmailAddress(updated.emailAddress()))) {
+            idsByEmailAddress.remove(oldEmailKey, existing.id());
+        }
+        if (!existing.lastName().equals(updated.lastName())) {
+            lastNameIndex.add(new IndexKey(updated.lastName(), updated.id()));
+            lastNameIndex.remove(new IndexKey(existing.lastName(), existing.id()));
         }
     }
 
@@ -119,11 +436,195 @@ class UserDataServiceImpl implements UserDataService {
     public void delete(@NonNull Long id) {
         Objects.requireNonNull(id, "id must not be null");
 
-        if (!users.containsKey(id)) {
-            throw new NotFoundException(User.class, id);
+        Lock lock = lockFor(id);
+        lock.lock();
+        try {
+            User removed = users.remove(id);
+            if (removed == null) {
+                throw new NotFoundException(User.class, id);
+            }
+            if (journal != null) {
+                journal.appendDelete(id);
+            }
+            idsByLoginName.remove(removed.loginName(), id);
+            idsByEmailAddress.remove(normalizeEmailAddress(removed.emailAddress()), id);
+            lastNameIndex.remove(new IndexKey(removed.lastName(), id));
+        } finally {
+            lock.unlock();
         }
-
-        users.remove(id);
         log.debug("Deleted user with id={}", id);
     }
+
+    @Override
+    public void close() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void append(User user) {
+        if (journal != null) {
+            journal.appendPut(user);
+        }
+    }
+
+    /**
+     * Atomically reserves the unique keys of a user that it does not hold yet ({@code putIfAbsent} on the indexes).
+     * If a key is held by another user, the reservations made so far are rolled back.
+     *
+     * @param existing the current state of the user; null for new users
+     * @param user     the new state of the user (with ID)
+     * @param batch    the writes of the batch prepared so far, by ID; keys given up by these users can be taken over
+     * @return the reservations made, so that they can be released if the write fails
+     * @throws DuplicationException if a key is held by another user
+     */
+    private List<Reservation> reserveKeys(User existing, User user, Map<Long, PreparedWrite> batch) {
+        List<Reservation> reservations = new ArrayList<>(2);
+        try {
+            if (existing == null || !existing.loginName().equals(user.loginName())) {
+                reserve(idsByLoginName, user.loginName(), user.id(), batch, reservations,
+                        () -> new DuplicationException(User.class, "loginName", user.loginName()));
+            }
+            String emailKey = normalizeEmailAddress(user.emailAddress());
+            if (existing == null || !normalizeEmailAddress(existing.emailAddress()).equals(emailKey)) {
+                reserve(idsByEmailAddress, emailKey, user.id(), batch, reservations,
+                        () -> new DuplicationException(User.class, "emailAddress", user.emailAddress()));
+            }
+            return reservations;
+        } catch (DuplicationException e) {
+            release(reservations);
+            throw e;
+        }
+    }
+
+    private void reserve(Map<String, Long> index, String key, Long id, Map<Long, PreparedWrite> batch,
+                         List<Reservation> reservations, Supplier<DuplicationException> duplication) {
+        Long owner = index.putIfAbsent(key, id);
+        if (owner == null) {
+            reservations.add(new Reservation(index, key, id, null));
+            return;
+        }
+        if (owner.equals(id)) {
+            return; // a key the user had before an earlier write of the same batch
+        }
+        PreparedWrite ownerWrite = batch.get(owner);
+        if (ownerWrite != null && !keyOf(index, ownerWrite.user()).equals(key) && index.replace(key, owner, id)) {
+            reservations.add(new Reservation(index, key, id, owner)); // given up by the owner in the same batch
+            return;
+        }
+        throw duplication.get();
+    }
+
+    /**
+     * Releases reservations in the reverse order they were made; keys taken over are returned to their owner.
+     */
+    private static void release(List<Reservation> reservations) {
+        for (Reservation reservation : reservations.reversed()) {
+            if (reservation.previousOwner() == null) {
+                reservation.index().remove(reservation.key(), reservation.id());
+            } else {
+                reservation.index().replace(reservation.key(), reservation.id(), reservation.previousOwner());
+            }
+        }
+    }
+
+    /**
+     * @return the key of a user in one of the unique indexes
+     */
+    private String keyOf(Map<String, Long> index, User user) {
+        return index == idsByLoginName ? user.loginName() : normalizeEmailAddress(user.emailAddress());
+    }
+
+    private Lock lockFor(Long id) {
+        return locks[stripeOf(id)];
+    }
+
+    private static int stripeOf(Long id) {
+        return Long.hashCode(id) & (LOCK_STRIPES - 1);
+    }
+
+    /**
+     * Locks the lock stripes of all users of a batch in the order of the stripes, so that concurrent batches
+     * cannot deadlock.
+     *
+     * @return the locked stripes in the order they were locked
+     */
+    private List<Lock> lockAll(List<User> batch) {
+        boolean[] stripes = new boolean[LOCK_STRIPES];
+        batch.forEach(user -> stripes[stripeOf(user.id())] = true);
+        List<Lock> locked = new ArrayList<>();
+        try {
+            for (int stripe = 0; stripe < LOCK_STRIPES; stripe++) {
+                if (stripes[stripe]) {
+                    locks[stripe].lock();
+                    locked.add(locks[stripe]);
+                }
+            }
+            return locked;
+        } catch (RuntimeException e) {
+            locked.reversed().forEach(Lock::unlock);
+            throw e;
+        }
+    }
+
+    /**
+     * Resolves a user via a secondary index.
+     * Keys are reserved before and released after the primary map is written, so an index entry may briefly
+     * point to a user that does not (or no longer) have the key; such entries are ignored.
+     *
+     * @param index the index to use
+     * @param key   the (normalized) key
+     * @param keyOf extracts the (normalized) key from a user
+     * @return the user, or null if no user has the key
+     */
+    private User lookup(Map<String, Long> index, String key, Function<User, String> keyOf) {
+        Long id = index.get(key);
+        User user = id != null ? users.get(id) : null;
+        return user != null && keyOf.apply(user).equals(key) ? user : null;
+    }
+
+    /**
+     * Email addresses are compared case-insensitively and without surrounding whitespace.
+     */
+    private static String normalizeEmailAddress(String emailAddress) {
+        return emailAddress.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Entry of a sorted index: users are ordered by the indexed value and then by ID.
+     */
+    private record IndexKey(String value, long id) implements Comparable<IndexKey> {
+        private static final Comparator<IndexKey> ORDER = Comparator.comparing(IndexKey::value)
+                .thenComparingLong(IndexKey::id);
+
+        @Override
+        public int compareTo(IndexKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * Key reserved in a unique index for a write.
+     *
+     * @param previousOwner the ID of the user of the same batch that gave up the key; null if the key was free
+     */
+    private record Reservation(Map<String, Long> index, String key, Long id, @Nullable Long previousOwner) {
+    }
+
+    /**
+     * Write of a user of a batch that was validated but not yet applied.
+     *
+     * @param original the state of the user before the batch; null for new users
+     * @param user     the state of the user after the batch
+     */
+    private record PreparedWrite(@Nullable User original, User user) {
+    }
+
+    private static Lock[] createLocks() {
+        Lock[] locks = new Lock[LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        return locks;
+    }
 }
@@ -0,0 +1,519 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.model.User;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Durable journal of the in-memory user store: an append-only log of all writes plus periodic snapshots.
+ * <p>
+ * The files of generation {@code G} are:
+ * <ul>
+ *   <li>{@code users-G.log}: the writes since log {@code G} was started. The file is memory-mapped with a fixed size
+ *   and zero-filled after the last record. Each record consists of its length, a CRC32C checksum, and the payload
+ *   (record type and data), so a torn record at the end of the log (crash during an append) is detected.</li>
+ *   <li>{@code users-G.snapshot}: all users at the start of log {@code G}. The snapshot is taken while writes
+ *   continue, so it may also contain later writes; these are in log {@code G} as well, and replaying them is
+ *   idempotent. Snapshots are written to a temporary file and renamed once complete.</li>
+ * </ul>
+ * On recovery, the latest snapshot is loaded and the logs of its and later generations are replayed.
+ * A new snapshot makes all files of older generations obsolete; they are deleted.
+ * <p>
+ * Appends only copy the record into the mapped log (no system call), so they survive a crash of the process
+ * immediately. A background thread syncs the appended records of all writers to disk in one call per sync
+ * interval (group commit), which bounds the writes lost on a crash of the machine.
+ */
+@Slf4j
+final class UserJournal implements AutoCloseable {
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final byte CLEAR = 3;
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES; // length and checksum
+    private static final int SNAPSHOT_MAGIC = 0x5553_4e31; // "USN1"
+    private static final Pattern FILE_NAME = Pattern.compile("users-(\\d+)\\.(log|snapshot)");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration syncInterval;
+    private final Duration snapshotInterval;
+    private final Supplier<State> stateSource;
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2,
+            Thread.ofPlatform().name("user-journal-", 0).daemon().factory());
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    private volatile Segment segment; // replaced under appendLock
+    private boolean snapshotCurrent; // whether the latest snapshot contains all writes; guarded by appendLock
+    private boolean closed; // guarded by appendLock
+    private Segment syncedSegment; // only accessed by the sync task
+    private int syncedPosition; // only accessed by the sync task
+
+    /**
+     * State of the user store, as stored in snapshots and returned on recovery.
+     *
+     * @param nextId the next user ID to assign
+     * @param users  all users
+     */
+    record State(long nextId, @NonNull Collection<User> users) {
+    }
+
+    /**
+     * Creates a journal. {@link #recover()} must be called before appending.
+     *
+     * @param properties  the journal settings
+     * @param stateSource provides the current state of the store for snapshots
+     */
+    UserJournal(UserStoreProperties.@NonNull Journal properties, @NonNull Supplier<State> stateSource) {
+        this.directory = properties.directory();
+        this.segmentSize = Math.toIntExact(properties.segmentSize().toBytes());
+        this.syncInterval = properties.syncInterval();
+        this.snapshotInterval = properties.snapshotInterval();
+        this.stateSource = stateSource;
+    }
+
+    /**
+     * Rebuilds the state of the store from the latest snapshot and the logs written after it, and starts a new log.
+     *
+     * @return the recovered state
+     * @throws UncheckedIOException if the files cannot be read or the new log cannot be created
+     */
+    @NonNull State recover() {
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            TreeMap<Long, Path> logs = new TreeMap<>();
+            TreeMap<Long, Path> snapshots = new TreeMap<>();
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                    if (matcher.matches()) {
+                        (matcher.group(2).equals("log") ? logs : snapshots).put(Long.parseLong(matcher.group(1)), file);
+                    } else if (file.getFileName().toString().endsWith(".tmp")) {
+                        Files.delete(file); // incomplete snapshot
+                    }
+                }
+            }
+
+            Recovery recovery = new Recovery();
+            long snapshotGeneration = snapshots.isEmpty() ? 0 : snapshots.lastKey();
+            if (!snapshots.isEmpty()) {
+                readSnapshot(snapshots.lastEntry().getValue(), recovery);
+            }
+            int records = 0;
+            for (Path logFile : logs.tailMap(snapshotGeneration, true).values()) {
+                records += replayLog(logFile, recovery);
+            }
+
+            long lastGeneration = Math.max(snapshotGeneration, logs.isEmpty() ? 0 : logs.lastKey());
+            appendLock.lock();
+            try {
+                segment = Segment.create(directory.resolve(logFileName(lastGeneration + 1)), segmentSize,
+                        lastGeneration + 1);
+                snapshotCurrent = records == 0;
+            } finally {
+                appendLock.unlock();
+            }
+            log.info("Recovered {} user(s) from {} (snapshot generation {}, {} log record(s)) in {} ms",
+                    recovery.users.size(), directory, snapshotGeneration, records,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return new State(recovery.nextId, recovery.users.values());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover user store from " + directory, e);
+        }
+    }
+
+    /**
+     * Starts syncing the log and taking snapshots in the background.
+     */
+    void start() {
+        long syncNanos = syncInterval.toNanos();
+        scheduler.scheduleWithFixedDelay(this::syncQuietly, syncNanos, syncNanos, TimeUnit.NANOSECONDS);
+        long snapshotNanos = snapshotInterval.toNanos();
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, snapshotNanos, snapshotNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Appends the creation or update of a user to the log.
+     */
+    void appendPut(@NonNull User user) {
+        append(encode(PUT, out -> writeUser(out, user)));
+    }
+
+    /**
+     * Appends the deletion of a user to the log.
+     */
+    void appendDelete(long id) {
+        append(encode(DELETE, out -> out.writeLong(id)));
+    }
+
+    /**
+     * Appends the removal of all users (and the reset of the ID sequence) to the log.
+     */
+    void appendClear() {
+        append(encode(CLEAR, out -> {
+        }));
+    }
+
+    /**
+     * Writes a snapshot of the current state and deletes the files it makes obsolete.
+     * Does nothing if the latest snapshot is up to date or another snapshot is being written.
+     */
+    void snapshot() {
+        if (!snapshotLock.tryLock()) {
+            return;
+        }
+        try {
+            long generation;
+            appendLock.lock();
+            try {
+                if (closed || snapshotCurrent) {
+                    return;
+                }
+                // all writes before the rotation are in the store (writes are applied before they are appended),
+                // all later writes are in the new log
+                rotate();
+                generation = segment.generation;
+                snapshotCurrent = true;
+            } finally {
+                appendLock.unlock();
+            }
+
+            long start = System.nanoTime();
+            State state = stateSource.get();
+            int count = writeSnapshot(generation, state);
+            deleteFilesBefore(generation);
+            log.info("Wrote snapshot of {} user(s) (generation {}) in {} ms", count, generation,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            appendLock.lock();
+            try {
+                snapshotCurrent = false; // retry with the next snapshot; the logs are still complete
+            } finally {
+                appendLock.unlock();
+            }
+            throw new UncheckedIOException("Failed to write snapshot of user store to " + directory, e);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the background tasks, syncs all appended records to disk, and closes the log.
+     */
+    @Override
+    public void close() {
+        // periodic tasks are cancelled, a running snapshot is completed
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Snapshot of user store did not complete in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appendLock.lock();
+        try {
+            if (!closed && segment != null) {
+                segment.close();
+            }
+            closed = true;
+        } catch (IOException e) {
+            log.warn("Failed to close user journal in {}", directory, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void append(byte[] payload) {
+        CRC32C checksum = new CRC32C();
+        checksum.update(payload);
+        int recordSize = RECORD_HEADER_SIZE + payload.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Journal record of " + recordSize + " bytes exceeds the segment size.");
+        }
+
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("User journal is closed.");
+            }
+            if (segment.buffer.remaining() < recordSize) {
+                // log is full: continue in a new log and compact the old ones in the background
+                rotate();
+                scheduler.execute(this::snapshotQuietly);
+            }
+            MappedByteBuffer buffer = segment.buffer;
+            buffer.putInt(payload.length).putInt((int) checksum.getValue()).put(payload);
+            segment.position = buffer.position();
+            snapshotCurrent = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to user journal in " + directory, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the current log by a new, empty one; the old log is synced and closed. Requires the append lock.
+     */
+    private void rotate() throws IOException {
+        Segment old = segment;
+        segment = Segment.create(directory.resolve(logFileName(old.generation + 1)), segmentSize,
+                old.generation + 1);
+        old.close();
+    }
+
+    private void sync() {
+        Segment current = segment;
+        if (current != syncedSegment) {
+            // the previous log was synced on rotation
+            syncedSegment = current;
+            syncedPosition = 0;
+        }
+        int position = current.position;
+        if (position > syncedPosition) {
+            current.buffer.force(syncedPosition, position - syncedPosition);
+            syncedPosition = position;
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.error("Failed to sync user journal in {}", directory, e);
+        }
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.error("Failed to write snapshot of user store", e);
+        }
+    }
+
+    private int writeSnapshot(long generation, State state) throws IOException {
+        Path target = directory.resolve(snapshotFileName(generation));
+        Path temporary = directory.resolve(snapshotFileName(generation) + ".tmp");
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CRC32C checksum = new CRC32C();
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), checksum));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(state.nextId());
+            // the number of users is not known in advance, as the store may change while it is written
+            for (User user : state.users()) {
+                out.writeBoolean(true);
+                writeUser(out, user);
+                count++;
+            }
+            out.writeBoolean(false);
+            out.writeInt((int) checksum.getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    private static void readSnapshot(Path file, Recovery recovery) throws IOException {
+        CRC32C checksum = new CRC32C();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 1 << 16), checksum))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Invalid snapshot file " + file);
+            }
+            recovery.nextId = in.readLong();
+            while (in.readBoolean()) {
+                recovery.put(readUser(in));
+            }
+            int expectedChecksum = (int) checksum.getValue();
+            if (in.readInt() != expectedChecksum) {
+                throw new IOException("Corrupt snapshot file " + file);
+            }
+        }
+    }
+
+    /**
+     * Replays the records of a log up to its end or the first invalid (torn) record.
+     *
+     * @return the number of replayed records
+     */
+    private static int replayLog(Path file, Recovery recovery) throws IOException {
+        int records = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            while (buffer.remaining() >= RECORD_HEADER_SIZE) {
+                int length = buffer.getInt();
+                int expectedChecksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    break; // end of the log (zero-filled) or torn record
+                }
+                byte[] payload = new byte[length];
+                buffer.get(payload);
+                CRC32C checksum = new CRC32C();
+                checksum.update(payload);
+                if ((int) checksum.getValue() != expectedChecksum) {
+                    log.warn("Ignoring torn record at the end of {}", file);
+                    break;
+                }
+                DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+                switch (in.readByte()) {
+                    case PUT -> recovery.put(readUser(in));
+                    case DELETE -> recovery.users.remove(in.readLong());
+                    case CLEAR -> {
+                        recovery.users.clear();
+                        recovery.nextId = 1L;
+                    }
+                    default -> throw new IOException("Unknown record type in " + file);
+                }
+                records++;
+            }
+        }
+        return records;
+    }
+
+    private void deleteFilesBefore(long generation) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches() && Long.parseLong(matcher.group(1)) < generation) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static byte[] encode(byte type, RecordWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(type);
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // cannot happen for in-memory streams
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeUser(DataOutput out, User user) throws IOException {
+        out.writeLong(user.id());
+        writeInstant(out, user.createdAt());
+        writeInstant(out, user.updatedAt());
+        out.writeUTF(user.loginName());
+        out.writeUTF(user.emailAddress());
+        out.writeUTF(user.firstName());
+        out.writeUTF(user.lastName());
+    }
+
+    private static User readUser(DataInput in) throws IOException {
+        return User.builder()
+                .id(in.readLong())
+                .createdAt(readInstant(in))
+                .updatedAt(readInstant(in))
+                .loginName(in.readUTF())
+                .emailAddress(in.readUTF())
+                .firstName(in.readUTF())
+                .lastName(in.readUTF())
+                .build();
+    }
+
+    private static void writeInstant(DataOutput out, Instant instant) throws IOException {
+        out.writeLong(instant.getEpochSecond());
+        out.writeInt(instant.getNano());
+    }
+
+    private static Instant readInstant(DataInput in) throws IOException {
+        return Instant.ofEpochSecond(in.readLong(), in.readInt());
+    }
+
+    private static String logFileName(long generation) {
+        return String.format("users-%019d.log", generation);
+    }
+
+    private static String snapshotFileName(long generation) {
+        return String.format("users-%019d.snapshot", generation);
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutput out) throws IOException;
+    }
+
+    /**
+     * Mutable state while recovering.
+     */
+    private static final class Recovery {
+        private final Map<Long, User> users = new HashMap<>();
+        private long nextId = 1L;
+
+        private void put(User user) {
+            users.put(user.id(), user);
+            nextId = Math.max(nextId, user.id() + 1);
+        }
+    }
+
+    /**
+     * A memory-mapped log file.
+     */
+    private static final class Segment {
+        private final long generation;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer; // written under the append lock
+        private volatile int position; // end of the last complete record, read by the sync task
+
+        private Segment(long generation, FileChannel channel, MappedByteBuffer buffer) {
+            this.generation = generation;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        private static Segment create(Path file, int size, long generation) throws IOException {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(generation, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+
+        private void close() throws IOException {
+            buffer.force();
+            channel.close();
+        }
+    }
+}
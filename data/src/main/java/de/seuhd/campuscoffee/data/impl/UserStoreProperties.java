@@ -0,0 +1,41 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import org.jspecify.annotations.NonNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration properties for the user store (prefix {@code users.store}).
+ *
+ * @param type    the user store to use: {@code memory}, {@code compact}, or {@code jpa}
+ * @param journal durability settings of the in-memory stores
+ */
+@ConfigurationProperties(prefix = "users.store")
+public record UserStoreProperties(
+        @DefaultValue("memory") @NonNull String type,
+        @DefaultValue @NonNull Journal journal
+) {
+    /**
+     * Settings for the {@link UserJournal} of the in-memory stores.
+     * Writes are appended to a memory-mapped log, so they survive a crash of the process immediately and a crash
+     * of the machine once the log is synced (at most {@code syncInterval} later).
+     *
+     * @param enabled          whether the in-memory store is persisted; if not, users are lost on restart
+     * @param directory        directory for the log and snapshot files
+     * @param segmentSize      size of a log file; a full log is replaced by a new one and triggers a snapshot
+     * @param syncInterval     interval in which appended log records are synced to disk (group commit)
+     * @param snapshotInterval interval in which a snapshot is written if the log is not empty
+     */
+    public record Journal(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("users-store") @NonNull Path directory,
+            @DefaultValue("64MB") @NonNull DataSize segmentSize,
+            @DefaultValue("10ms") @NonNull Duration syncInterval,
+            @DefaultValue("5m") @NonNull Duration snapshotInterval
+    ) {
+    }
+}
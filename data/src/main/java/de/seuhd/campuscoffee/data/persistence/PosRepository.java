@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,6 +14,34 @@ import java.util.Optional;
 public interface PosRepository extends JpaRepository<PosEntity, Long>, ResettableSequenceRepository {
     Optional<PosEntity> findByName(String name);
 
+    /**
+     * Finds the POS created or updated by transactions at or after a sync position (see {@link #findSyncPosition()}).
+     * Uses the index {@code pos_change_xid_idx}, so only the changed rows are read.
+     */
+    @Query(value = "SELECT * FROM pos WHERE change_xid >= :position", nativeQuery = true)
+    List<PosEntity> findChangedSince(long position);
+
+    /**
+     * Returns the current sync position: the ID of the oldest transaction that is still running. All older
+     * transactions have completed, so their writes are visible to the statements that follow.
+     */
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)", nativeQuery = true)
+    long findSyncPosition();
+
+    /**
+     * Finds the POS with the given IDs with a single query.
+     * The IDs are bound as one array parameter, so the statement is the same for any number of IDs.
+     */
+    @Query(value = "SELECT * FROM pos WHERE id = ANY(:ids)", nativeQuery = true)
+    List<PosEntity> findAllByIdIn(Long[] ids);
+
+    /**
+     * Returns the version of the POS catalog, which is incremented by every committed transaction that wrote POS
+     * (see migration {@code V9}).
+     */
+    @Query(value = "SELECT version FROM pos_catalog", nativeQuery = true)
+    long findCatalogVersion();
+
     /**
      * Resets the POS ID sequence to start from 1.
      * Note: This is primarily intended for testing purposes to ensure consistent IDs after clearing the table.
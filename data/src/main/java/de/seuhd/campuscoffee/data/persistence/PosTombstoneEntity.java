@@ -0,0 +1,30 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Database entity for the ID of a deleted point-of-sale (POS), reported to clients by the delta sync.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "pos_tombstones")
+public class PosTombstoneEntity {
+    @Id
+    @Column(name = "pos_id")
+    private Long posId;
+
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,69 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for the tombstones of deleted point-of-sale (POS) entities.
+ */
+public interface PosTombstoneRepository extends JpaRepository<PosTombstoneEntity, Long> {
+    /**
+     * Finds the IDs of the POS deleted by transactions at or after a sync position.
+     * Uses the index {@code pos_tombstones_change_xid_idx}.
+     */
+    @Query(value = "SELECT pos_id FROM pos_tombstones WHERE change_xid >= :position", nativeQuery = true)
+    List<Long> findPosIdsDeletedSince(long position);
+
+    /**
+     * Returns the largest transaction ID of the purged tombstones: sync positions up to it may have missed a deletion.
+     */
+    @Query(value = "SELECT tombstones_purged_through FROM pos_catalog", nativeQuery = true)
+    long findPurgedThrough();
+
+    /**
+     * Purges the tombstones of the POS deleted before a point in time and records the largest transaction ID of the
+     * purged tombstones, both in one statement. Uses the index {@code pos_tombstones_deleted_at_idx}.
+     *
+     * @return the number of purged tombstones
+     */
+    @Transactional
+    @Query(value = """
+            WITH purged AS (DELETE FROM pos_tombstones WHERE deleted_at < :deletedBefore RETURNING change_xid),
+                 recorded AS (UPDATE pos_catalog SET tombstones_purged_through =
+                         GREATEST(tombstones_purged_through, (SELECT max(change_xid) FROM purged)))
+            SELECT count(*) FROM purged""", nativeQuery = true)
+    long purgeDeletedBefore(LocalDateTime deletedBefore);
+
+    /**
+     * Writes the tombstone of a deleted POS (or moves it to the new deletion time).
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO pos_tombstones (pos_id, deleted_at) VALUES (:posId, :deletedAt)
+            ON CONFLICT (pos_id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at""", nativeQuery = true)
+    void upsert(Long posId, LocalDateTime deletedAt);
+
+    /**
+     * Writes the tombstones of all existing POS with a single statement (before clearing the POS table).
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            INSERT INTO pos_tombstones (pos_id, deleted_at) SELECT id, :deletedAt FROM pos
+            ON CONFLICT (pos_id) DO UPDATE SET deleted_at = EXCLUDED.deleted_at""", nativeQuery = true)
+    void upsertAllExisting(LocalDateTime deletedAt);
+
+    /**
+     * Removes the tombstone of a POS ID when the ID is reused by a new POS.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PosTombstoneEntity t WHERE t.posId = :posId")
+    void deleteByPosId(Long posId);
+}
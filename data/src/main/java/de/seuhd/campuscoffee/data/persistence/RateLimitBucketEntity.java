@@ -0,0 +1,31 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Database entity for a token bucket of the rate limits shared by all instances.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "rate_limit_buckets")
+public class RateLimitBucketEntity {
+    @Id
+    @Column(name = "bucket_key")
+    private String bucketKey;
+
+    /**
+     * Theoretical arrival time of the next request in microseconds since the epoch (database clock).
+     */
+    @Column(name = "theoretical_arrival")
+    private Long theoreticalArrival;
+}
@@ -0,0 +1,49 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+/**
+ * Repository for the token buckets of the shared rate limits.
+ * All times are taken from the database clock, so the clocks of the instances do not need to be in sync.
+ */
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucketEntity, String> {
+    /**
+     * Acquires a permit of a bucket with a single statement: the bucket is created or its arrival time is moved
+     * by one emission interval, but only if the permit is available (GCRA). Concurrent requests for the same
+     * bucket are serialized by the row lock of the upsert.
+     *
+     * @return zero if the permit was acquired; otherwise the microseconds until a permit will be available
+     */
+    @Transactional
+    @Query(value = """
+            WITH now AS (SELECT CAST(extract(epoch FROM clock_timestamp()) * 1000000 AS bigint) AS micros),
+            acquired AS (
+                INSERT INTO rate_limit_buckets AS b (bucket_key, theoretical_arrival)
+                SELECT :bucketKey, now.micros + :intervalMicros FROM now
+                ON CONFLICT (bucket_key) DO UPDATE
+                    SET theoretical_arrival = greatest(b.theoretical_arrival, (SELECT micros FROM now)) + :intervalMicros
+                    WHERE b.theoretical_arrival - :toleranceMicros <= (SELECT micros FROM now)
+                RETURNING CAST(0 AS bigint) AS wait)
+            SELECT coalesce(
+                (SELECT wait FROM acquired),
+                (SELECT b.theoretical_arrival - :toleranceMicros - now.micros
+                 FROM rate_limit_buckets b, now WHERE b.bucket_key = :bucketKey),
+                :intervalMicros)""", nativeQuery = true)
+    long tryAcquire(String bucketKey, long intervalMicros, long toleranceMicros);
+
+    /**
+     * Deletes the buckets whose arrival time has passed; they are full, i.e., equivalent to a missing bucket.
+     *
+     * @return the number of deleted buckets
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            DELETE FROM rate_limit_buckets
+            WHERE theoretical_arrival < CAST(extract(epoch FROM clock_timestamp()) * 1000000 AS bigint)""",
+            nativeQuery = true)
+    int deleteFull();
+}
@@ -8,6 +8,7 @@ import lombok.Setter;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 
 /**
  * Database entity for a registered user.
@@ -22,11 +23,18 @@ public class UserEntity {
     public static final String LOGIN_NAME_COLUMN = "login_name";
     public static final String LOGIN_NAME_CONSTRAINT = "users_login_name_key";
     public static final String EMAIL_ADDRESS_COLUMN = "email_address";
-    public static final String EMAIL_ADDRESS_CONSTRAINT = "users_email_address_key";
+    public static final String EMAIL_ADDRESS_CONSTRAINT = "users_email_address_normalized_key"; // see V3 migration
+
+    /**
+     * IDs are allocated in blocks of {@value #ID_ALLOCATION_SIZE} (the increment of {@code user_seq}, see migration
+     * {@code V8}), so that a JDBC batch of inserts needs one sequence call instead of one per user.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_sequence_generator")
-    @SequenceGenerator(name = "user_sequence_generator", sequenceName = "user_seq", allocationSize = 1)
+    @SequenceGenerator(name = "user_sequence_generator", sequenceName = "user_seq",
+            allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(name = "created_at")
@@ -38,7 +46,7 @@ public class UserEntity {
     @Column(name = LOGIN_NAME_COLUMN, unique = true)
     private String loginName;
 
-    @Column(name = EMAIL_ADDRESS_COLUMN, unique = true)
+    @Column(name = EMAIL_ADDRESS_COLUMN)
     private String emailAddress;
 
     @Column(name = "first_name")
@@ -53,7 +61,7 @@ public class UserEntity {
      */
     @PrePersist
     protected void onCreate() {
-        LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
+        LocalDateTime now = now();
         createdAt = now;
         updatedAt = now;
     }
@@ -64,6 +72,14 @@ public class UserEntity {
      */
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now(ZoneId.of("UTC"));
+        updatedAt = now();
+    }
+
+    /**
+     * @return the current time in the precision of the database (microseconds), so that written users equal the
+     *         users read back
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneId.of("UTC")).truncatedTo(ChronoUnit.MICROS);
     }
 }
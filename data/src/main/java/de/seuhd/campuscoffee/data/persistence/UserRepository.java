@@ -5,21 +5,69 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository for persisting user entities.
  */
-public interface UserRepository extends JpaRepository<UserEntity, Long>, ResettableSequenceRepository {
+public interface UserRepository extends JpaRepository<UserEntity, Long> {
     Optional<UserEntity> findByLoginName(String loginName);
 
     /**
-     * Resets the user ID sequence to start from 1.
-     * Note: This is primarily intended for testing purposes to ensure consistent IDs after clearing the table.
+     * Finds the users with the given IDs with a single query.
+     * The IDs are bound as one array parameter, so the statement is the same for any number of IDs.
+     */
+    @Query(value = "SELECT * FROM users WHERE id = ANY(:ids)", nativeQuery = true)
+    List<UserEntity> findAllByIdIn(Long[] ids);
+
+    /**
+     * Finds a user by email address, ignoring case and surrounding whitespace.
+     * The condition matches the expression of the unique index on the email address, so the lookup uses the index.
+     */
+    @Query("SELECT u FROM UserEntity u WHERE lower(trim(u.emailAddress)) = lower(trim(:emailAddress))")
+    Optional<UserEntity> findByNormalizedEmailAddress(String emailAddress);
+
+    /**
+     * Finds the users after a login name whose login name matches a LIKE pattern, ordered by login name.
+     * Uses the index {@code users_login_name_sort_idx} for both the range and the order (keyset pagination).
+     *
+     * @param pattern a LIKE pattern of the form {@code prefix%} (with escaped wildcards in the prefix)
+     * @param after   the login name after which the page starts; empty for the first page
+     * @param limit   the maximum number of users to return
+     */
+    @Query(value = """
+            SELECT * FROM users
+            WHERE login_name COLLATE "C" LIKE :pattern ESCAPE '\\'
+              AND login_name COLLATE "C" > :after
+            ORDER BY login_name COLLATE "C"
+            LIMIT :limit""", nativeQuery = true)
+    List<UserEntity> findPageByLoginName(String pattern, String after, int limit);
+
+    /**
+     * Finds the users after a position (last name, ID) whose last name matches a LIKE pattern, ordered by last name
+     * and ID. Uses the index {@code users_last_name_sort_idx} for both the range and the order (keyset pagination).
+     *
+     * @param pattern   a LIKE pattern of the form {@code prefix%} (with escaped wildcards in the prefix)
+     * @param afterName the last name of the position after which the page starts; empty for the first page
+     * @param afterId   the ID of the position after which the page starts
+     * @param limit     the maximum number of users to return
+     */
+    @Query(value = """
+            SELECT * FROM users
+            WHERE last_name COLLATE "C" LIKE :pattern ESCAPE '\\'
+              AND (last_name COLLATE "C", id) > (:afterName, :afterId)
+            ORDER BY last_name COLLATE "C", id
+            LIMIT :limit""", nativeQuery = true)
+    List<UserEntity> findPageByLastName(String pattern, String afterName, long afterId, int limit);
+
+    /**
+     * Deletes a user with a single statement (instead of loading the entity first).
+     *
+     * @return the number of deleted users (0 or 1)
      */
-    @Override
     @Modifying
     @Transactional
-    @Query(value = "ALTER SEQUENCE user_seq RESTART WITH 1", nativeQuery = true)
-    void resetSequence();
+    @Query("DELETE FROM UserEntity u WHERE u.id = :id")
+    int deleteByIdReturningCount(Long id);
 }
@@ -0,0 +1,35 @@
+-- Delta sync of POS by transaction instead of by timestamp (see PosDataServiceImpl.getChanges): every POS and
+-- tombstone records the ID of the transaction that wrote it last (64 bits, so it does not wrap around). A sync token
+-- is the oldest transaction still running when the sync started; all older transactions have completed, so their
+-- writes are visible to the sync, and the next sync returns the writes of all others, whenever they commit.
+
+-- the catalog version (V9) is incremented at once, since a table with pending trigger events cannot be altered
+SET CONSTRAINTS pos_catalog_version_trigger IMMEDIATE;
+
+CREATE FUNCTION set_change_xid() RETURNS trigger AS $$
+BEGIN
+    NEW.change_xid := pg_current_xact_id()::text::bigint;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE pos ADD COLUMN change_xid bigint;
+UPDATE pos SET change_xid = pg_current_xact_id()::text::bigint;
+ALTER TABLE pos ALTER COLUMN change_xid SET NOT NULL;
+CREATE TRIGGER pos_change_xid_trigger BEFORE INSERT OR UPDATE ON pos
+    FOR EACH ROW EXECUTE FUNCTION set_change_xid();
+CREATE INDEX pos_change_xid_idx ON pos (change_xid);
+DROP INDEX pos_updated_at_idx;
+
+ALTER TABLE pos_tombstones ADD COLUMN change_xid bigint;
+UPDATE pos_tombstones SET change_xid = pg_current_xact_id()::text::bigint;
+ALTER TABLE pos_tombstones ALTER COLUMN change_xid SET NOT NULL;
+CREATE TRIGGER pos_tombstones_change_xid_trigger BEFORE INSERT OR UPDATE ON pos_tombstones
+    FOR EACH ROW EXECUTE FUNCTION set_change_xid();
+CREATE INDEX pos_tombstones_change_xid_idx ON pos_tombstones (change_xid);
+
+-- Tombstones are kept for a retention period (pos_tombstones_deleted_at_idx finds the expired ones). The largest
+-- transaction ID of the purged tombstones is kept, so that older sync tokens, which may have missed a deletion,
+-- get a full sync. Tokens from before this migration (timestamps) are not accepted anymore.
+ALTER TABLE pos_catalog ADD COLUMN tombstones_purged_through bigint NOT NULL
+    DEFAULT pg_current_xact_id()::text::bigint;
@@ -0,0 +1,5 @@
+-- Email addresses are unique case-insensitively and without surrounding whitespace (like in the in-memory store).
+-- The expression index enforces this and serves lookups by email address; it replaces the case-sensitive constraint.
+ALTER TABLE users DROP CONSTRAINT users_email_address_key;
+
+CREATE UNIQUE INDEX users_email_address_normalized_key ON users (lower(btrim(email_address)));
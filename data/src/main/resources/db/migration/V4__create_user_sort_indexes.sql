@@ -0,0 +1,5 @@
+-- Sorted indexes for paging through users and for prefix search (see UserRepository).
+-- The "C" collation orders by character codes like the in-memory store and lets LIKE 'prefix%' use the index.
+CREATE INDEX users_login_name_sort_idx ON users (login_name COLLATE "C");
+
+CREATE INDEX users_last_name_sort_idx ON users (last_name COLLATE "C", id);
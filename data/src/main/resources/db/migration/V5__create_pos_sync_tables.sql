@@ -0,0 +1,11 @@
+-- Delta sync of POS (see PosDataServiceImpl.getChanges): POS changed since a point in time are found via this index.
+CREATE INDEX pos_updated_at_idx ON pos (updated_at);
+
+-- IDs of deleted POS ("tombstones"), written when a POS is deleted or all POS are cleared.
+-- A tombstone is removed when its ID is reused by a new POS (the ID sequence is reset when clearing).
+CREATE TABLE pos_tombstones (
+    pos_id bigint NOT NULL PRIMARY KEY,
+    deleted_at timestamp NOT NULL
+);
+
+CREATE INDEX pos_tombstones_deleted_at_idx ON pos_tombstones (deleted_at);
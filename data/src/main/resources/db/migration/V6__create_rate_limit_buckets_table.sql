@@ -0,0 +1,9 @@
+-- Token buckets of the rate limits shared by all instances (see RateLimitDataServiceImpl).
+-- A bucket only stores the theoretical arrival time of the next request (GCRA) in microseconds of the database
+-- clock; buckets whose arrival time has passed are full and are purged periodically.
+CREATE TABLE rate_limit_buckets (
+    bucket_key varchar(255) NOT NULL PRIMARY KEY,
+    theoretical_arrival bigint NOT NULL
+);
+
+CREATE INDEX rate_limit_buckets_theoretical_arrival_idx ON rate_limit_buckets (theoretical_arrival);
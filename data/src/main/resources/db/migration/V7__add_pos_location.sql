@@ -0,0 +1,5 @@
+-- Location of a POS in degrees (WGS 84), set when it is imported from OpenStreetMap: the location of the node, or
+-- the centroid of a way or relation. Null for POS created via the API without a location.
+ALTER TABLE pos
+    ADD COLUMN latitude double precision CHECK (latitude BETWEEN -90 AND 90),
+    ADD COLUMN longitude double precision CHECK (longitude BETWEEN -180 AND 180);
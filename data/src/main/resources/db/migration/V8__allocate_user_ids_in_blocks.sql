@@ -0,0 +1,3 @@
+-- User IDs are allocated in blocks of 50 (see UserEntity.ID_ALLOCATION_SIZE): each call of the sequence reserves
+-- the 50 IDs up to its value, so that a JDBC batch of inserts needs one sequence call instead of one per user.
+ALTER SEQUENCE user_seq INCREMENT BY 50;
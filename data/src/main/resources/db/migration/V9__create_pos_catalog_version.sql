@@ -0,0 +1,26 @@
+-- Version of the POS catalog, shared by all instances (see PosDataServiceImpl.getCatalogVersion): every transaction
+-- that writes POS increments it when it commits, so a new version becomes visible together with the changes.
+-- The trigger is deferred to the end of the transaction, so the row is only locked while committing; otherwise two
+-- transactions writing several POS could deadlock on it.
+CREATE TABLE pos_catalog (
+    id boolean NOT NULL PRIMARY KEY DEFAULT true CHECK (id), -- a single row
+    version bigint NOT NULL
+);
+
+INSERT INTO pos_catalog (version) VALUES (1);
+
+-- increments the version once per transaction, however many POS it wrote (the setting is local to the transaction)
+CREATE FUNCTION increment_pos_catalog_version() RETURNS trigger AS $$
+BEGIN
+    IF current_setting('pos_catalog.incremented', true) IS DISTINCT FROM 'true' THEN
+        UPDATE pos_catalog SET version = version + 1;
+        PERFORM set_config('pos_catalog.incremented', 'true', true);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE CONSTRAINT TRIGGER pos_catalog_version_trigger
+    AFTER INSERT OR UPDATE OR DELETE ON pos
+    DEFERRABLE INITIALLY DEFERRED
+    FOR EACH ROW EXECUTE FUNCTION increment_pos_catalog_version();
@@ -0,0 +1,65 @@
+package de.seuhd.campuscoffee.data.client;
+
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OsmFetchSchedulerTest {
+    private static final Duration OPEN_DURATION = Duration.ofMillis(100);
+
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final OsmFetchScheduler osmFetchScheduler = new OsmFetchScheduler(new OsmApiProperties(
+            "http://localhost", new OsmApiProperties.Fetch(100.0, 10, 4, 0, Duration.ofMillis(10),
+            Duration.ofSeconds(1), 1, OPEN_DURATION),
+            new OsmApiProperties.Http(Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(1), 10, 10,
+                    Duration.ofMinutes(1), Duration.ofSeconds(30)),
+            new OsmApiProperties.NegativeCache(true, Duration.ofMinutes(5), 100), new OsmApiProperties.Area(0.01)));
+
+    @AfterEach
+    void afterEach() {
+        osmFetchScheduler.close();
+    }
+
+    @Test
+    void failedTrialRequestReopensTheCircuit() throws InterruptedException {
+        Request request = Request.create(Request.HttpMethod.GET, "http://localhost/node/1", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        assertThrows(ServiceUnavailableException.class, () -> execute(() -> {
+            throw new FeignException.ServiceUnavailable("Service Unavailable", request, null, Map.of());
+        }));
+        assertThrows(ServiceUnavailableException.class, () -> execute(() -> "rejected"));
+        assertThat(requestCount.get()).isEqualTo(1);
+
+        // the trial request fails with an exception that is not a response of the API
+        Thread.sleep(OPEN_DURATION.toMillis() + 50);
+        assertThrows(IllegalStateException.class, () -> execute(() -> {
+            throw new IllegalStateException("unexpected response");
+        }));
+        assertThrows(ServiceUnavailableException.class, () -> execute(() -> "rejected"));
+        assertThat(requestCount.get()).isEqualTo(2);
+
+        // the next trial request is let through and closes the circuit
+        Thread.sleep(OPEN_DURATION.toMillis() + 50);
+        assertThat(execute(() -> "trial")).isEqualTo("trial");
+        assertThat(execute(() -> "closed")).isEqualTo("closed");
+        assertThat(requestCount.get()).isEqualTo(4);
+    }
+
+    private String execute(Supplier<String> request) {
+        return osmFetchScheduler.execute("node 1", () -> {
+            requestCount.incrementAndGet();
+            return request.get();
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserPage;
+import de.seuhd.campuscoffee.domain.model.UserSortKey;
+import de.seuhd.campuscoffee.domain.ports.UserDataService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the tests of the in-memory user data service against the compact store, plus its recovery from the journal.
+ */
+public class CompactUserDataServiceTest extends UserDataServiceTest {
+    @TempDir
+    private Path directory;
+
+    @Override
+    UserDataService createUserDataService() {
+        return new CompactUserDataServiceImpl();
+    }
+
+    @Test
+    void sharedNamesAreStoredOnce() {
+        CompactUserDataServiceImpl store = new CompactUserDataServiceImpl();
+        List<User> users = IntStream.range(0, 1_000).mapToObj(i -> store.upsert(User.builder()
+                .loginName("user" + i)
+                .emailAddress("user" + i + "@example.com")
+                .firstName(i % 2 == 0 ? "Jane" : "John")
+                .lastName("Doe" + (i % 10))
+                .build())).toList();
+        assertThat(store.nameCount()).isEqualTo(12);
+
+        // a name is released with its last user
+        users.stream().filter(user -> user.lastName().equals("Doe7")).forEach(user -> store.delete(user.id()));
+        store.upsert(users.getFirst().toBuilder().firstName("Janet").build());
+        assertThat(store.nameCount()).isEqualTo(12);
+    }
+
+    @Test
+    void storeIsRecoveredFromSnapshotsAndLog() {
+        // small log segments, so that snapshots of the store are written while users are created
+        UserStoreProperties properties = new UserStoreProperties("compact", new UserStoreProperties.Journal(
+                true, directory, DataSize.ofKilobytes(4), Duration.ofMillis(10), Duration.ofHours(1)));
+        List<User> users;
+        try (CompactUserDataServiceImpl store = new CompactUserDataServiceImpl(properties)) {
+            IntStream.range(0, 300).forEach(i -> store.upsert(User.builder()
+                    .loginName("user" + i)
+                    .emailAddress("user" + i + "@example.com")
+                    .firstName("Jane")
+                    .lastName("Doe")
+                    .build()));
+            store.delete(store.getByLoginName("user7").id());
+            users = store.getAll();
+        }
+
+        try (CompactUserDataServiceImpl store = new CompactUserDataServiceImpl(properties)) {
+            assertThat(store.getAll()).containsExactlyInAnyOrderElementsOf(users);
+            assertThat(store.getByEmailAddress("USER42@example.com").loginName()).isEqualTo("user42");
+            assertThat(store.upsert(users.getFirst().toBuilder().id(null).loginName("new").emailAddress("new@example.com")
+                    .build()).id()).isEqualTo(301L);
+        }
+    }
+
+    @Test
+    void failedBatchIsNeitherAppliedNorJournaled() {
+        UserStoreProperties properties = new UserStoreProperties("compact", new UserStoreProperties.Journal(
+                true, directory, DataSize.ofMegabytes(1), Duration.ofMillis(10), Duration.ofHours(1)));
+        User jane;
+        try (CompactUserDataServiceImpl store = new CompactUserDataServiceImpl(properties)) {
+            jane = store.upsert(user("jane", "Jane"));
+            assertThrows(DuplicationException.class, () -> store.upsertAll(List.of(
+                    user("max", "Mustermann"),
+                    jane.toBuilder().loginName("jane.doe").build(),
+                    user("jane.doe", "Doe"))));
+            // the new user of the failed batch did not take an ID
+            assertThat(store.upsert(user("john", "Doe")).id()).isEqualTo(jane.id() + 1);
+        }
+
+        try (CompactUserDataServiceImpl store = new CompactUserDataServiceImpl(properties)) {
+            assertThat(store.getAll()).extracting(User::loginName).containsExactlyInAnyOrder("jane", "john");
+            assertThat(store.getById(jane.id())).isEqualTo(jane);
+        }
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void pagesAreServedWhileUsersAreWrittenContinuously() throws InterruptedException {
+        CompactUserDataServiceImpl store = new CompactUserDataServiceImpl();
+        store.upsertAll(IntStream.range(0, 1_000)
+                .mapToObj(i -> user("user" + (i * 7919 % 1_000), "Doe" + (i * 31 % 97)))
+                .toList());
+        User writer = store.upsert(user("writer", "Writer"));
+
+        // every write invalidates the sort orders, so every page request rebuilds its order
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread writes = Thread.ofPlatform().start(() -> {
+            for (int i = 0; !stop.get(); i++) {
+                store.upsert(writer.toBuilder().lastName("Writer" + i).build());
+            }
+        });
+        try {
+            for (int i = 0; i < 200; i++) {
+                UserSortKey sortKey = i % 2 == 0 ? UserSortKey.LOGIN_NAME : UserSortKey.LAST_NAME;
+                UserPage page = store.getPage(sortKey, null, null, 2_000);
+                assertThat(page.users()).hasSize(1_001);
+                assertThat(page.users()).isSortedAccordingTo(sortKey == UserSortKey.LOGIN_NAME
+                        ? Comparator.comparing(User::loginName)
+                        : Comparator.comparing(User::lastName).thenComparing(User::id));
+            }
+        } finally {
+            stop.set(true);
+            writes.join();
+        }
+    }
+
+    private static User user(String loginName, String lastName) {
+        return User.builder()
+                .loginName(loginName)
+                .emailAddress(loginName + "@example.com")
+                .firstName("Jane")
+                .lastName(lastName)
+                .build();
+    }
+}
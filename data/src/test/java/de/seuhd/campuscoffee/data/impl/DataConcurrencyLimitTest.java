@@ -0,0 +1,81 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DataConcurrencyLimitTest {
+    private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, 2);
+
+    @Test
+    void callsBeyondTheLimitAreShed() throws Exception {
+        PosDataService target = mock(PosDataService.class);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch unblocked = new CountDownLatch(1);
+        when(target.getAll()).thenAnswer(invocation -> {
+            started.countDown();
+            unblocked.await();
+            return List.of();
+        });
+        PosDataService posDataService = limited(target);
+
+        CompletableFuture<?> first = CompletableFuture.runAsync(posDataService::getAll);
+        CompletableFuture<?> second = CompletableFuture.runAsync(posDataService::getAll);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // both permits are taken by reads; writes may only use 80% of the limit
+        assertThatThrownBy(posDataService::getAll).isInstanceOf(ServiceUnavailableException.class);
+        assertThatThrownBy(() -> posDataService.delete(1L)).isInstanceOf(ServiceUnavailableException.class);
+        assertThat(limiter.getRejected(Priority.HIGH)).isEqualTo(1);
+
+        unblocked.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        posDataService.delete(1L);
+        verify(target).delete(1L);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void onlyTheDataServicesBackedByTheDatabaseAreLimited() {
+        // the application wraps the beans that the advice selects
+        assertThat(isDatabaseStore(mock(PosDataServiceImpl.class))).isTrue();
+        assertThat(isDatabaseStore(mock(JpaUserDataServiceImpl.class))).isTrue();
+        assertThat(isDatabaseStore(mock(UserDataServiceImpl.class))).isFalse();
+        assertThat(isDatabaseStore(mock(CompactUserDataServiceImpl.class))).isFalse();
+    }
+
+    @Test
+    void readsHavePriority() {
+        assertThat(DataConcurrencyLimitConfig.DataConcurrencyLimiter.priority("getById"))
+                .isEqualTo(Priority.HIGH);
+        assertThat(DataConcurrencyLimitConfig.DataConcurrencyLimiter.priority("upsertAll"))
+                .isEqualTo(Priority.NORMAL);
+    }
+
+    private PosDataService limited(PosDataService target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.setInterfaces(PosDataService.class);
+        proxyFactory.addAdvice(new DataConcurrencyLimitConfig.DataConcurrencyLimiter(limiter));
+        return (PosDataService) proxyFactory.getProxy();
+    }
+
+    private boolean isDatabaseStore(Object bean) {
+        return new DataConcurrencyLimitConfig.DataConcurrencyLimiter(limiter).matches(AopUtils.getTargetClass(bean));
+    }
+}
@@ -0,0 +1,103 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.data.mapper.UserEntityMapper;
+import de.seuhd.campuscoffee.data.persistence.UserEntity;
+import de.seuhd.campuscoffee.data.persistence.UserRepository;
+import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.ports.UserDataService;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the tests of the in-memory user data service against the database store (PostgreSQL in a container, schema
+ * from the Flyway migrations), so that the translation of constraint violations, the native queries, and the
+ * normalization of email addresses are checked against the database. Skipped if Docker is not available.
+ */
+@DataJpaTest(properties = {
+        "users.store.type=jpa",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // each write commits, as some tests write from other threads
+@Testcontainers(disabledWithoutDocker = true)
+public class JpaUserDataServiceTest extends UserDataServiceTest {
+    @Container
+    @ServiceConnection
+    @SuppressWarnings("resource")
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:17-alpine"));
+
+    @Autowired
+    private UserDataService jpaUserDataService;
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = UserEntity.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    @ComponentScan(basePackageClasses = UserEntityMapper.class)
+    @Import(JpaUserDataServiceImpl.class)
+    static class Config {
+    }
+
+    @Override
+    UserDataService createUserDataService() {
+        jpaUserDataService.clear(); // the table is shared by all tests
+        return jpaUserDataService;
+    }
+
+    @Test
+    void batchesAllocateIdsInBlocks() {
+        List<User> users = jpaUserDataService.upsertAll(IntStream.range(0, 120)
+                .mapToObj(i -> User.builder()
+                        .loginName("user" + i)
+                        .emailAddress("user" + i + "@example.com")
+                        .firstName("Jane")
+                        .lastName("Doe")
+                        .build())
+                .toList());
+
+        // consecutive IDs from at most four blocks of the sequence
+        assertThat(users).extracting(User::id).doesNotHaveDuplicates().isSorted();
+        assertThat(users.getLast().id() - users.getFirst().id())
+                .isLessThan(users.size() + 2L * UserEntity.ID_ALLOCATION_SIZE);
+    }
+
+    @Override
+    @Test
+    @Disabled("200,000 single-user transactions take minutes; the test checks the cost of the in-memory indexes")
+    void bulkCreationTakesLinearTime() {
+    }
+
+    @Override
+    @Test
+    @Disabled("tens of thousands of single-user transactions exceed the timeout of the test")
+    void concurrentCreatesWithSameKeysHaveSingleWinner() {
+    }
+
+    @Override
+    @Test
+    @Disabled("tens of thousands of single-user transactions exceed the timeout of the test")
+    void concurrentUpdatesAndDeletesKeepIndexesConsistent() {
+    }
+}
@@ -0,0 +1,465 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import de.seuhd.campuscoffee.data.client.OsmApiProperties;
+import de.seuhd.campuscoffee.data.client.OsmFeignClient;
+import de.seuhd.campuscoffee.data.client.OsmFeignClientConfig;
+import de.seuhd.campuscoffee.data.client.OsmFetchScheduler;
+import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
+import de.seuhd.campuscoffee.domain.model.OsmAmenity;
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+import de.seuhd.campuscoffee.domain.model.OsmFetchFailure;
+import de.seuhd.campuscoffee.domain.model.OsmFetchFailureReason;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import feign.Feign;
+import feign.Retryer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the OSM data service and its fetch scheduler against a local stub of the OSM API.
+ */
+public class OsmDataServiceTest {
+    private static final long NODE_ID = 5589879349L;
+    private static final String NODE_XML = """
+            <osm version="0.6">
+              <node id="5589879349" lat="49.4122" lon="8.7062">
+                <tag k="addr:city" v="Heidelberg"/>
+                <tag k="addr:housenumber" v="142"/>
+                <tag k="addr:postcode" v="69117"/>
+                <tag k="addr:street" v="Untere Straße"/>
+                <tag k="amenity" v="cafe"/>
+                <tag k="name" v="Rada Coffee &amp; Rösterei"/>
+              </node>
+            </osm>
+            """;
+    private static final String MAP_XML = """
+            <osm version="0.6">
+              <bounds minlat="49.4100" minlon="8.6900" maxlat="49.4200" maxlon="8.7100"/>
+              <node id="5589879349" lat="49.4122" lon="8.7062">
+                <tag k="addr:city" v="Heidelberg"/>
+                <tag k="addr:housenumber" v="142"/>
+                <tag k="addr:postcode" v="69117"/>
+                <tag k="addr:street" v="Untere Straße"/>
+                <tag k="amenity" v="cafe"/>
+                <tag k="name" v="Rada Coffee &amp; Rösterei"/>
+              </node>
+              <node id="1" lat="49.4110" lon="8.6950">
+                <tag k="amenity" v="bench"/>
+              </node>
+              <node id="2" lat="49.4111" lon="8.6951">
+                <tag k="amenity" v="restaurant"/>
+                <tag k="name" v="Restaurant ohne Adresse"/>
+              </node>
+              <node id="3" lat="49.4112" lon="8.6952"/>
+              <way id="4">
+                <nd ref="1"/>
+                <tag k="amenity" v="cafe"/>
+              </way>
+            </osm>
+            """;
+
+    private static final String WAY_XML = """
+            <osm version="0.6">
+              <node id="11" lat="49.4100" lon="8.6900"/>
+              <node id="12" lat="49.4100" lon="8.6904"/>
+              <node id="13" lat="49.4102" lon="8.6904"/>
+              <node id="14" lat="49.4102" lon="8.6900"/>
+              <way id="100">
+                <nd ref="11"/>
+                <nd ref="12"/>
+                <nd ref="13"/>
+                <nd ref="14"/>
+                <nd ref="11"/>
+                <tag k="addr:city" v="Heidelberg"/>
+                <tag k="addr:housenumber" v="1"/>
+                <tag k="addr:postcode" v="69120"/>
+                <tag k="addr:street" v="Im Neuenheimer Feld"/>
+                <tag k="amenity" v="cafe"/>
+                <tag k="building" v="yes"/>
+                <tag k="name" v="Campus Café"/>
+              </way>
+            </osm>
+            """;
+    // multipolygon with a 4x4 outer ring and a 2x2 hole in its south-west corner (in units of 0.0001 degrees)
+    private static final String RELATION_XML = """
+            <osm version="0.6">
+              <node id="21" lat="49.4100" lon="8.6900"/>
+              <node id="22" lat="49.4100" lon="8.6904"/>
+              <node id="23" lat="49.4104" lon="8.6904"/>
+              <node id="24" lat="49.4104" lon="8.6900"/>
+              <node id="25" lat="49.4100" lon="8.6902"/>
+              <node id="26" lat="49.4102" lon="8.6902"/>
+              <node id="27" lat="49.4102" lon="8.6900"/>
+              <way id="201">
+                <nd ref="21"/>
+                <nd ref="22"/>
+                <nd ref="23"/>
+                <nd ref="24"/>
+                <nd ref="21"/>
+                <tag k="building" v="yes"/>
+              </way>
+              <way id="202">
+                <nd ref="21"/>
+                <nd ref="25"/>
+                <nd ref="26"/>
+                <nd ref="27"/>
+                <nd ref="21"/>
+              </way>
+              <relation id="200">
+                <member type="way" ref="201" role="outer"/>
+                <member type="way" ref="202" role="inner"/>
+                <tag k="addr:city" v="Heidelberg"/>
+                <tag k="addr:housenumber" v="2"/>
+                <tag k="addr:postcode" v="69117"/>
+                <tag k="addr:street" v="Grabengasse"/>
+                <tag k="amenity" v="restaurant"/>
+                <tag k="name" v="Mensa"/>
+                <tag k="type" v="multipolygon"/>
+              </relation>
+            </osm>
+            """;
+
+    private HttpServer server;
+    private final Deque<Integer> plannedStatusCodes = new ArrayDeque<>();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger mapRequestCount = new AtomicInteger();
+    private final AtomicInteger fullRequestCount = new AtomicInteger();
+    private final AtomicInteger gzipResponseCount = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private volatile int defaultStatusCode = 200;
+    private volatile String nodeXml = NODE_XML;
+    private volatile CountDownLatch nodeResponseGate = new CountDownLatch(0);
+    private CloseableHttpClient httpClient;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void beforeEach() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/node/", exchange -> {
+            requestCount.incrementAndGet();
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            try {
+                nodeResponseGate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Integer planned;
+            synchronized (plannedStatusCodes) {
+                planned = plannedStatusCodes.poll();
+            }
+            int status = planned != null ? planned : defaultStatusCode;
+            byte[] body = (status == 200 ? nodeXml : "error").getBytes(StandardCharsets.UTF_8);
+            String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                gzipResponseCount.incrementAndGet();
+                body = gzip(body);
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.createContext("/map", exchange -> {
+            mapRequestCount.incrementAndGet();
+            byte[] body = MAP_XML.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.createContext("/way/", exchange -> respondFull(exchange, "/way/100/full", WAY_XML));
+        server.createContext("/relation/", exchange -> respondFull(exchange, "/relation/200/full", RELATION_XML));
+        server.start();
+    }
+
+    @AfterEach
+    void afterEach() throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void transientErrorsAreRetried() {
+        plannedStatusCodes.addAll(List.of(503, 429));
+        OsmDataServiceImpl osmDataService = createService(fetchProperties(100.0, 10, 3, 5));
+
+        OsmNode node = osmDataService.fetchNode(NODE_ID);
+
+        assertThat(node.nodeId()).isEqualTo(NODE_ID);
+        assertThat(node.amenity()).isEqualTo(OsmAmenity.CAFE);
+        assertThat(node.postcode()).isEqualTo("69117");
+        assertThat(requestCount.get()).isEqualTo(3);
+        // every attempt is counted by its status code
+        assertThat(meterRegistry.get("osm.fetch.responses").counters())
+                .extracting(counter -> counter.getId().getTag("status"), Counter::count)
+                .containsExactlyInAnyOrder(tuple("503", 1.0), tuple("429", 1.0), tuple("200", 1.0));
+    }
+
+    @Test
+    void notFoundIsNotRetried() {
+        defaultStatusCode = 404;
+        OsmDataServiceImpl osmDataService = createService(fetchProperties(100.0, 10, 3, 5));
+
+        assertThrows(NotFoundException.class, () -> osmDataService.fetchNode(NODE_ID));
+        assertThat(requestCount.get()).isEqualTo(1);
+    }
+
+    @Test
+    void notFoundIsCachedUntilEvicted() {
+        defaultStatusCode = 404;
+        OsmDataServiceImpl osmDataService = createService(fetchProperties(100.0, 10, 3, 5));
+
+        assertThat(assertThrows(NotFoundException.class, () -> osmDataService.fetchNode(NODE_ID)).isExpected())
+                .isFalse();
+        // repeated misses are expected and thrown without stack trace
+        assertThat(assertThrows(NotFoundException.class, () -> osmDataService.fetchNode(NODE_ID)).isExpected())
+                .isTrue();
+        assertThat(requestCount.get()).isEqualTo(1);
+        assertThat(osmDataService.getCachedFailures())
+                .extracting(OsmFetchFailure::elementId, OsmFetchFailure::reason)
+                .containsExactly(tuple(NODE_ID, OsmFetchFailureReason.NOT_FOUND));
+
+        // after the node was fixed in OSM, purging the entry makes the next fetch contact the API again
+        defaultStatusCode = 200;
+        osmDataService.evictCachedFailure(OsmElementType.NODE, NODE_ID);
+        assertThat(osmDataService.fetchNode(NODE_ID).nodeId()).isEqualTo(NODE_ID);
+        assertThat(requestCount.get()).isEqualTo(2);
+        assertThrows(NotFoundException.class, () -> osmDataService.evictCachedFailure(OsmElementType.NODE, NODE_ID));
+    }
+
+    @Test
+    void missingTagIsCachedWithSameError() {
+        nodeXml = NODE_XML.replace("<tag k=\"addr:postcode\" v=\"69117\"/>", "");
+        OsmDataServiceImpl osmDataService = createService(fetchProperties(100.0, 10, 3, 5));
+
+        MissingFieldException first = assertThrows(MissingFieldException.class,
+                () -> osmDataService.fetchNode(NODE_ID));
+        MissingFieldException second = assertThrows(MissingFieldException.class,
+                () -> osmDataService.fetchNode(NODE_ID));
+
+        assertThat(second.getMessage()).isEqualTo(first.getMessage());
+        assertThat(requestCount.get()).isEqualTo(1);
+        OsmFetchFailure failure = osmDataService.getCachedFailures().getFirst();
+        assertThat(failure.reason()).isEqualTo(OsmFetchFailureReason.MISSING_TAG);
+        assertThat(failure.detail()).isEqualTo("addr:postcode");
+        assertThat(osmDataService.clearCachedFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void circuitOpensAfterRepeatedFailures() {
+        defaultStatusCode = 500;
+        OsmDataServiceImpl osmDataService = createService(fetchProperties(100.0, 10, 1, 2));
+
+        // two attempts (one retry) exhaust the failure threshold
+        assertThrows(ServiceUnavailableException.class, () -> osmDataService.fetchNode(NODE_ID));
+        assertThat(requestCount.get()).isEqualTo(2);
+
+        // the open circuit rejects further requests without contacting the API
+        assertThrows(ServiceUnavailableException.class, () -> osmDataService.fetchNode(NODE_ID));
+        assertThat(requestCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void requestsAreRateLimited() {
+        OsmDataServiceImpl osmDataService = createService(fetchProperties(20.0, 1, 0, 5));
+
+        long start = System.nanoTime();
+        List<CompletableFuture<OsmNode>> futures = IntStream.range(0, 5)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> osmDataService.fetchNode(NODE_ID + i)))
+                .toList();
+        futures.forEach(CompletableFuture::join);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // five requests at 20 requests per second without burst take at least four emission intervals
+        assertThat(requestCount.get()).isEqualTo(5);
+        assertThat(elapsed).isGreaterThanOrEqualTo(Duration.ofMillis(190));
+    }
+
+    @Test
+    void concurrentFetchesOfTheSameNodeAreCoalesced() throws Exception {
+        OsmDataServiceImpl osmDataService = createService(fetchProperties(100.0, 10, 0, 5));
+        nodeResponseGate = new CountDownLatch(1);
+
+        List<CompletableFuture<OsmNode>> futures = IntStream.range(0, 5)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> osmDataService.fetchNode(NODE_ID)))
+                .toList();
+        // hold the response until all other fetches joined the one in flight
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescedFetches() < 4 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        nodeResponseGate.countDown();
+
+        assertThat(futures).allSatisfy(future -> assertThat(future.get(5, TimeUnit.SECONDS).nodeId())
+                .isEqualTo(NODE_ID));
+        assertThat(requestCount.get()).isEqualTo(1);
+        assertThat(coalescedFetches()).isEqualTo(4);
+
+        // a later fetch is not coalesced with a completed one
+        osmDataService.fetchNode(NODE_ID);
+        assertThat(requestCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    void connectionsAreReusedAndResponsesDecompressed() {
+        OsmDataServiceImpl osmDataService = createService(fetchProperties(100.0, 10, 0, 5));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(osmDataService.fetchNode(NODE_ID).name()).isEqualTo("Rada Coffee & Rösterei");
+        }
+
+        // all requests negotiated gzip and were sent over the same kept-alive connection
+        assertThat(gzipResponseCount.get()).isEqualTo(3);
+        assertThat(clientPorts).hasSize(1);
+    }
+
+    @Test
+    void areaIsFetchedInTilesAndMerged() {
+        OsmDataServiceImpl osmDataService = createService(fetchProperties(100.0, 10, 0, 5));
+        BoundingBox area = new BoundingBox(8.69, 49.41, 8.71, 49.42);
+
+        List<OsmNode> nodes = osmDataService.fetchNodesInArea(area);
+
+        // two tiles returned the same node, which is merged; unsupported and incomplete nodes are dropped
+        assertThat(mapRequestCount.get()).isEqualTo(2);
+        assertThat(nodes)
+                .extracting(OsmNode::nodeId, OsmNode::name)
+                .containsExactly(tuple(NODE_ID, "Rada Coffee & Rösterei"));
+        assertThat(osmDataService.getCachedFailures())
+                .extracting(OsmFetchFailure::elementId, OsmFetchFailure::reason)
+                .containsExactly(tuple(2L, OsmFetchFailureReason.MISSING_TAG));
+    }
+
+    @Test
+    void wayIsFetchedWithSingleRequestAndLocatedAtCentroid() {
+        OsmDataServiceImpl osmDataService = createService(fetchProperties(100.0, 10, 0, 5));
+
+        OsmNode way = osmDataService.fetchElement(OsmElementType.WAY, 100L);
+
+        assertThat(fullRequestCount.get()).isEqualTo(1);
+        assertThat(requestCount.get()).isZero();
+        assertThat(way.elementType()).isEqualTo(OsmElementType.WAY);
+        assertThat(way.name()).isEqualTo("Campus Café");
+        assertThat(way.latitude()).isCloseTo(49.4101, within(1e-9));
+        assertThat(way.longitude()).isCloseTo(8.6902, within(1e-9));
+    }
+
+    @Test
+    void relationCentroidExcludesInnerRings() {
+        OsmDataServiceImpl osmDataService = createService(fetchProperties(100.0, 10, 0, 5));
+
+        OsmNode relation = osmDataService.fetchElement(OsmElementType.RELATION, 200L);
+
+        // (16 * 2 - 4 * 1) / (16 - 4) = 7/3 units of 0.0001 degrees from the south-west corner
+        assertThat(fullRequestCount.get()).isEqualTo(1);
+        assertThat(relation.amenity()).isEqualTo(OsmAmenity.RESTAURANT);
+        assertThat(relation.name()).isEqualTo("Mensa");
+        assertThat(relation.latitude()).isCloseTo(49.4100 + 0.0007 / 3, within(1e-9));
+        assertThat(relation.longitude()).isCloseTo(8.6900 + 0.0007 / 3, within(1e-9));
+    }
+
+    @Test
+    void unknownWayIsCachedSeparatelyFromNodes() {
+        OsmDataServiceImpl osmDataService = createService(fetchProperties(100.0, 10, 0, 5));
+
+        assertThrows(NotFoundException.class, () -> osmDataService.fetchElement(OsmElementType.WAY, NODE_ID));
+        assertThrows(NotFoundException.class, () -> osmDataService.fetchElement(OsmElementType.WAY, NODE_ID));
+
+        // the node with the same ID is not affected by the cached failure of the way
+        assertThat(fullRequestCount.get()).isEqualTo(1);
+        assertThat(osmDataService.getCachedFailures())
+                .extracting(OsmFetchFailure::elementType, OsmFetchFailure::elementId)
+                .containsExactly(tuple(OsmElementType.WAY, NODE_ID));
+        assertThat(osmDataService.fetchNode(NODE_ID).latitude()).isEqualTo(49.4122);
+    }
+
+    private void respondFull(HttpExchange exchange, String path, String xml) throws IOException {
+        fullRequestCount.incrementAndGet();
+        boolean found = exchange.getRequestURI().getPath().endsWith(path);
+        byte[] body = (found ? xml : "not found").getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(found ? 200 : 404, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private OsmDataServiceImpl createService(OsmApiProperties.Fetch fetchProperties) {
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        OsmApiProperties osmApiProperties = new OsmApiProperties(baseUrl, fetchProperties, httpProperties(),
+                new OsmApiProperties.NegativeCache(true, Duration.ofMinutes(5), 100), new OsmApiProperties.Area(0.01));
+        OsmFeignClientConfig config = new OsmFeignClientConfig();
+        httpClient = config.osmHttpClient(config.osmConnectionManager(osmApiProperties), osmApiProperties);
+        OsmFeignClient osmFeignClient = Feign.builder()
+                .client(config.osmFeignHttpClient(httpClient))
+                .options(config.osmRequestOptions(osmApiProperties))
+                .contract(new SpringMvcContract())
+                .retryer(Retryer.NEVER_RETRY)
+                .target(OsmFeignClient.class, baseUrl);
+        OsmFetchScheduler osmFetchScheduler = new OsmFetchScheduler(osmApiProperties);
+        osmFetchScheduler.bindTo(meterRegistry);
+        OsmDataServiceImpl osmDataService = new OsmDataServiceImpl(osmFeignClient, osmFetchScheduler,
+                new OsmNegativeCache(osmApiProperties), osmApiProperties);
+        osmDataService.bindTo(meterRegistry);
+        return osmDataService;
+    }
+
+    private static OsmApiProperties.Http httpProperties() {
+        return new OsmApiProperties.Http(Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(1),
+                10, 10, Duration.ofMinutes(1), Duration.ofSeconds(30));
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(bytes)) {
+            gzipOutputStream.write(data);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static OsmApiProperties.Fetch fetchProperties(double requestsPerSecond, int burstCapacity,
+                                                         int maxRetries, int failureThreshold) {
+        return new OsmApiProperties.Fetch(requestsPerSecond, burstCapacity, 4, maxRetries,
+                Duration.ofMillis(10), Duration.ofSeconds(1), failureThreshold, Duration.ofMinutes(1));
+    }
+
+    private double coalescedFetches() {
+        return meterRegistry.get("singleflight.calls").tag("operation", "osm.fetch").tag("outcome", "coalesced")
+                .functionCounter().count();
+    }
+}
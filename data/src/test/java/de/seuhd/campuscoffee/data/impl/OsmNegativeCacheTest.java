@@ -0,0 +1,56 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.data.client.OsmApiProperties;
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+import de.seuhd.campuscoffee.domain.model.OsmFetchFailure;
+import de.seuhd.campuscoffee.domain.model.OsmFetchFailureReason;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the eviction of the {@link OsmNegativeCache} when it is full.
+ */
+public class OsmNegativeCacheTest {
+    private final OsmNegativeCache cache = new OsmNegativeCache(new OsmApiProperties("http://localhost",
+            null, null, new OsmApiProperties.NegativeCache(true, Duration.ofMinutes(5), 3), null));
+
+    @Test
+    void oldestEntriesAreEvicted() {
+        for (long id = 1; id <= 5; id++) {
+            put(id);
+        }
+        assertThat(cachedIds()).containsExactly(3L, 4L, 5L);
+
+        // a replaced entry counts as new, an evicted one no longer counts
+        put(3);
+        assertThat(cache.evict(OsmElementType.NODE, 5L)).isTrue();
+        put(6);
+        put(7);
+        assertThat(cachedIds()).containsExactly(3L, 6L, 7L);
+    }
+
+    @Test
+    void clearedEntriesAreNotEvicted() {
+        for (long id = 1; id <= 3; id++) {
+            put(id);
+        }
+        assertThat(cache.clear()).isEqualTo(3);
+
+        put(4);
+        put(5);
+        put(6);
+        assertThat(cachedIds()).containsExactly(4L, 5L, 6L);
+    }
+
+    private void put(long id) {
+        cache.put(OsmElementType.NODE, id, OsmFetchFailureReason.NOT_FOUND, null);
+    }
+
+    private List<Long> cachedIds() {
+        return cache.getAll().stream().map(OsmFetchFailure::elementId).toList();
+    }
+}
@@ -0,0 +1,167 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.data.mapper.PosEntityMapper;
+import de.seuhd.campuscoffee.data.persistence.PosEntity;
+import de.seuhd.campuscoffee.data.persistence.PosRepository;
+import de.seuhd.campuscoffee.data.persistence.PosTombstoneRepository;
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosChanges;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests the POS data service against the database (PostgreSQL in a container, schema from the Flyway migrations),
+ * since the catalog version and the order of the delta sync are maintained by the database. Skipped if Docker is not
+ * available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // each write commits, like the writes of the API
+@Testcontainers(disabledWithoutDocker = true)
+public class PosDataServiceTest {
+    @Container
+    @ServiceConnection
+    @SuppressWarnings("resource")
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>(
+            DockerImageName.parse("postgres:17-alpine"));
+
+    @Autowired
+    private PosDataService posDataService;
+    @Autowired
+    private PosRepository posRepository;
+    @Autowired
+    private PosTombstoneRepository posTombstoneRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = PosEntity.class)
+    @EnableJpaRepositories(basePackageClasses = PosRepository.class)
+    @ComponentScan(basePackageClasses = PosEntityMapper.class)
+    @Import(PosDataServiceImpl.class)
+    static class Config {
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        posDataService.clear(); // the tables are shared by all tests
+    }
+
+    @Test
+    void catalogVersionIncreasesOncePerCommittedWrite() {
+        List<Pos> fixtures = TestFixtures.getPosFixturesForInsertion();
+        long version = posDataService.getCatalogVersion();
+
+        Pos pos = posDataService.upsert(fixtures.getFirst());
+        assertThat(posDataService.getCatalogVersion()).isEqualTo(version + 1);
+        posDataService.getAll();
+        assertThat(posDataService.getCatalogVersion()).isEqualTo(version + 1);
+
+        // rolled back
+        Pos duplicate = fixtures.get(1).toBuilder().name(pos.name()).build();
+        assertThatThrownBy(() -> posDataService.upsert(duplicate)).isInstanceOf(DuplicationException.class);
+        assertThat(posDataService.getCatalogVersion()).isEqualTo(version + 1);
+
+        // several writes in one transaction
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            posDataService.upsert(fixtures.get(1));
+            posDataService.upsert(fixtures.get(2));
+            posDataService.delete(pos.id());
+        });
+        assertThat(posDataService.getCatalogVersion()).isEqualTo(version + 2);
+    }
+
+    @Test
+    void catalogVersionOfOtherInstancesIsSeenAfterItsTimeToLive() throws InterruptedException {
+        Pos pos = posDataService.upsert(TestFixtures.getPosFixturesForInsertion().getFirst());
+        long version = posDataService.getCatalogVersion();
+
+        // a write of another instance, which cannot expire the version cached by this one
+        PosEntity posEntity = posRepository.findById(pos.id()).orElseThrow();
+        posEntity.setDescription("Changed by another instance");
+        posRepository.saveAndFlush(posEntity);
+        assertThat(posRepository.findCatalogVersion()).isEqualTo(version + 1);
+
+        Thread.sleep(PosDataServiceImpl.CATALOG_VERSION_TTL.toMillis() + 100);
+        assertThat(posDataService.getCatalogVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    void deltaSyncReturnsWritesCommittedAfterTheSyncStarted() throws Exception {
+        Pos pos = posDataService.upsert(TestFixtures.getPosFixturesForInsertion().getFirst());
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch synced = new CountDownLatch(1);
+
+        // a transaction that writes before a sync and commits after it, however long it takes
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    posDataService.upsert(pos.toBuilder().description("Committed after the sync").build());
+                    written.countDown();
+                    try {
+                        assertThat(synced.await(5, TimeUnit.SECONDS)).isTrue();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+        PosChanges fullSync = posDataService.getChanges(null);
+        synced.countDown();
+        writer.get(5, TimeUnit.SECONDS);
+
+        assertThat(fullSync.full()).isTrue();
+        assertThat(fullSync.changed()).extracting(Pos::description).containsExactly(pos.description());
+        PosChanges deltaSync = posDataService.getChanges(fullSync.next());
+        assertThat(deltaSync.full()).isFalse();
+        assertThat(deltaSync.changed()).extracting(Pos::description).containsExactly("Committed after the sync");
+        assertThat(posDataService.getChanges(deltaSync.next()).changed()).isEmpty();
+    }
+
+    @Test
+    void tokensOlderThanThePurgedTombstonesGetAFullSync() {
+        List<Pos> posList = TestFixtures.getPosFixturesForInsertion().stream().map(posDataService::upsert).toList();
+        PosChanges fullSync = posDataService.getChanges(null);
+        posDataService.delete(posList.getLast().id());
+
+        PosChanges deltaSync = posDataService.getChanges(fullSync.next());
+        assertThat(deltaSync.full()).isFalse();
+        assertThat(deltaSync.deletedIds()).containsExactly(posList.getLast().id());
+
+        // the tombstone is purged, so the first token cannot report the deletion anymore
+        posTombstoneRepository.purgeDeletedBefore(LocalDateTime.now(ZoneId.of("UTC")).plusMinutes(1));
+        PosChanges resync = posDataService.getChanges(fullSync.next());
+        assertThat(resync.full()).isTrue();
+        assertThat(resync.deletedIds()).isEmpty();
+        assertThat(resync.changed()).hasSize(posList.size() - 1);
+        assertThat(posDataService.getChanges(deltaSync.next()).full()).isFalse();
+    }
+}
@@ -0,0 +1,432 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserCursor;
+import de.seuhd.campuscoffee.domain.model.UserPage;
+import de.seuhd.campuscoffee.domain.model.UserSortKey;
+import de.seuhd.campuscoffee.domain.ports.UserDataService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the in-memory user data service, its secondary and sorted indexes, and its behavior under concurrent writes.
+ */
+public class UserDataServiceTest {
+    private UserDataService userDataService;
+
+    @BeforeEach
+    void createStore() {
+        userDataService = createUserDataService();
+    }
+
+    /**
+     * Creates an empty store under test; subclasses run the same tests against the other stores.
+     */
+    UserDataService createUserDataService() {
+        return new UserDataServiceImpl();
+    }
+
+    @Test
+    void lookupsFollowUpdatesAndDeletes() {
+        User created = userDataService.upsert(user("jane", "jane@example.com"));
+
+        User updated = userDataService.upsert(created.toBuilder()
+                .loginName("jane.doe")
+                .emailAddress("jane.doe@example.com")
+                .build());
+
+        assertThat(userDataService.getByLoginName("jane.doe").id()).isEqualTo(created.id());
+        assertThat(userDataService.getByEmailAddress("jane.doe@example.com").id()).isEqualTo(created.id());
+        assertThrows(NotFoundException.class, () -> userDataService.getByLoginName("jane"));
+        assertThrows(NotFoundException.class, () -> userDataService.getByEmailAddress("jane@example.com"));
+
+        // the old keys are free again
+        userDataService.upsert(user("jane", "jane@example.com"));
+
+        userDataService.delete(updated.id());
+        assertThrows(NotFoundException.class, () -> userDataService.getByLoginName("jane.doe"));
+        assertThrows(NotFoundException.class, () -> userDataService.getByEmailAddress("jane.doe@example.com"));
+    }
+
+    @Test
+    void multiGetSkipsMissingIds() {
+        User jane = userDataService.upsert(user("jane", "jane@example.com"));
+        User john = userDataService.upsert(user("john", "john@example.com"));
+        userDataService.delete(john.id());
+
+        assertThat(userDataService.getAllById(List.of(john.id(), 4711L, jane.id())))
+                .extracting(User::id)
+                .containsExactly(jane.id());
+        assertThat(userDataService.getAllById(List.of())).isEmpty();
+    }
+
+    @Test
+    void emailAddressesAreComparedCaseInsensitively() {
+        User created = userDataService.upsert(user("jane", "Jane.Doe@Example.com"));
+
+        assertThat(userDataService.getByEmailAddress("jane.doe@example.COM").id()).isEqualTo(created.id());
+        assertThrows(DuplicationException.class,
+                () -> userDataService.upsert(user("john", "JANE.DOE@example.com")));
+        // changing only the case of the own email address is no conflict
+        assertThat(userDataService.upsert(created.toBuilder().emailAddress("jane.doe@example.com").build())
+                .emailAddress()).isEqualTo("jane.doe@example.com");
+        assertThat(userDataService.getByEmailAddress("JANE.DOE@EXAMPLE.COM").id()).isEqualTo(created.id());
+        assertThat(userDataService.getByEmailAddress(" jane.doe@example.com ").id()).isEqualTo(created.id());
+    }
+
+    @Test
+    void duplicateLoginNameIsRejectedOnUpdate() {
+        userDataService.upsert(user("jane", "jane@example.com"));
+        User john = userDataService.upsert(user("john", "john@example.com"));
+
+        assertThrows(DuplicationException.class,
+                () -> userDataService.upsert(john.toBuilder().loginName("jane").build()));
+        assertThat(userDataService.getByLoginName("john").id()).isEqualTo(john.id());
+    }
+
+    @Test
+    void duplicateInBatchIsReportedWithItsValue() {
+        userDataService.upsert(user("jane", "jane@example.com"));
+
+        assertThatThrownBy(() -> userDataService.upsertAll(List.of(
+                user("max", "max@example.com"),
+                user("jane", "other@example.com"))))
+                .isInstanceOf(DuplicationException.class)
+                .hasMessageContaining("loginName")
+                .hasMessageContaining("'jane'");
+        assertThatThrownBy(() -> userDataService.upsertAll(List.of(
+                user("max", "max@example.com"),
+                user("john", "JANE@example.com"))))
+                .isInstanceOf(DuplicationException.class)
+                .hasMessageContaining("emailAddress")
+                .message().containsIgnoringCase("'jane@example.com'");
+    }
+
+    @Test
+    void failedBatchIsRolledBack() {
+        User jane = userDataService.upsert(user("jane", "jane@example.com"));
+        User john = userDataService.upsert(user("john", "john@example.com"));
+
+        // the third user of the batch takes the new login name of the second one
+        assertThrows(DuplicationException.class, () -> userDataService.upsertAll(List.of(
+                user("max", "max@example.com"),
+                jane.toBuilder().loginName("jane.doe").build(),
+                user("jane.doe", "other@example.com"))));
+
+        assertThat(userDataService.getAll()).extracting(User::id).containsExactlyInAnyOrder(jane.id(), john.id());
+        assertThat(userDataService.getByLoginName("jane").id()).isEqualTo(jane.id());
+        assertThrows(NotFoundException.class, () -> userDataService.getByLoginName("max"));
+        assertThrows(NotFoundException.class, () -> userDataService.getByLoginName("jane.doe"));
+        assertIndexesConsistent(List.of(jane, john));
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void failedBatchesAreInvisibleAndKeepConcurrentUpdates() throws InterruptedException {
+        User jane = userDataService.upsert(user("jane", "jane@example.com"));
+        User john = userDataService.upsert(user("john", "john@example.com"));
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> lastFirstName = new AtomicReference<>(john.firstName());
+
+        runConcurrently(3, thread -> {
+            switch (thread) {
+                case 0 -> {
+                    for (int i = 0; i < 500; i++) {
+                        assertThrows(DuplicationException.class, () -> userDataService.upsertAll(List.of(
+                                john.toBuilder().loginName("john.doe").build(),
+                                user("max", "max@example.com"),
+                                user("jane", "other@example.com"))));
+                    }
+                    done.set(true);
+                }
+                case 1 -> {
+                    // readers never see a user of a failed batch
+                    while (!done.get()) {
+                        assertThrows(NotFoundException.class, () -> userDataService.getByLoginName("max"));
+                        assertThat(userDataService.getByLoginName("john").id()).isEqualTo(john.id());
+                    }
+                }
+                default -> {
+                    // updates of a user of the batch are not undone when the batch fails
+                    for (int i = 0; !done.get(); i++) {
+                        String firstName = "John " + i;
+                        userDataService.upsert(userDataService.getById(john.id()).toBuilder()
+                                .firstName(firstName).build());
+                        lastFirstName.set(firstName);
+                    }
+                }
+            }
+        });
+
+        assertThat(userDataService.getById(john.id()).firstName()).isEqualTo(lastFirstName.get());
+        assertIndexesConsistent(List.of(jane, userDataService.getById(john.id())));
+    }
+
+    @Test
+    void batchCanTakeOverKeysGivenUpInTheSameBatch() {
+        User jane = userDataService.upsert(user("jane", "jane@example.com"));
+        User john = userDataService.upsert(user("john", "john@example.com"));
+
+        List<User> written = userDataService.upsertAll(List.of(
+                jane.toBuilder().loginName("jane.doe").emailAddress("jane.doe@example.com").build(),
+                user("jane", "jane@example.com"),
+                john.toBuilder().loginName("j").build(),
+                john.toBuilder().loginName("john.doe").build()));
+
+        assertThat(written.get(1).loginName()).isEqualTo("jane");
+        assertThat(written.getLast().loginName()).isEqualTo("john.doe");
+        assertThat(userDataService.getByLoginName("jane").id()).isEqualTo(written.get(1).id());
+        assertThat(userDataService.getByEmailAddress("jane@example.com").id()).isEqualTo(written.get(1).id());
+        assertThrows(NotFoundException.class, () -> userDataService.getByLoginName("john"));
+        assertThrows(NotFoundException.class, () -> userDataService.getByLoginName("j"));
+        assertIndexesConsistent(List.of(written.getFirst(), written.get(1), written.getLast()));
+
+        // the keys given up in the batch are free again
+        userDataService.upsert(user("j", "j@example.com"));
+        userDataService.upsert(user("john", "john.smith@example.com"));
+    }
+
+    @Test
+    void pagesFollowSortOrderAndPrefix() {
+        userDataService.upsert(user("bob", "bob@example.com", "Miller"));
+        userDataService.upsert(user("anna", "anna@example.com", "Smith"));
+        userDataService.upsert(user("ben", "ben@example.com", "Schmidt"));
+        userDataService.upsert(user("carl", "carl@example.com", "Smith"));
+        userDataService.upsert(user("bea", "bea@example.com", "Meyer"));
+
+        // by login name with prefix, two users per page
+        UserPage first = userDataService.getPage(UserSortKey.LOGIN_NAME, "b", null, 2);
+        assertThat(first.users()).extracting(User::loginName).containsExactly("bea", "ben");
+        UserPage second = userDataService.getPage(UserSortKey.LOGIN_NAME, "b", first.next(), 2);
+        assertThat(second.users()).extracting(User::loginName).containsExactly("bob");
+        assertThat(second.next()).isNull();
+
+        // by last name: equal last names are ordered by ID
+        List<String> loginNames = new ArrayList<>();
+        UserCursor cursor = null;
+        do {
+            UserPage page = userDataService.getPage(UserSortKey.LAST_NAME, null, cursor, 1);
+            page.users().forEach(user -> loginNames.add(user.loginName()));
+            cursor = page.next();
+        } while (cursor != null);
+        assertThat(loginNames).containsExactly("bea", "bob", "ben", "anna", "carl");
+
+        assertThat(userDataService.getPage(UserSortKey.LAST_NAME, "Sm", null, 10).users())
+                .extracting(User::loginName).containsExactly("anna", "carl");
+        assertThat(userDataService.getPage(UserSortKey.LOGIN_NAME, "x", null, 10).users()).isEmpty();
+    }
+
+    @Test
+    void pagingContinuesAfterCursorWhenUsersChange() {
+        User anna = userDataService.upsert(user("anna", "anna@example.com", "Doe"));
+        userDataService.upsert(user("carl", "carl@example.com", "Doe"));
+        User emma = userDataService.upsert(user("emma", "emma@example.com", "Doe"));
+        UserPage first = userDataService.getPage(UserSortKey.LOGIN_NAME, null, null, 2);
+        assertThat(first.users()).extracting(User::loginName).containsExactly("anna", "carl");
+
+        // the cursor is a position, not an offset: changes before it do not shift the next page
+        userDataService.delete(anna.id());
+        userDataService.upsert(user("bert", "bert@example.com", "Doe"));
+        userDataService.upsert(emma.toBuilder().loginName("dora").build());
+        userDataService.upsert(user("fred", "fred@example.com", "Doe"));
+
+        assertThat(userDataService.getPage(UserSortKey.LOGIN_NAME, null, first.next(), 2).users())
+                .extracting(User::loginName).containsExactly("dora", "fred");
+        assertThat(userDataService.getPage(UserSortKey.LAST_NAME, "Doe", null, 10).users())
+                .extracting(User::loginName).containsExactly("carl", "dora", "bert", "fred");
+    }
+
+    @Test
+    void pagesUseBinaryOrderAndLiteralPrefixes() {
+        // sorted by code points, unlike natural-language collations, which ignore case and punctuation
+        for (String loginName : List.of("alice", "a%b", "Zed", "_x", "a_c")) {
+            userDataService.upsert(user(loginName, loginName.replaceAll("\\W", "") + "@example.com"));
+        }
+
+        assertThat(userDataService.getPage(UserSortKey.LOGIN_NAME, null, null, 10).users())
+                .extracting(User::loginName).containsExactly("Zed", "_x", "a%b", "a_c", "alice");
+        // wildcards of LIKE patterns are matched literally
+        assertThat(userDataService.getPage(UserSortKey.LOGIN_NAME, "a%", null, 10).users())
+                .extracting(User::loginName).containsExactly("a%b");
+        assertThat(userDataService.getPage(UserSortKey.LOGIN_NAME, "a_", null, 10).users())
+                .extracting(User::loginName).containsExactly("a_c");
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void bulkCreationTakesLinearTime() {
+        int count = 200_000; // quadratic uniqueness checks would take hours
+
+        for (int i = 0; i < count; i++) {
+            userDataService.upsert(user("user" + i, "user" + i + "@example.com"));
+        }
+
+        assertThat(userDataService.getAll()).hasSize(count);
+        assertThat(userDataService.getByEmailAddress("user123456@example.com").loginName()).isEqualTo("user123456");
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void concurrentCreatesWithSameKeysHaveSingleWinner() throws InterruptedException {
+        int threads = 8;
+        int names = 2_000;
+        AtomicInteger created = new AtomicInteger();
+
+        // every thread tries to create every user; login names and email addresses collide independently
+        runConcurrently(threads, thread -> {
+            for (int i = 0; i < names; i++) {
+                int emailIndex = (i + thread) % names;
+                try {
+                    userDataService.upsert(user("user" + i, "user" + emailIndex + "@example.com"));
+                    created.incrementAndGet();
+                } catch (DuplicationException e) {
+                    // expected for all but one thread
+                }
+            }
+        });
+
+        List<User> users = userDataService.getAll();
+        assertThat(users).hasSize(created.get());
+        assertThat(users).extracting(User::loginName).doesNotHaveDuplicates();
+        assertThat(users).extracting(User::emailAddress).doesNotHaveDuplicates();
+        assertIndexesConsistent(users);
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void concurrentUpdatesAndDeletesKeepIndexesConsistent() throws InterruptedException {
+        int threads = 8;
+        int userCount = 64;
+        int keySpace = 96; // more keys than users, so that renames both succeed and collide
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            ids.add(userDataService.upsert(user("name" + i, "mail" + i + "@example.com")).id());
+        }
+
+        runConcurrently(threads, thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 5_000; i++) {
+                Long id = ids.get(random.nextInt(userCount));
+                try {
+                    if (random.nextInt(100) == 0) {
+                        userDataService.delete(id);
+                    } else {
+                        User existing = userDataService.getById(id);
+                        userDataService.upsert(existing.toBuilder()
+                                .loginName("name" + random.nextInt(keySpace))
+                                .emailAddress("MAIL" + random.nextInt(keySpace) + "@example.com")
+                                .build());
+                    }
+                } catch (DuplicationException | NotFoundException e) {
+                    // expected for colliding renames and deleted users
+                }
+            }
+        });
+
+        List<User> users = userDataService.getAll();
+        assertThat(users).extracting(User::loginName).doesNotHaveDuplicates();
+        assertThat(users).extracting(User::emailAddress).doesNotHaveDuplicates();
+        assertIndexesConsistent(users);
+
+        // keys of renamed and deleted users were released: all unused keys can be taken by new users
+        Set<String> usedLoginNames = users.stream().map(User::loginName).collect(Collectors.toSet());
+        Set<String> usedEmailKeys = users.stream()
+                .map(user -> user.emailAddress().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        List<String> freeLoginNames = IntStream.range(0, keySpace).mapToObj(i -> "name" + i)
+                .filter(name -> !usedLoginNames.contains(name))
+                .toList();
+        List<String> freeEmailAddresses = IntStream.range(0, keySpace).mapToObj(i -> "mail" + i + "@example.com")
+                .filter(email -> !usedEmailKeys.contains(email))
+                .toList();
+        for (int i = 0; i < Math.min(freeLoginNames.size(), freeEmailAddresses.size()); i++) {
+            userDataService.upsert(user(freeLoginNames.get(i), freeEmailAddresses.get(i)));
+        }
+    }
+
+    /**
+     * Asserts that every user is found via both secondary indexes and exactly once when paging in both orders.
+     */
+    private void assertIndexesConsistent(List<User> users) {
+        for (User user : users) {
+            assertThat(userDataService.getByLoginName(user.loginName())).isEqualTo(user);
+            assertThat(userDataService.getByEmailAddress(user.emailAddress())).isEqualTo(user);
+        }
+        assertThat(readAllPages(UserSortKey.LOGIN_NAME))
+                .containsExactlyElementsOf(users.stream().sorted(Comparator.comparing(User::loginName)).toList());
+        assertThat(readAllPages(UserSortKey.LAST_NAME))
+                .containsExactlyElementsOf(users.stream()
+                        .sorted(Comparator.comparing(User::lastName).thenComparing(User::id))
+                        .toList());
+    }
+
+    private List<User> readAllPages(UserSortKey sortKey) {
+        List<User> users = new ArrayList<>();
+        UserCursor cursor = null;
+        do {
+            UserPage page = userDataService.getPage(sortKey, null, cursor, 7);
+            users.addAll(page.users());
+            cursor = page.next();
+        } while (cursor != null);
+        return users;
+    }
+
+    /**
+     * Runs a task on several threads that start at the same time and waits for all of them.
+     */
+    private static void runConcurrently(int threads, IntConsumer task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        List<Thread> workers = IntStream.range(0, threads)
+                .mapToObj(thread -> Thread.ofPlatform().start(() -> {
+                    try {
+                        start.await();
+                        task.accept(thread);
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                }))
+                .toList();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertThat(errors).isEmpty();
+    }
+
+    private static User user(String loginName, String emailAddress) {
+        return user(loginName, emailAddress, "Doe");
+    }
+
+    private static User user(String loginName, String emailAddress, String lastName) {
+        return User.builder()
+                .loginName(loginName)
+                .emailAddress(emailAddress)
+                .firstName("Jane")
+                .lastName(lastName)
+                .build();
+    }
+}
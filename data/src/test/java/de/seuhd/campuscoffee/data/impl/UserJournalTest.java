@@ -0,0 +1,190 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests recovery of the in-memory user store from its journal (snapshots and append-only logs).
+ */
+public class UserJournalTest {
+    @TempDir
+    private Path directory;
+
+    @Test
+    void storeIsRecoveredAfterRestart() {
+        User jane;
+        User john;
+        try (UserDataServiceImpl store = new UserDataServiceImpl(properties(DataSize.ofMegabytes(1)))) {
+            jane = store.upsert(user("jane", "jane@example.com"));
+            john = store.upsert(user("john", "john@example.com"));
+            User max = store.upsert(user("max", "max@example.com"));
+            jane = store.upsert(jane.toBuilder().loginName("jane.doe").build());
+            store.delete(max.id());
+        }
+
+        try (UserDataServiceImpl store = new UserDataServiceImpl(properties(DataSize.ofMegabytes(1)))) {
+            assertThat(store.getAll()).containsExactlyInAnyOrder(jane, john);
+            assertThat(store.getByLoginName("jane.doe")).isEqualTo(jane);
+            assertThat(store.getByEmailAddress("JOHN@example.com")).isEqualTo(john);
+            // IDs are not reused
+            assertThat(store.upsert(user("erika", "erika@example.com")).id()).isEqualTo(4L);
+        }
+    }
+
+    @Test
+    void clearIsRecovered() {
+        try (UserDataServiceImpl store = new UserDataServiceImpl(properties(DataSize.ofMegabytes(1)))) {
+            store.upsert(user("jane", "jane@example.com"));
+            store.clear();
+            store.upsert(user("john", "john@example.com"));
+        }
+
+        try (UserDataServiceImpl store = new UserDataServiceImpl(properties(DataSize.ofMegabytes(1)))) {
+            assertThat(store.getAll()).extracting(User::loginName).containsExactly("john");
+            assertThat(store.getByLoginName("john").id()).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    void concurrentClearsAndWritesAreRecoveredAsApplied() throws InterruptedException {
+        List<User> before;
+        try (UserDataServiceImpl store = new UserDataServiceImpl(properties(DataSize.ofMegabytes(16)))) {
+            AtomicBoolean writing = new AtomicBoolean(true);
+            List<Thread> writers = IntStream.range(0, 4)
+                    .mapToObj(thread -> Thread.ofPlatform().start(() -> {
+                        for (int i = 0; writing.get(); i++) {
+                            String loginName = "user" + thread + "_" + i;
+                            try {
+                                User created = store.upsert(user(loginName, loginName + "@example.com"));
+                                store.upsert(created.toBuilder().lastName("Updated").build());
+                            } catch (NotFoundException e) {
+                                // removed by a concurrent clear
+                            }
+                        }
+                    }))
+                    .toList();
+            for (int i = 0; i < 200; i++) {
+                store.clear();
+                Thread.onSpinWait();
+            }
+            writing.set(false);
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            before = store.getAll();
+            before.forEach(user -> assertThat(store.getByLoginName(user.loginName())).isEqualTo(user));
+        }
+
+        try (UserDataServiceImpl store = new UserDataServiceImpl(properties(DataSize.ofMegabytes(16)))) {
+            assertThat(store.getAll()).containsExactlyInAnyOrderElementsOf(before);
+        }
+    }
+
+    @Test
+    void snapshotAndLogTailAreRecovered() throws IOException {
+        Map<Long, User> users = new ConcurrentHashMap<>();
+        UserJournal journal = new UserJournal(properties(DataSize.ofKilobytes(4)).journal(),
+                () -> new UserJournal.State(101L, users.values())); // IDs 1 to 100 are used below
+        journal.recover();
+        for (long id = 1; id <= 100; id++) {
+            put(journal, users, user("user" + id, "user" + id + "@example.com").toBuilder().id(id).build());
+        }
+        journal.snapshot();
+        for (long id = 1; id <= 10; id++) {
+            put(journal, users, users.get(id).toBuilder().firstName("Updated").build());
+        }
+        users.remove(100L);
+        journal.appendDelete(100L);
+        journal.close();
+
+        // obsolete logs and snapshots were deleted
+        assertThat(files("snapshot")).hasSize(1);
+
+        UserJournal recovered = new UserJournal(properties(DataSize.ofKilobytes(4)).journal(), () -> null);
+        UserJournal.State state = recovered.recover();
+        recovered.close();
+        assertThat(state.users()).containsExactlyInAnyOrderElementsOf(users.values());
+        assertThat(state.nextId()).isEqualTo(101L);
+    }
+
+    @Test
+    void tornRecordAtEndOfLogIsIgnored() throws IOException {
+        try (UserDataServiceImpl store = new UserDataServiceImpl(properties(DataSize.ofMegabytes(1)))) {
+            store.upsert(user("jane", "jane@example.com"));
+        }
+        // simulate a crash while appending: a record header whose payload was not written completely
+        Path log = files("log").getLast();
+        int end = endOfRecords(log);
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(9).putInt(42).putInt(0x12345678).put((byte) 1).flip(), end);
+        }
+
+        try (UserDataServiceImpl store = new UserDataServiceImpl(properties(DataSize.ofMegabytes(1)))) {
+            assertThat(store.getAll()).extracting(User::loginName).containsExactly("jane");
+            store.upsert(user("john", "john@example.com"));
+        }
+        try (UserDataServiceImpl store = new UserDataServiceImpl(properties(DataSize.ofMegabytes(1)))) {
+            assertThat(store.getAll()).extracting(User::loginName).containsExactlyInAnyOrder("jane", "john");
+        }
+    }
+
+    private UserStoreProperties properties(DataSize segmentSize) {
+        return new UserStoreProperties("memory", new UserStoreProperties.Journal(
+                true, directory, segmentSize, Duration.ofMillis(10), Duration.ofHours(1)));
+    }
+
+    private static void put(UserJournal journal, Map<Long, User> users, User user) {
+        users.put(user.id(), user);
+        journal.appendPut(user);
+    }
+
+    private List<Path> files(String extension) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith("." + extension)).sorted().toList();
+        }
+    }
+
+    /**
+     * Returns the position after the last record of a log, i.e., where the zero-filled part of the file starts.
+     */
+    private static int endOfRecords(Path log) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(log));
+        int length;
+        while ((length = buffer.getInt(buffer.position())) > 0) {
+            buffer.position(buffer.position() + 2 * Integer.BYTES + length);
+        }
+        return buffer.position();
+    }
+
+    private static User user(String loginName, String emailAddress) {
+        Instant now = Instant.now();
+        return User.builder()
+                .createdAt(now)
+                .updatedAt(now)
+                .loginName(loginName)
+                .emailAddress(emailAddress)
+                .firstName("Jane")
+                .lastName("Doe")
+                .build();
+    }
+}
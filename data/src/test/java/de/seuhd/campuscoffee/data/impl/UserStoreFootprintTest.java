@@ -0,0 +1,67 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.ports.UserDataService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmarks the heap footprint of the in-memory user stores: the retained heap after creating the same users
+ * is measured after garbage collection. The compact store needs less than half of the memory (about 220 instead of
+ * 465 bytes per user); the assertion leaves some room for measurement noise. The heap usage depends on the JVM, so
+ * the benchmark is tagged {@code benchmark}; {@code CompactUserDataServiceTest} checks that names are shared.
+ */
+@Slf4j
+public class UserStoreFootprintTest {
+    private static final int USERS = 200_000;
+    private static final String[] FIRST_NAMES = {"Anna", "Ben", "Clara", "David", "Emma", "Felix", "Greta", "Hannah",
+            "Jonas", "Lea", "Leon", "Lina", "Luca", "Marie", "Noah", "Paul", "Sophie", "Tim"};
+
+    @Test
+    @Tag("benchmark")
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void compactStoreNeedsMuchLessMemory() {
+        long mapBased = retainedBytes(UserDataServiceImpl::new);
+        long compact = retainedBytes(CompactUserDataServiceImpl::new);
+
+        log.info("Retained heap for {} users: UserDataServiceImpl {} bytes/user, CompactUserDataServiceImpl {} bytes/user",
+                USERS, mapBased / USERS, compact / USERS);
+        assertThat(compact).isLessThan(mapBased * 6 / 10);
+    }
+
+    /**
+     * Creates a store with {@link #USERS} users and returns the heap it retains.
+     */
+    private static long retainedBytes(Supplier<UserDataService> storeFactory) {
+        long before = usedHeapAfterGc();
+        UserDataService store = storeFactory.get();
+        for (int i = 0; i < USERS; i++) {
+            store.upsert(User.builder()
+                    .loginName("user" + i)
+                    .emailAddress("user" + i + "@uni-heidelberg.de")
+                    .firstName(FIRST_NAMES[i % FIRST_NAMES.length])
+                    .lastName("Name" + (i % 5_000)) // last names are shared by about 40 users each
+                    .build());
+        }
+        long retained = usedHeapAfterGc() - before;
+        assertThat(store.getAll()).hasSize(USERS); // keeps the store reachable until it was measured
+        return retained;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -3,10 +3,38 @@ package de.seuhd.campuscoffee.domain.exceptions;
 /**
  * Generic exception thrown when an entity is missing a required field.
  * This represents a business rule violation: certain fields are mandatory.
+ * Repeated reports of a known missing field (e.g., OSM nodes in the negative cache) should use
+ * {@link #expected(Class, Long, String)}, which creates the exception without a stack trace.
  */
 public class MissingFieldException extends RuntimeException {
+    private final boolean expected;
+
     public MissingFieldException(Class<?> entityType, Long id, String fieldName) {
+        this(entityType, id, fieldName, false);
+    }
+
+    protected MissingFieldException(Class<?> entityType, Long id, String fieldName, boolean expected) {
         super(entityType.getSimpleName() + " with ID " + id + " does not have the required fields. " +
-                "Field '" + fieldName + "' is missing.");
+                "Field '" + fieldName + "' is missing.", null, !expected, !expected);
+        this.expected = expected;
+    }
+
+    /**
+     * Creates a stackless exception for a missing field that is already known.
+     *
+     * @param entityType the type of entity
+     * @param id         the ID of the entity
+     * @param fieldName  the missing field
+     * @return the exception
+     */
+    public static MissingFieldException expected(Class<?> entityType, Long id, String fieldName) {
+        return new MissingFieldException(entityType, id, fieldName, true);
+    }
+
+    /**
+     * Returns whether the exception is expected, i.e., it was created without stack trace.
+     */
+    public boolean isExpected() {
+        return expected;
     }
 }
@@ -3,8 +3,13 @@ package de.seuhd.campuscoffee.domain.exceptions;
 /**
  * Generic exception thrown when an entity is not found in the database.
  * Supports finding by ID or by a specific field name and value.
+ * <p>
+ * Lookups of missing entities are a normal case for some callers (e.g., clients with stale caches); such misses
+ * should be reported with {@link #expected(Class, Long)} or {@link #expected(Class, String, String)}, which create
+ * the exception without a stack trace.
  */
 public class NotFoundException extends RuntimeException {
+    private final boolean expected;
 
     /**
      * Creates an exception for an entity not found by ID.
@@ -13,7 +18,7 @@ public class NotFoundException extends RuntimeException {
      * @param id         the ID that was not found
      */
     public NotFoundException(Class<?> entityType, Long id) {
-        super(entityType.getSimpleName() + " with ID " + id + " does not exist.");
+        this(message(entityType, id), false);
     }
 
     /**
@@ -24,6 +29,56 @@ public class NotFoundException extends RuntimeException {
      * @param fieldValue the field value that was not found
      */
     public NotFoundException(Class<?> entityType, String fieldName, String fieldValue) {
-        super(entityType.getSimpleName() + " with " + fieldName + " '" + fieldValue + "' does not exist.");
+        this(message(entityType, fieldName, fieldValue), false);
+    }
+
+    /**
+     * Creates the exception; expected misses are created without stack trace and suppressed exceptions, since
+     * filling in the stack trace of a deep request thread costs more than the lookup itself.
+     *
+     * @param message  the message
+     * @param expected whether the miss is expected
+     */
+    protected NotFoundException(String message, boolean expected) {
+        super(message, null, !expected, !expected);
+        this.expected = expected;
+    }
+
+    /**
+     * Creates a stackless exception for an expected miss of an entity looked up by ID.
+     *
+     * @param entityType the type of entity (e.g., "Pos", "User")
+     * @param id         the ID that was not found
+     * @return the exception
+     */
+    public static NotFoundException expected(Class<?> entityType, Long id) {
+        return new NotFoundException(message(entityType, id), true);
+    }
+
+    /**
+     * Creates a stackless exception for an expected miss of an entity looked up by a specific field.
+     *
+     * @param entityType the type of entity (e.g., "Pos", "User")
+     * @param fieldName  the field name (e.g., "name", "login name")
+     * @param fieldValue the field value that was not found
+     * @return the exception
+     */
+    public static NotFoundException expected(Class<?> entityType, String fieldName, String fieldValue) {
+        return new NotFoundException(message(entityType, fieldName, fieldValue), true);
+    }
+
+    /**
+     * Returns whether the miss is expected, i.e., the exception was created without stack trace.
+     */
+    public boolean isExpected() {
+        return expected;
+    }
+
+    private static String message(Class<?> entityType, Long id) {
+        return entityType.getSimpleName() + " with ID " + id + " does not exist.";
+    }
+
+    private static String message(Class<?> entityType, String fieldName, String fieldValue) {
+        return entityType.getSimpleName() + " with " + fieldName + " '" + fieldValue + "' does not exist.";
     }
 }
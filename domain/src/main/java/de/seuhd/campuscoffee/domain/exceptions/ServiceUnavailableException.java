@@ -0,0 +1,19 @@
+package de.seuhd.campuscoffee.domain.exceptions;
+
+/**
+ * Generic exception thrown when a required service is temporarily unable to handle a request.
+ * This represents a transient condition (e.g., an external API is overloaded), not a business rule violation;
+ * clients may retry the request later.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Creates an exception for a temporarily unavailable service.
+     *
+     * @param serviceName the name of the unavailable service (e.g., "OpenStreetMap API")
+     * @param reason      a short description of why the service is unavailable
+     */
+    public ServiceUnavailableException(String serviceName, String reason) {
+        super(serviceName + " is currently unavailable: " + reason);
+    }
+}
@@ -0,0 +1,42 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.ports.BatchService;
+import de.seuhd.campuscoffee.domain.ports.TransactionDataService;
+import de.seuhd.campuscoffee.domain.ports.UserDataService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Implementation of the batch service that runs operations in a transaction of the data layer.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchServiceImpl implements BatchService {
+    private final TransactionDataService transactionDataService;
+    private final UserDataService userDataService;
+
+    @Override
+    public <T> @Nullable T executeAtomically(@NonNull Supplier<T> operations) {
+        Objects.requireNonNull(operations, "operations must not be null");
+        try {
+            T result = transactionDataService.runInTransaction(operations);
+            log.debug("Committed batch");
+            return result;
+        } catch (RuntimeException e) {
+            log.info("Rolled back batch: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean supportsUserWrites() {
+        return userDataService.isTransactional();
+    }
+}
@@ -0,0 +1,25 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration properties for asynchronous OpenStreetMap imports (prefix {@code osm.import}).
+ *
+ * @param workerThreads   number of import jobs that run concurrently
+ * @param queueCapacity   number of jobs that may wait for a worker before new submissions are rejected
+ * @param maxNodesPerJob  maximum number of elements a single job may import
+ * @param maxArea         maximum size of the area of an area import in square degrees
+ * @param retainedJobs    number of finished jobs kept in memory for later queries
+ * @param virtualThreads  whether jobs run on virtual threads (the number of concurrent jobs is still bounded)
+ */
+@ConfigurationProperties(prefix = "osm.import")
+public record OsmImportProperties(
+        @DefaultValue("2") int workerThreads,
+        @DefaultValue("20") int queueCapacity,
+        @DefaultValue("1000") int maxNodesPerJob,
+        @DefaultValue("0.01") double maxArea,
+        @DefaultValue("100") int retainedJobs,
+        @DefaultValue("false") boolean virtualThreads
+) {
+}
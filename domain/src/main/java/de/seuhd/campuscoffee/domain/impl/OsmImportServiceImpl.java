@@ -0,0 +1,374 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.ImportJob;
+import de.seuhd.campuscoffee.domain.model.ImportJobStatus;
+import de.seuhd.campuscoffee.domain.model.ImportOutcome;
+import de.seuhd.campuscoffee.domain.model.ImportOutcomeStatus;
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+import de.seuhd.campuscoffee.domain.model.OsmFetchFailure;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.ports.OsmDataService;
+import de.seuhd.campuscoffee.domain.ports.OsmImportService;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Implementation of the OSM import service that runs import jobs in a dedicated, bounded thread pool.
+ * Each node is imported via {@link PosService}, so the OSM requests are throttled by the data layer and
+ * all business rules of a single import apply. Area imports first fetch all importable nodes of the area
+ * and skip nodes whose name matches an existing POS.
+ */
+@Slf4j
+@Service
+public class OsmImportServiceImpl implements OsmImportService, AutoCloseable {
+    private final PosService posService;
+    private final OsmDataService osmDataService;
+    private final OsmImportProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, JobState> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> finishedJobIds = new ConcurrentLinkedQueue<>();
+
+    public OsmImportServiceImpl(@NonNull PosService posService, @NonNull OsmDataService osmDataService,
+                                @NonNull OsmImportProperties properties) {
+        this.posService = posService;
+        this.osmDataService = osmDataService;
+        this.properties = properties;
+        // the pool bounds the number of concurrent jobs; with virtual threads, jobs blocked on OSM requests or
+        // JDBC calls do not occupy a platform thread
+        ThreadFactory threadFactory = properties.virtualThreads()
+                ? Thread.ofVirtual().name("osm-import-", 0).factory()
+                : Thread.ofPlatform().name("osm-import-", 0).daemon().factory();
+        this.executor = new ThreadPoolExecutor(
+                properties.workerThreads(), properties.workerThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(properties.queueCapacity()),
+                threadFactory);
+    }
+
+    @Override
+    public @NonNull ImportJob submitNodeImport(@NonNull List<Long> nodeIds, @NonNull CampusType campusType) {
+        if (nodeIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one OSM node ID is required.");
+        }
+        if (nodeIds.size() > properties.maxNodesPerJob()) {
+            throw new IllegalArgumentException("An import job may contain at most "
+                    + properties.maxNodesPerJob() + " OSM node IDs.");
+        }
+
+        JobState job = new JobState(campusType, null);
+        job.setTargets(List.copyOf(nodeIds));
+        submit(job);
+        log.info("Queued OSM import job {} with {} nodes for campus {}", job.id, nodeIds.size(), campusType);
+        return job.snapshot();
+    }
+
+    @Override
+    public @NonNull ImportJob submitAreaImport(@NonNull BoundingBox area, @NonNull CampusType campusType) {
+        if (area.area() > properties.maxArea()) {
+            throw new IllegalArgumentException("The area of an import job may be at most "
+                    + properties.maxArea() + " square degrees.");
+        }
+
+        JobState job = new JobState(campusType, area);
+        submit(job);
+        log.info("Queued OSM import job {} for area {} and campus {}", job.id, area.toOsmParameter(), campusType);
+        return job.snapshot();
+    }
+
+    @Override
+    public @NonNull List<ImportJob> getJobs() {
+        return jobs.values().stream()
+                .map(JobState::snapshot)
+                .sorted(Comparator.comparing(ImportJob::createdAt).reversed())
+                .toList();
+    }
+
+    @Override
+    public @NonNull ImportJob getJob(@NonNull String jobId) {
+        return findJob(jobId).snapshot();
+    }
+
+    @Override
+    public @NonNull ImportJob cancelJob(@NonNull String jobId) {
+        JobState job = findJob(jobId);
+        log.info("Cancelling OSM import job {}", jobId);
+        job.cancelRequested = true;
+        if (job.status == ImportJobStatus.QUEUED && executor.getQueue().removeIf(job::isTaskOf)) {
+            // the job never started, so it can be finished right away
+            finish(job, ImportJobStatus.CANCELLED);
+        }
+        return job.snapshot();
+    }
+
+    @Override
+    public @NonNull List<OsmFetchFailure> getCachedFailures() {
+        return osmDataService.getCachedFailures();
+    }
+
+    @Override
+    public void evictCachedFailure(@NonNull OsmElementType elementType, @NonNull Long elementId) {
+        log.info("Purging cached OSM fetch failure of {} {}", elementType.osmValue(), elementId);
+        osmDataService.evictCachedFailure(elementType, elementId);
+    }
+
+    @Override
+    public int clearCachedFailures() {
+        int count = osmDataService.clearCachedFailures();
+        log.info("Purged {} cached OSM fetch failures", count);
+        return count;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void submit(JobState job) {
+        jobs.put(job.id, job);
+        try {
+            Runnable task = () -> run(job);
+            job.task = task;
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            log.warn("Rejected OSM import job {}: queue is full", job.id);
+            throw new ServiceUnavailableException("OSM import", "too many import jobs are queued");
+        }
+    }
+
+    private JobState findJob(String jobId) {
+        JobState job = jobs.get(jobId);
+        if (job == null) {
+            throw new NotFoundException(ImportJob.class, "ID", jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Runs a job on a worker thread. Area imports fetch the nodes of the area first.
+     */
+    private void run(JobState job) {
+        job.startedAt = now();
+        job.status = ImportJobStatus.RUNNING;
+        log.info("Started OSM import job {}", job.id);
+
+        if (job.area == null) {
+            importNodes(job, Map.of());
+            return;
+        }
+
+        Map<Long, OsmNode> nodes;
+        try {
+            nodes = osmDataService.fetchNodesInArea(job.area).stream()
+                    .collect(Collectors.toMap(OsmNode::nodeId, Function.identity(), (first, second) -> first));
+        } catch (RuntimeException e) {
+            log.error("OSM import job {} could not fetch area {}: {}",
+                    job.id, job.area.toOsmParameter(), e.getMessage());
+            job.message = e.getMessage();
+            finish(job, ImportJobStatus.FAILED);
+            return;
+        }
+        if (nodes.size() > properties.maxNodesPerJob()) {
+            job.message = "The area contains " + nodes.size() + " importable nodes, but an import job may contain at most "
+                    + properties.maxNodesPerJob() + ".";
+            finish(job, ImportJobStatus.FAILED);
+            return;
+        }
+        job.setTargets(nodes.keySet().stream().sorted().toList());
+        importNodes(job, nodes);
+    }
+
+    /**
+     * Imports the nodes of a job one after another and records the outcome of each node.
+     * Cancellation is cooperative: the job stops before the next node once cancellation was requested.
+     *
+     * @param job           the job
+     * @param fetchedNodes  nodes that were already fetched (area imports); other nodes are fetched one by one
+     */
+    private void importNodes(JobState job, Map<Long, OsmNode> fetchedNodes) {
+        // for area imports, skip nodes that were imported before (POS names are unique)
+        Map<String, Long> existingPosIds = fetchedNodes.isEmpty()
+                ? Map.of()
+                : posService.getAll().stream()
+                        .collect(Collectors.toMap(Pos::name, pos -> Objects.requireNonNull(pos.id()),
+                                (first, second) -> first, HashMap::new));
+        List<Long> nodeIds = job.targets().nodeIds();
+
+        for (int i = 0; i < nodeIds.size(); i++) {
+            if (job.cancelRequested) {
+                finish(job, ImportJobStatus.CANCELLED);
+                return;
+            }
+            Long nodeId = nodeIds.get(i);
+            OsmNode fetchedNode = fetchedNodes.get(nodeId);
+            try {
+                if (fetchedNode != null && existingPosIds.containsKey(fetchedNode.name())) {
+                    job.record(i, ImportOutcome.builder()
+                            .nodeId(nodeId)
+                            .status(ImportOutcomeStatus.SKIPPED)
+                            .posId(existingPosIds.get(fetchedNode.name()))
+                            .message("A POS named '" + fetchedNode.name() + "' already exists.")
+                            .build());
+                    continue;
+                }
+                Pos pos = fetchedNode != null
+                        ? posService.importOsmNode(fetchedNode, job.campus)
+                        : posService.importFromOsmNode(nodeId, job.campus);
+                if (fetchedNode != null) {
+                    existingPosIds.put(pos.name(), Objects.requireNonNull(pos.id()));
+                }
+                job.record(i, ImportOutcome.builder()
+                        .nodeId(nodeId)
+                        .status(ImportOutcomeStatus.IMPORTED)
+                        .posId(pos.id())
+                        .build());
+            } catch (RuntimeException e) {
+                log.warn("OSM import job {} could not import node {}: {}", job.id, nodeId, e.getMessage());
+                job.record(i, ImportOutcome.builder()
+                        .nodeId(nodeId)
+                        .status(ImportOutcomeStatus.FAILED)
+                        .errorCode(e.getClass().getSimpleName())
+                        .message(e.getMessage())
+                        .build());
+            }
+        }
+        finish(job, job.cancelRequested ? ImportJobStatus.CANCELLED : ImportJobStatus.COMPLETED);
+    }
+
+    private void finish(JobState job, ImportJobStatus status) {
+        job.finishedAt = now();
+        job.status = status;
+        log.info("OSM import job {} {}: {} imported, {} skipped, {} failed", job.id, status.name().toLowerCase(),
+                job.importedCount.get(), job.skippedCount.get(), job.failedCount.get());
+
+        // evict the oldest finished jobs to bound memory usage
+        finishedJobIds.add(job.id);
+        while (finishedJobIds.size() > properties.retainedJobs()) {
+            String evictedId = finishedJobIds.poll();
+            if (evictedId != null) {
+                jobs.remove(evictedId);
+            }
+        }
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.now(ZoneId.of("UTC"));
+    }
+
+    /**
+     * Nodes of a job together with their outcomes; replaced as a whole once the nodes of an area are known.
+     */
+    private record Targets(List<Long> nodeIds, AtomicReferenceArray<ImportOutcome> outcomes) {
+        private static final Targets NONE = new Targets(List.of(), new AtomicReferenceArray<>(0));
+    }
+
+    /**
+     * Mutable state of a job, updated by the worker thread and read concurrently by API requests.
+     */
+    private static final class JobState {
+        private final String id = UUID.randomUUID().toString();
+        private final CampusType campus;
+        private final @Nullable BoundingBox area;
+        private final LocalDateTime createdAt = now();
+        private final AtomicInteger importedCount = new AtomicInteger();
+        private final AtomicInteger skippedCount = new AtomicInteger();
+        private final AtomicInteger failedCount = new AtomicInteger();
+        private volatile Targets targets = Targets.NONE;
+        private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+        private volatile boolean cancelRequested;
+        private volatile @Nullable LocalDateTime startedAt;
+        private volatile @Nullable LocalDateTime finishedAt;
+        private volatile @Nullable String message;
+        private volatile @Nullable Runnable task;
+
+        private JobState(CampusType campus, @Nullable BoundingBox area) {
+            this.campus = campus;
+            this.area = area;
+        }
+
+        private Targets targets() {
+            return targets;
+        }
+
+        private void setTargets(List<Long> nodeIds) {
+            this.targets = new Targets(nodeIds, new AtomicReferenceArray<>(nodeIds.size()));
+        }
+
+        private boolean isTaskOf(Runnable runnable) {
+            return Objects.equals(task, runnable);
+        }
+
+        private void record(int index, ImportOutcome outcome) {
+            targets.outcomes().set(index, outcome);
+            switch (outcome.status()) {
+                case IMPORTED -> importedCount.incrementAndGet();
+                case SKIPPED -> skippedCount.incrementAndGet();
+                default -> failedCount.incrementAndGet();
+            }
+        }
+
+        private ImportJob snapshot() {
+            ImportJobStatus currentStatus = status;
+            Targets currentTargets = targets;
+            ImportOutcomeStatus unprocessedStatus = currentStatus == ImportJobStatus.CANCELLED
+                    ? ImportOutcomeStatus.CANCELLED
+                    : ImportOutcomeStatus.PENDING;
+            List<ImportOutcome> outcomeList = IntStream.range(0, currentTargets.nodeIds().size())
+                    .mapToObj(i -> Objects.requireNonNullElseGet(currentTargets.outcomes().get(i),
+                            () -> ImportOutcome.builder()
+                                    .nodeId(currentTargets.nodeIds().get(i))
+                                    .status(unprocessedStatus)
+                                    .build()))
+                    .toList();
+            int imported = importedCount.get();
+            int skipped = skippedCount.get();
+            int failed = failedCount.get();
+            return ImportJob.builder()
+                    .id(id)
+                    .status(currentStatus)
+                    .campus(campus)
+                    .area(area)
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .message(message)
+                    .totalCount(currentTargets.nodeIds().size())
+                    .processedCount(imported + skipped + failed)
+                    .importedCount(imported)
+                    .skippedCount(skipped)
+                    .failedCount(failed)
+                    .outcomes(outcomeList)
+                    .build();
+        }
+    }
+}
@@ -3,9 +3,14 @@ package de.seuhd.campuscoffee.domain.impl;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
 import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.ChangeEvent;
+import de.seuhd.campuscoffee.domain.model.MultiGetResult;
 import de.seuhd.campuscoffee.domain.model.OsmAmenity;
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
 import de.seuhd.campuscoffee.domain.model.OsmNode;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosChanges;
+import de.seuhd.campuscoffee.domain.model.PosSyncToken;
 import de.seuhd.campuscoffee.domain.model.PosType;
 import de.seuhd.campuscoffee.domain.ports.OsmDataService;
 import de.seuhd.campuscoffee.domain.ports.PosDataService;
@@ -13,6 +18,8 @@ import de.seuhd.campuscoffee.domain.ports.PosService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -27,11 +34,13 @@ import java.util.Objects;
 public class PosServiceImpl implements PosService {
     private final PosDataService posDataService;
     private final OsmDataService osmDataService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public void clear() {
         log.warn("Clearing all POS data");
         posDataService.clear();
+        eventPublisher.publishEvent(ChangeEvent.cleared(Pos.class));
     }
 
     @Override
@@ -40,12 +49,30 @@ public class PosServiceImpl implements PosService {
         return posDataService.getAll();
     }
 
+    @Override
+    public long getCatalogVersion() {
+        return posDataService.getCatalogVersion();
+    }
+
+    @Override
+    public @NonNull PosChanges getChanges(@Nullable PosSyncToken since) {
+        log.debug("Retrieving POS changes since: {}", since != null ? since.position() : "beginning");
+        return posDataService.getChanges(since);
+    }
+
     @Override
     public @NonNull Pos getById(@NonNull Long id) {
         log.debug("Retrieving POS with ID: {}", id);
         return posDataService.getById(id);
     }
 
+    @Override
+    public @NonNull MultiGetResult<Pos> getAllById(@NonNull List<Long> ids) {
+        List<Long> distinctIds = MultiGetResult.distinctIds(ids);
+        log.debug("Retrieving {} POS by ID", distinctIds.size());
+        return MultiGetResult.inRequestOrder(distinctIds, posDataService.getAllById(distinctIds), Pos::id);
+    }
+
     @Override
     public @NonNull Pos getByName(@NonNull String name) {
         log.debug("Retrieving POS with name: {}", name);
@@ -75,9 +102,26 @@ public class PosServiceImpl implements PosService {
         // Fetch the OSM node data using the port
         OsmNode osmNode = osmDataService.fetchNode(nodeId);
 
+        return importOsmNode(osmNode, campusType);
+    }
+
+    @Override
+    public @NonNull Pos importFromOsmElement(@NonNull OsmElementType elementType, @NonNull Long elementId,
+                                             @NonNull CampusType campusType) {
+        log.info("Importing POS from OpenStreetMap {} {}...", elementType.osmValue(), elementId);
+
+        // Fetch the OSM element data (including the centroid of ways and relations) using the port
+        OsmNode osmNode = osmDataService.fetchElement(elementType, elementId);
+
+        return importOsmNode(osmNode, campusType);
+    }
+
+    @Override
+    public @NonNull Pos importOsmNode(@NonNull OsmNode osmNode, @NonNull CampusType campusType) {
         // Convert OSM node to POS domain object and upsert it
         Pos savedPos = upsert(convertOsmNodeToPos(osmNode, campusType));
-        log.info("Successfully imported POS '{}' from OSM node {}", savedPos.name(), nodeId);
+        log.info("Successfully imported POS '{}' from OSM {} {} at ({}, {})", savedPos.name(),
+                osmNode.elementType().osmValue(), osmNode.nodeId(), osmNode.latitude(), osmNode.longitude());
 
         return savedPos;
     }
@@ -86,6 +130,7 @@ public class PosServiceImpl implements PosService {
     public void delete(@NonNull Long id) {
         log.info("Trying to delete POS with ID: {}", id);
         posDataService.delete(id);
+        eventPublisher.publishEvent(ChangeEvent.deleted(Pos.class, id));
         log.info("Deleted POS with ID: {}", id);
     }
 
@@ -95,7 +140,7 @@ public class PosServiceImpl implements PosService {
      *
      * @param osmNode the OSM node data
      * @param campusType the campus where the POS is located
-     * @return a new Pos object with data from the OSM node
+     * @return a new Pos object with data from the OSM node, located at the node or the centroid of the element
      * @throws MissingFieldException if required fields are missing or invalid
      */
     private @NonNull Pos convertOsmNodeToPos(@NonNull OsmNode osmNode, @NonNull CampusType campusType) {
@@ -121,6 +166,8 @@ public class PosServiceImpl implements PosService {
                 .houseNumber(osmNode.houseNumber())
                 .postalCode(postalCode)
                 .city(osmNode.city())
+                .latitude(osmNode.latitude())
+                .longitude(osmNode.longitude())
                 .build();
     }
 
@@ -141,6 +188,7 @@ public class PosServiceImpl implements PosService {
 
     /**
      * Performs the actual upsert operation with consistent error handling and logging.
+     * Publishes a {@link ChangeEvent} if the POS was written.
      * Database constraint enforces name uniqueness - data layer will throw DuplicateEntityException if violated.
      * JPA lifecycle callbacks (@PrePersist/@PreUpdate) set timestamps automatically.
      *
@@ -151,6 +199,11 @@ public class PosServiceImpl implements PosService {
     private @NonNull Pos performUpsert(@NonNull Pos pos) {
         try {
             Pos upsertedPos = posDataService.upsert(pos);
+            // the data service has committed the write, so subscribers never see changes that are rolled back
+            Long id = Objects.requireNonNull(upsertedPos.id());
+            eventPublisher.publishEvent(pos.id() == null
+                    ? ChangeEvent.created(Pos.class, id, upsertedPos)
+                    : ChangeEvent.updated(Pos.class, id, upsertedPos));
             log.info("Successfully upserted POS with ID: {}", upsertedPos.id());
             return upsertedPos;
         } catch (DuplicationException e) {
@@ -1,12 +1,19 @@
 package de.seuhd.campuscoffee.domain.impl;
 
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.ChangeEvent;
+import de.seuhd.campuscoffee.domain.model.MultiGetResult;
 import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserCursor;
+import de.seuhd.campuscoffee.domain.model.UserPage;
+import de.seuhd.campuscoffee.domain.model.UserSortKey;
 import de.seuhd.campuscoffee.domain.ports.UserDataService;
 import de.seuhd.campuscoffee.domain.ports.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -22,7 +29,10 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final @NonNull UserDataService userDataService;
+    private final @NonNull ApplicationEventPublisher eventPublisher;
 
     @Override
     public @NonNull List<User> getAllUsers() {
@@ -31,6 +41,20 @@ public class UserServiceImpl implements UserService {
         return userDataService.getAll();
     }
 
+    @Override
+    public @NonNull UserPage getUsers(@NonNull UserSortKey sortKey, @Nullable String prefix,
+                                      @Nullable UserCursor after, int limit) {
+        Objects.requireNonNull(sortKey, "sortKey must not be null");
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("The limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        if (after != null && after.sortKey() != sortKey) {
+            throw new IllegalArgumentException("The continuation token belongs to another sort order.");
+        }
+        log.debug("Fetching up to {} users ordered by {} with prefix={}", limit, sortKey, prefix);
+        return userDataService.getPage(sortKey, prefix, after, limit);
+    }
+
     @Override
     public @NonNull User getUserById(@NonNull Long id) {
         Objects.requireNonNull(id, "id must not be null");
@@ -39,6 +63,14 @@ public class UserServiceImpl implements UserService {
         return userDataService.getById(id);
     }
 
+    @Override
+    public @NonNull MultiGetResult<User> getUsersById(@NonNull List<Long> ids) {
+        List<Long> distinctIds = MultiGetResult.distinctIds(ids);
+        log.debug("Fetching {} users by id", distinctIds.size());
+        // missing IDs are reported, not thrown as NotFoundException
+        return MultiGetResult.inRequestOrder(distinctIds, userDataService.getAllById(distinctIds), User::id);
+    }
+
     @Override
     public @NonNull List<User> findUsersByLoginName(@NonNull String loginName) {
         Objects.requireNonNull(loginName, "loginName must not be null");
@@ -55,19 +87,42 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    public @NonNull List<User> findUsersByEmailAddress(@NonNull String emailAddress) {
+        Objects.requireNonNull(emailAddress, "emailAddress must not be null");
+        log.debug("Fetching users with emailAddress={}", emailAddress);
+
+        try {
+            return List.of(userDataService.getByEmailAddress(emailAddress));
+        } catch (NotFoundException e) {
+            log.debug("No user found with emailAddress={}", emailAddress);
+            return List.of();
+        }
+    }
+
     @Override
     public @NonNull User createUser(@NonNull User user) {
         Objects.requireNonNull(user, "user must not be null");
         log.debug("Creating new user with loginName={}", user.loginName());
 
-        // ID und Timestamps übernimmt die DB / Data-Layer
-        User toCreate = user.toBuilder()
-                .id(null)
-                .createdAt(null)
-                .updatedAt(null)
-                .build();
+        User created = userDataService.upsert(withoutIdAndTimestamps(user));
+        // publish only after the write (committed by the data layer)
+        eventPublisher.publishEvent(ChangeEvent.created(User.class, Objects.requireNonNull(created.id()), created));
+        return created;
+    }
 
-        return userDataService.upsert(toCreate);
+    @Override
+    public @NonNull List<User> createUsers(@NonNull List<User> users) {
+        Objects.requireNonNull(users, "users must not be null");
+        log.debug("Creating {} new users in one batch", users.size());
+
+        List<User> created = userDataService.upsertAll(users.stream()
+                .map(UserServiceImpl::withoutIdAndTimestamps)
+                .toList());
+        // the batch has been written completely (or not at all, then there are no events)
+        created.forEach(user -> eventPublisher.publishEvent(
+                ChangeEvent.created(User.class, Objects.requireNonNull(user.id()), user)));
+        return created;
     }
 
     @Override
@@ -89,7 +144,20 @@ public class UserServiceImpl implements UserService {
                 // updatedAt wird im Data-Layer neu gesetzt
                 .build();
 
-        return userDataService.upsert(updated);
+        User saved = userDataService.upsert(updated);
+        eventPublisher.publishEvent(ChangeEvent.updated(User.class, id, saved));
+        return saved;
+    }
+
+    /**
+     * ID und Timestamps übernimmt die DB / Data-Layer.
+     */
+    private static User withoutIdAndTimestamps(User user) {
+        return user.toBuilder()
+                .id(null)
+                .createdAt(null)
+                .updatedAt(null)
+                .build();
     }
 
     @Override
@@ -98,5 +166,6 @@ public class UserServiceImpl implements UserService {
         log.debug("Deleting user with id={}", id);
         // Wir lassen NotFoundException ebenfalls durchlaufen, falls der User nicht existiert
         userDataService.delete(id);
+        eventPublisher.publishEvent(ChangeEvent.deleted(User.class, id));
     }
 }
@@ -0,0 +1,81 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Geographic area given by its south-west and north-east corners in WGS 84 coordinates (degrees).
+ *
+ * @param minLon western longitude
+ * @param minLat southern latitude
+ * @param maxLon eastern longitude
+ * @param maxLat northern latitude
+ */
+@Builder(toBuilder = true)
+public record BoundingBox(
+        double minLon,
+        double minLat,
+        double maxLon,
+        double maxLat
+) {
+    public BoundingBox {
+        if (minLon < -180 || maxLon > 180 || minLat < -90 || maxLat > 90) {
+            throw new IllegalArgumentException("Bounding box coordinates are out of range.");
+        }
+        if (minLon >= maxLon || minLat >= maxLat) {
+            throw new IllegalArgumentException("Bounding box minimum coordinates must be less than maximum coordinates.");
+        }
+    }
+
+    /**
+     * @return the area of the bounding box in square degrees
+     */
+    public double area() {
+        return (maxLon - minLon) * (maxLat - minLat);
+    }
+
+    /**
+     * Splits the bounding box into a grid of tiles whose sides are at most {@code maxTileSize} degrees long.
+     *
+     * @param maxTileSize the maximum side length of a tile in degrees
+     * @return the tiles covering this bounding box, row by row from south-west to north-east
+     */
+    public List<BoundingBox> split(double maxTileSize) {
+        if (maxTileSize <= 0) {
+            throw new IllegalArgumentException("Tile size must be positive.");
+        }
+        int columns = tileCount(maxLon - minLon, maxTileSize);
+        int rows = tileCount(maxLat - minLat, maxTileSize);
+        double tileWidth = (maxLon - minLon) / columns;
+        double tileHeight = (maxLat - minLat) / rows;
+
+        List<BoundingBox> tiles = new ArrayList<>(columns * rows);
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                tiles.add(new BoundingBox(
+                        minLon + column * tileWidth,
+                        minLat + row * tileHeight,
+                        // use the exact outer edges for the last tiles to avoid gaps from rounding
+                        column == columns - 1 ? maxLon : minLon + (column + 1) * tileWidth,
+                        row == rows - 1 ? maxLat : minLat + (row + 1) * tileHeight
+                ));
+            }
+        }
+        return tiles;
+    }
+
+    private static int tileCount(double length, double maxTileSize) {
+        // tolerate rounding errors of the coordinates, e.g., 0.02 / 0.01 = 2.000000000000135
+        return Math.max(1, (int) Math.ceil(length / maxTileSize - 1e-6));
+    }
+
+    /**
+     * @return the bounding box in the format of the OSM API {@code bbox} parameter ("minLon,minLat,maxLon,maxLat")
+     */
+    public String toOsmParameter() {
+        return String.format(Locale.ROOT, "%.7f,%.7f,%.7f,%.7f", minLon, minLat, maxLon, maxLat);
+    }
+}
@@ -1,12 +1,20 @@
 package de.seuhd.campuscoffee.domain.model;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
 /**
  * Enum for different campus locations.
+ * Each campus has an approximate bounding box that is used as preset for area imports from OpenStreetMap.
  */
+@Getter
+@RequiredArgsConstructor
 public enum CampusType {
     // see https://www.uni-heidelberg.de/universitaet/beschaeftigte/service/bau/hoersaele/
-    ALTSTADT,
-    BERGHEIM,
-    INF
+    ALTSTADT(new BoundingBox(8.6900, 49.4080, 8.7150, 49.4150)),
+    BERGHEIM(new BoundingBox(8.6750, 49.4040, 8.6920, 49.4110)),
+    INF(new BoundingBox(8.6580, 49.4120, 8.6800, 49.4250));
     // This list is incomplete, e.g., Mannheim medial faculty is missing
+
+    private final BoundingBox boundingBox;
 }
@@ -0,0 +1,46 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+/**
+ * Change of a POS or user, published as an application event by the domain services after the data layer has
+ * committed the write. Listeners receive the events of one entity type by declaring a parameter of type
+ * {@code ChangeEvent<Pos>} or {@code ChangeEvent<User>}.
+ *
+ * @param type       the kind of change
+ * @param entityType the class of the changed entity
+ * @param entityId   the ID of the changed entity; null if all entities were cleared
+ * @param entity     the entity after the change; null if it was deleted or cleared
+ * @param <T>        the type of the changed entity
+ */
+public record ChangeEvent<T>(
+        @NonNull ChangeType type,
+        @NonNull Class<T> entityType,
+        @Nullable Long entityId,
+        @Nullable T entity
+) implements ResolvableTypeProvider {
+    public static <T> @NonNull ChangeEvent<T> created(@NonNull Class<T> entityType, @NonNull Long id, @NonNull T entity) {
+        return new ChangeEvent<>(ChangeType.CREATED, entityType, id, entity);
+    }
+
+    public static <T> @NonNull ChangeEvent<T> updated(@NonNull Class<T> entityType, @NonNull Long id, @NonNull T entity) {
+        return new ChangeEvent<>(ChangeType.UPDATED, entityType, id, entity);
+    }
+
+    public static <T> @NonNull ChangeEvent<T> deleted(@NonNull Class<T> entityType, @NonNull Long id) {
+        return new ChangeEvent<>(ChangeType.DELETED, entityType, id, null);
+    }
+
+    public static <T> @NonNull ChangeEvent<T> cleared(@NonNull Class<T> entityType) {
+        return new ChangeEvent<>(ChangeType.CLEARED, entityType, null, null);
+    }
+
+    @Override
+    public @NonNull ResolvableType getResolvableType() {
+        // the type argument is erased at runtime; needed to dispatch to listeners of ChangeEvent<Pos> etc.
+        return ResolvableType.forClassWithGenerics(ChangeEvent.class, entityType);
+    }
+}
@@ -0,0 +1,11 @@
+package de.seuhd.campuscoffee.domain.model;
+
+/**
+ * Enum for the kind of change that a {@link ChangeEvent} reports.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    CLEARED // all entities of the type were deleted
+}
@@ -0,0 +1,46 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Snapshot of an asynchronous OpenStreetMap import job.
+ * The job itself keeps running in the background, so each call to the service returns a new snapshot.
+ *
+ * @param id             the unique identifier of the job
+ * @param status         the lifecycle state of the job
+ * @param campus         the campus assigned to all imported POS
+ * @param area           the area searched for POS; null if the job imports explicitly given nodes
+ * @param createdAt      timestamp set on job submission
+ * @param startedAt      timestamp set when a worker picked up the job; null while queued
+ * @param finishedAt     timestamp set when the job completed, failed, or was cancelled; null while unfinished
+ * @param message        the reason why the job failed; null unless the job failed
+ * @param totalCount     number of nodes to import (for area imports, known once the area was fetched)
+ * @param processedCount number of nodes processed so far (imported, skipped, or failed)
+ * @param importedCount  number of nodes imported successfully
+ * @param skippedCount   number of nodes skipped because a POS with the same name already exists
+ * @param failedCount    number of nodes that could not be imported
+ * @param outcomes       per-node outcomes in submission order (for area imports, ordered by node ID)
+ */
+@Builder(toBuilder = true)
+public record ImportJob(
+        @NonNull String id,
+        @NonNull ImportJobStatus status,
+        @NonNull CampusType campus,
+        @Nullable BoundingBox area,
+        @NonNull LocalDateTime createdAt,
+        @Nullable LocalDateTime startedAt,
+        @Nullable LocalDateTime finishedAt,
+        @Nullable String message,
+        int totalCount,
+        int processedCount,
+        int importedCount,
+        int skippedCount,
+        int failedCount,
+        @NonNull List<ImportOutcome> outcomes
+) {
+}
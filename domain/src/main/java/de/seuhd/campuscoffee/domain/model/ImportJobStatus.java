@@ -0,0 +1,19 @@
+package de.seuhd.campuscoffee.domain.model;
+
+/**
+ * Enum for the lifecycle states of an asynchronous import job.
+ */
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED, // the job could not be carried out as a whole (e.g., the area could not be fetched)
+    CANCELLED;
+
+    /**
+     * @return true if the job has finished and its state will not change anymore
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,24 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Result of importing a single OpenStreetMap node as part of an import job.
+ *
+ * @param nodeId    the OpenStreetMap node ID
+ * @param status    the import status of the node
+ * @param posId     the ID of the imported POS or, if the node was skipped, of the existing POS with the same name
+ * @param errorCode machine-readable error code (exception class name); null unless the import failed
+ * @param message   human-readable error or skip message; null unless the import failed or was skipped
+ */
+@Builder(toBuilder = true)
+public record ImportOutcome(
+        @NonNull Long nodeId,
+        @NonNull ImportOutcomeStatus status,
+        @Nullable Long posId,
+        @Nullable String errorCode,
+        @Nullable String message
+) {
+}
@@ -0,0 +1,12 @@
+package de.seuhd.campuscoffee.domain.model;
+
+/**
+ * Enum for the result of importing a single OpenStreetMap element as part of an import job.
+ */
+public enum ImportOutcomeStatus {
+    PENDING, // not processed yet
+    IMPORTED,
+    SKIPPED, // a POS with the same name already exists
+    FAILED,
+    CANCELLED // not processed because the job was cancelled
+}
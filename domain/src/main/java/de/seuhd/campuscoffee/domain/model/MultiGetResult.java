@@ -0,0 +1,70 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The result of looking up several entities by their IDs with a single query.
+ *
+ * @param found      the entities found, in the order of the requested IDs
+ * @param missingIds the requested IDs without an entity, in request order
+ * @param <T>        the type of the entities
+ */
+public record MultiGetResult<T>(
+        @NonNull List<T> found,
+        @NonNull List<Long> missingIds
+) {
+    /**
+     * The maximum number of IDs per lookup.
+     */
+    public static final int MAX_IDS = 1000;
+
+    /**
+     * Validates the requested IDs and removes duplicates.
+     *
+     * @param ids the requested IDs
+     * @return the distinct IDs in request order
+     * @throws IllegalArgumentException if no or more than {@link #MAX_IDS} distinct IDs are requested, or an ID is null
+     */
+    public static @NonNull List<Long> distinctIds(@NonNull List<Long> ids) {
+        Objects.requireNonNull(ids, "ids must not be null");
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("The IDs must not be null.");
+        }
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        if (distinctIds.isEmpty() || distinctIds.size() > MAX_IDS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_IDS + " IDs must be requested.");
+        }
+        return distinctIds;
+    }
+
+    /**
+     * Orders the entities returned by a lookup (in any order) by the requested IDs and collects the missing IDs.
+     *
+     * @param ids   the distinct requested IDs
+     * @param found the entities found
+     * @param idOf  returns the ID of an entity
+     * @return the result in request order
+     */
+    public static <T> @NonNull MultiGetResult<T> inRequestOrder(@NonNull List<Long> ids, @NonNull Collection<T> found,
+                                                               @NonNull Function<T, @Nullable Long> idOf) {
+        Map<Long, T> foundById = HashMap.newHashMap(found.size());
+        found.forEach(entity -> foundById.put(idOf.apply(entity), entity));
+        List<T> ordered = ids.stream()
+                .map(foundById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        List<Long> missingIds = ids.stream()
+                .filter(id -> !foundById.containsKey(id))
+                .toList();
+        return new MultiGetResult<>(ordered, missingIds);
+    }
+}
@@ -0,0 +1,18 @@
+package de.seuhd.campuscoffee.domain.model;
+
+/**
+ * Enum for the OpenStreetMap element types that can be imported as POS.
+ * Based on <a href="https://wiki.openstreetmap.org/wiki/Elements">wiki.openstreetmap.org/wiki/Elements</a>
+ */
+public enum OsmElementType {
+    NODE,
+    WAY,
+    RELATION;
+
+    /**
+     * @return the element name as used in OSM XML documents and API paths (e.g., "way")
+     */
+    public String osmValue() {
+        return name().toLowerCase();
+    }
+}
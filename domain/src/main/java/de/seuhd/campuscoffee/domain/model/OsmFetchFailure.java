@@ -0,0 +1,29 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cached result of a failed attempt to fetch an OpenStreetMap element.
+ * Repeated fetches of the element fail immediately with the same error until the entry expires or is evicted.
+ *
+ * @param elementType the type of the OpenStreetMap element
+ * @param elementId   the OpenStreetMap ID of the element
+ * @param reason      the reason why the element cannot be imported
+ * @param detail      the missing tag name or the unsupported amenity value; null if the element was not found
+ * @param cachedAt    the time the failure was recorded
+ * @param expiresAt   the time after which the element is fetched again
+ */
+@Builder(toBuilder = true)
+public record OsmFetchFailure(
+        @NonNull OsmElementType elementType,
+        @NonNull Long elementId,
+        @NonNull OsmFetchFailureReason reason,
+        @Nullable String detail,
+        @NonNull LocalDateTime cachedAt,
+        @NonNull LocalDateTime expiresAt
+) {
+}
@@ -0,0 +1,10 @@
+package de.seuhd.campuscoffee.domain.model;
+
+/**
+ * Enum for the reasons why an OpenStreetMap element cannot be imported, independent of transient API errors.
+ */
+public enum OsmFetchFailureReason {
+    NOT_FOUND, // the element does not exist or was deleted
+    MISSING_TAG, // a required tag (e.g., addr:postcode) is missing
+    UNSUPPORTED_AMENITY // the amenity tag has a value that cannot be mapped to a POS type
+}
@@ -4,13 +4,19 @@ import lombok.Builder;
 import org.jspecify.annotations.NonNull;
 
 /**
- * Represents an OpenStreetMap node with relevant Point of Sale information.
+ * Represents an OpenStreetMap element with relevant Point of Sale information.
  * This is the domain model for OSM data before it is converted to a POS object.
+ * Besides nodes, POS may be mapped as ways (e.g., building outlines) or relations (e.g., multipolygons);
+ * their location is the centroid of their member nodes.
  *
- * @param nodeId The OpenStreetMap node ID.
+ * @param nodeId      The OpenStreetMap ID of the element (IDs are only unique per element type).
+ * @param elementType The type of the OpenStreetMap element.
+ * @param latitude    The latitude of the node or the centroid of the way or relation in degrees.
+ * @param longitude   The longitude of the node or the centroid of the way or relation in degrees.
  */
 @Builder
-public record OsmNode(@NonNull Long nodeId, @NonNull String city, @NonNull String houseNumber, @NonNull String postcode,
+public record OsmNode(@NonNull Long nodeId, @NonNull OsmElementType elementType, double latitude, double longitude,
+                      @NonNull String city, @NonNull String houseNumber, @NonNull String postcode,
                       @NonNull String street, @NonNull OsmAmenity amenity, @NonNull String name,
                       @NonNull String description) {
 }
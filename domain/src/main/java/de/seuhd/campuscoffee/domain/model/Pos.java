@@ -26,6 +26,8 @@ import java.time.LocalDateTime;
  * @param houseNumber house number (may include suffix such as "21a")
  * @param postalCode  postal code
  * @param city        city name
+ * @param latitude    latitude of the location in degrees; null if unknown
+ * @param longitude   longitude of the location in degrees; null if unknown
  */
 @Builder(toBuilder = true)
 public record Pos(
@@ -39,7 +41,9 @@ public record Pos(
         @NonNull String street,
         @NonNull String houseNumber,
         @NonNull Integer postalCode,
-        @NonNull String city
+        @NonNull String city,
+        @Nullable Double latitude, // set when imported from OpenStreetMap (the centroid of ways and relations)
+        @Nullable Double longitude
 ) implements Serializable { // serializable to allow cloning (see TestFixtures class).
     @Serial
     private static final long serialVersionUID = 1L;
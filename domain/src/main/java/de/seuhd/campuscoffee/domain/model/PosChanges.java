@@ -0,0 +1,27 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * The result of a delta sync: the POS created or updated and the IDs of the POS deleted since a sync token.
+ * A client applies the deletions first, then replaces its copies of the changed POS (a POS ID can be reused after
+ * all POS were cleared). Changes of transactions that were still running when the sync started are returned again
+ * by the next sync, so applying them must be idempotent.
+ * <p>
+ * A full sync returns all POS and no deletions: the client replaces all of its copies. It is returned for the first
+ * sync and for tokens older than the retention of the deletions.
+ *
+ * @param changed    the POS created or updated since the token, or all POS
+ * @param deletedIds the IDs of the POS deleted since the token
+ * @param full       whether this is a full sync
+ * @param next       the token for the next sync
+ */
+public record PosChanges(
+        @NonNull List<Pos> changed,
+        @NonNull List<Long> deletedIds,
+        boolean full,
+        @NonNull PosSyncToken next
+) {
+}
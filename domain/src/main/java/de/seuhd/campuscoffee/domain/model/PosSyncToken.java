@@ -0,0 +1,40 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the history of POS changes: the next delta sync returns the POS changed and deleted at or after this
+ * position. The position is defined by the data store (e.g., the oldest transaction that was still running when the
+ * previous sync started), so it does not depend on the clocks of the instances. Clients only store the opaque token
+ * and pass it to the next sync.
+ *
+ * @param position the position after which changes are returned
+ */
+public record PosSyncToken(
+        long position
+) {
+    /**
+     * @return an opaque, URL-safe token for this position
+     */
+    public @NonNull String toToken() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(position).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token a sync token created by {@link #toToken()}
+     * @return the position encoded in the token
+     * @throws IllegalArgumentException if the token is invalid
+     */
+    public static @NonNull PosSyncToken fromToken(@NonNull String token) {
+        try {
+            return new PosSyncToken(Long.parseLong(new String(Base64.getUrlDecoder().decode(token),
+                    StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) { // includes NumberFormatException
+            throw new IllegalArgumentException("Invalid sync token '" + token + "'.");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position in an ordered list of users: the sort value and ID of the last user of a page.
+ * The next page starts with the first user after this position, so pages stay stable while users are added
+ * or removed (in contrast to offsets).
+ *
+ * @param sortKey the order of the list
+ * @param value   the sort value of the last user of the page
+ * @param id      the ID of the last user of the page
+ */
+public record UserCursor(
+        @NonNull UserSortKey sortKey,
+        @NonNull String value,
+        long id
+) {
+    public UserCursor {
+        Objects.requireNonNull(sortKey, "sortKey must not be null");
+        Objects.requireNonNull(value, "value must not be null");
+    }
+
+    /**
+     * @param sortKey the order of the list
+     * @param user    the last user of a page
+     * @return the position after the given user
+     */
+    public static @NonNull UserCursor after(@NonNull UserSortKey sortKey, @NonNull User user) {
+        return new UserCursor(sortKey, sortKey.valueOf(user), Objects.requireNonNull(user.id()));
+    }
+
+    /**
+     * @return an opaque, URL-safe continuation token for this position
+     */
+    public @NonNull String toToken() {
+        String plain = sortKey.name() + '\n' + id + '\n' + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(plain.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token a continuation token created by {@link #toToken()}
+     * @return the position encoded in the token
+     * @throws IllegalArgumentException if the token is invalid
+     */
+    public static @NonNull UserCursor fromToken(@NonNull String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\n", 3);
+            return new UserCursor(UserSortKey.valueOf(parts[0]), parts[2], Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid continuation token '" + token + "'.");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * A page of an ordered list of users.
+ *
+ * @param users the users of the page in list order
+ * @param next  the position after the last user of the page; null if there are no further users
+ */
+public record UserPage(
+        @NonNull List<User> users,
+        @Nullable UserCursor next
+) {
+}
@@ -0,0 +1,50 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Enum for the attributes by which users can be listed and searched by prefix.
+ * Users with the same last name are ordered by ID, so the order is total and stable.
+ */
+public enum UserSortKey {
+    LOGIN_NAME("loginName"),
+    LAST_NAME("lastName");
+
+    private final String apiValue;
+
+    UserSortKey(String apiValue) {
+        this.apiValue = apiValue;
+    }
+
+    /**
+     * @return the name of the attribute as used in the API (e.g., "loginName")
+     */
+    public @NonNull String apiValue() {
+        return apiValue;
+    }
+
+    /**
+     * @param user the user
+     * @return the value of the attribute of the given user
+     */
+    public @NonNull String valueOf(@NonNull User user) {
+        return switch (this) {
+            case LOGIN_NAME -> user.loginName();
+            case LAST_NAME -> user.lastName();
+        };
+    }
+
+    /**
+     * @param apiValue the name of the attribute as used in the API
+     * @return the matching sort key
+     * @throws IllegalArgumentException if no sort key matches
+     */
+    public static @NonNull UserSortKey fromApiValue(@NonNull String apiValue) {
+        return Arrays.stream(values())
+                .filter(sortKey -> sortKey.apiValue.equals(apiValue))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported sort key '" + apiValue + "'."));
+    }
+}
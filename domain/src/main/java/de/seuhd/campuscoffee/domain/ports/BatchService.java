@@ -0,0 +1,32 @@
+package de.seuhd.campuscoffee.domain.ports;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * Service interface for running several POS and user operations as one atomic unit.
+ * This is a port in the hexagonal architecture pattern, implemented by the domain layer
+ * and consumed by the API layer.
+ */
+public interface BatchService {
+    /**
+     * Runs the operations in one transaction: either all their writes are committed or none.
+     * Change events of the written POS and users are delivered after the commit; if an operation throws,
+     * the transaction is rolled back and the exception is rethrown.
+     *
+     * @param operations the operations, which call the POS and user services; must not be null
+     * @param <T>        the type of the result
+     * @return the result of the operations
+     */
+    <T> @Nullable T executeAtomically(@NonNull Supplier<T> operations);
+
+    /**
+     * Returns whether user writes can be part of a batch: only if the user store is transactional, since the writes
+     * of an in-memory user store would not be rolled back with the batch.
+     *
+     * @return true if a batch may write users
+     */
+    boolean supportsUserWrites();
+}
@@ -1,13 +1,22 @@
 package de.seuhd.campuscoffee.domain.ports;
 
+import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+import de.seuhd.campuscoffee.domain.model.OsmFetchFailure;
 import de.seuhd.campuscoffee.domain.model.OsmNode;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
 import org.jspecify.annotations.NonNull;
 
+import java.util.List;
+
 /**
  * Port for importing Point of Sale data from OpenStreetMap.
- * This interface defines the contract for fetching OSM node data.
+ * This interface defines the contract for fetching OSM node, way, and relation data.
  * Implementations should handle the external API communication.
+ * Elements that cannot be imported (not found, missing or unsupported tags) are remembered for a limited time,
+ * so repeated fetches fail without contacting the OSM API.
  */
 public interface OsmDataService {
     /**
@@ -16,6 +25,56 @@ public interface OsmDataService {
      * @param nodeId the OpenStreetMap node ID to fetch
      * @return the OSM node data with tags
      * @throws NotFoundException if the node doesn't exist or can't be fetched
+     * @throws MissingFieldException if the node lacks a required tag or has an unsupported amenity
+     * @throws ServiceUnavailableException if the OSM API is temporarily unavailable (e.g., rate limited)
      */
     @NonNull OsmNode fetchNode(@NonNull Long nodeId);
+
+    /**
+     * Fetches an OpenStreetMap element by its type and ID.
+     * Ways and relations are fetched including their member nodes with a single request; their location is the
+     * centroid of the member nodes, and their tags are taken from the way or relation itself.
+     *
+     * @param elementType the type of the element to fetch
+     * @param elementId   the OpenStreetMap ID of the element
+     * @return the OSM element data with tags and location
+     * @throws NotFoundException if the element doesn't exist or can't be fetched
+     * @throws MissingFieldException if the element lacks a required tag or has an unsupported amenity
+     * @throws ServiceUnavailableException if the OSM API is temporarily unavailable (e.g., rate limited)
+     */
+    @NonNull OsmNode fetchElement(@NonNull OsmElementType elementType, @NonNull Long elementId);
+
+    /**
+     * Fetches all importable nodes within an area, i.e., nodes with a supported amenity and all required tags.
+     * Large areas are fetched as several tiles; nodes with a supported amenity but missing tags are skipped
+     * and recorded as cached failures.
+     *
+     * @param area the area to search
+     * @return the importable nodes ordered by node ID; never null, but may be empty
+     * @throws ServiceUnavailableException if the OSM API is temporarily unavailable (e.g., rate limited)
+     */
+    @NonNull List<OsmNode> fetchNodesInArea(@NonNull BoundingBox area);
+
+    /**
+     * Retrieves all cached fetch failures that have not expired yet.
+     *
+     * @return the cached failures ordered by element type and ID; never null, but may be empty
+     */
+    @NonNull List<OsmFetchFailure> getCachedFailures();
+
+    /**
+     * Removes the cached fetch failure of an element, so the next fetch contacts the OSM API again.
+     *
+     * @param elementType the type of the element
+     * @param elementId   the OpenStreetMap ID of the element
+     * @throws NotFoundException if no failure is cached for the element
+     */
+    void evictCachedFailure(@NonNull OsmElementType elementType, @NonNull Long elementId);
+
+    /**
+     * Removes all cached fetch failures.
+     *
+     * @return the number of removed entries
+     */
+    int clearCachedFailures();
 }
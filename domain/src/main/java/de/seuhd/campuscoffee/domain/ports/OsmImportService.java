@@ -0,0 +1,93 @@
+package de.seuhd.campuscoffee.domain.ports;
+
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.ImportJob;
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+import de.seuhd.campuscoffee.domain.model.OsmFetchFailure;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * Service interface for asynchronous bulk imports of Points of Sale from OpenStreetMap.
+ * Jobs run in a dedicated, bounded executor and import each element via {@link PosService}.
+ * Job state is kept in memory on the node that accepted the job and remains queryable after completion
+ * until it is evicted by newer jobs.
+ */
+public interface OsmImportService {
+    /**
+     * Submits a job that imports the given OpenStreetMap nodes.
+     *
+     * @param nodeIds the OpenStreetMap node IDs to import; must not be null or empty
+     * @param campusType the campus type to assign to the imported POS; must not be null
+     * @return a snapshot of the queued job; never null
+     * @throws IllegalArgumentException if no node IDs or too many node IDs are given
+     * @throws ServiceUnavailableException if the import queue is full
+     */
+    @NonNull ImportJob submitNodeImport(@NonNull List<Long> nodeIds, @NonNull CampusType campusType);
+
+    /**
+     * Submits a job that imports all POS within an area, i.e., all nodes whose amenity maps to a POS type.
+     * Nodes whose name matches an existing POS are skipped.
+     *
+     * @param area the area to import; must not be null
+     * @param campusType the campus type to assign to the imported POS; must not be null
+     * @return a snapshot of the queued job; never null
+     * @throws IllegalArgumentException if the area is too large
+     * @throws ServiceUnavailableException if the import queue is full
+     */
+    @NonNull ImportJob submitAreaImport(@NonNull BoundingBox area, @NonNull CampusType campusType);
+
+    /**
+     * Retrieves all known import jobs, most recent first.
+     *
+     * @return snapshots of all retained jobs; never null, but may be empty
+     */
+    @NonNull List<ImportJob> getJobs();
+
+    /**
+     * Retrieves the current state of an import job.
+     *
+     * @param jobId the job ID; must not be null
+     * @return a snapshot of the job; never null
+     * @throws NotFoundException if no job exists with the given ID
+     */
+    @NonNull ImportJob getJob(@NonNull String jobId);
+
+    /**
+     * Cancels an import job. Queued jobs are cancelled immediately; running jobs stop after the node that is
+     * currently being imported. Cancelling a finished job has no effect.
+     *
+     * @param jobId the job ID; must not be null
+     * @return a snapshot of the job after the cancellation request; never null
+     * @throws NotFoundException if no job exists with the given ID
+     */
+    @NonNull ImportJob cancelJob(@NonNull String jobId);
+
+    /**
+     * Retrieves the OSM elements that recently failed to import for permanent reasons (not found, missing tags)
+     * and are therefore rejected without contacting the OSM API.
+     *
+     * @return the cached failures ordered by element type and ID; never null, but may be empty
+     */
+    @NonNull List<OsmFetchFailure> getCachedFailures();
+
+    /**
+     * Purges the cached failure of an element, e.g., after its data was fixed in OpenStreetMap.
+     *
+     * @param elementType the type of the OpenStreetMap element; must not be null
+     * @param elementId the OpenStreetMap ID of the element; must not be null
+     * @throws NotFoundException if no failure is cached for the element
+     */
+    void evictCachedFailure(@NonNull OsmElementType elementType, @NonNull Long elementId);
+
+    /**
+     * Purges all cached failures.
+     *
+     * @return the number of purged entries
+     */
+    int clearCachedFailures();
+}
@@ -2,7 +2,10 @@ package de.seuhd.campuscoffee.domain.ports;
 
 import de.seuhd.campuscoffee.domain.model.Pos;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.PosChanges;
+import de.seuhd.campuscoffee.domain.model.PosSyncToken;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
 
@@ -28,6 +31,26 @@ public interface PosDataService {
      */
     @NonNull List<Pos> getAll();
 
+    /**
+     * Returns the version of the POS catalog, i.e., of the list returned by {@link #getAll()}.
+     * The version is shared by all instances and increases when a transaction that wrote POS commits, so a version
+     * read before {@link #getAll()} is never newer than the list. It may lag behind changes of other instances
+     * by the time it is cached for.
+     *
+     * @return the current catalog version
+     */
+    long getCatalogVersion();
+
+    /**
+     * Retrieves the POS created or updated and the IDs of the POS deleted since a sync token.
+     * The cost is proportional to the number of changes, not to the number of POS. Tokens older than the retention
+     * of the deletions get a full sync.
+     *
+     * @param since the token of the previous sync; null for a full sync (all POS, no deletions)
+     * @return the changes and the token for the next sync; never null
+     */
+    @NonNull PosChanges getChanges(@Nullable PosSyncToken since);
+
     /**
      * Retrieves a single POS entity by its unique name and returns it as a domain object.
      *
@@ -46,6 +69,14 @@ public interface PosDataService {
      */
     @NonNull Pos getById(@NonNull Long id);
 
+    /**
+     * Retrieves the POS entities with the given identifiers with a single query.
+     *
+     * @param ids the distinct identifiers of the POS to retrieve; must not be null
+     * @return the POS found, in any order; IDs without a POS are skipped; never null
+     */
+    @NonNull List<Pos> getAllById(@NonNull List<Long> ids);
+
     /**
      * Creates a new POS or updates an existing one.
      * If the POS has an ID and exists in the data store, it will be updated.
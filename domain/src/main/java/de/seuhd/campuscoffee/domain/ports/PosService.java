@@ -3,9 +3,16 @@ package de.seuhd.campuscoffee.domain.ports;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
 import de.seuhd.campuscoffee.domain.exceptions.MissingFieldException;
+import de.seuhd.campuscoffee.domain.exceptions.ServiceUnavailableException;
 import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+import de.seuhd.campuscoffee.domain.model.MultiGetResult;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosChanges;
+import de.seuhd.campuscoffee.domain.model.PosSyncToken;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
 
@@ -32,6 +39,26 @@ public interface PosService {
      */
     @NonNull List<Pos> getAll();
 
+    /**
+     * Returns the version of the POS catalog, i.e., of the list returned by {@link #getAll()}.
+     * The version increases whenever POS are created, updated, imported, or deleted (by any instance), so callers
+     * can cache data derived from the catalog (e.g., encoded responses) until the version changes.
+     * The version is read from the data store (see {@link PosDataService#getCatalogVersion()}).
+     *
+     * @return the current catalog version
+     */
+    long getCatalogVersion();
+
+    /**
+     * Retrieves the changes of the POS since a previous sync (delta sync for offline clients).
+     * Deleted POS are reported by their IDs. The first sync and syncs with tokens older than the retention of the
+     * deletions return all POS ({@link PosChanges#full()}).
+     *
+     * @param since the token returned by the previous sync; null to retrieve all POS
+     * @return the changed POS, the IDs of the deleted POS, and the token for the next sync; never null
+     */
+    @NonNull PosChanges getChanges(@Nullable PosSyncToken since);
+
     /**
      * Retrieves a specific Point of Sale by its unique identifier.
      *
@@ -41,6 +68,16 @@ public interface PosService {
      */
     @NonNull Pos getById(@NonNull Long id);
 
+    /**
+     * Retrieves several Points of Sale by their unique identifiers with a single lookup.
+     * Duplicate IDs are ignored.
+     *
+     * @param ids the identifiers of the POS to retrieve; must not be null
+     * @return the POS found in the order of the IDs and the IDs without a POS; never null
+     * @throws IllegalArgumentException if no or more than {@link MultiGetResult#MAX_IDS} IDs are requested
+     */
+    @NonNull MultiGetResult<Pos> getAllById(@NonNull List<Long> ids);
+
     /**
      * Retrieves a specific Point of Sale by its unique name.
      *
@@ -91,9 +128,38 @@ public interface PosService {
      * @throws NotFoundException if the OSM node with the given ID doesn't exist or cannot be fetched
      * @throws MissingFieldException if the OSM node lacks required fields for creating a valid POS
      * @throws DuplicationException if a POS with the same name already exists
+     * @throws ServiceUnavailableException if the OpenStreetMap API is temporarily unavailable
      */
     @NonNull Pos importFromOsmNode(@NonNull Long nodeId, @NonNull CampusType campusType);
 
+    /**
+     * Imports a Point of Sale from an OpenStreetMap node, way, or relation.
+     * Works like {@link #importFromOsmNode(Long, CampusType)}, but also supports POS that are mapped as building
+     * outlines (ways) or multipolygons (relations).
+     *
+     * @param elementType the type of the OpenStreetMap element; must not be null
+     * @param elementId the OpenStreetMap ID of the element; must not be null
+     * @param campusType the campus type to assign to the imported POS; must not be null
+     * @return the created or updated POS entity; never null
+     * @throws NotFoundException if the OSM element with the given ID doesn't exist or cannot be fetched
+     * @throws MissingFieldException if the OSM element lacks required fields for creating a valid POS
+     * @throws DuplicationException if a POS with the same name already exists
+     * @throws ServiceUnavailableException if the OpenStreetMap API is temporarily unavailable
+     */
+    @NonNull Pos importFromOsmElement(@NonNull OsmElementType elementType, @NonNull Long elementId,
+                                      @NonNull CampusType campusType);
+
+    /**
+     * Imports a Point of Sale from already fetched OpenStreetMap node data.
+     *
+     * @param osmNode the OpenStreetMap node data; must not be null
+     * @param campusType the campus type to assign to the imported POS; must not be null
+     * @return the created or updated POS entity; never null
+     * @throws MissingFieldException if the OSM node lacks required fields for creating a valid POS
+     * @throws DuplicationException if a POS with the same name already exists
+     */
+    @NonNull Pos importOsmNode(@NonNull OsmNode osmNode, @NonNull CampusType campusType);
+
     /**
      * Deletes a Point of Sale by its unique identifier.
      *
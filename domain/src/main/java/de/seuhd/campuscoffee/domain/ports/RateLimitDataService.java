@@ -0,0 +1,24 @@
+package de.seuhd.campuscoffee.domain.ports;
+
+import org.jspecify.annotations.NonNull;
+
+import java.time.Duration;
+
+/**
+ * Port interface for rate limits shared by all instances of the application.
+ * This port is implemented by the data layer (adapter), which keeps the token buckets in the database; like
+ * {@link de.seuhd.campuscoffee.domain.util.TokenBucket}, a bucket is a generic cell rate algorithm (GCRA) that
+ * only stores the theoretical arrival time of the next request.
+ */
+public interface RateLimitDataService {
+    /**
+     * Acquires a permit of a shared token bucket only if it is available immediately.
+     * The bucket is created (full) on first use.
+     *
+     * @param bucketKey        the key of the bucket (e.g., the client and the limited endpoints); must not be null
+     * @param permitsPerSecond the sustained rate; must be positive
+     * @param burstCapacity    the maximum number of permits that can be acquired at once; must be positive
+     * @return zero if the permit was acquired; otherwise the time after which a permit will be available
+     */
+    @NonNull Duration tryAcquire(@NonNull String bucketKey, double permitsPerSecond, int burstCapacity);
+}
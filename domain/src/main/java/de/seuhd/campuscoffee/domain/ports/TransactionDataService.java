@@ -0,0 +1,23 @@
+package de.seuhd.campuscoffee.domain.ports;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * Port interface for transactions spanning several data operations.
+ * This port is implemented by the data layer (adapter); the operations of the other data ports that are called
+ * by the work join the transaction (and use its database connection).
+ */
+public interface TransactionDataService {
+    /**
+     * Runs the work in a single transaction, which is committed if the work returns and rolled back if it throws.
+     * Writes of the in-memory user stores are not transactional and are not rolled back.
+     *
+     * @param work the work to run; must not be null
+     * @param <T>  the type of the result
+     * @return the result of the work
+     */
+    <T> @Nullable T runInTransaction(@NonNull Supplier<T> work);
+}
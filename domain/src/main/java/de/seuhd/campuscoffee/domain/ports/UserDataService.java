@@ -1,8 +1,13 @@
 package de.seuhd.campuscoffee.domain.ports;
 
 import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserCursor;
+import de.seuhd.campuscoffee.domain.model.UserPage;
+import de.seuhd.campuscoffee.domain.model.UserSortKey;
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
 
@@ -30,6 +35,20 @@ public interface UserDataService {
     @NonNull
     List<User> getAll();
 
+    /**
+     * Retrieves a page of users in the order of a sort key, optionally restricted to users whose sort value starts
+     * with a prefix. Values are compared by their character codes (case-sensitive). Implementations use a sorted
+     * index, so the cost depends on the page size rather than on the number of users.
+     *
+     * @param sortKey the order of the users; must not be null
+     * @param prefix  if not null, only users whose sort value starts with this prefix are returned
+     * @param after   if not null, the page starts after this position, which must have the same sort key
+     * @param limit   the maximum number of users on the page; must be positive
+     * @return the page; its next position is null if there are no further matching users
+     */
+    @NonNull
+    UserPage getPage(@NonNull UserSortKey sortKey, @Nullable String prefix, @Nullable UserCursor after, int limit);
+
     /**
      * Retrieves a single user entity by its unique identifier and returns it as a domain object.
      *
@@ -40,6 +59,15 @@ public interface UserDataService {
     @NonNull
     User getById(@NonNull Long id);
 
+    /**
+     * Retrieves the users with the given identifiers with a single lookup (one query for persistent stores).
+     *
+     * @param ids the distinct identifiers of the users to retrieve; must not be null
+     * @return the users found, in any order; IDs without a user are skipped; never null
+     */
+    @NonNull
+    List<User> getAllById(@NonNull List<Long> ids);
+
     /**
      * Retrieves a single user entity by its unique login name and returns it as a domain object.
      *
@@ -50,6 +78,17 @@ public interface UserDataService {
     @NonNull
     User getByLoginName(@NonNull String loginName);
 
+    /**
+     * Retrieves a single user entity by its unique email address and returns it as a domain object.
+     * Email addresses are compared case-insensitively.
+     *
+     * @param emailAddress the email address of the user to retrieve; must not be null
+     * @return the user with the specified email address; never null
+     * @throws NotFoundException if no user exists with the given email address
+     */
+    @NonNull
+    User getByEmailAddress(@NonNull String emailAddress);
+
     /**
      * Creates a new user or updates an existing one.
      * If the user has an ID and exists in the data store, it will be updated.
@@ -62,6 +101,26 @@ public interface UserDataService {
     @NonNull
     User upsert(@NonNull User user);
 
+    /**
+     * Creates or updates several users at once, like {@link #upsert(User)} for each user.
+     * Either all or none of the users are written; data stores with batch support write them in one transaction.
+     *
+     * @param users the users to create or update; must not be null
+     * @return the persisted users in the order of the given users; never null
+     * @throws NotFoundException    if attempting to update a user that does not exist
+     * @throws DuplicationException if a login name or email address is already taken or used twice
+     */
+    @NonNull
+    List<User> upsertAll(@NonNull List<User> users);
+
+    /**
+     * Returns whether writes take part in the transactions of the {@link TransactionDataService}, i.e., are rolled
+     * back with a failed batch. In-memory stores write immediately and cannot roll back.
+     *
+     * @return true if writes are transactional
+     */
+    boolean isTransactional();
+
     /**
      * Deletes a user by their unique identifier.
      *
@@ -1,7 +1,13 @@
 package de.seuhd.campuscoffee.domain.ports;
 
+import de.seuhd.campuscoffee.domain.exceptions.DuplicationException;
+import de.seuhd.campuscoffee.domain.model.MultiGetResult;
 import de.seuhd.campuscoffee.domain.model.User;
+import de.seuhd.campuscoffee.domain.model.UserCursor;
+import de.seuhd.campuscoffee.domain.model.UserPage;
+import de.seuhd.campuscoffee.domain.model.UserSortKey;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
 
@@ -20,6 +26,19 @@ public interface UserService {
     @NonNull
     List<User> getAllUsers();
 
+    /**
+     * Retrieve a page of users ordered by login name or last name, optionally filtered by a prefix of that attribute.
+     *
+     * @param sortKey the order of the users
+     * @param prefix  if not null, only users whose sort attribute starts with this prefix (case-sensitive)
+     * @param after   if not null, the position after which the page starts (from the previous page)
+     * @param limit   the maximum number of users on the page
+     * @return the page with the position of the next page, if any
+     * @throws IllegalArgumentException if the limit is out of range or the position belongs to another order
+     */
+    @NonNull
+    UserPage getUsers(@NonNull UserSortKey sortKey, @Nullable String prefix, @Nullable UserCursor after, int limit);
+
     /**
      * Retrieve a user by its ID.
      *
@@ -30,6 +49,16 @@ public interface UserService {
     @NonNull
     User getUserById(@NonNull Long id);
 
+    /**
+     * Retrieve several users by their IDs with a single lookup. Duplicate IDs are ignored.
+     *
+     * @param ids the IDs of the users
+     * @return the users found in the order of the IDs and the IDs without a user
+     * @throws IllegalArgumentException if no or more than {@link MultiGetResult#MAX_IDS} IDs are requested
+     */
+    @NonNull
+    MultiGetResult<User> getUsersById(@NonNull List<Long> ids);
+
     /**
      * Retrieve users by their login name via a filter-style operation.
      * Even if loginName is intended to be unique, this returns a list
@@ -41,6 +70,16 @@ public interface UserService {
     @NonNull
     List<User> findUsersByLoginName(@NonNull String loginName);
 
+    /**
+     * Retrieve users by their email address via a filter-style operation.
+     * Email addresses are unique and compared case-insensitively, so the list contains at most one user.
+     *
+     * @param emailAddress the email address to filter by
+     * @return a non-null list (possibly empty) of matching users
+     */
+    @NonNull
+    List<User> findUsersByEmailAddress(@NonNull String emailAddress);
+
     /**
      * Create a new user.
      *
@@ -50,6 +89,16 @@ public interface UserService {
     @NonNull
     User createUser(@NonNull User user);
 
+    /**
+     * Create several new users in one batch; either all or none of them are created.
+     *
+     * @param users the users to create (without ID / timestamps)
+     * @return the created users including ID and timestamps, in the given order
+     * @throws DuplicationException if a login name or email address is already taken or used twice
+     */
+    @NonNull
+    List<User> createUsers(@NonNull List<User> users);
+
     /**
      * Update an existing user identified by ID.
      *
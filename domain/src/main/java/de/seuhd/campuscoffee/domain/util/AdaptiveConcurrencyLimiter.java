@@ -0,0 +1,220 @@
+package de.seuhd.campuscoffee.domain.util;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free concurrency limiter whose limit adapts to the observed latency.
+ * <p>
+ * The limit follows a gradient algorithm: per sample window, the average latency of the window (short-term) is
+ * compared with an exponential moving average over many windows (long-term, the latency without queueing).
+ * If the short-term latency grows, requests are queueing somewhere (e.g., for database connections), and the
+ * limit is reduced in proportion (at most halved per window); otherwise it grows by about the square root of the
+ * limit, so that a new level of capacity is found quickly. A dropped request (e.g., a timeout) reduces the
+ * limit by 10% (multiplicative decrease). Requests beyond the limit are rejected immediately instead of queueing,
+ * which keeps the latency of the admitted requests stable under overload.
+ * <p>
+ * Each {@link Priority} may use only a share of the limit, so that under overload the lower priorities are
+ * rejected first and some capacity always remains for the higher ones.
+ */
+public final class AdaptiveConcurrencyLimiter {
+    static final long MIN_WINDOW_NANOS = 100_000_000L; // 100 ms
+    static final long MAX_WINDOW_NANOS = 1_000_000_000L; // 1 s
+    static final int MIN_WINDOW_SAMPLES = 10;
+    private static final double TOLERANCE = 1.5; // short-term latency may be 50% above the long-term one
+    private static final double LONG_TERM_SMOOTHING = 0.05;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    /**
+     * The priority of a request; a priority may use the given share of the limit.
+     */
+    public enum Priority {
+        /**
+         * Reads, which are cheap and what most clients wait for.
+         */
+        HIGH(1.0),
+        /**
+         * Writes.
+         */
+        NORMAL(0.8),
+        /**
+         * Expensive background work, e.g., imports.
+         */
+        LOW(0.5);
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Priority, LongAdder> rejected = new EnumMap<>(Priority.class);
+    private volatile double limit;
+    // sample window; evaluated only by the thread that completes the window by CAS
+    private final LongAdder windowLatencyNanos = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final AtomicInteger windowMaxInFlight = new AtomicInteger();
+    private final AtomicBoolean windowDropped = new AtomicBoolean();
+    private final AtomicLong windowStartNanos = new AtomicLong(System.nanoTime());
+    private volatile double longTermLatencyNanos; // written only by the thread that completes a window
+
+    /**
+     * Creates a limiter.
+     *
+     * @param initialLimit the limit until latencies have been observed
+     * @param minLimit     the lower bound of the limit; must be positive
+     * @param maxLimit     the upper bound of the limit; must not be less than minLimit
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit <= 0 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must be positive and the minimum must not exceed the maximum.");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, new LongAdder());
+        }
+    }
+
+    /**
+     * Acquires a permit if the number of requests in flight is below the share of the limit of the priority.
+     * The permit must be released exactly once.
+     *
+     * @param priority the priority of the request
+     * @return the permit, or null if the request should be rejected
+     */
+    public @Nullable Permit tryAcquire(Priority priority) {
+        int max = Math.max(1, (int) (limit * priority.share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= max) {
+                rejected.get(priority).increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulateAndGet(current + 1, Math::max);
+                return new Permit(System.nanoTime());
+            }
+        }
+    }
+
+    /**
+     * Returns the current limit.
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Returns the number of permits in flight.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Returns the number of requests of a priority rejected so far.
+     */
+    public long getRejected(Priority priority) {
+        return rejected.get(priority).sum();
+    }
+
+    private void release(long startNanos, boolean dropped) {
+        inFlight.decrementAndGet();
+        long now = System.nanoTime();
+        if (dropped) {
+            windowDropped.set(true);
+        } else {
+            windowLatencyNanos.add(now - startNanos);
+            windowSamples.increment();
+        }
+        long windowStart = windowStartNanos.get();
+        long elapsed = now - windowStart;
+        boolean complete = elapsed >= MAX_WINDOW_NANOS
+                || (elapsed >= MIN_WINDOW_NANOS && windowSamples.sum() >= MIN_WINDOW_SAMPLES);
+        if (complete && windowStartNanos.compareAndSet(windowStart, now)) {
+            updateLimit();
+        }
+    }
+
+    private void updateLimit() {
+        long samples = windowSamples.sumThenReset();
+        long latencyNanos = windowLatencyNanos.sumThenReset();
+        int maxInFlight = windowMaxInFlight.getAndSet(inFlight.get());
+        boolean dropped = windowDropped.getAndSet(false);
+        double current = limit;
+        if (dropped) {
+            // not smoothed: overload has to be relieved at once
+            limit = Math.clamp(current * BACKOFF_RATIO, minLimit, maxLimit);
+            return;
+        }
+        if (samples == 0) {
+            return;
+        }
+        double shortTerm = Math.max(1.0, (double) latencyNanos / samples);
+        longTermLatencyNanos = longTermLatencyNanos == 0
+                ? shortTerm
+                : longTermLatencyNanos * (1 - LONG_TERM_SMOOTHING) + shortTerm * LONG_TERM_SMOOTHING;
+        if (longTermLatencyNanos > shortTerm * 2) {
+            // the latency dropped for good (e.g., after a recovery); forget the slow history faster
+            longTermLatencyNanos = shortTerm * 2;
+        }
+        if (maxInFlight < current / 2) {
+            return; // the limit was not reached, so the latency says nothing about it
+        }
+        double gradient = Math.clamp(TOLERANCE * longTermLatencyNanos / shortTerm, 0.5, 1.0);
+        double next = current * gradient + Math.sqrt(current);
+        limit = Math.clamp(current * (1 - LIMIT_SMOOTHING) + next * LIMIT_SMOOTHING, minLimit, maxLimit);
+    }
+
+    /**
+     * A permit of a request in flight.
+     */
+    public final class Permit {
+        private final long startNanos;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Releases the permit of a completed request; its latency is a sample for the limit.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release(startNanos, false);
+            }
+        }
+
+        /**
+         * Releases the permit of a request that failed because of overload (e.g., a timeout); reduces the limit.
+         */
+        public void releaseDropped() {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release(startNanos, true);
+            }
+        }
+
+        /**
+         * Releases the permit without a sample, e.g., when a request continues asynchronously.
+         */
+        public void releaseIgnored() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package de.seuhd.campuscoffee.domain.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls ("single flight"): while a call for a key is in flight, further calls for
+ * the same key do not start their own call but wait for it and share its result or exception.
+ * Only concurrent calls are coalesced; a call that starts after the previous one completed runs again, so results
+ * are never older than the start of the call they come from. Callers that must see their own writes should
+ * {@link #forget(Object)} the key after writing, so that later calls do not join a call that started before.
+ *
+ * @param <K> the type of the keys (the operation and its arguments); must implement equals and hashCode
+ * @param <V> the type of the results
+ */
+public final class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Runs the call, or waits for the call for the same key that is already in flight.
+     *
+     * @param key  the key of the call
+     * @param call the call; run by the first caller only
+     * @return the result of the call
+     */
+    public V execute(K key, Supplier<V> call) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> inFlight = flights.putIfAbsent(key, flight);
+        if (inFlight != null) {
+            coalesced.increment();
+            return join(inFlight);
+        }
+        executed.increment();
+        V result;
+        try {
+            result = call.get();
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        // removed before completing, so that no caller joins a completed call
+        flights.remove(key, flight);
+        flight.complete(result);
+        return result;
+    }
+
+    /**
+     * Detaches the call in flight for a key (if any); later calls for the key start a new call.
+     *
+     * @param key the key
+     */
+    public void forget(K key) {
+        flights.remove(key);
+    }
+
+    /**
+     * Detaches all calls in flight.
+     */
+    public void forgetAll() {
+        flights.clear();
+    }
+
+    /**
+     * Returns the number of calls that were run.
+     */
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    /**
+     * Returns the number of calls that joined a call in flight instead of running.
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // the exception of the call, as if it had been thrown here
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
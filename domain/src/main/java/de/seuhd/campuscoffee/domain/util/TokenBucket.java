@@ -0,0 +1,78 @@
+package de.seuhd.campuscoffee.domain.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket rate limiter.
+ * Implemented as a generic cell rate algorithm (GCRA): instead of counting tokens, the bucket only stores the
+ * theoretical arrival time of the next request, so acquiring a permit is a single compare-and-set.
+ * The bucket allows bursts of up to {@code burstCapacity} requests and a sustained rate of
+ * {@code permitsPerSecond} requests.
+ */
+public final class TokenBucket {
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    /**
+     * Creates a token bucket that starts full.
+     *
+     * @param permitsPerSecond the sustained rate; must be positive
+     * @param burstCapacity    the maximum number of permits that can be acquired at once; must be positive
+     */
+    public TokenBucket(double permitsPerSecond, int burstCapacity) {
+        if (permitsPerSecond <= 0 || burstCapacity <= 0) {
+            throw new IllegalArgumentException("Rate and burst capacity must be positive.");
+        }
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * (burstCapacity - 1);
+        this.theoreticalArrivalNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Reserves a permit and returns how long the caller has to wait before using it.
+     * The reservation is always granted, so callers must honor the returned delay.
+     *
+     * @return the delay until the reserved permit becomes available; zero if it is available immediately
+     */
+    public Duration reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrivalNanos.get();
+            long next = Math.max(arrival, now) + emissionIntervalNanos;
+            if (theoreticalArrivalNanos.compareAndSet(arrival, next)) {
+                return Duration.ofNanos(Math.max(0L, arrival - burstToleranceNanos - now));
+            }
+        }
+    }
+
+    /**
+     * Returns whether the bucket is full, i.e., whether it behaves like a new bucket. A full bucket can be dropped
+     * and recreated later without changing the rate limit.
+     *
+     * @return true if the full burst capacity is available
+     */
+    public boolean isFull() {
+        return theoreticalArrivalNanos.get() - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Acquires a permit only if it is available immediately.
+     *
+     * @return zero if the permit was acquired; otherwise the time after which a permit will be available
+     */
+    public Duration tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrivalNanos.get();
+            long waitNanos = arrival - burstToleranceNanos - now;
+            if (waitNanos > 0) {
+                return Duration.ofNanos(waitNanos);
+            }
+            if (theoreticalArrivalNanos.compareAndSet(arrival, Math.max(arrival, now) + emissionIntervalNanos)) {
+                return Duration.ZERO;
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package de.seuhd.campuscoffee.domain.ports;
+
+import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.impl.OsmImportProperties;
+import de.seuhd.campuscoffee.domain.impl.OsmImportServiceImpl;
+import de.seuhd.campuscoffee.domain.model.BoundingBox;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.ImportJob;
+import de.seuhd.campuscoffee.domain.model.ImportJobStatus;
+import de.seuhd.campuscoffee.domain.model.ImportOutcome;
+import de.seuhd.campuscoffee.domain.model.ImportOutcomeStatus;
+import de.seuhd.campuscoffee.domain.model.OsmAmenity;
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OsmImportServiceTest {
+
+    @Mock
+    private PosService posService;
+
+    @Mock
+    private OsmDataService osmDataService;
+
+    private OsmImportServiceImpl osmImportService;
+
+    @BeforeEach
+    void setUp() {
+        osmImportService = new OsmImportServiceImpl(posService, osmDataService, new OsmImportProperties(1, 1, 3, 0.01, 10, false));
+    }
+
+    @AfterEach
+    void tearDown() {
+        osmImportService.close();
+    }
+
+    @Test
+    void jobRecordsOutcomeOfEachNode() throws InterruptedException {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        when(posService.importFromOsmNode(eq(1L), any())).thenReturn(pos);
+        when(posService.importFromOsmNode(eq(2L), any())).thenThrow(new NotFoundException(Pos.class, 2L));
+
+        // when
+        ImportJob submitted = osmImportService.submitNodeImport(List.of(1L, 2L), CampusType.ALTSTADT);
+        ImportJob finished = awaitFinished(submitted.id());
+
+        // then
+        assertThat(finished.status()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(finished.processedCount()).isEqualTo(2);
+        assertThat(finished.importedCount()).isEqualTo(1);
+        assertThat(finished.failedCount()).isEqualTo(1);
+        assertThat(finished.outcomes())
+                .extracting(ImportOutcome::status)
+                .containsExactly(ImportOutcomeStatus.IMPORTED, ImportOutcomeStatus.FAILED);
+        assertThat(finished.outcomes().getFirst().posId()).isEqualTo(pos.id());
+        assertThat(finished.outcomes().getLast().errorCode()).isEqualTo("NotFoundException");
+    }
+
+    @Test
+    void runningJobStopsAfterCurrentNodeWhenCancelled() throws InterruptedException {
+        // given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(posService.importFromOsmNode(anyLong(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return TestFixtures.getPosList().getFirst();
+        });
+        ImportJob submitted = osmImportService.submitNodeImport(List.of(1L, 2L, 3L), CampusType.BERGHEIM);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // when
+        osmImportService.cancelJob(submitted.id());
+        release.countDown();
+        ImportJob finished = awaitFinished(submitted.id());
+
+        // then
+        assertThat(finished.status()).isEqualTo(ImportJobStatus.CANCELLED);
+        assertThat(finished.outcomes())
+                .extracting(ImportOutcome::status)
+                .containsExactly(ImportOutcomeStatus.IMPORTED, ImportOutcomeStatus.CANCELLED, ImportOutcomeStatus.CANCELLED);
+        verify(posService, times(1)).importFromOsmNode(anyLong(), any());
+    }
+
+    @Test
+    void areaJobSkipsNodesOfExistingPos() throws InterruptedException {
+        // given
+        Pos existing = TestFixtures.getPosList().getFirst();
+        Pos imported = TestFixtures.getPosList().getLast();
+        OsmNode existingNode = osmNode(1L, existing.name());
+        OsmNode newNode = osmNode(2L, imported.name() + " (new)");
+        when(osmDataService.fetchNodesInArea(any())).thenReturn(List.of(existingNode, newNode));
+        when(posService.getAll()).thenReturn(List.of(existing));
+        when(posService.importOsmNode(newNode, CampusType.ALTSTADT)).thenReturn(imported);
+
+        // when
+        ImportJob submitted = osmImportService.submitAreaImport(CampusType.ALTSTADT.getBoundingBox(), CampusType.ALTSTADT);
+        ImportJob finished = awaitFinished(submitted.id());
+
+        // then
+        assertThat(finished.status()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(finished.area()).isEqualTo(CampusType.ALTSTADT.getBoundingBox());
+        assertThat(finished.outcomes())
+                .extracting(ImportOutcome::nodeId, ImportOutcome::status, ImportOutcome::posId)
+                .containsExactly(
+                        tuple(1L, ImportOutcomeStatus.SKIPPED, existing.id()),
+                        tuple(2L, ImportOutcomeStatus.IMPORTED, imported.id())
+                );
+        assertThat(finished.skippedCount()).isEqualTo(1);
+        verify(posService, never()).importOsmNode(eq(existingNode), any());
+    }
+
+    @Test
+    void areaJobFailsIfAreaCannotBeFetched() throws InterruptedException {
+        // given
+        when(osmDataService.fetchNodesInArea(any())).thenThrow(new IllegalArgumentException("too many nodes"));
+
+        // when
+        ImportJob submitted = osmImportService.submitAreaImport(CampusType.INF.getBoundingBox(), CampusType.INF);
+        ImportJob finished = awaitFinished(submitted.id());
+
+        // then
+        assertThat(finished.status()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(finished.message()).contains("too many nodes");
+        verifyNoInteractions(posService);
+    }
+
+    @Test
+    void tooLargeAreaIsRejected() {
+        // when, then
+        assertThrows(IllegalArgumentException.class,
+                () -> osmImportService.submitAreaImport(new BoundingBox(8.0, 49.0, 9.0, 50.0), CampusType.INF));
+        verifyNoInteractions(osmDataService);
+    }
+
+    @Test
+    void tooManyNodesAreRejected() {
+        // when, then
+        assertThrows(IllegalArgumentException.class,
+                () -> osmImportService.submitNodeImport(List.of(1L, 2L, 3L, 4L), CampusType.INF));
+        verifyNoInteractions(posService);
+    }
+
+    @Test
+    void unknownJobNotFound() {
+        // when, then
+        assertThrows(NotFoundException.class, () -> osmImportService.getJob("unknown"));
+    }
+
+    private static OsmNode osmNode(long nodeId, String name) {
+        return OsmNode.builder()
+                .nodeId(nodeId)
+                .elementType(OsmElementType.NODE)
+                .city("Heidelberg")
+                .houseNumber("1")
+                .postcode("69117")
+                .street("Hauptstraße")
+                .amenity(OsmAmenity.CAFE)
+                .name(name)
+                .description("")
+                .build();
+    }
+
+    private ImportJob awaitFinished(String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        ImportJob job = osmImportService.getJob(jobId);
+        while (!job.status().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = osmImportService.getJob(jobId);
+        }
+        return job;
+    }
+}
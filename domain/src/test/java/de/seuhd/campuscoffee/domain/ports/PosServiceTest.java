@@ -1,6 +1,12 @@
 package de.seuhd.campuscoffee.domain.ports;
 
 import de.seuhd.campuscoffee.domain.exceptions.NotFoundException;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.ChangeEvent;
+import de.seuhd.campuscoffee.domain.model.MultiGetResult;
+import de.seuhd.campuscoffee.domain.model.OsmAmenity;
+import de.seuhd.campuscoffee.domain.model.OsmElementType;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
 import de.seuhd.campuscoffee.domain.model.Pos;
 import de.seuhd.campuscoffee.domain.tests.TestFixtures;
 import de.seuhd.campuscoffee.domain.impl.PosServiceImpl;
@@ -9,13 +15,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -25,6 +34,12 @@ public class PosServiceTest {
     @Mock
     private PosDataService posDataService;
 
+    @Mock
+    private OsmDataService osmDataService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PosServiceImpl posService;
 
@@ -56,6 +71,33 @@ public class PosServiceTest {
 
     }
 
+    @Test
+    void getAllByIdReturnsPosInRequestOrderAndMissingIds() {
+        // given: the data service returns the POS in any order
+        List<Pos> testFixtures = TestFixtures.getPosList();
+        Pos first = testFixtures.getFirst().toBuilder().id(1L).build();
+        Pos last = testFixtures.getLast().toBuilder().id(2L).build();
+        List<Long> ids = List.of(2L, 4711L, 1L, 2L);
+        when(posDataService.getAllById(List.of(2L, 4711L, 1L))).thenReturn(List.of(first, last));
+
+        // when
+        MultiGetResult<Pos> result = posService.getAllById(ids);
+
+        // then: one lookup for the distinct IDs
+        verify(posDataService).getAllById(anyList());
+        assertThat(result.found()).containsExactly(last, first);
+        assertThat(result.missingIds()).containsExactly(4711L);
+    }
+
+    @Test
+    void getAllByIdRejectsTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, MultiGetResult.MAX_IDS + 1).boxed().toList();
+
+        assertThrows(IllegalArgumentException.class, () -> posService.getAllById(ids));
+        assertThrows(IllegalArgumentException.class, () -> posService.getAllById(List.of()));
+        verify(posDataService, never()).getAllById(anyList());
+    }
+
     @Test
     void getPosByIdFound() {
         // given
@@ -89,9 +131,9 @@ public class PosServiceTest {
     @Test
     void upsertNewPos() {
         // given
-        Pos pos = TestFixtures.getPosList().getFirst();
-        pos = pos.toBuilder().id(null).build();
-        when(posDataService.upsert(pos)).thenReturn(pos);
+        Pos savedPos = TestFixtures.getPosList().getFirst();
+        Pos pos = savedPos.toBuilder().id(null).build();
+        when(posDataService.upsert(pos)).thenReturn(savedPos); // the data service assigns the ID
 
         // when, then
         posService.upsert(pos);
@@ -99,6 +141,46 @@ public class PosServiceTest {
         verify(posDataService).upsert(pos);
     }
 
+    @Test
+    void importedPosIsLocatedAtTheOsmElement() {
+        // given
+        OsmNode osmNode = OsmNode.builder()
+                .nodeId(42L).elementType(OsmElementType.WAY).latitude(49.4101).longitude(8.6902)
+                .city("Heidelberg").houseNumber("1").postcode("69120").street("Im Neuenheimer Feld")
+                .amenity(OsmAmenity.CAFE).name("Café am Feld").description("Café in a building")
+                .build();
+        when(osmDataService.fetchElement(OsmElementType.WAY, 42L)).thenReturn(osmNode);
+        when(posDataService.upsert(any())).thenAnswer(invocation -> invocation.<Pos>getArgument(0).toBuilder()
+                .id(1L).build());
+
+        // when
+        Pos pos = posService.importFromOsmElement(OsmElementType.WAY, 42L, CampusType.INF);
+
+        // then
+        assertThat(pos.latitude()).isEqualTo(49.4101);
+        assertThat(pos.longitude()).isEqualTo(8.6902);
+    }
+
+    @Test
+    void writesPublishChangeEvents() {
+        // given
+        Pos pos = TestFixtures.getPosList().getFirst();
+        Pos newPos = pos.toBuilder().id(null).build();
+        when(posDataService.upsert(newPos)).thenReturn(pos);
+        when(posDataService.getById(pos.id())).thenReturn(pos);
+        when(posDataService.upsert(pos)).thenReturn(pos);
+
+        // when
+        posService.upsert(newPos);
+        posService.upsert(pos);
+        posService.delete(pos.id());
+
+        // then
+        verify(eventPublisher).publishEvent(ChangeEvent.created(Pos.class, pos.id(), pos));
+        verify(eventPublisher).publishEvent(ChangeEvent.updated(Pos.class, pos.id(), pos));
+        verify(eventPublisher).publishEvent(ChangeEvent.deleted(Pos.class, pos.id()));
+    }
+
     @Test
     void getPosByName() {
         // given
@@ -0,0 +1,83 @@
+package de.seuhd.campuscoffee.domain.util;
+
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter.Permit;
+import de.seuhd.campuscoffee.domain.util.AdaptiveConcurrencyLimiter.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void lowerPrioritiesAreRejectedFirst() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100);
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            permits.add(limiter.tryAcquire(Priority.LOW));
+        }
+
+        assertThat(permits).doesNotContainNull();
+        assertThat(limiter.tryAcquire(Priority.LOW)).isNull();
+        for (int i = 0; i < 3; i++) {
+            permits.add(limiter.tryAcquire(Priority.NORMAL));
+        }
+        assertThat(permits).doesNotContainNull();
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isNull();
+        permits.add(limiter.tryAcquire(Priority.HIGH));
+        permits.add(limiter.tryAcquire(Priority.HIGH));
+        assertThat(permits).doesNotContainNull();
+        assertThat(limiter.tryAcquire(Priority.HIGH)).isNull();
+        assertThat(limiter.getInFlight()).isEqualTo(10);
+        assertThat(limiter.getRejected(Priority.LOW)).isEqualTo(1);
+        assertThat(limiter.getRejected(Priority.HIGH)).isEqualTo(1);
+
+        permits.forEach(Permit::release);
+        permits.forEach(Permit::release); // releasing twice has no effect
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void limitDecreasesWhenLatencyGrowsAndOnDrops() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 1000);
+        // fast requests at the limit establish the long-term latency and let the limit grow
+        for (int window = 0; window < 5; window++) {
+            runWindow(limiter, 0);
+        }
+        int grownLimit = limiter.getLimit();
+        assertThat(grownLimit).isGreaterThan(20);
+
+        // requests get much slower (queueing): the limit shrinks
+        for (int window = 0; window < 5; window++) {
+            runWindow(limiter, 20);
+        }
+        int reducedLimit = limiter.getLimit();
+        assertThat(reducedLimit).isLessThan(grownLimit);
+
+        Thread.sleep(AdaptiveConcurrencyLimiter.MAX_WINDOW_NANOS / 1_000_000);
+        Objects.requireNonNull(limiter.tryAcquire(Priority.HIGH)).releaseDropped();
+        assertThat(limiter.getLimit()).isLessThan(reducedLimit);
+    }
+
+    /**
+     * Runs one sample window with as many concurrent requests as the limit allows.
+     */
+    private static void runWindow(AdaptiveConcurrencyLimiter limiter, long latencyMillis)
+            throws InterruptedException {
+        long windowEnd = System.nanoTime() + AdaptiveConcurrencyLimiter.MIN_WINDOW_NANOS;
+        int released = 0;
+        while (System.nanoTime() < windowEnd || released < AdaptiveConcurrencyLimiter.MIN_WINDOW_SAMPLES) {
+            List<Permit> permits = new ArrayList<>();
+            Permit permit;
+            while ((permit = limiter.tryAcquire(Priority.HIGH)) != null) {
+                permits.add(permit);
+            }
+            Thread.sleep(latencyMillis);
+            permits.forEach(Permit::release);
+            released += permits.size();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package de.seuhd.campuscoffee.domain.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch unblocked = new CountDownLatch(1);
+
+    @Test
+    void concurrentCallsShareTheResult() throws Exception {
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("a", this::blockingCall));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Integer> follower = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("a", this::blockingCall));
+        awaitCoalesced(1);
+        // other keys are not coalesced
+        assertThat(singleFlight.execute("b", () -> 2)).isEqualTo(2);
+
+        unblocked.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(singleFlight.getExecuted()).isEqualTo(2);
+
+        // completed calls are not reused
+        assertThat(singleFlight.execute("a", () -> 3)).isEqualTo(3);
+    }
+
+    @Test
+    void concurrentCallsShareTheException() throws Exception {
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() -> singleFlight.execute("a", () -> {
+            blockingCall();
+            throw new IllegalStateException("failed");
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Integer> follower = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("a", this::blockingCall));
+        awaitCoalesced(1);
+
+        unblocked.countDown();
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void forgottenCallsAreNotJoined() throws Exception {
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(
+                () -> singleFlight.execute("a", this::blockingCall));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        singleFlight.forget("a");
+        assertThat(singleFlight.execute("a", () -> 2)).isEqualTo(2);
+        assertThat(singleFlight.getCoalesced()).isZero();
+
+        unblocked.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    private Integer blockingCall() {
+        started.countDown();
+        try {
+            assertThat(unblocked.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return calls.incrementAndGet();
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getCoalesced() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(singleFlight.getCoalesced()).isEqualTo(expected);
+    }
+}